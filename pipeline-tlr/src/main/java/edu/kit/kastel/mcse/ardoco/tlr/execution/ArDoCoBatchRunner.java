@@ -0,0 +1,205 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.execution;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+import edu.kit.kastel.mcse.ardoco.core.api.output.ArDoCoResult;
+
+/**
+ * Runs {@link ArDoCoForSadSamCodeTraceabilityLinkRecovery} for a batch of projects in one JVM. The projects are run by a pool of workers and share the
+ * expensive read-only resources of the JVM, e.g., the CoreNLP pipeline of the local text processor and the trace link generator tree of ArCoTL, which are
+ * loaded once instead of once per project. A project that fails does not stop the others; the outcome and time of every project are reported as a
+ * {@link BatchResult}.
+ * <p>
+ * A manifest (see {@link #readManifest(File)}) is a JSON array of projects (or an object with such an array in {@code projects}) with the fields
+ * {@code name}, {@code text}, {@code architectureModel}, {@code architectureModelType} (optional, {@code PCM} by default), {@code code}, and {@code output}.
+ * Relative paths are resolved against the directory of the manifest.
+ */
+public class ArDoCoBatchRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ArDoCoBatchRunner.class);
+
+    private final ImmutableList<BatchProject> projects;
+    private final SortedMap<String, String> additionalConfigs;
+    private final int workers;
+
+    /**
+     * Creates a new batch runner.
+     *
+     * @param projects          the projects
+     * @param additionalConfigs the additional configuration of all projects
+     * @param workers           the number of projects that are run at the same time
+     */
+    public ArDoCoBatchRunner(List<BatchProject> projects, SortedMap<String, String> additionalConfigs, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("A batch needs at least one worker");
+        }
+        this.projects = Lists.immutable.withAll(projects);
+        this.additionalConfigs = new TreeMap<>(additionalConfigs);
+        this.workers = workers;
+    }
+
+    /**
+     * Reads the projects of a manifest.
+     *
+     * @param manifest the manifest file
+     * @return the projects in the order of the manifest
+     * @throws IllegalArgumentException if a project misses a field or has an unknown architecture model type
+     */
+    public static ImmutableList<BatchProject> readManifest(File manifest) {
+        JsonNode root;
+        try {
+            root = new ObjectMapper().readTree(manifest);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the manifest " + manifest, e);
+        }
+        var projectNodes = root.isArray() ? root : root.path("projects");
+        if (!projectNodes.isArray()) {
+            throw new IllegalArgumentException("The manifest " + manifest + " does not contain a list of projects");
+        }
+
+        File baseDirectory = manifest.getAbsoluteFile().getParentFile();
+        MutableList<BatchProject> projects = Lists.mutable.empty();
+        for (var projectNode : projectNodes) {
+            projects.add(readProject(projectNode, baseDirectory, "the manifest " + manifest));
+        }
+        return projects.toImmutable();
+    }
+
+    /**
+     * Reads a project with the fields of a manifest entry.
+     *
+     * @param projectNode   the project
+     * @param baseDirectory the directory relative paths are resolved against
+     * @param source        the source of the project for error messages
+     * @return the project
+     * @throws IllegalArgumentException if the project misses a field or has an unknown architecture model type
+     */
+    static BatchProject readProject(JsonNode projectNode, File baseDirectory, String source) {
+        var name = text(projectNode, "name", source);
+        var architectureModelType = projectNode.hasNonNull("architectureModelType") ?
+                ArchitectureModelType.valueOf(projectNode.get("architectureModelType").asText().toUpperCase(Locale.ROOT)) :
+                ArchitectureModelType.PCM;
+        return new BatchProject(name, file(baseDirectory, text(projectNode, "text", source)), file(baseDirectory, text(projectNode, "architectureModel",
+                source)), architectureModelType, file(baseDirectory, text(projectNode, "code", source)), file(baseDirectory, text(projectNode, "output",
+                        source)));
+    }
+
+    /**
+     * Runs a single project with a new runner, so the project has its own {@link edu.kit.kastel.mcse.ardoco.core.data.DataRepository}.
+     *
+     * @param project             the project
+     * @param additionalConfigs   the additional configuration of the project
+     * @param checkpointDirectory the checkpoint directory of the stages or null to disable checkpoints
+     * @return the result of the project
+     * @throws IllegalStateException if the run did not produce a result
+     */
+    static ArDoCoResult runProject(BatchProject project, SortedMap<String, String> additionalConfigs, File checkpointDirectory) {
+        var runner = new ArDoCoForSadSamCodeTraceabilityLinkRecovery(project.name());
+        runner.setUp(project.inputText(), project.inputArchitectureModel(), project.architectureModelType(), project.inputCode(), new TreeMap<>(
+                additionalConfigs), project.outputDir(), checkpointDirectory);
+        var result = runner.run();
+        if (result == null) {
+            throw new IllegalStateException("The run of " + project.name() + " did not produce a result");
+        }
+        return result;
+    }
+
+    /**
+     * Runs all projects.
+     *
+     * @return the outcome of every project, in the order of the projects
+     */
+    public ImmutableList<BatchResult> run() {
+        return run((project, result) -> {
+            // The results are saved to the output directories of the projects
+        });
+    }
+
+    /**
+     * Runs all projects and passes the result of every successful project to the consumer. The consumer is called by the worker that ran the project, so
+     * the results do not have to be kept until the whole batch is finished.
+     *
+     * @param resultConsumer the consumer of the results, called concurrently if there is more than one worker
+     * @return the outcome of every project, in the order of the projects
+     */
+    public ImmutableList<BatchResult> run(BiConsumer<BatchProject, ArDoCoResult> resultConsumer) {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers, Math.max(1, projects.size())));
+        MutableList<BatchResult> results = Lists.mutable.empty();
+        try {
+            List<Future<BatchResult>> futures = new ArrayList<>();
+            for (var project : projects) {
+                futures.add(executor.submit(() -> runInBatch(project, resultConsumer)));
+            }
+            for (var future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running the batch", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Could not run the batch", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        logger.info("Ran {} projects ({} failed) with {} workers in {} ms", results.size(), results.count(result -> !result.isSuccessful()), workers, (System
+                .nanoTime() - start) / 1_000_000);
+        return results.toImmutable();
+    }
+
+    private BatchResult runInBatch(BatchProject project, BiConsumer<BatchProject, ArDoCoResult> resultConsumer) {
+        long start = System.nanoTime();
+        try {
+            var result = runProject(project, additionalConfigs, null);
+            resultConsumer.accept(project, result);
+            return finished(project, start, null);
+        } catch (RuntimeException e) {
+            logger.warn("Project {} failed", project.name(), e);
+            return finished(project, start, e);
+        }
+    }
+
+    private static BatchResult finished(BatchProject project, long start, Throwable failure) {
+        long milliseconds = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Project {} {} after {} ms", project.name(), failure == null ? "finished" : "failed", milliseconds);
+        return new BatchResult(project, milliseconds, failure);
+    }
+
+    private static String text(JsonNode projectNode, String field, String source) {
+        if (!projectNode.hasNonNull(field)) {
+            throw new IllegalArgumentException("A project of " + source + " has no " + field);
+        }
+        return projectNode.get(field).asText();
+    }
+
+    private static File file(File baseDirectory, String path) {
+        var file = new File(path);
+        return file.isAbsolute() ? file : new File(baseDirectory, path);
+    }
+}
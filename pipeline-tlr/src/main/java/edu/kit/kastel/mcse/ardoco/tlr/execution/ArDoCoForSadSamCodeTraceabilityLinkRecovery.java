@@ -1,10 +1,16 @@
-/* Licensed under MIT 2023-2024. */
+/* Licensed under MIT 2023-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.execution;
 
 import java.io.File;
 import java.util.SortedMap;
 
+import edu.kit.kastel.mcse.ardoco.core.api.PreprocessingData;
+import edu.kit.kastel.mcse.ardoco.core.api.codetraceability.CodeTraceabilityState;
+import edu.kit.kastel.mcse.ardoco.core.api.connectiongenerator.ConnectionStates;
 import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+import edu.kit.kastel.mcse.ardoco.core.api.models.ModelStates;
+import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendationStates;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.TextState;
 import edu.kit.kastel.mcse.ardoco.core.common.util.CommonUtilities;
 import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
 import edu.kit.kastel.mcse.ardoco.core.execution.ArDoCo;
@@ -16,6 +22,7 @@
 import edu.kit.kastel.mcse.ardoco.tlr.models.agents.ArchitectureConfiguration;
 import edu.kit.kastel.mcse.ardoco.tlr.recommendationgenerator.RecommendationGenerator;
 import edu.kit.kastel.mcse.ardoco.tlr.text.providers.TextPreprocessingAgent;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.CreationOrder;
 import edu.kit.kastel.mcse.ardoco.tlr.textextraction.TextExtraction;
 
 public class ArDoCoForSadSamCodeTraceabilityLinkRecovery extends ArDoCoRunner {
@@ -26,13 +33,30 @@ public ArDoCoForSadSamCodeTraceabilityLinkRecovery(String projectName) {
 
     public void setUp(File inputText, File inputArchitectureModel, ArchitectureModelType architectureModelType, File inputCode,
             SortedMap<String, String> additionalConfigs, File outputDir) {
-        definePipeline(inputText, inputArchitectureModel, architectureModelType, inputCode, additionalConfigs);
+        setUp(inputText, inputArchitectureModel, architectureModelType, inputCode, additionalConfigs, outputDir, null);
+    }
+
+    /**
+     * Sets up the runner. If a checkpoint directory is given, the outputs of every stage are saved there and a later run with the same inputs and
+     * effective configuration resumes after the last saved stage (see {@link StageScheduler}).
+     *
+     * @param inputText              the input text
+     * @param inputArchitectureModel the input architecture model
+     * @param architectureModelType  the type of the architecture model
+     * @param inputCode              the input code directory or code model file
+     * @param additionalConfigs      the additional configuration
+     * @param outputDir              the output directory
+     * @param checkpointDirectory    the checkpoint directory or null to disable checkpoints
+     */
+    public void setUp(File inputText, File inputArchitectureModel, ArchitectureModelType architectureModelType, File inputCode,
+            SortedMap<String, String> additionalConfigs, File outputDir, File checkpointDirectory) {
+        definePipeline(inputText, inputArchitectureModel, architectureModelType, inputCode, additionalConfigs, checkpointDirectory);
         setOutputDirectory(outputDir);
         isSetUp = true;
     }
 
     private void definePipeline(File inputText, File inputArchitectureModel, ArchitectureModelType architectureModelType, File inputCode,
-            SortedMap<String, String> additionalConfigs) {
+            SortedMap<String, String> additionalConfigs, File checkpointDirectory) {
         ArDoCo arDoCo = this.getArDoCo();
         var dataRepository = arDoCo.getDataRepository();
 
@@ -42,21 +66,38 @@ private void definePipeline(File inputText, File inputArchitectureModel, Archite
         }
         DataRepositoryHelper.putInputText(dataRepository, text);
 
-        arDoCo.addPipelineStep(TextPreprocessingAgent.get(additionalConfigs, dataRepository));
+        var textPreprocessing = TextPreprocessingAgent.get(additionalConfigs, dataRepository);
 
         var architectureConfiguration = new ArchitectureConfiguration(inputArchitectureModel, architectureModelType);
         var codeConfiguration = ArCoTLModelProviderAgent.getCodeConfiguration(inputCode);
 
         ArCoTLModelProviderAgent arCoTLModelProviderAgent = ArCoTLModelProviderAgent.getArCoTLModelProviderAgent(dataRepository, additionalConfigs,
                 architectureConfiguration, codeConfiguration);
-        arDoCo.addPipelineStep(arCoTLModelProviderAgent);
 
-        arDoCo.addPipelineStep(TextExtraction.get(additionalConfigs, dataRepository));
-        arDoCo.addPipelineStep(RecommendationGenerator.get(additionalConfigs, dataRepository));
-        arDoCo.addPipelineStep(ConnectionGenerator.get(additionalConfigs, dataRepository));
+        var textExtraction = TextExtraction.get(additionalConfigs, dataRepository);
+        var recommendationGenerator = RecommendationGenerator.get(additionalConfigs, dataRepository);
+        var connectionGenerator = ConnectionGenerator.get(additionalConfigs, dataRepository);
+        var samCodeTraceabilityLinkRecovery = SamCodeTraceabilityLinkRecovery.get(additionalConfigs, dataRepository);
+        var sadSamCodeTraceabilityLinkRecovery = SadSamCodeTraceabilityLinkRecovery.get(additionalConfigs, dataRepository);
 
-        arDoCo.addPipelineStep(SamCodeTraceabilityLinkRecovery.get(additionalConfigs, dataRepository));
+        var stageScheduler = StageScheduler.get(additionalConfigs, dataRepository);
+        stageScheduler.addStage(textPreprocessing);
+        stageScheduler.addStage(arCoTLModelProviderAgent);
+        stageScheduler.addStage(textExtraction);
+        stageScheduler.addStage(recommendationGenerator);
+        stageScheduler.addStage(connectionGenerator);
+        stageScheduler.addStage(samCodeTraceabilityLinkRecovery);
+        stageScheduler.addStage(sadSamCodeTraceabilityLinkRecovery);
 
-        arDoCo.addPipelineStep(SadSamCodeTraceabilityLinkRecovery.get(additionalConfigs, dataRepository));
+        stageScheduler.addOutputs(textPreprocessing, PreprocessingData.ID);
+        stageScheduler.addOutputs(arCoTLModelProviderAgent, ModelStates.ID);
+        stageScheduler.addOutputs(textExtraction, TextState.ID, CreationOrder.ID);
+        stageScheduler.addOutputs(recommendationGenerator, RecommendationStates.ID);
+        stageScheduler.addOutputs(connectionGenerator, ConnectionStates.ID);
+        stageScheduler.addOutputs(samCodeTraceabilityLinkRecovery, CodeTraceabilityState.ID);
+        if (checkpointDirectory != null) {
+            stageScheduler.enableCheckpoints(checkpointDirectory, architectureModelType, inputText, inputArchitectureModel, inputCode);
+        }
+        arDoCo.addPipelineStep(stageScheduler);
     }
 }
@@ -0,0 +1,20 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.execution;
+
+import java.io.File;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+
+/**
+ * A project of an {@link ArDoCoBatchRunner} batch.
+ *
+ * @param name                   the name of the project
+ * @param inputText              the documentation of the project
+ * @param inputArchitectureModel the architecture model of the project
+ * @param architectureModelType  the type of the architecture model
+ * @param inputCode              the code directory or code model (ACM) file of the project
+ * @param outputDir              the output directory of the project
+ */
+public record BatchProject(String name, File inputText, File inputArchitectureModel, ArchitectureModelType architectureModelType, File inputCode,
+                           File outputDir) {
+}
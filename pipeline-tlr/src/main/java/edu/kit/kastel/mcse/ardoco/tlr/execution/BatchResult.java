@@ -0,0 +1,19 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.execution;
+
+/**
+ * The outcome of a project of an {@link ArDoCoBatchRunner} batch.
+ *
+ * @param project      the project
+ * @param milliseconds the time from starting the set-up of the project to the end of its run
+ * @param failure      the reason the project failed or null if it succeeded
+ */
+public record BatchResult(BatchProject project, long milliseconds, Throwable failure) {
+
+    /**
+     * {@return whether the project was run successfully}
+     */
+    public boolean isSuccessful() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,55 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.execution;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import edu.kit.kastel.mcse.ardoco.core.api.output.ArDoCoResult;
+
+/**
+ * The answer of a {@link TlrDaemon} to an analysis request. The trace links are given by their string representation and sorted, so the answers of two runs
+ * can be compared directly.
+ *
+ * @param name              the name of the project
+ * @param milliseconds      the time the daemon needed for the project
+ * @param error             the reason the analysis failed or null if it succeeded
+ * @param samCodeTraceLinks the SAM-Code trace links
+ * @param sadCodeTraceLinks the SAD-Code trace links
+ */
+public record DaemonResult(String name, long milliseconds, String error, List<String> samCodeTraceLinks, List<String> sadCodeTraceLinks) {
+
+    /**
+     * Creates the answer of a successful analysis.
+     *
+     * @param name         the name of the project
+     * @param milliseconds the time of the analysis
+     * @param result       the result of the analysis
+     * @return the answer
+     */
+    public static DaemonResult of(String name, long milliseconds, ArDoCoResult result) {
+        var samCodeTraceLinks = result.getSamCodeTraceLinks().stream().map(Object::toString).sorted().toList();
+        var sadCodeTraceLinks = result.getSadCodeTraceLinks().stream().map(Object::toString).sorted().toList();
+        return new DaemonResult(name, milliseconds, null, samCodeTraceLinks, sadCodeTraceLinks);
+    }
+
+    /**
+     * Creates the answer of a failed analysis.
+     *
+     * @param name         the name of the project
+     * @param milliseconds the time until the analysis failed
+     * @param failure      the reason of the failure
+     * @return the answer
+     */
+    public static DaemonResult failed(String name, long milliseconds, Throwable failure) {
+        return new DaemonResult(name, milliseconds, String.valueOf(failure.getMessage()), List.of(), List.of());
+    }
+
+    /**
+     * {@return whether the analysis was successful}
+     */
+    @JsonIgnore
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
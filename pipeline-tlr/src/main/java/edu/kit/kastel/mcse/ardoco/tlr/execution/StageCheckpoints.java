@@ -0,0 +1,229 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.execution;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.stream.Stream;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.SortedMaps;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.sorted.MutableSortedMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+import edu.kit.kastel.mcse.ardoco.core.configuration.AbstractConfigurable;
+import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
+import edu.kit.kastel.mcse.ardoco.core.data.PipelineStepData;
+
+/**
+ * The checkpoints of the stages of one {@link StageScheduler} run. The checkpoint of a stage holds the data of the stage and of all stages before it, so the
+ * last valid checkpoint is enough to resume. Checkpoints are stored in a subdirectory of the checkpoint directory that is named by the key of the run, a hash
+ * of the inputs, the type of the architecture model, the effective configuration, and the stages. A checkpoint is written to a temporary file first and then
+ * moved, so an aborted write never leaves a checkpoint that looks valid.
+ */
+final class StageCheckpoints {
+    private static final Logger logger = LoggerFactory.getLogger(StageCheckpoints.class);
+
+    private static final String SUFFIX = ".checkpoint";
+
+    private final Path directory;
+
+    StageCheckpoints(File checkpointDirectory, String key) {
+        this.directory = checkpointDirectory.toPath().resolve(key);
+    }
+
+    /**
+     * Computes the key of a run.
+     *
+     * @param inputs                the input files and directories
+     * @param architectureModelType the type of the architecture model
+     * @param configuration         the effective configuration (see {@link #effectiveConfiguration(Iterable, SortedMap)})
+     * @param stageIds              the ids of the stages in their sequential order
+     * @return the key
+     */
+    static String key(Iterable<File> inputs, ArchitectureModelType architectureModelType, SortedMap<String, String> configuration,
+            Iterable<String> stageIds) {
+        MessageDigest digest = sha256();
+        for (var input : inputs) {
+            update(digest, "input:" + input.getName());
+            hash(digest, input.toPath());
+        }
+        update(digest, "architectureModelType:" + architectureModelType);
+        configuration.forEach((key, value) -> update(digest, "config:" + key + "=" + value));
+        stageIds.forEach(stageId -> update(digest, "stage:" + stageId));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Computes the effective configuration of the stages: the values of the {@link Configurable} fields of the stages and of the configurable objects they
+     * hold (e.g., agents and informants), including the defaults. Entries of the additional configuration that are no such field (e.g., of the global
+     * configuration) are kept, so the key also changes with them.
+     *
+     * @param stages                  the stages
+     * @param additionalConfiguration the additional configuration that was applied to the stages
+     * @return the effective configuration
+     */
+    static SortedMap<String, String> effectiveConfiguration(Iterable<? extends AbstractConfigurable> stages,
+            SortedMap<String, String> additionalConfiguration) {
+        MutableSortedMap<String, String> configuration = SortedMaps.mutable.withSortedMap(additionalConfiguration);
+        MutableList<AbstractConfigurable> visited = Lists.mutable.empty();
+        stages.forEach(stage -> collectConfiguration(stage, configuration, visited));
+        return configuration;
+    }
+
+    @SuppressWarnings("java:S3011")
+    private static void collectConfiguration(AbstractConfigurable configurable, MutableSortedMap<String, String> configuration,
+            MutableList<AbstractConfigurable> visited) {
+        // Objects are visited once by identity; configurable objects do not define equality
+        if (visited.anySatisfy(visitedConfigurable -> visitedConfigurable == configurable)) {
+            return;
+        }
+        visited.add(configurable);
+        for (Class<?> clazz = configurable.getClass(); clazz != null && clazz != AbstractConfigurable.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                Object value;
+                try {
+                    field.setAccessible(true);
+                    value = field.get(configurable);
+                } catch (IllegalAccessException | RuntimeException e) {
+                    throw new IllegalStateException("Could not read " + field.getName() + "@" + clazz.getSimpleName(), e);
+                }
+                if (field.isAnnotationPresent(Configurable.class)) {
+                    configuration.put(AbstractConfigurable.getKeyOfField(configurable, clazz, field), String.valueOf(value));
+                } else if (value instanceof AbstractConfigurable child) {
+                    collectConfiguration(child, configuration, visited);
+                } else if (value instanceof Iterable<?> children) {
+                    for (var child : children) {
+                        if (child instanceof AbstractConfigurable configurableChild) {
+                            collectConfiguration(configurableChild, configuration, visited);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves the checkpoint after a stage.
+     *
+     * @param index   the position of the stage
+     * @param stageId the id of the stage
+     * @param data    the data of the stage and of all stages before it by id
+     */
+    void save(int index, String stageId, MutableSortedMap<String, PipelineStepData> data) {
+        try {
+            Files.createDirectories(directory);
+            Path temporaryFile = Files.createTempFile(directory, fileName(index, stageId), ".tmp");
+            try (var out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                out.writeObject(data);
+            }
+            Files.move(temporaryFile, directory.resolve(fileName(index, stageId) + SUFFIX), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save the checkpoint of " + stageId, e);
+        }
+    }
+
+    /**
+     * Loads the checkpoint after a stage.
+     *
+     * @param index   the position of the stage
+     * @param stageId the id of the stage
+     * @return the data of the checkpoint by id or empty if there is no valid checkpoint
+     */
+    Optional<MutableSortedMap<String, PipelineStepData>> load(int index, String stageId) {
+        Path file = directory.resolve(fileName(index, stageId) + SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (var in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (!(in.readObject() instanceof MutableSortedMap<?, ?> map) || !map.keysView().allSatisfy(String.class::isInstance) || !map.valuesView()
+                    .allSatisfy(PipelineStepData.class::isInstance)) {
+                logger.warn("Ignoring invalid checkpoint {}", file);
+                return Optional.empty();
+            }
+            MutableSortedMap<String, PipelineStepData> data = SortedMaps.mutable.empty();
+            map.forEachKeyValue((id, pipelineStepData) -> data.put((String) id, (PipelineStepData) pipelineStepData));
+            return Optional.of(data);
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            logger.warn("Ignoring invalid checkpoint {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static String fileName(int index, String stageId) {
+        return index + "-" + stageId;
+    }
+
+    private static void hash(MessageDigest digest, Path path) {
+        try {
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.walk(path)) {
+                    for (var file : files.filter(Files::isRegularFile).sorted().toList()) {
+                        var relativePath = path.relativize(file).toString().replace(File.separatorChar, '/');
+                        if (isGenerated(relativePath)) {
+                            continue;
+                        }
+                        update(digest, "file:" + relativePath);
+                        hashContent(digest, file);
+                    }
+                }
+            } else if (Files.isRegularFile(path)) {
+                hashContent(digest, path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not hash the input " + path, e);
+        }
+    }
+
+    /**
+     * Returns whether the file of a directory input is not part of the input: hidden files (e.g., of the version control) and code models that the code
+     * extraction writes into the code directory.
+     */
+    private static boolean isGenerated(String relativePath) {
+        return relativePath.startsWith(".") || relativePath.contains("/.") || relativePath.endsWith(".acm");
+    }
+
+    private static void hashContent(MessageDigest digest, Path file) throws IOException {
+        try (InputStream in = new DigestInputStream(new BufferedInputStream(Files.newInputStream(file)), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static void update(MessageDigest digest, String string) {
+        digest.update(string.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.execution;
+
+import java.io.File;
+import java.util.SortedMap;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.factory.SortedMaps;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.sorted.MutableSortedMap;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.data.PipelineStepData;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractPipelineStep;
+
+/**
+ * Pipeline step that executes stages sequentially in the order they were added.
+ * <p>
+ * If checkpoints are enabled (see {@link #enableCheckpoints(File, ArchitectureModelType, File...)}), the declared outputs of all finished stages are saved
+ * after each stage (see {@link StageCheckpoints}). A run with the same inputs, architecture model type, effective configuration, and stages restores the
+ * data of the last valid checkpoint and only executes the stages after it.
+ */
+@Deterministic
+public final class StageScheduler extends AbstractPipelineStep {
+
+    private final MutableList<AbstractPipelineStep> stages = Lists.mutable.empty();
+    private final MutableMap<AbstractPipelineStep, ImmutableList<String>> outputs = Maps.mutable.empty();
+    private final MutableSortedMap<String, String> configuration = SortedMaps.mutable.empty();
+    private File checkpointDirectory;
+    private ArchitectureModelType architectureModelType;
+    private ImmutableList<File> inputs = Lists.immutable.empty();
+
+    /**
+     * Creates a new scheduler without stages.
+     *
+     * @param dataRepository the {@link DataRepository} of the stages
+     */
+    public StageScheduler(DataRepository dataRepository) {
+        super(StageScheduler.class.getSimpleName(), dataRepository);
+    }
+
+    /**
+     * Creates a new scheduler without stages and applies the configuration to it.
+     *
+     * @param additionalConfigs the additional configuration
+     * @param dataRepository    the {@link DataRepository} of the stages
+     * @return the scheduler
+     */
+    public static StageScheduler get(SortedMap<String, String> additionalConfigs, DataRepository dataRepository) {
+        var stageScheduler = new StageScheduler(dataRepository);
+        stageScheduler.applyConfiguration(additionalConfigs);
+        return stageScheduler;
+    }
+
+    /**
+     * Adds a stage that is executed after the stages added before.
+     *
+     * @param stage the stage
+     * @throws IllegalArgumentException if the stage was already added
+     */
+    public void addStage(AbstractPipelineStep stage) {
+        if (this.stages.contains(stage)) {
+            throw new IllegalArgumentException("Stage " + stage.getId() + " was already added to " + getId());
+        }
+        this.stages.add(stage);
+    }
+
+    /**
+     * Declares the data a stage adds to the {@link DataRepository} or changes. The data is saved in the checkpoints of the stage and the following stages.
+     *
+     * @param stage   the stage
+     * @param dataIds the ids of the data in the {@link DataRepository}
+     * @throws IllegalArgumentException if the stage was not added
+     */
+    public void addOutputs(AbstractPipelineStep stage, String... dataIds) {
+        if (!this.stages.contains(stage)) {
+            throw new IllegalArgumentException("Stage " + stage.getId() + " was not added to " + getId());
+        }
+        this.outputs.put(stage, this.outputs.getIfAbsentValue(stage, Lists.immutable.empty()).newWithAll(Lists.immutable.with(dataIds)));
+    }
+
+    /**
+     * Enables checkpoints after each stage.
+     *
+     * @param checkpointDirectory   the directory of the checkpoints
+     * @param architectureModelType the type of the architecture model of the run, part of the key of the checkpoints
+     * @param inputs                the input files and directories of the run, part of the key of the checkpoints
+     */
+    public void enableCheckpoints(File checkpointDirectory, ArchitectureModelType architectureModelType, File... inputs) {
+        this.checkpointDirectory = checkpointDirectory;
+        this.architectureModelType = architectureModelType;
+        this.inputs = Lists.immutable.with(inputs);
+    }
+
+    /**
+     * {@return the stages in the order they were added}
+     */
+    public ImmutableList<AbstractPipelineStep> getStages() {
+        return stages.toImmutable();
+    }
+
+    @Override
+    public void process() {
+        if (checkpointDirectory != null) {
+            processWithCheckpoints();
+            return;
+        }
+        stages.forEach(AbstractPipelineStep::execute);
+    }
+
+    private void processWithCheckpoints() {
+        var stageIds = stages.collect(AbstractPipelineStep::getId);
+        var effectiveConfiguration = StageCheckpoints.effectiveConfiguration(stages, configuration);
+        var checkpoints = new StageCheckpoints(checkpointDirectory, StageCheckpoints.key(inputs, architectureModelType, effectiveConfiguration, stageIds));
+
+        int next = restoreLastCheckpoint(checkpoints);
+        for (int i = next; i < stages.size(); i++) {
+            var stage = stages.get(i);
+            stage.execute();
+            checkpoints.save(i, stage.getId(), collectOutputs(i));
+        }
+    }
+
+    /**
+     * Restores the data of the last valid checkpoint.
+     *
+     * @return the position of the first stage after the checkpoint
+     */
+    private int restoreLastCheckpoint(StageCheckpoints checkpoints) {
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            var stageId = stages.get(i).getId();
+            var data = checkpoints.load(i, stageId);
+            if (data.isPresent()) {
+                data.get().forEachKeyValue((id, pipelineStepData) -> getDataRepository().addData(id, pipelineStepData));
+                logger.info("Resuming {} after the checkpoint of {}", getId(), stageId);
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private MutableSortedMap<String, PipelineStepData> collectOutputs(int lastStage) {
+        MutableSortedMap<String, PipelineStepData> data = SortedMaps.mutable.empty();
+        for (int i = 0; i <= lastStage; i++) {
+            for (var id : outputs.getIfAbsentValue(stages.get(i), Lists.immutable.empty())) {
+                getDataRepository().getData(id, PipelineStepData.class).ifPresent(pipelineStepData -> data.put(id, pipelineStepData));
+            }
+        }
+        return data;
+    }
+
+    @Override
+    protected void delegateApplyConfigurationToInternalObjects(SortedMap<String, String> additionalConfiguration) {
+        // The stages are configured when they are created. The configuration of the scheduler does not change the results, so it is not part of the key of
+        // the checkpoints. The remaining entries are merged into the effective configuration of the stages.
+        configuration.clear();
+        additionalConfiguration.forEach((key, value) -> {
+            if (!key.startsWith(StageScheduler.class.getSimpleName() + "::")) {
+                configuration.put(key, value);
+            }
+        });
+    }
+}
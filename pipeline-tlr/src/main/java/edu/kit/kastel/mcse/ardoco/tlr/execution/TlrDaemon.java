@@ -0,0 +1,321 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.execution;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import edu.kit.kastel.mcse.ardoco.core.execution.ConfigurationHelper;
+
+/**
+ * Long-running process that runs {@link ArDoCoForSadSamCodeTraceabilityLinkRecovery} for analysis requests, so small checks do not pay for starting a JVM
+ * and loading the NLP pipelines every time. The daemon only listens on the loopback address.
+ * <p>
+ * The daemon only accepts requests whose {@code Host} header is {@code localhost} or {@code 127.0.0.1}, so web pages cannot reach it by rebinding a domain to
+ * the loopback address. An analysis request also has to be sent as {@code application/json} and carry the token of the daemon as bearer token in the
+ * {@code Authorization} header. The daemon creates a new random token when it starts and writes it to {@link #tokenFile(int)}, which only the owner can read
+ * (permissions {@code 0600}), so only processes of the same user can submit analyses. The token file is deleted when the daemon stops.
+ * <p>
+ * An analysis request is a {@code POST} to {@value #ANALYZE_PATH} whose body is a project with the fields of an {@link ArDoCoBatchRunner} manifest entry;
+ * relative paths are resolved against the working directory of the daemon. The answer is a {@link DaemonResult} as JSON with status 200, or with status 500
+ * if the analysis failed. Up to {@code workers} requests are analyzed at the same time, each with its own runner and
+ * {@link edu.kit.kastel.mcse.ardoco.core.data.DataRepository}; further requests wait. The requests are received and the health endpoint is served by
+ * separate threads, so the daemon stays responsive while all workers are busy. The read-only resources of the JVM (e.g., the CoreNLP pipelines) are
+ * shared by all requests and stay loaded between them. The daemon does not cache the inputs: the text, the architecture model, and the code are read and
+ * parsed again for every request. If a checkpoint directory is given, a request whose inputs and configuration did not change resumes from the checkpoints
+ * of an earlier request (see {@link StageScheduler}).
+ * <p>
+ * {@link TlrDaemonClient} is the matching client.
+ */
+public final class TlrDaemon implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TlrDaemon.class);
+
+    /**
+     * The path of the analysis endpoint.
+     */
+    public static final String ANALYZE_PATH = "/tlr/analyze";
+    /**
+     * The path of the health endpoint.
+     */
+    public static final String HEALTH_PATH = "/tlr/health";
+    /**
+     * The port the daemon listens on if no port is given to {@link #main(String[])}.
+     */
+    public static final int DEFAULT_PORT = 8087;
+
+    private static final int HTTP_THREADS = 2;
+    private static final int TOKEN_BYTES = 32;
+    private static final String BEARER = "Bearer ";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SortedMap<String, String> additionalConfigs;
+    private final File checkpointDirectory;
+    private final ExecutorService analysisExecutor;
+    private final ExecutorService httpExecutor;
+    private final HttpServer server;
+    private final byte[] token;
+    private final Path tokenFile;
+
+    private TlrDaemon(int port, SortedMap<String, String> additionalConfigs, int workers, File checkpointDirectory) throws IOException {
+        this.additionalConfigs = new TreeMap<>(additionalConfigs);
+        this.checkpointDirectory = checkpointDirectory;
+        this.analysisExecutor = Executors.newFixedThreadPool(workers);
+        this.httpExecutor = Executors.newFixedThreadPool(HTTP_THREADS);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.createContext(HEALTH_PATH, this::handleHealth);
+        this.server.createContext(ANALYZE_PATH, this::handleAnalyze);
+        this.server.setExecutor(httpExecutor);
+
+        byte[] randomBytes = new byte[TOKEN_BYTES];
+        new SecureRandom().nextBytes(randomBytes);
+        String hexToken = HexFormat.of().formatHex(randomBytes);
+        this.token = hexToken.getBytes(StandardCharsets.UTF_8);
+        this.tokenFile = tokenFile(server.getAddress().getPort());
+        try {
+            writeTokenFile(tokenFile, hexToken);
+        } catch (IOException e) {
+            // The server is bound, but not started yet
+            server.stop(0);
+            analysisExecutor.shutdownNow();
+            httpExecutor.shutdownNow();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the file with the token of the daemon on the given port, {@code .ardoco/tlr-daemon-<port>.token} in the home directory of the user.
+     *
+     * @param port the port of the daemon
+     * @return the token file
+     */
+    public static Path tokenFile(int port) {
+        return Path.of(System.getProperty("user.home"), ".ardoco", "tlr-daemon-" + port + ".token");
+    }
+
+    /**
+     * Writes the token to a new file that only the owner can read and write. A token file of an earlier daemon on the same port is replaced.
+     */
+    private static void writeTokenFile(Path tokenFile, String token) throws IOException {
+        Files.createDirectories(tokenFile.getParent());
+        Files.deleteIfExists(tokenFile);
+        try {
+            Files.createFile(tokenFile, PosixFilePermissions.asFileAttribute(EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE)));
+        } catch (UnsupportedOperationException e) {
+            // The file system has no POSIX permissions, so restrict the file with the permissions it supports
+            Files.createFile(tokenFile);
+            var file = tokenFile.toFile();
+            if (!(file.setReadable(false, false) && file.setReadable(true, true) && file.setWritable(false, false) && file.setWritable(true, true))) {
+                Files.delete(tokenFile);
+                throw new IOException("Could not restrict the permissions of the token file " + tokenFile, e);
+            }
+        }
+        Files.writeString(tokenFile, token);
+    }
+
+    /**
+     * Starts a daemon.
+     *
+     * @param port                the port on the loopback address or 0 for a free port
+     * @param additionalConfigs   the additional configuration of all requests
+     * @param workers             the number of requests that are analyzed at the same time
+     * @param checkpointDirectory the checkpoint directory of the stages or null to disable checkpoints
+     * @return the running daemon
+     * @throws IOException if the daemon cannot listen on the port or cannot write its token file (see {@link #tokenFile(int)})
+     */
+    public static TlrDaemon start(int port, SortedMap<String, String> additionalConfigs, int workers, File checkpointDirectory) throws IOException {
+        if (workers < 1) {
+            throw new IllegalArgumentException("A daemon needs at least one worker");
+        }
+        var daemon = new TlrDaemon(port, additionalConfigs, workers, checkpointDirectory);
+        daemon.server.start();
+        logger.info("TLR daemon listens on {} with {} workers", daemon.getUri(), workers);
+        return daemon;
+    }
+
+    /**
+     * Starts a daemon and runs it until the JVM is stopped. The optional arguments are the port, the number of workers, a file with additional
+     * configuration, and a checkpoint directory.
+     *
+     * @param args the arguments
+     * @throws IOException          if the daemon cannot listen on the port
+     * @throws InterruptedException if the main thread is interrupted while the daemon runs
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        SortedMap<String, String> additionalConfigs = args.length > 2 ? ConfigurationHelper.loadAdditionalConfigs(new File(args[2])) : new TreeMap<>();
+        File checkpointDirectory = args.length > 3 ? new File(args[3]) : null;
+
+        var daemon = start(port, additionalConfigs, workers, checkpointDirectory);
+        var stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            daemon.close();
+            stopped.countDown();
+        }));
+        stopped.await();
+    }
+
+    /**
+     * {@return the base URI of the daemon}
+     */
+    public URI getUri() {
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort());
+    }
+
+    /**
+     * {@return the file with the token of the daemon}
+     */
+    public Path getTokenFile() {
+        return tokenFile;
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            requestBody.readAllBytes();
+        }
+        if (!isLocalHost(exchange)) {
+            sendResponse(exchange, 403, "text/plain", "Requests have to be sent to localhost");
+            return;
+        }
+        sendResponse(exchange, 200, "text/plain", "TLR daemon is healthy");
+    }
+
+    private void handleAnalyze(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            sendResponse(exchange, 405, "text/plain", "Analysis requests have to be sent with POST");
+            return;
+        }
+        if (!isLocalHost(exchange)) {
+            sendResponse(exchange, 403, "text/plain", "Requests have to be sent to localhost");
+            return;
+        }
+        if (!hasToken(exchange)) {
+            sendResponse(exchange, 401, "text/plain", "Analysis requests need the token of the daemon");
+            return;
+        }
+        if (!isJson(exchange)) {
+            sendResponse(exchange, 415, "text/plain", "Analysis requests have to be sent as application/json");
+            return;
+        }
+
+        BatchProject project;
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            JsonNode projectNode = objectMapper.readTree(requestBody);
+            project = ArDoCoBatchRunner.readProject(projectNode, new File("").getAbsoluteFile(), "the request");
+        } catch (IOException | IllegalArgumentException e) {
+            sendResponse(exchange, 400, "text/plain", "Invalid analysis request: " + e.getMessage());
+            return;
+        }
+
+        // The exchange is answered by the worker, so the HTTP threads are free for further requests
+        try {
+            analysisExecutor.execute(() -> analyze(exchange, project));
+        } catch (RejectedExecutionException e) {
+            sendResponse(exchange, 503, "text/plain", "The daemon is stopping");
+        }
+    }
+
+    /**
+     * Returns whether the {@code Host} header names the loopback address as {@code localhost} or {@code 127.0.0.1}, with or without port.
+     */
+    private static boolean isLocalHost(HttpExchange exchange) {
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        if (host == null) {
+            return false;
+        }
+        int portSeparator = host.lastIndexOf(':');
+        String hostName = (portSeparator < 0 ? host : host.substring(0, portSeparator)).strip().toLowerCase(Locale.ROOT);
+        return hostName.equals("localhost") || hostName.equals("127.0.0.1");
+    }
+
+    private boolean hasToken(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith(BEARER)) {
+            return false;
+        }
+        // Compared in constant time, so the answer times do not reveal the token
+        return MessageDigest.isEqual(token, authorization.substring(BEARER.length()).strip().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean isJson(HttpExchange exchange) {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType == null) {
+            return false;
+        }
+        int parameters = contentType.indexOf(';');
+        return (parameters < 0 ? contentType : contentType.substring(0, parameters)).strip().equalsIgnoreCase("application/json");
+    }
+
+    private void analyze(HttpExchange exchange, BatchProject project) {
+        long start = System.nanoTime();
+        DaemonResult daemonResult;
+        try {
+            var result = ArDoCoBatchRunner.runProject(project, additionalConfigs, checkpointDirectory);
+            daemonResult = DaemonResult.of(project.name(), (System.nanoTime() - start) / 1_000_000, result);
+            logger.info("Analyzed {} in {} ms", project.name(), daemonResult.milliseconds());
+        } catch (Throwable e) {
+            // Errors are answered as well, otherwise the client would never get a response
+            daemonResult = DaemonResult.failed(project.name(), (System.nanoTime() - start) / 1_000_000, e);
+            logger.warn("Analysis of {} failed", project.name(), e);
+        }
+        try {
+            sendResponse(exchange, daemonResult.isSuccessful() ? 200 : 500, "application/json", objectMapper.writeValueAsString(daemonResult));
+        } catch (IOException e) {
+            logger.warn("Could not answer the analysis request of {}", project.name(), e);
+            exchange.close();
+        }
+    }
+
+    private static void sendResponse(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    /**
+     * Stops the daemon and deletes its token file. Requests that are still analyzed are interrupted.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        analysisExecutor.shutdownNow();
+        httpExecutor.shutdownNow();
+        try {
+            Files.deleteIfExists(tokenFile);
+        } catch (IOException e) {
+            logger.warn("Could not delete the token file {}", tokenFile, e);
+        }
+        logger.info("TLR daemon stopped");
+    }
+}
@@ -0,0 +1,135 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.execution;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+
+/**
+ * Client of a {@link TlrDaemon}. It only sends the paths of the inputs; the daemon reads them itself, so the client and the daemon have to run on the same
+ * machine. Analysis requests carry the token that the daemon wrote to its token file (see {@link TlrDaemon#tokenFile(int)}), so the client has to run as the
+ * same user as the daemon.
+ */
+public final class TlrDaemonClient {
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration HEALTH_TIMEOUT = Duration.ofSeconds(5);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(CONNECT_TIMEOUT).build();
+    private final URI uri;
+    private final Path tokenFile;
+
+    /**
+     * Creates a client of the daemon with the given base URI that reads the token from the default token file of the port of the daemon.
+     *
+     * @param uri the base URI of the daemon, e.g., {@code http://localhost:8087}
+     */
+    public TlrDaemonClient(URI uri) {
+        this(uri, TlrDaemon.tokenFile(uri.getPort()));
+    }
+
+    /**
+     * Creates a client of the daemon with the given base URI and token file.
+     *
+     * @param uri       the base URI of the daemon, e.g., {@code http://localhost:8087}
+     * @param tokenFile the token file of the daemon
+     */
+    public TlrDaemonClient(URI uri, Path tokenFile) {
+        this.uri = uri;
+        this.tokenFile = tokenFile;
+    }
+
+    /**
+     * Submits a project to the daemon and waits for the analysis. The paths of the inputs are sent as absolute paths.
+     *
+     * @param project the project
+     * @return the answer of the daemon, which reports whether the analysis failed
+     * @throws IllegalArgumentException if the daemon rejected the request
+     * @throws UncheckedIOException     if the token file cannot be read or the daemon cannot be reached
+     */
+    public DaemonResult analyze(BatchProject project) {
+        var request = objectMapper.createObjectNode()
+                .put("name", project.name())
+                .put("text", project.inputText().getAbsolutePath())
+                .put("architectureModel", project.inputArchitectureModel().getAbsolutePath())
+                .put("architectureModelType", project.architectureModelType().name())
+                .put("code", project.inputCode().getAbsolutePath())
+                .put("output", project.outputDir().getAbsolutePath());
+
+        String token;
+        try {
+            token = Files.readString(tokenFile).strip();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the token of the daemon at " + uri + " from " + tokenFile, e);
+        }
+
+        HttpResponse<String> response;
+        try {
+            response = send(HttpRequest.newBuilder(uri.resolve(TlrDaemon.ANALYZE_PATH))
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .header("Authorization", "Bearer " + token)
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(request)))
+                    .build());
+            if (response.statusCode() != 200 && response.statusCode() != 500) {
+                throw new IllegalArgumentException("The daemon rejected the analysis of " + project.name() + " (" + response.statusCode() + "): " + response
+                        .body());
+            }
+            return objectMapper.readValue(response.body(), DaemonResult.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not analyze " + project.name() + " with the daemon at " + uri, e);
+        }
+    }
+
+    /**
+     * {@return whether the daemon answers its health endpoint within five seconds}
+     */
+    public boolean isHealthy() {
+        try {
+            return send(HttpRequest.newBuilder(uri.resolve(TlrDaemon.HEALTH_PATH)).timeout(HEALTH_TIMEOUT).GET().build()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the daemon at " + uri, e);
+        }
+    }
+
+    /**
+     * Submits a project to a daemon on the local machine and prints the trace links. The arguments are the port of the daemon, the name of the project, the
+     * text, the architecture model (PCM), the code directory or code model, and the output directory. The exit code is 1 if the analysis failed.
+     *
+     * @param args the arguments
+     */
+    public static void main(String[] args) {
+        if (args.length != 6) {
+            System.err.println("Usage: TlrDaemonClient <port> <name> <text> <architecture model> <code> <output directory>");
+            System.exit(2);
+        }
+        var client = new TlrDaemonClient(URI.create("http://localhost:" + Integer.parseInt(args[0])));
+        var result = client.analyze(new BatchProject(args[1], new File(args[2]), new File(args[3]), ArchitectureModelType.PCM, new File(args[4]), new File(
+                args[5])));
+        if (!result.isSuccessful()) {
+            System.err.println("Analysis of " + result.name() + " failed: " + result.error());
+            System.exit(1);
+        }
+        result.samCodeTraceLinks().forEach(System.out::println);
+        result.sadCodeTraceLinks().forEach(System.out::println);
+    }
+}
@@ -0,0 +1,97 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.execution.runner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+import edu.kit.kastel.mcse.ardoco.core.api.output.ArDoCoResult;
+import edu.kit.kastel.mcse.ardoco.core.execution.CodeRunnerBaseTest;
+import edu.kit.kastel.mcse.ardoco.core.execution.ConfigurationHelper;
+import edu.kit.kastel.mcse.ardoco.tlr.execution.ArDoCoBatchRunner;
+
+/**
+ * Checks that the {@link ArDoCoBatchRunner} runs the bundled TeaStore sample several times in one batch, that every run finds the same trace links, and that a
+ * failing project does not stop the others.
+ */
+class ArDoCoBatchRunnerTest extends CodeRunnerBaseTest {
+    private static final Logger logger = LoggerFactory.getLogger(ArDoCoBatchRunnerTest.class);
+
+    private static final int RUNS = 4;
+    private static final int WORKERS = 2;
+
+    @TempDir
+    Path batchDirectory;
+
+    @Test
+    @DisplayName("Test a batch of TeaStore runs with shared resources")
+    void testBatchOfTeaStoreRuns() throws IOException {
+        List<ProjectEntry> entries = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            entries.add(teaStore(projectName + "-" + i));
+        }
+        // A project with a missing text fails without stopping the batch
+        entries.add(new ProjectEntry("missing", "does/not/exist.txt", absolute(inputModelArchitecture), "pcm", absolute(inputCodeModel), "output/missing"));
+        var manifest = writeManifest(entries);
+
+        var projects = ArDoCoBatchRunner.readManifest(manifest);
+        Assertions.assertEquals(RUNS + 1, projects.size());
+        Assertions.assertEquals(ArchitectureModelType.PCM, projects.getLast().architectureModelType());
+        Assertions.assertEquals(batchDirectory.resolve("output/missing").toFile(), projects.getLast().outputDir());
+
+        var descriptions = new ConcurrentHashMap<String, List<String>>();
+        var additionalConfigsMap = ConfigurationHelper.loadAdditionalConfigs(new File(additionalConfigs));
+        var results = new ArDoCoBatchRunner(projects.castToList(), additionalConfigsMap, WORKERS).run((project, result) -> descriptions.put(project.name(),
+                describe(result)));
+
+        Assertions.assertEquals(projects, results.collect(result -> result.project()));
+        Assertions.assertTrue(results.take(RUNS).allSatisfy(result -> result.isSuccessful()));
+        Assertions.assertFalse(results.getLast().isSuccessful());
+
+        var expected = descriptions.get(projectName + "-0");
+        Assertions.assertFalse(expected.isEmpty());
+        for (int i = 1; i < RUNS; i++) {
+            Assertions.assertEquals(expected, descriptions.get(projectName + "-" + i));
+        }
+        results.forEach(result -> logger.info("{}: {} ms", result.project().name(), result.milliseconds()));
+    }
+
+    private ProjectEntry teaStore(String name) {
+        return new ProjectEntry(name, absolute(inputText), absolute(inputModelArchitecture), "PCM", absolute(inputCodeModel), "output/" + name);
+    }
+
+    private File writeManifest(List<ProjectEntry> entries) throws IOException {
+        var manifest = batchDirectory.resolve("manifest.json").toFile();
+        new ObjectMapper().writeValue(manifest, entries);
+        Assertions.assertTrue(Files.isRegularFile(manifest.toPath()));
+        return manifest;
+    }
+
+    private static String absolute(String path) {
+        return new File(path).getAbsolutePath();
+    }
+
+    private static List<String> describe(ArDoCoResult result) {
+        List<String> description = new ArrayList<>();
+        result.getSamCodeTraceLinks().stream().map(Object::toString).sorted().forEach(description::add);
+        result.getSadCodeTraceLinks().stream().map(Object::toString).sorted().forEach(description::add);
+        return description;
+    }
+
+    record ProjectEntry(String name, String text, String architectureModel, String architectureModelType, String code, String output) {
+    }
+}
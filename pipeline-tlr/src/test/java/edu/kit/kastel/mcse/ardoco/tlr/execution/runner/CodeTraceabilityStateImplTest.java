@@ -0,0 +1,189 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.execution.runner;
+
+import java.io.File;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.set.MutableSet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.SadCodeTraceLink;
+import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.SamCodeTraceLink;
+import edu.kit.kastel.mcse.ardoco.core.api.output.ArDoCoResult;
+import edu.kit.kastel.mcse.ardoco.core.api.text.SentenceEntity;
+import edu.kit.kastel.mcse.ardoco.core.tests.eval.CodeProject;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.CodeTraceabilityStateImpl;
+import edu.kit.kastel.mcse.ardoco.tlr.execution.ArDoCoForSadSamCodeTraceabilityLinkRecovery;
+
+/**
+ * Checks that the indexed queries of the {@link CodeTraceabilityStateImpl} return the same trace links as filtering all trace links, and compares the time of
+ * both for repeated queries of every key. The trace links are the SAM-Code and SAD-Code trace links of a SAD-SAM-Code run on the ACM file of the project.
+ */
+class CodeTraceabilityStateImplTest {
+    private static final Logger logger = LoggerFactory.getLogger(CodeTraceabilityStateImplTest.class);
+
+    private static final String OUTPUT = "target/testout-code-traceability-state";
+    private static final int QUERY_ROUNDS = 1_000;
+
+    @DisplayName("Indexed trace link queries match filtering all trace links")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(CodeProject.class)
+    void equivalenceTest(CodeProject project) {
+        var result = run(project);
+        var samCodeTraceLinks = Lists.immutable.withAll(result.getSamCodeTraceLinks());
+        var sadCodeTraceLinks = Lists.immutable.withAll(result.getSadCodeTraceLinks());
+        Assertions.assertFalse(samCodeTraceLinks.isEmpty());
+        Assertions.assertFalse(sadCodeTraceLinks.isEmpty());
+
+        var state = new CodeTraceabilityStateImpl();
+        var emptySamCodeTraceLinks = state.getSamCodeTraceLinks();
+        state.addSamCodeTraceLinks(samCodeTraceLinks.castToList());
+        var sadCodeTraceLinkSnapshot = state.getSadCodeTraceLinkSnapshot();
+        state.addSadCodeTraceLinks(sadCodeTraceLinks.castToList());
+        // Snapshots are not changed by later additions
+        Assertions.assertTrue(sadCodeTraceLinkSnapshot.isEmpty());
+        Assertions.assertEquals(samCodeTraceLinks, state.getSamCodeTraceLinkSnapshot().toImmutableList());
+        Assertions.assertEquals(sadCodeTraceLinks, state.getSadCodeTraceLinkSnapshot().toImmutableList());
+        Assertions.assertFalse(state.addSamCodeTraceLink(samCodeTraceLinks.getFirst()));
+        Assertions.assertFalse(state.addSadCodeTraceLink(sadCodeTraceLinks.getFirst()));
+
+        Assertions.assertEquals(result.getSamCodeTraceLinks(), state.getSamCodeTraceLinks());
+        Assertions.assertEquals(result.getSadCodeTraceLinks(), state.getSadCodeTraceLinks());
+        // The set view is rebuilt after additions and shared while the trace links do not change
+        Assertions.assertTrue(emptySamCodeTraceLinks.isEmpty());
+        Assertions.assertSame(state.getSamCodeTraceLinks(), state.getSamCodeTraceLinks());
+        Assertions.assertEquals(samCodeTraceLinks, state.getSamCodeTraceLinksInOrder().toList().toImmutable());
+        Assertions.assertEquals(sadCodeTraceLinks, state.getSadCodeTraceLinksInOrder().toList().toImmutable());
+
+        for (var architectureElementId : keys(samCodeTraceLinks, CodeTraceabilityStateImplTest::architectureElementId)) {
+            assertSame(samCodeTraceLinks.select(link -> architectureElementId.equals(architectureElementId(link))), state
+                    .getSamCodeTraceLinksByArchitectureElement(architectureElementId));
+        }
+        for (var codeFilePath : keys(samCodeTraceLinks, CodeTraceabilityStateImplTest::codeFilePath)) {
+            assertSame(samCodeTraceLinks.select(link -> codeFilePath.equals(codeFilePath(link))), state.getSamCodeTraceLinksByCodeFile(codeFilePath));
+        }
+        for (var codeFilePath : keys(sadCodeTraceLinks, CodeTraceabilityStateImplTest::codeFilePath)) {
+            assertSame(sadCodeTraceLinks.select(link -> codeFilePath.equals(codeFilePath(link))), state.getSadCodeTraceLinksByCodeFile(codeFilePath));
+        }
+        for (var sentenceNumber : keys(sadCodeTraceLinks, CodeTraceabilityStateImplTest::sentenceNumber)) {
+            assertSame(sadCodeTraceLinks.select(link -> sentenceNumber.equals(sentenceNumber(link))), state.getSadCodeTraceLinksBySentence(sentenceNumber));
+        }
+
+        Assertions.assertTrue(state.getSamCodeTraceLinksByArchitectureElement("does not exist").isEmpty());
+        Assertions.assertTrue(state.getSadCodeTraceLinksByCodeFile("does/not/exist.java").isEmpty());
+        Assertions.assertTrue(state.getSadCodeTraceLinksBySentence(-1).isEmpty());
+    }
+
+    @DisplayName("Indexed trace link queries are faster than filtering all trace links")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(CodeProject.class)
+    void queryBenchmark(CodeProject project) {
+        var result = run(project);
+        var samCodeTraceLinks = Lists.immutable.withAll(result.getSamCodeTraceLinks());
+        var sadCodeTraceLinks = Lists.immutable.withAll(result.getSadCodeTraceLinks());
+        var state = new CodeTraceabilityStateImpl();
+        state.addSamCodeTraceLinks(samCodeTraceLinks.castToList());
+        state.addSadCodeTraceLinks(sadCodeTraceLinks.castToList());
+
+        var architectureElementIds = keys(samCodeTraceLinks, CodeTraceabilityStateImplTest::architectureElementId);
+        var codeFilePaths = keys(sadCodeTraceLinks, CodeTraceabilityStateImplTest::codeFilePath);
+        var sentenceNumbers = keys(sadCodeTraceLinks, CodeTraceabilityStateImplTest::sentenceNumber);
+
+        long scanResults = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < QUERY_ROUNDS; round++) {
+            for (var architectureElementId : architectureElementIds) {
+                scanResults += scan(state.getSamCodeTraceLinks(), link -> architectureElementId.equals(architectureElementId(link)));
+            }
+            for (var codeFilePath : codeFilePaths) {
+                scanResults += scan(state.getSadCodeTraceLinks(), link -> codeFilePath.equals(codeFilePath(link)));
+            }
+            for (var sentenceNumber : sentenceNumbers) {
+                scanResults += scan(state.getSadCodeTraceLinks(), link -> sentenceNumber.equals(sentenceNumber(link)));
+            }
+        }
+        long scanTime = System.nanoTime() - start;
+
+        long indexResults = 0;
+        start = System.nanoTime();
+        for (int round = 0; round < QUERY_ROUNDS; round++) {
+            for (var architectureElementId : architectureElementIds) {
+                indexResults += state.getSamCodeTraceLinksByArchitectureElement(architectureElementId).size();
+            }
+            for (var codeFilePath : codeFilePaths) {
+                indexResults += state.getSadCodeTraceLinksByCodeFile(codeFilePath).size();
+            }
+            for (var sentenceNumber : sentenceNumbers) {
+                indexResults += state.getSadCodeTraceLinksBySentence(sentenceNumber).size();
+            }
+        }
+        long indexTime = System.nanoTime() - start;
+
+        Assertions.assertEquals(scanResults, indexResults);
+        long queries = (long) QUERY_ROUNDS * (architectureElementIds.size() + codeFilePaths.size() + sentenceNumbers.size());
+        logger.info("{}: {} SAM-Code and {} SAD-Code trace links, {} queries, filtering {} ms, index {} ms", project.name(), samCodeTraceLinks.size(),
+                sadCodeTraceLinks.size(), queries, scanTime / 1_000_000, indexTime / 1_000_000);
+    }
+
+    private static <T> void assertSame(ImmutableList<T> expected, ListIterable<T> actual) {
+        Assertions.assertFalse(expected.isEmpty());
+        Assertions.assertEquals(expected, actual.toList().toImmutable());
+    }
+
+    private static <T> long scan(Iterable<T> traceLinks, Predicate<T> predicate) {
+        long count = 0;
+        for (var traceLink : traceLinks) {
+            if (predicate.test(traceLink)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static <T, K> ImmutableList<K> keys(ImmutableList<T> traceLinks, Function<T, K> key) {
+        MutableSet<K> keys = Sets.mutable.empty();
+        for (var traceLink : traceLinks) {
+            var value = key.apply(traceLink);
+            if (value != null) {
+                keys.add(value);
+            }
+        }
+        return keys.toImmutableList();
+    }
+
+    private static String architectureElementId(SamCodeTraceLink traceLink) {
+        return traceLink.getEndpointTuple().firstEndpoint().getId();
+    }
+
+    private static String codeFilePath(SamCodeTraceLink traceLink) {
+        return traceLink.getEndpointTuple().secondEndpoint() instanceof CodeCompilationUnit compilationUnit ? compilationUnit.getPath() : null;
+    }
+
+    private static String codeFilePath(SadCodeTraceLink traceLink) {
+        return traceLink.getEndpointTuple().secondEndpoint() instanceof CodeCompilationUnit compilationUnit ? compilationUnit.getPath() : null;
+    }
+
+    private static Integer sentenceNumber(SadCodeTraceLink traceLink) {
+        return traceLink.getEndpointTuple().firstEndpoint() instanceof SentenceEntity sentenceEntity ? sentenceEntity.getSentence().getSentenceNumber() : null;
+    }
+
+    private static ArDoCoResult run(CodeProject project) {
+        var runner = new ArDoCoForSadSamCodeTraceabilityLinkRecovery(project.name().toLowerCase());
+        runner.setUp(project.getTextFile(), project.getModelFile(), ArchitectureModelType.PCM, project.getCodeLocation(true), new TreeMap<>(), new File(
+                OUTPUT));
+        return runner.run();
+    }
+}
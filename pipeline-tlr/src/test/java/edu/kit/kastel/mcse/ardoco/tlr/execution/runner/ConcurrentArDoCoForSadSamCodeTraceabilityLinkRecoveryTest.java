@@ -0,0 +1,60 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.execution.runner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+import edu.kit.kastel.mcse.ardoco.core.api.output.ArDoCoResult;
+import edu.kit.kastel.mcse.ardoco.core.execution.CodeRunnerBaseTest;
+import edu.kit.kastel.mcse.ardoco.core.execution.ConfigurationHelper;
+import edu.kit.kastel.mcse.ardoco.tlr.execution.ArDoCoForSadSamCodeTraceabilityLinkRecovery;
+
+/**
+ * Checks that several {@link ArDoCoForSadSamCodeTraceabilityLinkRecovery} runs in one JVM do not interfere with each other: runs that execute concurrently
+ * produce the same trace links and noun mapping order as a run that executes alone.
+ */
+class ConcurrentArDoCoForSadSamCodeTraceabilityLinkRecoveryTest extends CodeRunnerBaseTest {
+
+    private static final int CONCURRENT_RUNS = 3;
+
+    @Test
+    @DisplayName("Test concurrent runs of ArDoCo for SAD-SAM-Code-TLR")
+    void testConcurrentRunsAreReproducible() throws InterruptedException, ExecutionException {
+        var expected = describe(runSadSamCodeTlr());
+
+        try (var executor = Executors.newFixedThreadPool(CONCURRENT_RUNS)) {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_RUNS; i++) {
+                futures.add(executor.submit(() -> describe(runSadSamCodeTlr())));
+            }
+            for (var future : futures) {
+                Assertions.assertEquals(expected, future.get());
+            }
+        }
+    }
+
+    private ArDoCoResult runSadSamCodeTlr() {
+        var runner = new ArDoCoForSadSamCodeTraceabilityLinkRecovery(projectName);
+        var additionalConfigsMap = ConfigurationHelper.loadAdditionalConfigs(new File(additionalConfigs));
+        runner.setUp(new File(inputText), new File(inputModelArchitecture), ArchitectureModelType.PCM, new File(inputCodeModel), additionalConfigsMap,
+                new File(outputDir));
+        return runner.run();
+    }
+
+    private static List<String> describe(ArDoCoResult result) {
+        Assertions.assertNotNull(result);
+        List<String> description = new ArrayList<>();
+        result.getSadCodeTraceLinks().stream().map(Object::toString).sorted().forEach(description::add);
+        result.getTextState().getNounMappings().forEach(nounMapping -> description.add(nounMapping.getReference() + " " + nounMapping.getKind()));
+        return description;
+    }
+}
@@ -0,0 +1,282 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.execution.runner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+import edu.kit.kastel.mcse.ardoco.core.api.output.ArDoCoResult;
+import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.data.PipelineStepData;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractPipelineStep;
+import edu.kit.kastel.mcse.ardoco.core.tests.eval.CodeProject;
+import edu.kit.kastel.mcse.ardoco.tlr.execution.ArDoCoForSadSamCodeTraceabilityLinkRecovery;
+import edu.kit.kastel.mcse.ardoco.tlr.execution.StageScheduler;
+import edu.kit.kastel.mcse.ardoco.tlr.recommendationgenerator.RecommendationGenerator;
+
+/**
+ * Checks the checkpoints of the {@link StageScheduler}. A run that is aborted by a failing stage resumes after the last finished stage, and only the same
+ * inputs, architecture model type, and effective configuration resume from a checkpoint. On the gold standard projects, a run of
+ * {@link ArDoCoForSadSamCodeTraceabilityLinkRecovery} that resumes after any stage finds the same trace links as an uninterrupted run, also if the
+ * temporary file of an aborted write is left or the last checkpoint is corrupt. A run that resumes after the recommendation generator has to restore the text
+ * state and the recommendation states from the checkpoint.
+ */
+class StageCheckpointTest {
+    private static final Logger logger = LoggerFactory.getLogger(StageCheckpointTest.class);
+
+    private static final String OUTPUT = "target/testout-stage-checkpoint";
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+    private static final String INCREMENT = CountingStage.class.getSimpleName() + "::increment";
+    private static final int STAGES = 4;
+    private static final String PROBABILITY_WITHOUT_TYPE = "InstantConnectionInformant::probabilityWithoutType";
+
+    @TempDir
+    Path checkpointDirectory;
+
+    @Test
+    @DisplayName("Aborted runs resume after the last finished stage")
+    void abortTest() throws IOException {
+        List<String> executed = new ArrayList<>();
+        Assertions.assertThrows(IllegalStateException.class, () -> runStages(new TreeMap<>(), ArchitectureModelType.PCM, 2, executed));
+        Assertions.assertAll(//
+                () -> Assertions.assertEquals(List.of("stage0", "stage1"), executed), //
+                () -> Assertions.assertEquals(2, checkpoints().size()));
+
+        executed.clear();
+        Assertions.assertEquals(STAGES, runStages(new TreeMap<>(), ArchitectureModelType.PCM, -1, executed));
+        Assertions.assertEquals(List.of("stage2", "stage3"), executed);
+
+        // Setting the default value does not change the effective configuration
+        executed.clear();
+        Assertions.assertEquals(STAGES, runStages(new TreeMap<>(Map.of(INCREMENT, "1")), ArchitectureModelType.PCM, -1, executed));
+        Assertions.assertEquals(List.of(), executed);
+
+        // A changed configuration and another architecture model type do not use the checkpoints
+        executed.clear();
+        Assertions.assertEquals(2 * STAGES, runStages(new TreeMap<>(Map.of(INCREMENT, "2")), ArchitectureModelType.PCM, -1, executed));
+        Assertions.assertEquals(STAGES, executed.size());
+
+        executed.clear();
+        Assertions.assertEquals(STAGES, runStages(new TreeMap<>(), ArchitectureModelType.UML, -1, executed));
+        Assertions.assertEquals(STAGES, executed.size());
+
+        Assertions.assertEquals(3, keys());
+    }
+
+    @DisplayName("Resumed runs find the same trace links as uninterrupted runs")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(CodeProject.class)
+    void resumeTest(CodeProject project) throws IOException {
+        long start = System.nanoTime();
+        var expected = describe(run(project, null));
+        long uninterruptedTime = System.nanoTime() - start;
+        Assertions.assertFalse(expected.isEmpty());
+
+        Assertions.assertEquals(expected, describe(run(project, checkpointDirectory.toFile())));
+        var checkpoints = checkpoints();
+        Assertions.assertFalse(checkpoints.isEmpty());
+
+        for (int abortedStage = checkpoints.size() - 1; abortedStage > 0; abortedStage--) {
+            abortAt(abortedStage);
+            start = System.nanoTime();
+            Assertions.assertEquals(expected, describe(run(project, checkpointDirectory.toFile())), "Resumed before stage " + abortedStage);
+            long resumedTime = System.nanoTime() - start;
+            Assertions.assertEquals(checkpoints.size(), checkpoints().size());
+            logger.info("{}: uninterrupted run {} ms, resumed before stage {} {} ms", project.name(), uninterruptedTime / 1_000_000, abortedStage,
+                    resumedTime / 1_000_000);
+        }
+    }
+
+    @DisplayName("Runs ignore invalid checkpoints")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(CodeProject.class)
+    void invalidCheckpointTest(CodeProject project) throws IOException {
+        var expected = describe(run(project, checkpointDirectory.toFile()));
+        var checkpoints = checkpoints();
+
+        // The last checkpoint is corrupt, so the run resumes from the one before
+        abortAt(checkpoints.size() - 1);
+        var lastCheckpoint = checkpoints().getLast();
+        Files.write(lastCheckpoint, new byte[] { 1, 2, 3 });
+        Assertions.assertEquals(expected, describe(run(project, checkpointDirectory.toFile())));
+
+        // A changed configuration does not use the checkpoints of the previous configuration
+        var configs = new TreeMap<String, String>();
+        configs.put(PROBABILITY_WITHOUT_TYPE, "0.5");
+        Assertions.assertEquals(describe(run(project, null, configs)), describe(run(project, checkpointDirectory.toFile(), configs)));
+        Assertions.assertEquals(2, keys());
+
+        // The default value is the same effective configuration, so the run uses the first checkpoints
+        configs.put(PROBABILITY_WITHOUT_TYPE, "0.8");
+        Assertions.assertEquals(expected, describe(run(project, checkpointDirectory.toFile(), configs)));
+        Assertions.assertEquals(2, keys());
+    }
+
+    @DisplayName("Resumed runs restore the text state and the recommendation states")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(CodeProject.class)
+    void textAndRecommendationStateTest(CodeProject project) throws IOException {
+        var expected = describeStates(run(project, checkpointDirectory.toFile()));
+        Assertions.assertFalse(expected.isEmpty());
+
+        // Resume after the recommendation generator, so the text state and the recommendation states are restored from its checkpoint
+        var recommendationCheckpoint = checkpoints().stream()
+                .filter(checkpoint -> checkpoint.getFileName().toString().endsWith("-" + RecommendationGenerator.class.getSimpleName() + CHECKPOINT_SUFFIX))
+                .findFirst()
+                .orElseThrow();
+        abortAt(index(recommendationCheckpoint) + 1);
+        Assertions.assertEquals(expected, describeStates(run(project, checkpointDirectory.toFile())));
+    }
+
+    /**
+     * Removes the checkpoints from the given stage on, and leaves the temporary file of a write that was aborted.
+     */
+    private void abortAt(int stage) throws IOException {
+        for (var checkpoint : checkpoints()) {
+            if (index(checkpoint) >= stage) {
+                Files.delete(checkpoint);
+            }
+        }
+        var keyDirectory = checkpoints().getFirst().getParent();
+        Files.write(keyDirectory.resolve(stage + "-aborted.tmp"), new byte[] { 0 });
+    }
+
+    private long keys() throws IOException {
+        try (Stream<Path> keys = Files.list(checkpointDirectory)) {
+            return keys.count();
+        }
+    }
+
+    private List<Path> checkpoints() throws IOException {
+        try (Stream<Path> files = Files.walk(checkpointDirectory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(CHECKPOINT_SUFFIX))
+                    .sorted((first, second) -> Integer.compare(index(first), index(second)))
+                    .toList();
+        }
+    }
+
+    private static int index(Path checkpoint) {
+        var name = checkpoint.getFileName().toString();
+        return Integer.parseInt(name.substring(0, name.indexOf('-')));
+    }
+
+    /**
+     * Runs {@link #STAGES} counting stages with checkpoints.
+     *
+     * @param abortedStage the position of the stage that fails or -1
+     * @return the count after the last stage
+     */
+    private int runStages(SortedMap<String, String> additionalConfigs, ArchitectureModelType architectureModelType, int abortedStage,
+            List<String> executed) {
+        var dataRepository = new DataRepository();
+        var stageScheduler = StageScheduler.get(additionalConfigs, dataRepository);
+        for (int i = 0; i < STAGES; i++) {
+            var stage = new CountingStage("stage" + i, dataRepository, executed, i == abortedStage);
+            stage.applyConfiguration(additionalConfigs);
+            stageScheduler.addStage(stage);
+            stageScheduler.addOutputs(stage, Count.ID);
+        }
+        stageScheduler.enableCheckpoints(checkpointDirectory.toFile(), architectureModelType);
+        stageScheduler.execute();
+        return dataRepository.getData(Count.ID, Count.class).map(Count::value).orElse(0);
+    }
+
+    private static ArDoCoResult run(CodeProject project, File checkpointDirectory) {
+        return run(project, checkpointDirectory, new TreeMap<>());
+    }
+
+    private static ArDoCoResult run(CodeProject project, File checkpointDirectory, TreeMap<String, String> additionalConfigs) {
+        var runner = new ArDoCoForSadSamCodeTraceabilityLinkRecovery(project.name().toLowerCase());
+        runner.setUp(project.getTextFile(), project.getModelFile(), ArchitectureModelType.PCM, project.getCodeLocation(true), additionalConfigs, new File(
+                OUTPUT), checkpointDirectory);
+        return runner.run();
+    }
+
+    private static List<String> describe(ArDoCoResult result) {
+        Assertions.assertNotNull(result);
+        List<String> description = new ArrayList<>();
+        result.getSamCodeTraceLinks().stream().map(Object::toString).sorted().forEach(description::add);
+        result.getSadCodeTraceLinks().stream().map(Object::toString).sorted().forEach(description::add);
+        result.getTextState().getNounMappings().forEach(nounMapping -> description.add(nounMapping.getReference() + " " + nounMapping.getKind()));
+        return description;
+    }
+
+    private static List<String> describeStates(ArDoCoResult result) {
+        Assertions.assertNotNull(result);
+        List<String> description = new ArrayList<>();
+        var dataRepository = result.dataRepository();
+        result.getTextState()
+                .getNounMappings()
+                .forEach(nounMapping -> description.add(nounMapping.getReference() + " " + nounMapping.getKind() + " " + nounMapping.getProbability()));
+        var modelStates = DataRepositoryHelper.getModelStatesData(dataRepository);
+        var recommendationStates = DataRepositoryHelper.getRecommendationStates(dataRepository);
+        for (var model : modelStates.modelIds()) {
+            var metamodel = modelStates.getModelExtractionState(model).getMetamodel();
+            for (var recommendedInstance : recommendationStates.getRecommendationState(metamodel).getRecommendedInstances()) {
+                description.add(model + ": " + recommendedInstance.getName() + " " + recommendedInstance.getType() + " " + recommendedInstance
+                        .getProbability());
+            }
+        }
+        result.getSadCodeTraceLinks().stream().map(Object::toString).sorted().forEach(description::add);
+        return description;
+    }
+
+    private record Count(int value) implements PipelineStepData {
+        private static final String ID = "Count";
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * Stage that adds its increment to the count and records its execution. An aborting stage fails instead.
+     */
+    private static final class CountingStage extends AbstractPipelineStep {
+        private final List<String> executed;
+        private final boolean abort;
+
+        @Configurable
+        private int increment = 1;
+
+        private CountingStage(String id, DataRepository dataRepository, List<String> executed, boolean abort) {
+            super(id, dataRepository);
+            this.executed = executed;
+            this.abort = abort;
+        }
+
+        @Override
+        public void process() {
+            if (abort) {
+                throw new IllegalStateException("Aborted " + getId());
+            }
+            executed.add(getId());
+            int count = getDataRepository().getData(Count.ID, Count.class).map(Count::value).orElse(0);
+            getDataRepository().addData(Count.ID, new Count(count + increment));
+        }
+
+        @Override
+        protected void delegateApplyConfigurationToInternalObjects(SortedMap<String, String> additionalConfiguration) {
+            // empty
+        }
+    }
+}
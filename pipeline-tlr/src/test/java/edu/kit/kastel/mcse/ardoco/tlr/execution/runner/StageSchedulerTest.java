@@ -0,0 +1,66 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.execution.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractPipelineStep;
+import edu.kit.kastel.mcse.ardoco.tlr.execution.StageScheduler;
+
+/**
+ * Checks that the {@link StageScheduler} executes the stages in the order they were added.
+ */
+class StageSchedulerTest {
+
+    @Test
+    @DisplayName("Stages are executed in the order they were added")
+    void orderTest() {
+        var dataRepository = new DataRepository();
+        var stageScheduler = StageScheduler.get(new TreeMap<>(), dataRepository);
+        List<String> executed = new ArrayList<>();
+        var text = new RecordingStage("text", dataRepository, executed);
+        var model = new RecordingStage("model", dataRepository, executed);
+        var join = new RecordingStage("join", dataRepository, executed);
+        stageScheduler.addStage(text);
+        stageScheduler.addStage(model);
+        stageScheduler.addStage(join);
+
+        stageScheduler.execute();
+
+        Assertions.assertAll(//
+                () -> Assertions.assertEquals(List.of("text", "model", "join"), executed), //
+                () -> Assertions.assertEquals(List.of(text, model, join), stageScheduler.getStages().castToList()), //
+                () -> Assertions.assertThrows(IllegalArgumentException.class, () -> stageScheduler.addStage(text)), //
+                () -> Assertions.assertThrows(IllegalArgumentException.class, () -> stageScheduler.addOutputs(new RecordingStage("other", dataRepository,
+                        executed), "data")));
+    }
+
+    /**
+     * Stage that records its execution.
+     */
+    private static final class RecordingStage extends AbstractPipelineStep {
+        private final List<String> executed;
+
+        private RecordingStage(String id, DataRepository dataRepository, List<String> executed) {
+            super(id, dataRepository);
+            this.executed = executed;
+        }
+
+        @Override
+        public void process() {
+            executed.add(getId());
+        }
+
+        @Override
+        protected void delegateApplyConfigurationToInternalObjects(SortedMap<String, String> additionalConfiguration) {
+            // empty
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.execution.runner;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+import edu.kit.kastel.mcse.ardoco.core.execution.CodeRunnerBaseTest;
+import edu.kit.kastel.mcse.ardoco.core.execution.ConfigurationHelper;
+import edu.kit.kastel.mcse.ardoco.tlr.execution.ArDoCoForSadSamCodeTraceabilityLinkRecovery;
+import edu.kit.kastel.mcse.ardoco.tlr.execution.BatchProject;
+import edu.kit.kastel.mcse.ardoco.tlr.execution.DaemonResult;
+import edu.kit.kastel.mcse.ardoco.tlr.execution.TlrDaemon;
+import edu.kit.kastel.mcse.ardoco.tlr.execution.TlrDaemonClient;
+
+/**
+ * Starts a {@link TlrDaemon}, submits concurrent TeaStore jobs with the {@link TlrDaemonClient}, and checks that the daemon finds the same trace links as a
+ * direct run. Also checks that the daemon rejects requests to another host, without its token, or with another content type.
+ */
+class TlrDaemonTest extends CodeRunnerBaseTest {
+    private static final Logger logger = LoggerFactory.getLogger(TlrDaemonTest.class);
+
+    private static final int JOBS = 4;
+    private static final int WORKERS = 2;
+
+    @TempDir
+    Path daemonDirectory;
+
+    @Test
+    @DisplayName("Test TeaStore jobs of the daemon against a direct run")
+    void testTeaStoreJobs() throws IOException {
+        var additionalConfigsMap = ConfigurationHelper.loadAdditionalConfigs(new File(additionalConfigs));
+
+        var runner = new ArDoCoForSadSamCodeTraceabilityLinkRecovery(projectName);
+        runner.setUp(new File(inputText), new File(inputModelArchitecture), ArchitectureModelType.PCM, new File(inputCodeModel), additionalConfigsMap,
+                daemonDirectory.resolve("direct").toFile());
+        var directResult = runner.run();
+        Assertions.assertNotNull(directResult);
+        var expected = DaemonResult.of(projectName, 0, directResult);
+        Assertions.assertFalse(expected.samCodeTraceLinks().isEmpty());
+
+        try (var daemon = TlrDaemon.start(0, additionalConfigsMap, WORKERS, null)) {
+            var client = new TlrDaemonClient(daemon.getUri());
+            Assertions.assertTrue(client.isHealthy());
+
+            List<CompletableFuture<DaemonResult>> jobs = new ArrayList<>();
+            for (int i = 0; i < JOBS; i++) {
+                var project = teaStore(projectName + "-" + i);
+                jobs.add(CompletableFuture.supplyAsync(() -> client.analyze(project)));
+            }
+            // The health endpoint answers while the workers are busy with the jobs
+            Assertions.assertTrue(client.isHealthy());
+            for (int i = 0; i < JOBS; i++) {
+                var result = jobs.get(i).join();
+                Assertions.assertTrue(result.isSuccessful(), result.error());
+                Assertions.assertEquals(projectName + "-" + i, result.name());
+                Assertions.assertEquals(expected.samCodeTraceLinks(), result.samCodeTraceLinks());
+                Assertions.assertEquals(expected.sadCodeTraceLinks(), result.sadCodeTraceLinks());
+                logger.info("{}: {} ms in the daemon", result.name(), result.milliseconds());
+            }
+
+            var missing = client.analyze(new BatchProject("missing", new File("does/not/exist.txt"), new File(inputModelArchitecture),
+                    ArchitectureModelType.PCM, new File(inputCodeModel), daemonDirectory.resolve("missing").toFile()));
+            Assertions.assertFalse(missing.isSuccessful());
+            Assertions.assertTrue(client.isHealthy());
+        }
+    }
+
+    @Test
+    @DisplayName("Test that the daemon rejects foreign requests")
+    void testForeignRequests() throws IOException {
+        try (var daemon = TlrDaemon.start(0, new TreeMap<>(), 1, null)) {
+            var uri = daemon.getUri();
+            var token = Files.readString(daemon.getTokenFile()).strip();
+            if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+                Assertions.assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(daemon.getTokenFile())));
+            }
+
+            Assertions.assertAll(//
+                    // The empty project passes the checks and is rejected as invalid analysis request
+                    () -> Assertions.assertEquals(400, analyze(uri, "localhost", token, "application/json")), //
+                    () -> Assertions.assertEquals(400, analyze(uri, "127.0.0.1:" + uri.getPort(), token, "application/json; charset=UTF-8")), //
+                    () -> Assertions.assertEquals(403, analyze(uri, "attacker.example:" + uri.getPort(), token, "application/json")), //
+                    () -> Assertions.assertEquals(401, analyze(uri, "localhost", "wrong", "application/json")), //
+                    () -> Assertions.assertEquals(415, analyze(uri, "localhost", token, "text/plain")), //
+                    () -> Assertions.assertEquals(403, send(uri, "GET " + TlrDaemon.HEALTH_PATH + " HTTP/1.1\r\nHost: attacker.example\r\n" + //
+                            "Connection: close\r\n\r\n")));
+
+            var project = teaStore(projectName);
+            var wrongTokenFile = daemonDirectory.resolve("wrong.token");
+            Files.writeString(wrongTokenFile, "wrong");
+            Assertions.assertThrows(IllegalArgumentException.class, () -> new TlrDaemonClient(uri, wrongTokenFile).analyze(project));
+            Assertions.assertThrows(UncheckedIOException.class, () -> new TlrDaemonClient(uri, daemonDirectory.resolve("missing.token")).analyze(project));
+        }
+    }
+
+    private static int analyze(URI uri, String host, String token, String contentType) throws IOException {
+        return send(uri, "POST " + TlrDaemon.ANALYZE_PATH + " HTTP/1.1\r\nHost: " + host + "\r\nAuthorization: Bearer " + token + "\r\nContent-Type: "
+                + contentType + "\r\nContent-Length: 2\r\nConnection: close\r\n\r\n{}");
+    }
+
+    /**
+     * Sends a raw request, since HTTP clients do not allow setting the {@code Host} header.
+     *
+     * @return the status of the answer
+     */
+    private static int send(URI uri, String request) throws IOException {
+        try (var socket = new Socket(uri.getHost(), uri.getPort()); var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                StandardCharsets.US_ASCII))) {
+            OutputStream out = socket.getOutputStream();
+            out.write(request.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            return Integer.parseInt(reader.readLine().split(" ")[1]);
+        }
+    }
+
+    private BatchProject teaStore(String name) {
+        return new BatchProject(name, new File(inputText), new File(inputModelArchitecture), ArchitectureModelType.PCM, new File(inputCodeModel),
+                daemonDirectory.resolve(name).toFile());
+    }
+}
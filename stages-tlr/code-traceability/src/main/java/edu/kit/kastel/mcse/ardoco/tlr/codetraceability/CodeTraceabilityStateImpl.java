@@ -1,25 +1,39 @@
-/* Licensed under MIT 2023-2024. */
+/* Licensed under MIT 2023-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability;
 
 import java.util.Collection;
-import java.util.LinkedHashSet;
 
-import org.eclipse.collections.api.factory.Lists;
-import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.set.ImmutableSet;
 import org.eclipse.collections.impl.factory.Sets;
 
 import edu.kit.kastel.mcse.ardoco.core.api.codetraceability.CodeTraceabilityState;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.EndpointTuple;
 import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.SadCodeTraceLink;
 import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.SamCodeTraceLink;
+import edu.kit.kastel.mcse.ardoco.core.api.text.SentenceEntity;
 import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
 import edu.kit.kastel.mcse.ardoco.core.data.AbstractState;
+import edu.kit.kastel.mcse.ardoco.tlr.common.PersistentList;
 
+/**
+ * The code traceability state. The trace links are kept in {@link TraceLinkStore trace link stores} that index SAM-Code trace links by architecture element
+ * and code file, and SAD-Code trace links by code file and sentence. The indexed queries return views of the stores, not copies. The trace links in order
+ * are persistent lists, so {@link #getSamCodeTraceLinkSnapshot()} and {@link #getSadCodeTraceLinkSnapshot()} hand out the current version without copying.
+ */
 @Deterministic
 public class CodeTraceabilityStateImpl extends AbstractState implements CodeTraceabilityState {
 
-    private MutableList<SamCodeTraceLink> samCodeTraceLinks = Lists.mutable.empty();
-    private MutableList<SadCodeTraceLink> transitiveTraceLinks = Lists.mutable.empty();
+    private final TraceLinkStore<SamCodeTraceLink> samCodeTraceLinks = new TraceLinkStore<>();
+    private final TraceLinkStore<SadCodeTraceLink> transitiveTraceLinks = new TraceLinkStore<>();
+
+    /**
+     * Read views of the trace links with the snapshot they were built from. A view is shared as long as the snapshot of its store did not change. The views
+     * are volatile and immutable, so concurrent readers either reuse a complete view or build their own.
+     */
+    private transient volatile LinkSetView<SamCodeTraceLink> samCodeTraceLinkView;
+    private transient volatile LinkSetView<SadCodeTraceLink> transitiveTraceLinkView;
 
     public CodeTraceabilityStateImpl() {
         super();
@@ -27,32 +41,138 @@ public CodeTraceabilityStateImpl() {
 
     @Override
     public boolean addSamCodeTraceLink(SamCodeTraceLink traceLink) {
-        return this.samCodeTraceLinks.add(traceLink);
+        EndpointTuple endpointTuple = traceLink.getEndpointTuple();
+        return this.samCodeTraceLinks.add(traceLink, endpointTuple.firstEndpoint().getId(), codeFilePath(endpointTuple), TraceLinkStore.NO_SENTENCE);
     }
 
     @Override
     public boolean addSamCodeTraceLinks(Collection<SamCodeTraceLink> traceLinks) {
-        return this.samCodeTraceLinks.addAll(traceLinks);
+        boolean added = false;
+        for (var traceLink : traceLinks) {
+            added |= addSamCodeTraceLink(traceLink);
+        }
+        return added;
     }
 
     @Override
     public ImmutableSet<SamCodeTraceLink> getSamCodeTraceLinks() {
-        return Sets.immutable.withAll(new LinkedHashSet<>(this.samCodeTraceLinks));
+        var view = LinkSetView.current(this.samCodeTraceLinkView, this.samCodeTraceLinks.snapshot());
+        this.samCodeTraceLinkView = view;
+        return view.links();
+    }
+
+    /**
+     * {@return the SAM-Code trace links in the order they were first added}
+     */
+    public ListIterable<SamCodeTraceLink> getSamCodeTraceLinksInOrder() {
+        return this.samCodeTraceLinks.getAll();
+    }
+
+    /**
+     * {@return the current version of the SAM-Code trace links in the order they were first added, later additions do not change it}
+     */
+    public PersistentList<SamCodeTraceLink> getSamCodeTraceLinkSnapshot() {
+        return this.samCodeTraceLinks.snapshot();
+    }
+
+    /**
+     * Returns a view of the SAM-Code trace links of the architecture element. See {@link TraceLinkStore} for when the view reflects later additions.
+     *
+     * @param architectureElementId the id of the architecture element
+     * @return the SAM-Code trace links of the architecture element, in the order they were added
+     */
+    public ListIterable<SamCodeTraceLink> getSamCodeTraceLinksByArchitectureElement(String architectureElementId) {
+        return this.samCodeTraceLinks.getByArchitectureElement(architectureElementId);
+    }
+
+    /**
+     * Returns a view of the SAM-Code trace links to the code file. See {@link TraceLinkStore} for when the view reflects later additions.
+     *
+     * @param codeFilePath the path of the code file (compilation unit)
+     * @return the SAM-Code trace links to the code file, in the order they were added
+     */
+    public ListIterable<SamCodeTraceLink> getSamCodeTraceLinksByCodeFile(String codeFilePath) {
+        return this.samCodeTraceLinks.getByCodeFile(codeFilePath);
     }
 
     @Override
     public boolean addSadCodeTraceLink(SadCodeTraceLink traceLink) {
-        return this.transitiveTraceLinks.add(traceLink);
+        EndpointTuple endpointTuple = traceLink.getEndpointTuple();
+        return this.transitiveTraceLinks.add(traceLink, null, codeFilePath(endpointTuple), sentenceNumber(endpointTuple));
     }
 
     @Override
     public boolean addSadCodeTraceLinks(Collection<SadCodeTraceLink> traceLinks) {
-        return this.transitiveTraceLinks.addAll(traceLinks);
+        boolean added = false;
+        for (var traceLink : traceLinks) {
+            added |= addSadCodeTraceLink(traceLink);
+        }
+        return added;
     }
 
     @Override
     public ImmutableSet<SadCodeTraceLink> getSadCodeTraceLinks() {
-        return this.transitiveTraceLinks.toImmutableSet();
+        var view = LinkSetView.current(this.transitiveTraceLinkView, this.transitiveTraceLinks.snapshot());
+        this.transitiveTraceLinkView = view;
+        return view.links();
+    }
+
+    /**
+     * {@return the SAD-Code trace links in the order they were first added}
+     */
+    public ListIterable<SadCodeTraceLink> getSadCodeTraceLinksInOrder() {
+        return this.transitiveTraceLinks.getAll();
     }
 
+    /**
+     * {@return the current version of the SAD-Code trace links in the order they were first added, later additions do not change it}
+     */
+    public PersistentList<SadCodeTraceLink> getSadCodeTraceLinkSnapshot() {
+        return this.transitiveTraceLinks.snapshot();
+    }
+
+    /**
+     * Returns a view of the SAD-Code trace links to the code file. See {@link TraceLinkStore} for when the view reflects later additions.
+     *
+     * @param codeFilePath the path of the code file (compilation unit)
+     * @return the SAD-Code trace links to the code file, in the order they were added
+     */
+    public ListIterable<SadCodeTraceLink> getSadCodeTraceLinksByCodeFile(String codeFilePath) {
+        return this.transitiveTraceLinks.getByCodeFile(codeFilePath);
+    }
+
+    /**
+     * Returns a view of the SAD-Code trace links of the sentence. See {@link TraceLinkStore} for when the view reflects later additions.
+     *
+     * @param sentenceNumber the number of the sentence, as given by {@code Sentence#getSentenceNumber()}
+     * @return the SAD-Code trace links of the sentence, in the order they were added
+     */
+    public ListIterable<SadCodeTraceLink> getSadCodeTraceLinksBySentence(int sentenceNumber) {
+        return this.transitiveTraceLinks.getBySentence(sentenceNumber);
+    }
+
+    private static String codeFilePath(EndpointTuple endpointTuple) {
+        return endpointTuple.secondEndpoint() instanceof CodeCompilationUnit compilationUnit ? compilationUnit.getPath() : null;
+    }
+
+    private static int sentenceNumber(EndpointTuple endpointTuple) {
+        return endpointTuple.firstEndpoint() instanceof SentenceEntity sentenceEntity ?
+                sentenceEntity.getSentence().getSentenceNumber() :
+                TraceLinkStore.NO_SENTENCE;
+    }
+
+    /**
+     * A set view of the trace links of a store and the snapshot of the store it was built from.
+     */
+    private record LinkSetView<T>(PersistentList<T> source, ImmutableSet<T> links) {
+        /**
+         * Returns the given view if it was built from the given snapshot, otherwise a new view of the snapshot.
+         */
+        static <T> LinkSetView<T> current(LinkSetView<T> view, PersistentList<T> snapshot) {
+            if (view != null && view.source() == snapshot) {
+                return view;
+            }
+            return new LinkSetView<>(snapshot, Sets.immutable.withAll(snapshot.toImmutableList()));
+        }
+    }
 }
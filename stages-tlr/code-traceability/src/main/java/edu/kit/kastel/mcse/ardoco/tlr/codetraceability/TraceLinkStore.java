@@ -0,0 +1,100 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.factory.primitive.IntObjectMaps;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.api.set.MutableSet;
+
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+import edu.kit.kastel.mcse.ardoco.tlr.common.PersistentList;
+
+/**
+ * Distinct trace links in the order they were first added, with secondary indexes by architecture element id, code file path, and sentence number. The keys
+ * of a link are given when it is added; links without a key (null or {@link #NO_SENTENCE}) are not indexed for it. Queries by key return unmodifiable views
+ * of the stored lists instead of copies. A view of a key that already has links reflects later additions for that key; a query for a key without links
+ * returns an empty list that does not change, so callers that need later links of such a key have to query again. Queries do not create entries for
+ * unknown keys. All links are kept in a {@link PersistentList}, so a snapshot of them is taken without copying (see {@link #snapshot()}). The snapshot is
+ * published through a volatile field, so readers of other threads see a complete version of the links.
+ * <p>
+ * The store is written by one thread at a time; the views by key must not be read while links are added.
+ *
+ * @param <T> the type of the trace links
+ */
+@Deterministic
+final class TraceLinkStore<T> implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    static final int NO_SENTENCE = -1;
+
+    private final MutableSet<T> links = Sets.mutable.empty();
+    private volatile PersistentList<T> orderedLinks = PersistentList.empty();
+    private final MutableMap<String, MutableList<T>> byArchitectureElement = Maps.mutable.empty();
+    private final MutableMap<String, MutableList<T>> byCodeFile = Maps.mutable.empty();
+    private final MutableIntObjectMap<MutableList<T>> bySentence = IntObjectMaps.mutable.empty();
+
+    /**
+     * Adds the link if it is not stored yet.
+     *
+     * @param link                  the link
+     * @param architectureElementId the id of the architecture element of the link or null
+     * @param codeFilePath          the path of the code file of the link or null
+     * @param sentenceNumber        the number of the sentence of the link or {@link #NO_SENTENCE}
+     * @return true if the link was added, false if it was already stored
+     */
+    boolean add(T link, String architectureElementId, String codeFilePath, int sentenceNumber) {
+        if (!links.add(link)) {
+            return false;
+        }
+        orderedLinks = orderedLinks.with(link);
+        if (architectureElementId != null) {
+            byArchitectureElement.getIfAbsentPut(architectureElementId, Lists.mutable::empty).add(link);
+        }
+        if (codeFilePath != null) {
+            byCodeFile.getIfAbsentPut(codeFilePath, Lists.mutable::empty).add(link);
+        }
+        if (sentenceNumber != NO_SENTENCE) {
+            bySentence.getIfAbsentPut(sentenceNumber, Lists.mutable::empty).add(link);
+        }
+        return true;
+    }
+
+    /**
+     * {@return all links in the order they were first added}
+     */
+    ListIterable<T> getAll() {
+        return orderedLinks.toImmutableList();
+    }
+
+    /**
+     * {@return the current version of all links in the order they were first added, later additions do not change it}
+     */
+    PersistentList<T> snapshot() {
+        return orderedLinks;
+    }
+
+    ListIterable<T> getByArchitectureElement(String architectureElementId) {
+        return view(byArchitectureElement.get(architectureElementId));
+    }
+
+    ListIterable<T> getByCodeFile(String codeFilePath) {
+        return view(byCodeFile.get(codeFilePath));
+    }
+
+    ListIterable<T> getBySentence(int sentenceNumber) {
+        return view(bySentence.get(sentenceNumber));
+    }
+
+    private ListIterable<T> view(MutableList<T> bucket) {
+        return bucket == null ? Lists.immutable.empty() : bucket.asUnmodifiable();
+    }
+}
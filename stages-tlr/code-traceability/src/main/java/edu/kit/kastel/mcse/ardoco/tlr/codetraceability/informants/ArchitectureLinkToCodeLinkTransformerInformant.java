@@ -1,7 +1,6 @@
-/* Licensed under MIT 2023-2024. */
+/* Licensed under MIT 2023-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.SortedMap;
 
@@ -22,6 +21,10 @@
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
 
+/**
+ * Transforms the SAD-SAM trace links to the code model into SAD-Code trace links. Links to packages are resolved to all compilation units in the package,
+ * links to files to the compilation unit with the same path. Both are looked up in a {@link CodePathIndex} of the code model.
+ */
 @Deterministic
 public class ArchitectureLinkToCodeLinkTransformerInformant extends Informant {
 
@@ -40,10 +43,11 @@ public void process() {
         }
 
         CodeModel codeModel = findCodeModel(modelStatesData);
+        CodePathIndex codePathIndex = codeModel == null ? null : new CodePathIndex(codeModel.getEndpoints());
 
         for (var traceLink : connectionStates.getConnectionState(Metamodel.CODE).getTraceLinks()) {
             var modelElement = traceLink.getModelElementUid();
-            var mentionedCodeModelElements = findMentionedCodeModelElementsById(modelElement, codeModel);
+            var mentionedCodeModelElements = findMentionedCodeModelElementsById(modelElement, codePathIndex);
             for (var mid : mentionedCodeModelElements) {
                 sadCodeTracelinks.add(new SadCodeTraceLink(new EndpointTuple(traceLink.getEndpointTuple().firstEndpoint(), mid)));
             }
@@ -54,35 +58,28 @@ public void process() {
         codeTraceabilityState.addSadCodeTraceLinks(sadCodeTracelinks);
     }
 
-    private List<CodeCompilationUnit> findMentionedCodeModelElementsById(String modelElementId, CodeModel codeModel) {
+    private List<CodeCompilationUnit> findMentionedCodeModelElementsById(String modelElementId, CodePathIndex codePathIndex) {
         boolean isPackage = modelElementId.endsWith("/");
         if (isPackage) {
-            return findAllClassesInPackage(modelElementId, codeModel);
+            return findAllClassesInPackage(modelElementId, codePathIndex);
         }
-        return findCompilationUnitById(modelElementId, codeModel);
+        return findCompilationUnitById(modelElementId, codePathIndex);
     }
 
-    private List<CodeCompilationUnit> findAllClassesInPackage(String modelElementId, CodeModel codeModel) {
-        List<CodeCompilationUnit> codeCompilationUnits = new ArrayList<>();
-        for (var codeCompilationUnit : codeModel.getEndpoints()) {
-            var path = codeCompilationUnit.getPath();
-            if (path.contains(modelElementId)) {
-                codeCompilationUnits.add(codeCompilationUnit);
-            }
-        }
+    private List<CodeCompilationUnit> findAllClassesInPackage(String modelElementId, CodePathIndex codePathIndex) {
+        var codeCompilationUnits = codePathIndex.getCompilationUnitsInPackage(modelElementId);
         if (codeCompilationUnits.isEmpty()) {
             throw new IllegalStateException("Could not find any code for " + modelElementId);
         }
-        return codeCompilationUnits;
+        return codeCompilationUnits.castToList();
     }
 
-    private List<CodeCompilationUnit> findCompilationUnitById(String modelElementId, CodeModel codeModel) {
-        for (var codeCompilationUnit : codeModel.getEndpoints()) {
-            if (codeCompilationUnit.getPath().equals(modelElementId)) {
-                return List.of(codeCompilationUnit);
-            }
+    private List<CodeCompilationUnit> findCompilationUnitById(String modelElementId, CodePathIndex codePathIndex) {
+        var codeCompilationUnit = codePathIndex.getCompilationUnit(modelElementId);
+        if (codeCompilationUnit == null) {
+            throw new IllegalStateException("Could not find model element " + modelElementId);
         }
-        throw new IllegalStateException("Could not find model element " + modelElementId);
+        return List.of(codeCompilationUnit);
     }
 
     private CodeModel findCodeModel(ModelStates models) {
@@ -0,0 +1,109 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.factory.primitive.IntLists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.map.MutableMap;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+
+/**
+ * Index of the paths of the compilation units of a code model. A compilation unit is found by its path with a lookup. The compilation units in a package
+ * (all units whose path contains the path of the package, which ends with {@code /}) are found with a prefix search over the reversed directory paths of
+ * all compilation units: a path contains the package path exactly if one of its directories ends with it.
+ * <p>
+ * The results are in the order of the compilation units given to the index, like the results of scanning the compilation units in that order.
+ */
+@Deterministic
+public final class CodePathIndex {
+
+    private final ImmutableList<CodeCompilationUnit> compilationUnits;
+    private final MutableMap<String, CodeCompilationUnit> compilationUnitsByPath = Maps.mutable.empty();
+    /**
+     * The reversed paths of all directories (ending with {@code /}) that contain compilation units, sorted.
+     */
+    private final String[] reversedDirectories;
+    /**
+     * The positions of the compilation units in each directory of {@link #reversedDirectories}.
+     */
+    private final int[][] compilationUnitsByDirectory;
+
+    /**
+     * Creates a new index of the given compilation units.
+     *
+     * @param compilationUnits the compilation units of the code model
+     */
+    public CodePathIndex(Iterable<? extends CodeCompilationUnit> compilationUnits) {
+        this.compilationUnits = Lists.immutable.withAll(compilationUnits);
+        MutableMap<String, MutableIntList> byReversedDirectory = Maps.mutable.empty();
+        for (int i = 0; i < this.compilationUnits.size(); i++) {
+            var path = this.compilationUnits.get(i).getPath();
+            if (path == null) {
+                continue;
+            }
+            compilationUnitsByPath.getIfAbsentPut(path, this.compilationUnits.get(i));
+            for (int end = path.indexOf('/'); end >= 0; end = path.indexOf('/', end + 1)) {
+                byReversedDirectory.getIfAbsentPut(reverse(path.substring(0, end + 1)), IntLists.mutable::empty).add(i);
+            }
+        }
+
+        MutableList<String> directories = byReversedDirectory.keysView().toSortedList();
+        this.reversedDirectories = directories.toArray(new String[0]);
+        this.compilationUnitsByDirectory = new int[reversedDirectories.length][];
+        for (int i = 0; i < reversedDirectories.length; i++) {
+            compilationUnitsByDirectory[i] = byReversedDirectory.get(reversedDirectories[i]).toArray();
+        }
+    }
+
+    /**
+     * Returns the first compilation unit with the given path.
+     *
+     * @param path the path
+     * @return the compilation unit or null if there is none
+     */
+    public CodeCompilationUnit getCompilationUnit(String path) {
+        return compilationUnitsByPath.get(path);
+    }
+
+    /**
+     * Returns the compilation units whose path contains the given path.
+     *
+     * @param packagePath the path of a package, ending with {@code /}
+     * @return the compilation units in the package and its subpackages
+     */
+    public ImmutableList<CodeCompilationUnit> getCompilationUnitsInPackage(String packagePath) {
+        if (packagePath.isEmpty() || !packagePath.endsWith("/")) {
+            return compilationUnits.select(compilationUnit -> compilationUnit.getPath().contains(packagePath));
+        }
+
+        var reversedPackagePath = reverse(packagePath);
+        int first = Arrays.binarySearch(reversedDirectories, reversedPackagePath);
+        if (first < 0) {
+            first = -first - 1;
+        }
+        var positions = new BitSet(compilationUnits.size());
+        for (int i = first; i < reversedDirectories.length && reversedDirectories[i].startsWith(reversedPackagePath); i++) {
+            for (int position : compilationUnitsByDirectory[i]) {
+                positions.set(position);
+            }
+        }
+
+        MutableList<CodeCompilationUnit> result = Lists.mutable.empty();
+        for (int position = positions.nextSetBit(0); position >= 0; position = positions.nextSetBit(position + 1)) {
+            result.add(compilationUnits.get(position));
+        }
+        return result.toImmutable();
+    }
+
+    private static String reverse(String string) {
+        return new StringBuilder(string).reverse().toString();
+    }
+}
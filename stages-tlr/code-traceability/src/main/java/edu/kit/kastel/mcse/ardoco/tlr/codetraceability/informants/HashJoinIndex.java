@@ -0,0 +1,88 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants;
+
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+
+/**
+ * The build side of a hash join: elements grouped by a string key. Joining elements of another collection looks up the elements with the same key instead
+ * of comparing every pair. Elements with the same key are kept in the order they were given, so the output of {@link #join} is ordered by the probe side
+ * first and by the build side second.
+ *
+ * @param <R> the type of the indexed elements
+ */
+@Deterministic
+public final class HashJoinIndex<R> {
+
+    private final MutableMap<String, MutableList<R>> elementsByKey = Maps.mutable.empty();
+    private int size = 0;
+
+    /**
+     * Creates a new index of the given elements.
+     *
+     * @param elements the elements
+     * @param key      the function that returns the join key of an element, elements with a null key are never joined
+     */
+    public HashJoinIndex(Iterable<? extends R> elements, Function<? super R, String> key) {
+        for (R element : elements) {
+            var elementKey = key.apply(element);
+            if (elementKey != null) {
+                elementsByKey.getIfAbsentPut(elementKey, Lists.mutable::empty).add(element);
+                size++;
+            }
+        }
+    }
+
+    /**
+     * Returns the indexed elements with the given key.
+     *
+     * @param key the key
+     * @return the elements with the key, in the order they were given
+     */
+    public ImmutableList<R> get(String key) {
+        var elements = elementsByKey.get(key);
+        return elements == null ? Lists.immutable.empty() : elements.toImmutable();
+    }
+
+    /**
+     * Joins the given elements with the indexed elements that have the same key and passes every combination the combiner creates to the sink. The
+     * combinations are not collected, so the sink decides whether the result is kept in memory.
+     *
+     * @param probeElements the elements to join with the indexed elements
+     * @param key           the function that returns the join key of a probe element, elements with a null key are never joined
+     * @param combiner      the function that combines a probe element and an indexed element with the same key
+     * @param sink          the consumer of the combinations
+     * @param <L>           the type of the probe elements
+     * @param <T>           the type of the combinations
+     */
+    public <L, T> void join(Iterable<? extends L> probeElements, Function<? super L, String> key, BiFunction<? super L, ? super R, Optional<T>> combiner,
+            Consumer<? super T> sink) {
+        for (L probeElement : probeElements) {
+            var probeKey = key.apply(probeElement);
+            var matches = probeKey == null ? null : elementsByKey.get(probeKey);
+            if (matches == null) {
+                continue;
+            }
+            for (R match : matches) {
+                combiner.apply(probeElement, match).ifPresent(sink);
+            }
+        }
+    }
+
+    /**
+     * {@return the number of indexed elements}
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -1,10 +1,10 @@
-/* Licensed under MIT 2023-2024. */
+/* Licensed under MIT 2023-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants;
 
 import java.util.SortedMap;
+import java.util.function.Consumer;
 
 import org.eclipse.collections.api.factory.Sets;
-import org.eclipse.collections.api.set.ImmutableSet;
 import org.eclipse.collections.api.set.MutableSet;
 
 import edu.kit.kastel.mcse.ardoco.core.api.codetraceability.CodeTraceabilityState;
@@ -19,6 +19,11 @@
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
 
+/**
+ * Combines the SAD-SAM trace links of every model with the SAM-Code trace links that have the same architecture element to transitive SAD-Code trace links.
+ * The SAM-Code trace links are indexed by the id of their architecture element once, so every SAD-SAM trace link is combined with its matching links by a
+ * lookup (hash join) instead of comparing it with all SAM-Code trace links.
+ */
 @Deterministic
 public class TraceLinkCombiner extends Informant {
 
@@ -36,33 +41,40 @@ public void process() {
         if (codeTraceabilityState == null || modelStatesData == null || connectionStates == null) {
             return;
         }
-        var samCodeTraceLinks = codeTraceabilityState.getSamCodeTraceLinks();
+        var samCodeTraceLinks = indexByArchitectureElement(codeTraceabilityState.getSamCodeTraceLinks());
         for (var modelId : modelStatesData.modelIds()) {
             var metamodel = modelStatesData.getModelExtractionState(modelId).getMetamodel();
             var connectionState = connectionStates.getConnectionState(metamodel);
             var sadSamTraceLinks = connectionState.getTraceLinks();
 
-            var combinedLinks = combineToTransitiveTraceLinks(sadSamTraceLinks, samCodeTraceLinks);
-            transitiveTraceLinks.addAll(combinedLinks.toList());
+            combineToTransitiveTraceLinks(sadSamTraceLinks, samCodeTraceLinks, transitiveTraceLinks::add);
         }
 
         codeTraceabilityState.addSadCodeTraceLinks(transitiveTraceLinks);
     }
 
-    private ImmutableSet<SadCodeTraceLink> combineToTransitiveTraceLinks(ImmutableSet<SadSamTraceLink> sadSamTraceLinks,
-            ImmutableSet<SamCodeTraceLink> samCodeTraceLinks) {
-        MutableSet<SadCodeTraceLink> transitiveTraceLinks = Sets.mutable.empty();
-        for (var sadSamTraceLink : sadSamTraceLinks) {
-            String modelElementUid = sadSamTraceLink.getModelElementUid();
-            for (var samCodeTraceLink : samCodeTraceLinks) {
-                String samCodeTraceLinkModelElementId = samCodeTraceLink.getEndpointTuple().firstEndpoint().getId();
-                if (modelElementUid.equals(samCodeTraceLinkModelElementId)) {
-                    var transitiveTraceLinkOptional = TransitiveTraceLink.createTransitiveTraceLink(sadSamTraceLink, samCodeTraceLink);
-                    transitiveTraceLinkOptional.ifPresent(transitiveTraceLinks::add);
-                }
-            }
-        }
-        return transitiveTraceLinks.toImmutable();
+    /**
+     * Indexes the SAM-Code trace links by the id of their architecture element for {@link #combineToTransitiveTraceLinks}.
+     *
+     * @param samCodeTraceLinks the SAM-Code trace links
+     * @return the index of the trace links
+     */
+    public static HashJoinIndex<SamCodeTraceLink> indexByArchitectureElement(Iterable<? extends SamCodeTraceLink> samCodeTraceLinks) {
+        return new HashJoinIndex<>(samCodeTraceLinks, samCodeTraceLink -> samCodeTraceLink.getEndpointTuple().firstEndpoint().getId());
+    }
+
+    /**
+     * Combines the SAD-SAM trace links with the indexed SAM-Code trace links of the same architecture element and passes the transitive trace links to the
+     * sink as they are created. The links are created in the order of the SAD-SAM trace links and, for the same SAD-SAM trace link, in the order of the
+     * SAM-Code trace links.
+     *
+     * @param sadSamTraceLinks  the SAD-SAM trace links
+     * @param samCodeTraceLinks the SAM-Code trace links, indexed by {@link #indexByArchitectureElement(Iterable)}
+     * @param sink              the consumer of the transitive trace links
+     */
+    public static void combineToTransitiveTraceLinks(Iterable<? extends SadSamTraceLink> sadSamTraceLinks, HashJoinIndex<SamCodeTraceLink> samCodeTraceLinks,
+            Consumer<? super TransitiveTraceLink> sink) {
+        samCodeTraceLinks.join(sadSamTraceLinks, SadSamTraceLink::getModelElementUid, TransitiveTraceLink::createTransitiveTraceLink, sink);
     }
 
     @Override
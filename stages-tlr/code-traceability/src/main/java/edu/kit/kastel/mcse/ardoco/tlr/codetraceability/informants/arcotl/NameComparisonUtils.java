@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.arcotl;
 
 import java.util.ArrayList;
@@ -211,12 +211,7 @@ private static boolean areEqualStemmed(String name1, String name2) {
     }
 
     private static boolean areEqualLemmatized(String name1, String name2) {
-        // set up pipeline properties
-        Properties props = new Properties();
-        // set the list of annotators to run
-        props.setProperty("annotators", "tokenize,pos,lemma");
-        // build pipeline
-        StanfordCoreNLP pipeline = new StanfordCoreNLP(props);
+        StanfordCoreNLP pipeline = LemmatizationPipelineHolder.PIPELINE;
         // create document objects
         CoreDocument document = pipeline.processToCoreDocument(name1);
         CoreDocument document2 = pipeline.processToCoreDocument(name2);
@@ -250,4 +245,19 @@ private static List<String> splitWhiteSpace(String string) {
     private static List<String> splitCase(String string) {
         return List.of(string.split("(?<!(^|[^a-z]))(?=[A-Z])|(?<!^)(?=[A-Z][a-z])"));
     }
+
+    /**
+     * The lemmatization pipeline is shared by all comparisons, as loading its models is far more expensive than a comparison.
+     */
+    private static final class LemmatizationPipelineHolder {
+        private static final StanfordCoreNLP PIPELINE = createLemmatizationPipeline();
+
+        private static StanfordCoreNLP createLemmatizationPipeline() {
+            // set up pipeline properties
+            Properties props = new Properties();
+            // set the list of annotators to run
+            props.setProperty("annotators", "tokenize,pos,lemma");
+            return new StanfordCoreNLP(props);
+        }
+    }
 }
@@ -0,0 +1,116 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.SortedSets;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.set.sorted.MutableSortedSet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.CodeModelType;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.common.RepositoryHandler;
+import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.execution.runner.AnonymousRunner;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractPipelineStep;
+import edu.kit.kastel.mcse.ardoco.core.tests.eval.CodeProject;
+import edu.kit.kastel.mcse.ardoco.tlr.models.agents.ArCoTLModelProviderAgent;
+
+/**
+ * Compares the lookups of the {@link CodePathIndex} with scanning all compilation units of the code model ({@code path.contains} for packages,
+ * {@code path.equals} for files), for code models loaded from the ACM file and, if the code is available, from the code directory.
+ */
+class CodePathIndexTest {
+    private static final Logger logger = LoggerFactory.getLogger(CodePathIndexTest.class);
+
+    @DisplayName("Code path index matches scanning the ACM-loaded code model")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(CodeProject.class)
+    void acmFileTest(CodeProject project) {
+        assertEquivalent(project, project.getCodeLocation(true));
+    }
+
+    @EnabledIfEnvironmentVariable(named = "testCodeFull", matches = ".*")
+    @DisplayName("Code path index matches scanning the directory-loaded code model")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(CodeProject.class)
+    void codeDirectoryTest(CodeProject project) {
+        File codeLocation = project.getCodeLocation(false);
+        if (!codeLocation.exists() || Objects.requireNonNull(codeLocation.listFiles()).length == 0) {
+            RepositoryHandler.shallowCloneRepository(project.getCodeRepository(), codeLocation.getAbsolutePath(), project.getCommitHash());
+        }
+        assertEquivalent(project, codeLocation);
+    }
+
+    private static void assertEquivalent(CodeProject project, File inputCode) {
+        var compilationUnits = Lists.immutable.<CodeCompilationUnit>withAll(loadCodeModel(project, inputCode).getEndpoints());
+        var index = new CodePathIndex(compilationUnits);
+
+        MutableSortedSet<String> packagePaths = SortedSets.mutable.empty();
+        for (var compilationUnit : compilationUnits) {
+            var path = compilationUnit.getPath();
+            for (int end = path.indexOf('/'); end >= 0; end = path.indexOf('/', end + 1)) {
+                var directory = path.substring(0, end + 1);
+                packagePaths.add(directory);
+                // Packages that start in the middle of a directory name or below the root
+                packagePaths.add(directory.substring(Math.min(directory.length() - 1, directory.lastIndexOf('/', end - 1) + 2)));
+                packagePaths.add(directory.substring(directory.indexOf('/') + 1));
+            }
+        }
+        packagePaths.add("does/not/exist/");
+        packagePaths.remove("");
+
+        long scanTime = 0;
+        long indexTime = 0;
+        for (var packagePath : packagePaths) {
+            long start = System.nanoTime();
+            var expected = compilationUnits.select(compilationUnit -> compilationUnit.getPath().contains(packagePath));
+            scanTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            var actual = index.getCompilationUnitsInPackage(packagePath);
+            indexTime += System.nanoTime() - start;
+            Assertions.assertEquals(expected, actual, packagePath);
+        }
+
+        for (var compilationUnit : compilationUnits) {
+            var path = compilationUnit.getPath();
+            Assertions.assertSame(scanForPath(compilationUnits, path), index.getCompilationUnit(path), path);
+        }
+        Assertions.assertNull(index.getCompilationUnit("does/not/exist.java"));
+
+        logger.info("{}: {} compilation units, {} package lookups, scan {} ms, index {} ms", project.name(), compilationUnits.size(), packagePaths.size(),
+                scanTime / 1_000_000, indexTime / 1_000_000);
+    }
+
+    private static CodeCompilationUnit scanForPath(ImmutableList<CodeCompilationUnit> compilationUnits, String path) {
+        return compilationUnits.detect(compilationUnit -> compilationUnit.getPath().equals(path));
+    }
+
+    private static CodeModel loadCodeModel(CodeProject project, File inputCode) {
+        var dataRepository = new AnonymousRunner(project.name()) {
+            @Override
+            public List<AbstractPipelineStep> initializePipelineSteps(DataRepository dataRepository) throws IOException {
+                var codeConfiguration = ArCoTLModelProviderAgent.getCodeConfiguration(inputCode);
+                return List.of(ArCoTLModelProviderAgent.getArCoTLModelProviderAgent(dataRepository, project.getAdditionalConfigurations(), null,
+                        codeConfiguration));
+            }
+        }.runWithoutSaving();
+        var codeModel = DataRepositoryHelper.getModelStatesData(dataRepository).getModel(CodeModelType.CODE_MODEL.getModelId());
+        Assertions.assertInstanceOf(CodeModel.class, codeModel);
+        return (CodeModel) codeModel;
+    }
+}
@@ -0,0 +1,218 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.common;
+
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.api.set.MutableSet;
+
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.ComparisonContext;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.WordSimMeasure;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.measures.equality.EqualityMeasure;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.measures.jarowinkler.JaroWinklerMeasure;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.measures.levenshtein.LevenshteinMeasure;
+import edu.kit.kastel.mcse.ardoco.core.data.GlobalConfiguration;
+
+/**
+ * Index that narrows down the elements whose key could be similar to a queried string before the (expensive) similarity check is done. The index is based
+ * on the unordered pairs of adjacent characters of the normalized keys (lower case letters and digits). An element is a candidate for a query if both share
+ * such a pair, or if the normalized key or the query is too short to be indexed reliably.
+ * <p>
+ * The candidates are a superset of the similar elements for lexical similarity measures that consider two strings of at least {@value #MIN_INDEXED_LENGTH}
+ * characters similar only if they are within an edit distance of one or have a Jaro-Winkler similarity above {@value #MIN_JARO_WINKLER_SIMILARITY} (strings
+ * without a common pair reach about 0.93; transpositions keep the unordered pairs). Other measures, e.g., WordNet, fastText, or SEWordSim, consider words
+ * similar that share no characters, so the index must only be used if {@link #coversSimilarityOf(GlobalConfiguration)} holds for the configuration of the
+ * similarity check. The keys of indexed elements must not change while they are indexed.
+ *
+ * @param <T> the type of the indexed elements
+ */
+@Deterministic
+public final class ApproximateMatchingIndex<T> {
+
+    /**
+     * Normalized keys and queries that are shorter are not filtered.
+     */
+    public static final int MIN_INDEXED_LENGTH = 4;
+
+    /**
+     * The Jaro-Winkler similarity that a covered measure must not accept.
+     */
+    public static final double MIN_JARO_WINKLER_SIMILARITY = 0.94;
+
+    /**
+     * Words with an edit distance of two. A covered Levenshtein measure must not consider them similar.
+     */
+    private static final ComparisonContext LEVENSHTEIN_PROBE = new ComparisonContext("abcdefghij", "abcdefghkl", null, null, false);
+    /**
+     * Words with a Jaro-Winkler similarity of {@value #MIN_JARO_WINKLER_SIMILARITY}. A covered Jaro-Winkler measure must not consider them similar.
+     */
+    private static final ComparisonContext JARO_WINKLER_PROBE = new ComparisonContext("abcdefghij", "axcdefghij", null, null, false);
+
+    private final Function<? super T, String> keyFunction;
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+    private final MutableMap<String, MutableSet<Entry<T>>> entriesByCharacterPair = Maps.mutable.empty();
+    private final MutableSet<Entry<T>> unindexedEntries = Sets.mutable.empty();
+    private long nextSequenceNumber = 0;
+
+    /**
+     * Creates a new index for elements with the given key.
+     *
+     * @param keyFunction the function that returns the key of an element
+     */
+    public ApproximateMatchingIndex(Function<? super T, String> keyFunction) {
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * Adds the element to the index. Adding an element that is already indexed has no effect.
+     *
+     * @param element the element
+     */
+    public void add(T element) {
+        if (entries.containsKey(element)) {
+            return;
+        }
+        var characterPairs = characterPairs(normalize(keyFunction.apply(element)));
+        var entry = new Entry<>(element, nextSequenceNumber++, characterPairs);
+        entries.put(element, entry);
+        if (characterPairs == null) {
+            unindexedEntries.add(entry);
+        } else {
+            characterPairs.forEach(pair -> entriesByCharacterPair.getIfAbsentPut(pair, Sets.mutable::empty).add(entry));
+        }
+    }
+
+    /**
+     * Removes the element from the index.
+     *
+     * @param element the element
+     * @return true if the element was indexed
+     */
+    public boolean remove(T element) {
+        var entry = entries.remove(element);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.characterPairs() == null) {
+            unindexedEntries.remove(entry);
+        } else {
+            for (String pair : entry.characterPairs()) {
+                var pairEntries = entriesByCharacterPair.get(pair);
+                pairEntries.remove(entry);
+                if (pairEntries.isEmpty()) {
+                    entriesByCharacterPair.remove(pair);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the elements that could be similar to the given string in the order they were added.
+     *
+     * @param query the string
+     * @return the candidates
+     */
+    public ImmutableList<T> getCandidates(String query) {
+        var queryPairs = characterPairs(normalize(query));
+        if (queryPairs == null) {
+            return Lists.immutable.withAll(entries.values()).toSortedListBy(Entry::sequenceNumber).collect(Entry::element).toImmutable();
+        }
+
+        MutableSet<Entry<T>> candidates = Sets.mutable.withAll(unindexedEntries);
+        for (String pair : queryPairs) {
+            var pairEntries = entriesByCharacterPair.get(pair);
+            if (pairEntries != null) {
+                candidates.addAll(pairEntries);
+            }
+        }
+        return candidates.toSortedListBy(Entry::sequenceNumber).collect(Entry::element).toImmutable();
+    }
+
+    /**
+     * Returns whether the candidates contain every element that is similar according to the word similarity measures of the given configuration, i.e.,
+     * whether all enabled measures are equality, Levenshtein, or Jaro-Winkler measures and the latter two are configured strictly enough: the Levenshtein
+     * measure must reject an edit distance of two and the Jaro-Winkler measure a similarity of {@value #MIN_JARO_WINKLER_SIMILARITY}. The thresholds are
+     * checked on the measures themselves, so that measures that were created with other settings than the configuration are covered as well. Callers fall
+     * back to comparing all elements otherwise.
+     *
+     * @param globalConfiguration the configuration of the similarity check
+     * @return true if the index can be used to narrow down the elements for the configuration
+     */
+    public static boolean coversSimilarityOf(GlobalConfiguration globalConfiguration) {
+        for (var measure : globalConfiguration.getWordSimUtils().getMeasures()) {
+            if (!covers(measure)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean covers(WordSimMeasure measure) {
+        if (measure instanceof EqualityMeasure) {
+            return true;
+        }
+        if (measure instanceof LevenshteinMeasure) {
+            return !measure.areWordsSimilar(LEVENSHTEIN_PROBE);
+        }
+        if (measure instanceof JaroWinklerMeasure) {
+            return !measure.areWordsSimilar(JARO_WINKLER_PROBE);
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of indexed elements.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private static String normalize(String key) {
+        if (key == null) {
+            return "";
+        }
+        var normalized = new StringBuilder(key.length());
+        key.toLowerCase(Locale.ROOT).codePoints().filter(Character::isLetterOrDigit).forEach(normalized::appendCodePoint);
+        return normalized.toString();
+    }
+
+    /**
+     * Returns the unordered pairs of adjacent characters or null if the normalized key is too short to be indexed.
+     */
+    private static ImmutableSet<String> characterPairs(String normalizedKey) {
+        if (normalizedKey.length() < MIN_INDEXED_LENGTH) {
+            return null;
+        }
+        MutableSet<String> pairs = Sets.mutable.empty();
+        for (int i = 0; i + 1 < normalizedKey.length(); i++) {
+            char first = normalizedKey.charAt(i);
+            char second = normalizedKey.charAt(i + 1);
+            pairs.add(first <= second ? "" + first + second : "" + second + first);
+        }
+        return pairs.toImmutable();
+    }
+
+    private record Entry<T>(T element, long sequenceNumber, ImmutableSet<String> characterPairs) {
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(sequenceNumber);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.common;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+
+/**
+ * Immutable list with structural sharing, used by the pipeline states to hold their contents. The elements are stored in a size-annotated AVL tree, so
+ * adding, inserting and removing single elements copies only the O(log n) nodes on the path to the changed position and shares all others with the previous
+ * version. Keeping a snapshot of a state therefore only keeps a reference, and a state can hand out its current version without copying it.
+ * <p>
+ * Lists that are kept in a sorted order can be searched and updated with {@link #binarySearch(Object, Comparator)}. Conversions to Eclipse Collections are
+ * computed once per version, see {@link #toImmutableList()}.
+ *
+ * @param <T> the type of the elements
+ */
+public final class PersistentList<T> implements Iterable<T>, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final PersistentList<?> EMPTY = new PersistentList<>(null);
+
+    private final transient Node root;
+    private transient volatile ImmutableList<T> immutableList;
+
+    private PersistentList(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * {@return the empty list}
+     *
+     * @param <T> the type of the elements
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentList<T> empty() {
+        return (PersistentList<T>) EMPTY;
+    }
+
+    /**
+     * Creates a list with the given elements in their iteration order.
+     *
+     * @param elements the elements
+     * @param <T>      the type of the elements
+     * @return the list
+     */
+    public static <T> PersistentList<T> of(Iterable<? extends T> elements) {
+        var array = Lists.mutable.withAll(elements).toArray();
+        return array.length == 0 ? empty() : new PersistentList<>(build(array, 0, array.length));
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Returns the element at the given index.
+     *
+     * @param index the index
+     * @return the element
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size());
+        var node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return (T) node.value;
+            }
+        }
+    }
+
+    /**
+     * Returns a list that additionally contains the element at the end.
+     *
+     * @param element the element
+     * @return the new version of the list
+     */
+    public PersistentList<T> with(T element) {
+        return withAt(size(), element);
+    }
+
+    /**
+     * Returns a list that additionally contains the element at the given index. Later elements are shifted by one.
+     *
+     * @param index   the index of the new element
+     * @param element the element
+     * @return the new version of the list
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public PersistentList<T> withAt(int index, T element) {
+        Objects.checkIndex(index, size() + 1);
+        return new PersistentList<>(insert(root, index, element));
+    }
+
+    /**
+     * Returns a list without the element at the given index.
+     *
+     * @param index the index
+     * @return the new version of the list
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public PersistentList<T> withoutAt(int index) {
+        Objects.checkIndex(index, size());
+        return new PersistentList<>(remove(root, index));
+    }
+
+    /**
+     * Returns a list without the first element that is equal to the given element.
+     *
+     * @param element the element
+     * @return the new version of the list, or this list if it does not contain the element
+     */
+    public PersistentList<T> without(T element) {
+        int index = indexOf(element);
+        return index < 0 ? this : withoutAt(index);
+    }
+
+    /**
+     * Returns a list without the elements that satisfy the predicate. As the remaining elements can be anywhere, the list is rebuilt in linear time.
+     *
+     * @param predicate the predicate
+     * @return the new version of the list, or this list if no element satisfies the predicate
+     */
+    public PersistentList<T> withoutIf(Predicate<? super T> predicate) {
+        var remaining = Lists.mutable.<T>withInitialCapacity(size());
+        for (T element : this) {
+            if (!predicate.test(element)) {
+                remaining.add(element);
+            }
+        }
+        return remaining.size() == size() ? this : of(remaining);
+    }
+
+    /**
+     * Returns the index of the first element that is equal to the given element.
+     *
+     * @param element the element
+     * @return the index or -1 if the list does not contain the element
+     */
+    public int indexOf(Object element) {
+        int index = 0;
+        for (T candidate : this) {
+            if (Objects.equals(candidate, element)) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    public boolean contains(Object element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Searches an element in a list that is sorted by the comparator and does not contain elements that are equal according to the comparator.
+     *
+     * @param element    the element
+     * @param comparator the comparator the list is sorted by
+     * @return the index of the element, or {@code -(insertion point) - 1} like {@link java.util.Collections#binarySearch(java.util.List, Object, Comparator)}
+     */
+    @SuppressWarnings("unchecked")
+    public int binarySearch(T element, Comparator<? super T> comparator) {
+        int offset = 0;
+        var node = root;
+        while (node != null) {
+            int comparison = comparator.compare(element, (T) node.value);
+            if (comparison < 0) {
+                node = node.left;
+            } else if (comparison > 0) {
+                offset += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return offset + size(node.left);
+            }
+        }
+        return -offset - 1;
+    }
+
+    /**
+     * Returns this version of the list as an Eclipse Collections list. The list is created on the first call and shared by all later calls for this version.
+     *
+     * @return the elements of this version
+     */
+    public ImmutableList<T> toImmutableList() {
+        var result = immutableList;
+        if (result == null) {
+            result = Lists.immutable.withAll(this);
+            immutableList = result;
+        }
+        return result;
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new InOrderIterator<>(root);
+    }
+
+    @Override
+    public String toString() {
+        return toImmutableList().toString();
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static Node insert(Node node, int index, Object element) {
+        if (node == null) {
+            return new Node(element, null, null);
+        }
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            return balance(node.value, insert(node.left, index, element), node.right);
+        }
+        return balance(node.value, node.left, insert(node.right, index - leftSize - 1, element));
+    }
+
+    private static Node remove(Node node, int index) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return balance(node.value, remove(node.left, index), node.right);
+        }
+        if (index > leftSize) {
+            return balance(node.value, node.left, remove(node.right, index - leftSize - 1));
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        var successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.value, node.left, remove(node.right, 0));
+    }
+
+    private static Node balance(Object value, Node left, Node right) {
+        if (height(left) > height(right) + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node(left.value, left.left, new Node(value, left.right, right));
+            }
+            var middle = left.right;
+            return new Node(middle.value, new Node(left.value, left.left, middle.left), new Node(value, middle.right, right));
+        }
+        if (height(right) > height(left) + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node(right.value, new Node(value, left, right.left), right.right);
+            }
+            var middle = right.left;
+            return new Node(middle.value, new Node(value, left, middle.left), new Node(right.value, middle.right, right.right));
+        }
+        return new Node(value, left, right);
+    }
+
+    private static Node build(Object[] elements, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        return new Node(elements[middle], build(elements, from, middle), build(elements, middle + 1, to));
+    }
+
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(Lists.mutable.withAll(this).toArray());
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream stream) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialized form required");
+    }
+
+    private static final class Node {
+        private final Object value;
+        private final Node left;
+        private final Node right;
+        private final int height;
+        private final int size;
+
+        private Node(Object value, Node left, Node right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    private static final class InOrderIterator<T> implements Iterator<T> {
+        private final ArrayDeque<Node> path = new ArrayDeque<>();
+
+        private InOrderIterator(Node root) {
+            descendLeft(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            var node = path.pop();
+            descendLeft(node.right);
+            return (T) node.value;
+        }
+
+        private void descendLeft(Node node) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+        }
+    }
+
+    private record SerializedForm(Object[] elements) implements Serializable {
+        @Serial
+        private Object readResolve() {
+            return of(Arrays.asList(elements));
+        }
+    }
+}
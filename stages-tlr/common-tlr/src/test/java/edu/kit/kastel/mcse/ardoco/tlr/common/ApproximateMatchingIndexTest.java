@@ -0,0 +1,123 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.common;
+
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.MutableSet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.common.util.SimilarityUtils;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.WordSimMeasure;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.measures.equality.EqualityMeasure;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.measures.jarowinkler.JaroWinklerMeasure;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.measures.levenshtein.LevenshteinMeasure;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.data.GlobalConfiguration;
+
+class ApproximateMatchingIndexTest {
+    private static final String[] WORDS = { "database", "logic", "component", "cache", "server", "client", "registry", "persistence", "recommender",
+            "authentication", "image", "provider", "web", "ui", "store", "gateway", "service", "controller", "model", "view", "queue", "broker", "scheduler",
+            "MediaStore", "Reviewer", "Common", "FileStorage", "user", "order", "category", "product", "DB", "API", "auth", "TeaStore", "WebUI" };
+
+    @Test
+    void coversSimilarityOfTest() {
+        Assertions.assertAll(//
+                () -> Assertions.assertTrue(ApproximateMatchingIndex.coversSimilarityOf(configurationWith(new EqualityMeasure(), new LevenshteinMeasure(2, 1,
+                        0.9), new JaroWinklerMeasure(0.96)))), //
+                // Edit distance of two
+                () -> Assertions.assertFalse(ApproximateMatchingIndex.coversSimilarityOf(configurationWith(new EqualityMeasure(), new LevenshteinMeasure(2, 2,
+                        0.9)))), //
+                // Jaro-Winkler similarity that strings without a common character pair can reach
+                () -> Assertions.assertFalse(ApproximateMatchingIndex.coversSimilarityOf(configurationWith(new EqualityMeasure(), new JaroWinklerMeasure(
+                        0.9)))));
+    }
+
+    @Test
+    void sameResultsAsScanTest() {
+        var configuration = configurationWith(new EqualityMeasure(), new LevenshteinMeasure(2, 1, 0.9), new JaroWinklerMeasure(0.96));
+        Assertions.assertTrue(ApproximateMatchingIndex.coversSimilarityOf(configuration));
+        SimilarityUtils similarityUtils = configuration.getSimilarityUtils();
+        ImmutableList<String> vocabulary = createVocabulary();
+        var index = new ApproximateMatchingIndex<String>(key -> key);
+        vocabulary.forEach(index::add);
+
+        for (String query : vocabulary) {
+            var scanned = vocabulary.select(key -> similarityUtils.areWordsSimilar(query, key));
+            var candidates = index.getCandidates(query);
+            var indexed = candidates.select(key -> similarityUtils.areWordsSimilar(query, key));
+            Assertions.assertEquals(scanned, indexed, () -> "Similar words of " + query);
+        }
+    }
+
+    @Test
+    void prunesCandidatesTest() {
+        var index = new ApproximateMatchingIndex<String>(key -> key);
+        Lists.immutable.with(WORDS).forEach(index::add);
+
+        var candidates = index.getCandidates("database");
+        Assertions.assertAll(//
+                () -> Assertions.assertTrue(candidates.contains("database")), //
+                () -> Assertions.assertFalse(candidates.contains("logic")), //
+                // Short keys cannot be filtered
+                () -> Assertions.assertTrue(candidates.containsAll(Lists.immutable.with("DB", "API", "ui", "web"))), //
+                () -> Assertions.assertEquals(WORDS.length, index.getCandidates("DB").size()));
+    }
+
+    @Test
+    void insertionOrderAndRemovalTest() {
+        var index = new ApproximateMatchingIndex<StringBuilder>(StringBuilder::toString);
+        var first = new StringBuilder("component");
+        var second = new StringBuilder("components");
+        var equalToFirst = new StringBuilder("component");
+        index.add(second);
+        index.add(first);
+        index.add(equalToFirst);
+        index.add(first);
+
+        Assertions.assertEquals(Lists.immutable.with(second, first, equalToFirst), index.getCandidates("component"));
+        Assertions.assertTrue(index.remove(first));
+        Assertions.assertFalse(index.remove(first));
+        Assertions.assertEquals(Lists.immutable.with(second, equalToFirst), index.getCandidates("component"));
+        Assertions.assertEquals(2, index.size());
+    }
+
+    private static GlobalConfiguration configurationWith(WordSimMeasure... measures) {
+        var configuration = new DataRepository().getGlobalConfiguration();
+        configuration.getWordSimUtils().setMeasures(List.of(measures));
+        return configuration;
+    }
+
+    /**
+     * Creates the words together with typical variations: case, plural, spaces, and single deletions, insertions, substitutions, and transpositions.
+     */
+    private static ImmutableList<String> createVocabulary() {
+        var random = new Random(42);
+        MutableSet<String> vocabulary = Sets.mutable.empty();
+        for (String word : WORDS) {
+            vocabulary.add(word);
+            vocabulary.add(word.toUpperCase());
+            vocabulary.add(word + "s");
+            if (word.length() > 4) {
+                vocabulary.add(word.substring(0, 3) + " " + word.substring(3));
+            }
+            for (int i = 0; i < 4; i++) {
+                int position = random.nextInt(word.length());
+                char character = (char) ('a' + random.nextInt(26));
+                vocabulary.add(word.substring(0, position) + word.substring(position + 1));
+                vocabulary.add(word.substring(0, position) + character + word.substring(position));
+                vocabulary.add(word.substring(0, position) + character + word.substring(position + 1));
+                if (position + 1 < word.length()) {
+                    vocabulary.add(word.substring(0, position) + word.charAt(position + 1) + word.charAt(position) + word.substring(position + 2));
+                }
+            }
+        }
+        MutableList<String> sortedVocabulary = vocabulary.toSortedList();
+        return sortedVocabulary.toImmutable();
+    }
+}
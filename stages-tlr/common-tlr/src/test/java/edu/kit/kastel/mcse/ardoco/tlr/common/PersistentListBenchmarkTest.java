@@ -0,0 +1,126 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares keeping snapshots of a state that keeps changing: once as {@link PersistentList} versions and once as deep copies, as made by serializing the
+ * data repository, and as copies of the collection. Reports the time and the allocated memory per snapshot.
+ * <p>
+ * This only measures snapshots of a single state. It does not measure copies of a whole data repository, such as the copies that the stage tests get from
+ * their repository cache; those are compared in the {@code SerializedDataRepositoryTest} of the integration tests.
+ */
+class PersistentListBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(PersistentListBenchmarkTest.class);
+
+    private static final int ELEMENTS = 10_000;
+    private static final int SNAPSHOTS = 200;
+
+    @Test
+    void snapshotsTest() {
+        var persistent = measure(() -> {
+            PersistentList<Element> list = PersistentList.of(elements());
+            List<PersistentList<Element>> snapshots = new ArrayList<>();
+            for (int i = 0; i < SNAPSHOTS; i++) {
+                list = list.with(new Element(i));
+                snapshots.add(list);
+            }
+            return snapshots;
+        });
+        var collectionCopies = measure(() -> {
+            var list = Lists.mutable.withAll(elements());
+            List<Object> snapshots = new ArrayList<>();
+            for (int i = 0; i < SNAPSHOTS; i++) {
+                list.add(new Element(i));
+                snapshots.add(list.toImmutable());
+            }
+            return snapshots;
+        });
+        var deepCopies = measure(() -> {
+            var list = new ArrayList<>(elements());
+            List<Object> snapshots = new ArrayList<>();
+            for (int i = 0; i < SNAPSHOTS; i++) {
+                list.add(new Element(i));
+                snapshots.add(deepCopy(list));
+            }
+            return snapshots;
+        });
+
+        logger.info("{} snapshots of {} elements: persistent {}, collection copies {}, deep copies {}", SNAPSHOTS, ELEMENTS, persistent, collectionCopies,
+                deepCopies);
+        if (persistent.allocatedBytes() >= 0) {
+            Assertions.assertTrue(persistent.allocatedBytes() < collectionCopies.allocatedBytes());
+            Assertions.assertTrue(collectionCopies.allocatedBytes() < deepCopies.allocatedBytes());
+        }
+    }
+
+    private static List<Element> elements() {
+        List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < ELEMENTS; i++) {
+            elements.add(new Element(i));
+        }
+        return elements;
+    }
+
+    private static Measurement measure(Supplier<List<?>> benchmark) {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        var snapshots = benchmark.get();
+        long duration = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        Assertions.assertEquals(SNAPSHOTS, snapshots.size());
+        return new Measurement(duration / 1_000_000, allocatedBefore < 0 ? -1 : allocated / SNAPSHOTS);
+    }
+
+    /**
+     * {@return the bytes allocated by the current thread so far, or -1 if the JVM does not report them}
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static Object deepCopy(Serializable object) {
+        try {
+            var bytes = new ByteArrayOutputStream();
+            try (var out = new ObjectOutputStream(bytes)) {
+                out.writeObject(object);
+            }
+            try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                return in.readObject();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Measurement(long milliseconds, long allocatedBytes) {
+        @Override
+        public String toString() {
+            return milliseconds + " ms, " + allocatedBytes + " bytes per snapshot";
+        }
+    }
+
+    private record Element(int id) implements Serializable {
+    }
+}
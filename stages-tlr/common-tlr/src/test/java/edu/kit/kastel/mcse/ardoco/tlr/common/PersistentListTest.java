@@ -0,0 +1,125 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PersistentListTest {
+
+    @Test
+    void randomChangesMatchArrayListTest() {
+        var random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        PersistentList<Integer> list = PersistentList.empty();
+        List<List<Integer>> expectedSnapshots = new ArrayList<>();
+        List<PersistentList<Integer>> snapshots = new ArrayList<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(500);
+            switch (random.nextInt(6)) {
+            case 0, 1 -> {
+                expected.add(value);
+                list = list.with(value);
+            }
+            case 2 -> {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, value);
+                list = list.withAt(index, value);
+            }
+            case 3 -> {
+                if (!expected.isEmpty()) {
+                    int index = random.nextInt(expected.size());
+                    expected.remove(index);
+                    list = list.withoutAt(index);
+                }
+            }
+            case 4 -> {
+                expected.remove(Integer.valueOf(value));
+                list = list.without(value);
+            }
+            default -> {
+                int divisor = 2 + random.nextInt(50);
+                expected.removeIf(element -> element % divisor == 0);
+                list = list.withoutIf(element -> element % divisor == 0);
+            }
+            }
+
+            Assertions.assertEquals(expected.size(), list.size());
+            if (i % 500 == 0) {
+                Assertions.assertEquals(expected, list.toImmutableList().castToList());
+                expectedSnapshots.add(List.copyOf(expected));
+                snapshots.add(list);
+            }
+        }
+
+        for (int i = 0; i < snapshots.size(); i++) {
+            var snapshot = snapshots.get(i);
+            var expectedSnapshot = expectedSnapshots.get(i);
+            Assertions.assertEquals(expectedSnapshot, snapshot.stream().toList());
+            for (int index = 0; index < expectedSnapshot.size(); index++) {
+                Assertions.assertEquals(expectedSnapshot.get(index), snapshot.get(index));
+            }
+        }
+    }
+
+    @Test
+    void sortedInsertionTest() {
+        var random = new Random(42);
+        var expected = new TreeSet<Integer>();
+        PersistentList<Integer> list = PersistentList.empty();
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(2_000);
+            int index = list.binarySearch(value, Comparator.naturalOrder());
+            Assertions.assertEquals(expected.contains(value), index >= 0);
+            if (index < 0) {
+                list = list.withAt(-index - 1, value);
+                expected.add(value);
+            } else if (random.nextBoolean()) {
+                list = list.withoutAt(index);
+                expected.remove(value);
+            }
+        }
+        Assertions.assertEquals(List.copyOf(expected), list.stream().toList());
+    }
+
+    @Test
+    void sharesConversionPerVersionTest() {
+        var list = PersistentList.of(List.of("a", "b", "c"));
+        var changed = list.with("d");
+        Assertions.assertAll(//
+                () -> Assertions.assertSame(list.toImmutableList(), list.toImmutableList()), //
+                () -> Assertions.assertEquals(List.of("a", "b", "c"), list.toImmutableList().castToList()), //
+                () -> Assertions.assertEquals(List.of("a", "b", "c", "d"), changed.toImmutableList().castToList()), //
+                () -> Assertions.assertSame(list, list.without("x")), //
+                () -> Assertions.assertSame(list, list.withoutIf(String::isEmpty)), //
+                () -> Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(3)), //
+                () -> Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.withAt(5, "e")));
+    }
+
+    @Test
+    void serializationTest() throws IOException, ClassNotFoundException {
+        var list = PersistentList.of(List.of("logic", "database", "cache")).withAt(1, "client");
+
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(list);
+        }
+        Object copy;
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = in.readObject();
+        }
+
+        Assertions.assertEquals(list.toImmutableList(), ((PersistentList<?>) copy).toImmutableList());
+    }
+}
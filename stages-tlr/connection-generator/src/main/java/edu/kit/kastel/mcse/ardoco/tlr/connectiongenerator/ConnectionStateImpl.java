@@ -1,9 +1,7 @@
-/* Licensed under MIT 2021-2024. */
+/* Licensed under MIT 2021-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.connectiongenerator;
 
-import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.ImmutableList;
-import org.eclipse.collections.api.list.MutableList;
 
 import edu.kit.kastel.mcse.ardoco.core.api.connectiongenerator.ConnectionState;
 import edu.kit.kastel.mcse.ardoco.core.api.models.ModelInstance;
@@ -11,6 +9,7 @@
 import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendedInstance;
 import edu.kit.kastel.mcse.ardoco.core.data.AbstractState;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+import edu.kit.kastel.mcse.ardoco.tlr.common.PersistentList;
 
 /**
  * The connection state encapsulates all connections between the model extraction state and the recommendation state.
@@ -18,14 +17,14 @@
  */
 public class ConnectionStateImpl extends AbstractState implements ConnectionState {
 
-    private MutableList<InstanceLink> instanceLinks;
+    private final InstanceLinkStore instanceLinks;
 
     /**
      * Creates a new connection state.
      */
     public ConnectionStateImpl() {
         super();
-        instanceLinks = Lists.mutable.empty();
+        instanceLinks = new InstanceLinkStore();
     }
 
     /**
@@ -34,8 +33,17 @@ public ConnectionStateImpl() {
      * @return all instance links
      */
     @Override
-    public ImmutableList<InstanceLink> getInstanceLinks() {
-        return Lists.immutable.withAll(instanceLinks);
+    public synchronized ImmutableList<InstanceLink> getInstanceLinks() {
+        return instanceLinks.snapshot().toImmutableList();
+    }
+
+    /**
+     * Returns the current version of the instance links without copying them. Later changes of the state do not affect the returned list.
+     *
+     * @return all instance links, ordered like {@link #getInstanceLinks()}
+     */
+    public synchronized PersistentList<InstanceLink> getInstanceLinkSnapshot() {
+        return instanceLinks.snapshot();
     }
 
     /**
@@ -45,8 +53,8 @@ public ImmutableList<InstanceLink> getInstanceLinks() {
      * @return all instance links with a model instance containing the given name as list
      */
     @Override
-    public ImmutableList<InstanceLink> getInstanceLinksByName(String name) {
-        return Lists.immutable.fromStream(instanceLinks.stream().filter(imapping -> imapping.getModelInstance().getNameParts().contains(name)));
+    public synchronized ImmutableList<InstanceLink> getInstanceLinksByName(String name) {
+        return instanceLinks.getByNamePart(name);
     }
 
     /**
@@ -56,13 +64,23 @@ public ImmutableList<InstanceLink> getInstanceLinksByName(String name) {
      * @return all instance links with a model instance containing the given type as list
      */
     @Override
-    public ImmutableList<InstanceLink> getInstanceLinksByType(String type) {
-        return Lists.immutable.fromStream(instanceLinks.stream().filter(ilink -> ilink.getModelInstance().getTypeParts().contains(type)));
+    public synchronized ImmutableList<InstanceLink> getInstanceLinksByType(String type) {
+        return instanceLinks.getByTypePart(type);
     }
 
     @Override
-    public ImmutableList<InstanceLink> getInstanceLinksByRecommendedInstance(RecommendedInstance recommendedInstance) {
-        return Lists.immutable.fromStream(instanceLinks.stream().filter(il -> il.getTextualInstance().equals(recommendedInstance)));
+    public synchronized ImmutableList<InstanceLink> getInstanceLinksByRecommendedInstance(RecommendedInstance recommendedInstance) {
+        return instanceLinks.getByRecommendedInstance(recommendedInstance);
+    }
+
+    /**
+     * Returns all instance links with the given model instance.
+     *
+     * @param modelInstance the model instance
+     * @return all instance links with the given model instance, in the order they were added
+     */
+    public synchronized ImmutableList<InstanceLink> getInstanceLinksByModelInstance(ModelInstance modelInstance) {
+        return instanceLinks.getByModelInstance(modelInstance);
     }
 
     /**
@@ -73,34 +91,27 @@ public ImmutableList<InstanceLink> getInstanceLinksByRecommendedInstance(Recomme
      * @return all instance links with a model instance containing the given name and type as list
      */
     @Override
-    public ImmutableList<InstanceLink> getInstanceLinks(String name, String type) {
-        return Lists.immutable.fromStream(instanceLinks.stream()
-                .filter(imapping -> imapping.getModelInstance().getNameParts().contains(name))//
-                .filter(imapping -> imapping.getModelInstance().getTypeParts().contains(type)));
+    public synchronized ImmutableList<InstanceLink> getInstanceLinks(String name, String type) {
+        return instanceLinks.getByNameAndTypePart(name, type);
     }
 
     /**
      * Adds the connection of a recommended instance and a model instance to the state. If the model instance is already
-     * contained by the state it is extended. Elsewhere a new instance link is created
+     * contained by the state it is extended. Elsewhere a new instance link is created. Looking up and extending the existing link happens atomically.
      *
      * @param recommendedModelInstance the recommended instance
      * @param instance                 the model instance
      * @param probability              the probability of the link
      */
     @Override
-    public void addToLinks(RecommendedInstance recommendedModelInstance, ModelInstance instance, Claimant claimant, double probability) {
+    public synchronized void addToLinks(RecommendedInstance recommendedModelInstance, ModelInstance instance, Claimant claimant, double probability) {
 
         var newInstanceLink = new InstanceLink(recommendedModelInstance, instance, claimant, probability);
-        if (!isContainedByInstanceLinks(newInstanceLink)) {
-            instanceLinks.add(newInstanceLink);
-        } else {
-            var optionalInstanceLink = instanceLinks.stream().filter(il -> il.equals(newInstanceLink)).findFirst();
-            if (optionalInstanceLink.isPresent()) {
-                var existingInstanceLink = optionalInstanceLink.get();
-                var newNameMappings = newInstanceLink.getTextualInstance().getNameMappings();
-                var newTypeMappings = newInstanceLink.getTextualInstance().getTypeMappings();
-                existingInstanceLink.getTextualInstance().addMappings(newNameMappings, newTypeMappings);
-            }
+        var existingInstanceLink = instanceLinks.addIfAbsent(newInstanceLink);
+        if (existingInstanceLink != newInstanceLink) {
+            var newNameMappings = newInstanceLink.getTextualInstance().getNameMappings();
+            var newTypeMappings = newInstanceLink.getTextualInstance().getTypeMappings();
+            existingInstanceLink.getTextualInstance().addMappings(newNameMappings, newTypeMappings);
         }
     }
 
@@ -111,7 +122,7 @@ public void addToLinks(RecommendedInstance recommendedModelInstance, ModelInstan
      * @return true if it is already contained
      */
     @Override
-    public boolean isContainedByInstanceLinks(InstanceLink instanceLink) {
+    public synchronized boolean isContainedByInstanceLinks(InstanceLink instanceLink) {
         return instanceLinks.contains(instanceLink);
     }
 
@@ -121,7 +132,7 @@ public boolean isContainedByInstanceLinks(InstanceLink instanceLink) {
      * @param instanceMapping the instance link to remove
      */
     @Override
-    public void removeFromMappings(InstanceLink instanceMapping) {
+    public synchronized void removeFromMappings(InstanceLink instanceMapping) {
         instanceLinks.remove(instanceMapping);
     }
 
@@ -131,8 +142,8 @@ public void removeFromMappings(InstanceLink instanceMapping) {
      * @param instance the given instance
      */
     @Override
-    public void removeAllInstanceLinksWith(ModelInstance instance) {
-        instanceLinks.removeIf(mapping -> mapping.getModelInstance().equals(instance));
+    public synchronized void removeAllInstanceLinksWith(ModelInstance instance) {
+        instanceLinks.removeAll(instance);
     }
 
     /**
@@ -141,8 +152,8 @@ public void removeAllInstanceLinksWith(ModelInstance instance) {
      * @param instance the given recommended instance
      */
     @Override
-    public void removeAllInstanceLinksWith(RecommendedInstance instance) {
-        instanceLinks.removeIf(mapping -> mapping.getTextualInstance().equals(instance));
+    public synchronized void removeAllInstanceLinksWith(RecommendedInstance instance) {
+        instanceLinks.removeAll(instance);
     }
 
 }
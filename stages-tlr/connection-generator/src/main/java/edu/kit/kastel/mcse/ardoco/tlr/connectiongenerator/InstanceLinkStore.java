@@ -0,0 +1,161 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.connectiongenerator;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Comparator;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.factory.primitive.ObjectLongMaps;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectLongMap;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ModelInstance;
+import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.InstanceLink;
+import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendedInstance;
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+import edu.kit.kastel.mcse.ardoco.tlr.common.PersistentList;
+
+/**
+ * Stores the instance links of a {@link ConnectionStateImpl} in the order they were added. Besides the ordered links, the store maintains indexes by
+ * recommended instance, by model instance, and by the name and type parts of the model instance. The indexes keep the order of the links. Recommended
+ * instances have a stable identity and model instances do not change, so the indexes stay valid until a link is removed.
+ */
+@Deterministic
+final class InstanceLinkStore implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final MutableMap<InstanceLink, InstanceLink> storedLinks = Maps.mutable.empty();
+    private final MutableObjectLongMap<InstanceLink> sequenceNumbers = ObjectLongMaps.mutable.empty();
+    private final MutableMap<RecommendedInstance, MutableList<InstanceLink>> linksByRecommendedInstance = Maps.mutable.empty();
+    private final MutableMap<ModelInstance, MutableList<InstanceLink>> linksByModelInstance = Maps.mutable.empty();
+    private final MutableMap<String, MutableList<InstanceLink>> linksByNamePart = Maps.mutable.empty();
+    private final MutableMap<String, MutableList<InstanceLink>> linksByTypePart = Maps.mutable.empty();
+    private long nextSequenceNumber = 0;
+
+    /**
+     * The instance links in the order they were added. Replaced by a new version on every change, so readers of a version are not affected by later changes.
+     */
+    private PersistentList<InstanceLink> instanceLinks = PersistentList.empty();
+
+    /**
+     * Adds the instance link if no equal link is stored.
+     *
+     * @param instanceLink the instance link
+     * @return the stored link that is equal to the given link, i.e., the given link if it was added
+     */
+    InstanceLink addIfAbsent(InstanceLink instanceLink) {
+        var stored = storedLinks.get(instanceLink);
+        if (stored != null) {
+            return stored;
+        }
+
+        storedLinks.put(instanceLink, instanceLink);
+        sequenceNumbers.put(instanceLink, nextSequenceNumber++);
+        instanceLinks = instanceLinks.with(instanceLink);
+        var modelInstance = instanceLink.getModelInstance();
+        linksByRecommendedInstance.getIfAbsentPut(instanceLink.getTextualInstance(), Lists.mutable::empty).add(instanceLink);
+        linksByModelInstance.getIfAbsentPut(modelInstance, Lists.mutable::empty).add(instanceLink);
+        modelInstance.getNameParts().distinct().forEach(namePart -> linksByNamePart.getIfAbsentPut(namePart, Lists.mutable::empty).add(instanceLink));
+        modelInstance.getTypeParts().distinct().forEach(typePart -> linksByTypePart.getIfAbsentPut(typePart, Lists.mutable::empty).add(instanceLink));
+        return instanceLink;
+    }
+
+    /**
+     * Removes the stored link that is equal to the given link.
+     *
+     * @param instanceLink the instance link
+     * @return true if an equal link was stored
+     */
+    boolean remove(InstanceLink instanceLink) {
+        var stored = storedLinks.remove(instanceLink);
+        if (stored == null) {
+            return false;
+        }
+
+        instanceLinks = instanceLinks.withoutAt(instanceLinks.binarySearch(stored, Comparator.comparingLong(sequenceNumbers::getOrThrow)));
+        sequenceNumbers.remove(stored);
+        var modelInstance = stored.getModelInstance();
+        removeFromIndex(linksByRecommendedInstance, stored.getTextualInstance(), stored);
+        removeFromIndex(linksByModelInstance, modelInstance, stored);
+        modelInstance.getNameParts().distinct().forEach(namePart -> removeFromIndex(linksByNamePart, namePart, stored));
+        modelInstance.getTypeParts().distinct().forEach(typePart -> removeFromIndex(linksByTypePart, typePart, stored));
+        return true;
+    }
+
+    /**
+     * Removes all links with the given model instance.
+     *
+     * @param modelInstance the model instance
+     */
+    void removeAll(ModelInstance modelInstance) {
+        getByModelInstance(modelInstance).forEach(this::remove);
+    }
+
+    /**
+     * Removes all links with the given recommended instance.
+     *
+     * @param recommendedInstance the recommended instance
+     */
+    void removeAll(RecommendedInstance recommendedInstance) {
+        getByRecommendedInstance(recommendedInstance).forEach(this::remove);
+    }
+
+    boolean contains(InstanceLink instanceLink) {
+        return storedLinks.containsKey(instanceLink);
+    }
+
+    /**
+     * Returns the current version of all links without copying them.
+     *
+     * @return the links in the order they were added
+     */
+    PersistentList<InstanceLink> snapshot() {
+        return instanceLinks;
+    }
+
+    ImmutableList<InstanceLink> getByRecommendedInstance(RecommendedInstance recommendedInstance) {
+        return lookUp(linksByRecommendedInstance, recommendedInstance);
+    }
+
+    ImmutableList<InstanceLink> getByModelInstance(ModelInstance modelInstance) {
+        return lookUp(linksByModelInstance, modelInstance);
+    }
+
+    ImmutableList<InstanceLink> getByNamePart(String namePart) {
+        return lookUp(linksByNamePart, namePart);
+    }
+
+    ImmutableList<InstanceLink> getByTypePart(String typePart) {
+        return lookUp(linksByTypePart, typePart);
+    }
+
+    ImmutableList<InstanceLink> getByNameAndTypePart(String namePart, String typePart) {
+        var byNamePart = linksByNamePart.get(namePart);
+        var byTypePart = linksByTypePart.get(typePart);
+        if (byNamePart == null || byTypePart == null) {
+            return Lists.immutable.empty();
+        }
+        if (byNamePart.size() <= byTypePart.size()) {
+            return byNamePart.select(link -> link.getModelInstance().getTypeParts().contains(typePart)).toImmutable();
+        }
+        return byTypePart.select(link -> link.getModelInstance().getNameParts().contains(namePart)).toImmutable();
+    }
+
+    private static <K> ImmutableList<InstanceLink> lookUp(MutableMap<K, MutableList<InstanceLink>> index, K key) {
+        var links = index.get(key);
+        return links == null ? Lists.immutable.empty() : links.toImmutable();
+    }
+
+    private static <K> void removeFromIndex(MutableMap<K, MutableList<InstanceLink>> index, K key, InstanceLink instanceLink) {
+        var links = index.get(key);
+        links.removeIf(link -> link == instanceLink);
+        if (links.isEmpty()) {
+            index.remove(key);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.connectiongenerator;
+
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.api.set.MutableSet;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ModelInstance;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+import edu.kit.kastel.mcse.ardoco.core.common.util.SimilarityUtils;
+
+/**
+ * Dictionary of the name parts and type parts of the instances of a model that finds the words of a text that are similar to an instance name or type. Words
+ * that are exactly equal to a name part or type part are found by a lookup in the dictionary. Only the remaining words, including words that differ from a
+ * part only in case, are compared with every instance by
+ * {@link SimilarityUtils#isWordSimilarToModelInstance(Word, ModelInstance)} and {@link SimilarityUtils#isWordSimilarToModelInstanceType(Word, ModelInstance)},
+ * and only once per distinct text and lemma, as the result does not depend on the position of the word.
+ * <p>
+ * A dictionary belongs to one scan over a text and is not thread-safe.
+ */
+@Deterministic
+public final class ModelInstanceDictionary {
+
+    private final SimilarityUtils similarityUtils;
+    private final ImmutableList<? extends ModelInstance> instances;
+    private final ImmutableSet<String> nameParts;
+    private final ImmutableSet<String> typeParts;
+    private final MutableMap<WordForm, Boolean> similarToName = Maps.mutable.empty();
+    private final MutableMap<WordForm, Boolean> similarToType = Maps.mutable.empty();
+    private long similarityChecks = 0;
+
+    /**
+     * Creates a new dictionary of the given instances.
+     *
+     * @param similarityUtils the similarity utils that compare the remaining words with the instances
+     * @param instances       the instances of the model
+     */
+    public ModelInstanceDictionary(SimilarityUtils similarityUtils, ImmutableList<? extends ModelInstance> instances) {
+        this.similarityUtils = similarityUtils;
+        this.instances = instances;
+        this.nameParts = collectAll(instances, ModelInstance::getNameParts);
+        this.typeParts = collectAll(instances, ModelInstance::getTypeParts);
+    }
+
+    /**
+     * Returns whether the word is similar to the name of an instance, i.e., whether
+     * {@link SimilarityUtils#isWordSimilarToModelInstance(Word, ModelInstance)} holds for any instance.
+     *
+     * @param word the word
+     * @return true if the word is similar to the name of an instance
+     */
+    public boolean isSimilarToName(Word word) {
+        return isSimilar(word, nameParts, similarToName, similarityUtils::isWordSimilarToModelInstance);
+    }
+
+    /**
+     * Returns whether the word is similar to the type of an instance, i.e., whether
+     * {@link SimilarityUtils#isWordSimilarToModelInstanceType(Word, ModelInstance)} holds for any instance.
+     *
+     * @param word the word
+     * @return true if the word is similar to the type of an instance
+     */
+    public boolean isSimilarToType(Word word) {
+        return isSimilar(word, typeParts, similarToType, similarityUtils::isWordSimilarToModelInstanceType);
+    }
+
+    /**
+     * {@return the number of word-instance comparisons done by the similarity utils so far}
+     */
+    public long getSimilarityChecks() {
+        return similarityChecks;
+    }
+
+    private boolean isSimilar(Word word, ImmutableSet<String> parts, MutableMap<WordForm, Boolean> results, BiPredicate<Word, ModelInstance> similarity) {
+        // Only exact matches are accepted without the similarity utils, as the configured measures do not have to accept words that differ in case
+        if (parts.contains(word.getText())) {
+            return true;
+        }
+        return results.getIfAbsentPut(new WordForm(word.getText(), word.getLemma()), () -> {
+            for (var instance : instances) {
+                similarityChecks++;
+                if (similarity.test(word, instance)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    private static ImmutableSet<String> collectAll(ImmutableList<? extends ModelInstance> instances,
+            Function<ModelInstance, ImmutableList<String>> partsFunction) {
+        MutableSet<String> parts = Sets.mutable.empty();
+        for (var instance : instances) {
+            parts.addAllIterable(partsFunction.apply(instance));
+        }
+        return parts.toImmutable();
+    }
+
+    private record WordForm(String text, String lemma) {
+    }
+}
@@ -1,10 +1,11 @@
-/* Licensed under MIT 2021-2024. */
+/* Licensed under MIT 2021-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.connectiongenerator.informants;
 
 import java.util.SortedMap;
 
-import edu.kit.kastel.mcse.ardoco.core.api.models.LegacyModelExtractionState;
-import edu.kit.kastel.mcse.ardoco.core.api.models.ModelStates;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+
 import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
 import edu.kit.kastel.mcse.ardoco.core.api.textextraction.MappingKind;
 import edu.kit.kastel.mcse.ardoco.core.api.textextraction.TextState;
@@ -12,10 +13,12 @@
 import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
+import edu.kit.kastel.mcse.ardoco.tlr.connectiongenerator.ModelInstanceDictionary;
 
 /**
  * This analyzer searches for the occurrence of instance names and types of the extraction state and adds them as names
- * and types to the text extraction state.
+ * and types to the text extraction state. The instances of each model are looked up in a {@link ModelInstanceDictionary}, so words that occur in the
+ * model are found in one pass over the text and only the remaining words are compared with every instance.
  */
 public class ExtractionDependentOccurrenceInformant extends Informant {
 
@@ -32,17 +35,20 @@ public void process() {
         var text = DataRepositoryHelper.getAnnotatedText(dataRepository);
         var textState = DataRepositoryHelper.getTextState(dataRepository);
         var modelStates = DataRepositoryHelper.getModelStatesData(dataRepository);
+        var similarityUtils = getMetaData().getSimilarityUtils();
+        MutableList<ModelInstanceDictionary> dictionaries = Lists.mutable.empty();
+        for (var model : modelStates.modelIds()) {
+            dictionaries.add(new ModelInstanceDictionary(similarityUtils, modelStates.getModelExtractionState(model).getInstances()));
+        }
         for (var word : text.words()) {
-            exec(textState, modelStates, word);
+            exec(textState, dictionaries, word);
         }
     }
 
-    private void exec(TextState textState, ModelStates modelStates, Word word) {
-        for (var model : modelStates.modelIds()) {
-            var modelState = modelStates.getModelExtractionState(model);
-
-            searchForName(modelState, textState, word);
-            searchForType(modelState, textState, word);
+    private void exec(TextState textState, MutableList<ModelInstanceDictionary> dictionaries, Word word) {
+        for (var dictionary : dictionaries) {
+            searchForName(dictionary, textState, word);
+            searchForType(dictionary, textState, word);
         }
     }
 
@@ -50,12 +56,11 @@ private void exec(TextState textState, ModelStates modelStates, Word word) {
      * This method checks whether a given node is a name of an instance given in the model extraction state. If it
      * appears to be a name this is stored in the text extraction state.
      */
-    private void searchForName(LegacyModelExtractionState modelState, TextState textState, Word word) {
+    private void searchForName(ModelInstanceDictionary dictionary, TextState textState, Word word) {
         if (posTagIsUndesired(word) && !wordStartsWithCapitalLetter(word)) {
             return;
         }
-        var instanceNameIsSimilar = modelState.getInstances().anySatisfy(i -> getMetaData().getSimilarityUtils().isWordSimilarToModelInstance(word, i));
-        if (instanceNameIsSimilar) {
+        if (dictionary.isSimilarToName(word)) {
             textState.addNounMapping(word, MappingKind.NAME, this, probability);
         }
     }
@@ -73,10 +78,8 @@ private boolean posTagIsUndesired(Word word) {
      * appears to be a type this is stored in the text extraction state. If multiple options are available the node
      * value is taken as reference.
      */
-    private void searchForType(LegacyModelExtractionState modelState, TextState textState, Word word) {
-        var similarityUtils = getMetaData().getSimilarityUtils();
-        var instanceTypeIsSimilar = modelState.getInstances().anySatisfy(i -> similarityUtils.isWordSimilarToModelInstanceType(word, i));
-        if (instanceTypeIsSimilar) {
+    private void searchForType(ModelInstanceDictionary dictionary, TextState textState, Word word) {
+        if (dictionary.isSimilarToType(word)) {
             textState.addNounMapping(word, MappingKind.TYPE, this, probability);
         }
     }
@@ -1,23 +1,51 @@
-/* Licensed under MIT 2022-2024. */
+/* Licensed under MIT 2022-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.connectiongenerator.informants;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.SortedMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
 
 import edu.kit.kastel.mcse.ardoco.core.api.connectiongenerator.ConnectionState;
 import edu.kit.kastel.mcse.ardoco.core.api.models.LegacyModelExtractionState;
 import edu.kit.kastel.mcse.ardoco.core.api.models.Metamodel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.ModelInstance;
 import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendationState;
+import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendedInstance;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.NounMapping;
 import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
 import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
+import edu.kit.kastel.mcse.ardoco.tlr.common.ApproximateMatchingIndex;
 
+/**
+ * Links recommended instances to the model instances they are similar to. If {@link #candidateBlocking} is enabled, recommended instances are only compared
+ * with the model instances that an {@link ApproximateMatchingIndex} over the model instance names returns for the name, type, and mappings of the recommended
+ * instance. Candidate blocking is only used if the index covers the configured similarity measures (see {@link ApproximateMatchingIndex#coversSimilarityOf});
+ * otherwise every recommended instance is compared with every model instance. The number of compared pairs is logged for every model. The comparisons are split
+ * into blocks of {@link #blockSize} model instances or recommended instances. If {@link #concurrentMatching} is enabled, the blocks of all model states are
+ * evaluated concurrently. The found links are always added to the connection states in the order of a sequential run.
+ */
 public class InstantConnectionInformant extends Informant {
     @Configurable
     private double probability = 1.0;
     @Configurable
     private double probabilityWithoutType = 0.8;
+    @Configurable
+    private boolean candidateBlocking = true;
+    @Configurable
+    private boolean concurrentMatching = false;
+    @Configurable
+    private int blockSize = 32;
 
     public InstantConnectionInformant(DataRepository dataRepository) {
         super(InstantConnectionInformant.class.getSimpleName(), dataRepository);
@@ -25,18 +53,86 @@ public InstantConnectionInformant(DataRepository dataRepository) {
 
     @Override
     public void process() {
+        boolean useCandidates = candidateBlocking && ApproximateMatchingIndex.coversSimilarityOf(getMetaData());
+        if (candidateBlocking && !useCandidates) {
+            logger.info("Candidate blocking is not used, as the configured similarity measures are not covered by the approximate matching index");
+        }
         DataRepository dataRepository = getDataRepository();
         var modelStates = DataRepositoryHelper.getModelStatesData(dataRepository);
         var recommendationStates = DataRepositoryHelper.getRecommendationStates(dataRepository);
         var connectionStates = DataRepositoryHelper.getConnectionStates(dataRepository);
+        List<Block> blocks = new ArrayList<>();
         for (var model : modelStates.modelIds()) {
             var modelState = modelStates.getModelExtractionState(model);
             Metamodel metamodel = modelState.getMetamodel();
             var recommendationState = recommendationStates.getRecommendationState(metamodel);
             var connectionState = connectionStates.getConnectionState(metamodel);
 
-            findNamesOfModelInstancesInSupposedMappings(modelState, recommendationState, connectionState);
-            createLinksForEqualOrSimilarRecommendedInstances(modelState, recommendationState, connectionState);
+            addBlocks(blocks, modelState, recommendationState, connectionState, useCandidates);
+        }
+
+        var links = evaluate(blocks);
+        for (int i = 0; i < blocks.size(); i++) {
+            var connectionState = blocks.get(i).connectionState();
+            links.get(i).forEach(link -> connectionState.addToLinks(link.recommendedInstance(), link.modelInstance(), this, link.probability()));
+        }
+    }
+
+    private void addBlocks(List<Block> blocks, LegacyModelExtractionState modelState, RecommendationState recommendationState, ConnectionState connectionState,
+            boolean useCandidates) {
+        var instances = modelState.getInstances();
+        var recommendedInstances = recommendationState.getRecommendedInstances();
+        var candidates = useCandidates ? new Candidates(instances, recommendedInstances) : null;
+        long pairs = (long) instances.size() * recommendedInstances.size();
+        logger.info("{}: comparing {} of {} pairs of {} model instances and {} recommended instances", modelState.getMetamodel(), candidates == null ?
+                pairs : candidates.getPairs(), pairs, instances.size(), recommendedInstances.size());
+        int size = Math.max(1, blockSize);
+
+        for (int from = 0; from < instances.size(); from += size) {
+            int start = from;
+            int end = Math.min(from + size, instances.size());
+            blocks.add(new Block(connectionState, () -> findNamesOfModelInstancesInSupposedMappings(instances, recommendedInstances, candidates, start,
+                    end)));
+        }
+        for (int from = 0; from < recommendedInstances.size(); from += size) {
+            int start = from;
+            int end = Math.min(from + size, recommendedInstances.size());
+            blocks.add(new Block(connectionState, () -> createLinksForEqualOrSimilarRecommendedInstances(instances, recommendedInstances, candidates, start,
+                    end)));
+        }
+    }
+
+    /**
+     * Evaluates the blocks, concurrently if {@link #concurrentMatching} is enabled.
+     *
+     * @return the links of each block, in the order of the blocks
+     */
+    private List<ImmutableList<Link>> evaluate(List<Block> blocks) {
+        if (!concurrentMatching || blocks.size() < 2) {
+            return blocks.stream().map(block -> block.matcher().get()).toList();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(blocks.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<ImmutableList<Link>>> futures = new ArrayList<>();
+            for (var block : blocks) {
+                futures.add(executor.submit(() -> block.matcher().get()));
+            }
+            List<ImmutableList<Link>> results = new ArrayList<>();
+            for (var future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while matching instances in " + getId(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Could not match instances in " + getId(), e.getCause());
+        } finally {
+            executor.shutdownNow();
         }
     }
 
@@ -44,31 +140,120 @@ public void process() {
      * Searches in the recommended instances of the recommendation state for similar names to extracted instances. If
      * some are found the instance link is added to the connection state.
      */
-    private void findNamesOfModelInstancesInSupposedMappings(LegacyModelExtractionState modelState, RecommendationState recommendationState,
-            ConnectionState connectionState) {
-        var recommendedInstances = recommendationState.getRecommendedInstances();
+    private ImmutableList<Link> findNamesOfModelInstancesInSupposedMappings(ImmutableList<ModelInstance> instances,
+            ImmutableList<RecommendedInstance> recommendedInstances, Candidates candidates, int start, int end) {
         var similarityUtils = getMetaData().getSimilarityUtils();
-        for (ModelInstance instance : modelState.getInstances()) {
-            var mostLikelyRi = similarityUtils.getMostRecommendedInstancesToInstanceByReferences(instance, recommendedInstances);
+        MutableList<Link> links = Lists.mutable.empty();
+        for (int i = start; i < end; i++) {
+            var instance = instances.get(i);
+            var candidateRecommendedInstances = candidates == null ? recommendedInstances : candidates.getRecommendedInstances(i);
+            var mostLikelyRi = similarityUtils.getMostRecommendedInstancesToInstanceByReferences(instance, candidateRecommendedInstances);
 
             for (var recommendedInstance : mostLikelyRi) {
                 var riProbability = recommendedInstance.getTypeMappings().isEmpty() ? probabilityWithoutType : probability;
-                connectionState.addToLinks(recommendedInstance, instance, this, riProbability);
+                links.add(new Link(recommendedInstance, instance, riProbability));
             }
         }
+        return links.toImmutable();
     }
 
-    private void createLinksForEqualOrSimilarRecommendedInstances(LegacyModelExtractionState modelState, RecommendationState recommendationState,
-            ConnectionState connectionState) {
-        for (var recommendedInstance : recommendationState.getRecommendedInstances()) {
-            var sameInstances = modelState.getInstances()
-                    .select(instance -> getMetaData().getSimilarityUtils().isRecommendedInstanceSimilarToModelInstance(recommendedInstance, instance));
-            sameInstances.forEach(instance -> connectionState.addToLinks(recommendedInstance, instance, this, probability));
+    private ImmutableList<Link> createLinksForEqualOrSimilarRecommendedInstances(ImmutableList<ModelInstance> instances,
+            ImmutableList<RecommendedInstance> recommendedInstances, Candidates candidates, int start, int end) {
+        var similarityUtils = getMetaData().getSimilarityUtils();
+        MutableList<Link> links = Lists.mutable.empty();
+        for (int i = start; i < end; i++) {
+            var recommendedInstance = recommendedInstances.get(i);
+            var candidateInstances = candidates == null ? instances : candidates.getModelInstances(i);
+            var sameInstances = candidateInstances.select(instance -> similarityUtils.isRecommendedInstanceSimilarToModelInstance(recommendedInstance,
+                    instance));
+            sameInstances.forEach(instance -> links.add(new Link(recommendedInstance, instance, probability)));
         }
+        return links.toImmutable();
     }
 
     @Override
     protected void delegateApplyConfigurationToInternalObjects(SortedMap<String, String> map) {
         // empty
     }
+
+    /**
+     * The pairs of model instances and recommended instances that could be similar. A pair is a candidate if the {@link ApproximateMatchingIndex} returns the
+     * model instance for the name, the type, or a reference, surface form, or lemma of a mapping of the recommended instance. Both lists of candidates keep
+     * the order of the model state and the recommendation state.
+     */
+    private static final class Candidates {
+        private final ImmutableList<ImmutableList<ModelInstance>> modelInstancesByRecommendedInstance;
+        private final ImmutableList<ImmutableList<RecommendedInstance>> recommendedInstancesByModelInstance;
+
+        private Candidates(ImmutableList<ModelInstance> instances, ImmutableList<RecommendedInstance> recommendedInstances) {
+            var index = new ApproximateMatchingIndex<IndexedInstance>(IndexedInstance::key);
+            for (int i = 0; i < instances.size(); i++) {
+                var instance = instances.get(i);
+                index.add(new IndexedInstance(i, instance.getName()));
+                if (!instance.getFullName().equals(instance.getName())) {
+                    index.add(new IndexedInstance(i, instance.getFullName()));
+                }
+            }
+
+            MutableList<ImmutableList<ModelInstance>> modelInstances = Lists.mutable.empty();
+            MutableList<MutableList<RecommendedInstance>> candidateRecommendedInstances = Lists.mutable.empty();
+            instances.forEach(instance -> candidateRecommendedInstances.add(Lists.mutable.empty()));
+            for (var recommendedInstance : recommendedInstances) {
+                var isCandidate = new boolean[instances.size()];
+                for (var key : keys(recommendedInstance)) {
+                    index.getCandidates(key).forEach(candidate -> isCandidate[candidate.position()] = true);
+                }
+                MutableList<ModelInstance> candidateInstances = Lists.mutable.empty();
+                for (int i = 0; i < instances.size(); i++) {
+                    if (isCandidate[i]) {
+                        candidateInstances.add(instances.get(i));
+                        candidateRecommendedInstances.get(i).add(recommendedInstance);
+                    }
+                }
+                modelInstances.add(candidateInstances.toImmutable());
+            }
+            this.modelInstancesByRecommendedInstance = modelInstances.toImmutable();
+            this.recommendedInstancesByModelInstance = candidateRecommendedInstances.collect(MutableList::toImmutable).toImmutable();
+        }
+
+        private static MutableList<String> keys(RecommendedInstance recommendedInstance) {
+            MutableList<String> keys = Lists.mutable.with(recommendedInstance.getName(), recommendedInstance.getType());
+            for (var mappings : List.of(recommendedInstance.getNameMappings(), recommendedInstance.getTypeMappings())) {
+                for (NounMapping mapping : mappings) {
+                    keys.add(mapping.getReference());
+                    keys.addAllIterable(mapping.getSurfaceForms());
+                    mapping.getWords().forEach(word -> keys.add(word.getLemma()));
+                }
+            }
+            // Blank keys (e.g., a missing type) are not similar to any name and would make every model instance a candidate
+            return keys.reject(key -> key == null || key.isBlank()).distinct();
+        }
+
+        /**
+         * {@return the number of candidate pairs}
+         */
+        private long getPairs() {
+            return modelInstancesByRecommendedInstance.sumOfInt(ImmutableList::size);
+        }
+
+        private ImmutableList<ModelInstance> getModelInstances(int recommendedInstancePosition) {
+            return modelInstancesByRecommendedInstance.get(recommendedInstancePosition);
+        }
+
+        private ImmutableList<RecommendedInstance> getRecommendedInstances(int modelInstancePosition) {
+            return recommendedInstancesByModelInstance.get(modelInstancePosition);
+        }
+    }
+
+    private record IndexedInstance(int position, String key) {
+    }
+
+    private record Link(RecommendedInstance recommendedInstance, ModelInstance modelInstance, double probability) {
+    }
+
+    /**
+     * Comparisons of a range of model instances or recommended instances of one model state.
+     */
+    private record Block(ConnectionState connectionState, Supplier<ImmutableList<Link>> matcher) {
+    }
 }
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2022-2024. */
+/* Licensed under MIT 2022-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.connectiongenerator.informants;
 
 import java.util.SortedMap;
@@ -16,11 +16,11 @@
 import edu.kit.kastel.mcse.ardoco.core.api.textextraction.MappingKind;
 import edu.kit.kastel.mcse.ardoco.core.api.textextraction.NounMapping;
 import edu.kit.kastel.mcse.ardoco.core.api.textextraction.TextState;
-import edu.kit.kastel.mcse.ardoco.core.common.util.CommonUtilities;
 import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
 import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.ModelTypeSimilarityTable;
 
 /**
  * This analyzer searches for name type patterns. If these patterns occur recommendations are created.
@@ -51,10 +51,11 @@ private void exec(TextState textState, ModelStates modelStates, RecommendationSt
         for (var model : modelStates.modelIds()) {
             var modelState = modelStates.getModelExtractionState(model);
             var recommendationState = recommendationStates.getRecommendationState(modelState.getMetamodel());
-            checkForNameAfterType(textState, word, modelState, recommendationState);
-            checkForNameBeforeType(textState, word, modelState, recommendationState);
-            checkForNortBeforeType(textState, word, modelState, recommendationState);
-            checkForNortAfterType(textState, word, modelState, recommendationState);
+            var similarTypes = ModelTypeSimilarityTable.of(getDataRepository(), model).getSimilarTypes(word);
+            checkForNameAfterType(textState, word, similarTypes, modelState, recommendationState);
+            checkForNameBeforeType(textState, word, similarTypes, modelState, recommendationState);
+            checkForNortBeforeType(textState, word, similarTypes, modelState, recommendationState);
+            checkForNortAfterType(textState, word, similarTypes, modelState, recommendationState);
         }
     }
 
@@ -62,16 +63,14 @@ private void exec(TextState textState, ModelStates modelStates, RecommendationSt
      * Checks if the current node is a type in the text extraction state. If the names of the text extraction state
      * contain the previous node. If that's the case a recommendation for the combination of both is created.
      */
-    private void checkForNameBeforeType(TextState textExtractionState, Word word, LegacyModelExtractionState modelState,
-            RecommendationState recommendationState) {
+    private void checkForNameBeforeType(TextState textExtractionState, Word word, ImmutableList<String> similarTypes,
+            LegacyModelExtractionState modelState, RecommendationState recommendationState) {
         if (textExtractionState == null || word == null) {
             return;
         }
 
         var preWord = word.getPreWord();
 
-        var similarTypes = CommonUtilities.getSimilarTypes(getMetaData().getSimilarityUtils(), word, modelState);
-
         if (!similarTypes.isEmpty()) {
             textExtractionState.addNounMapping(word, MappingKind.TYPE, this, probability);
 
@@ -89,25 +88,25 @@ private void checkForNameBeforeType(TextState textExtractionState, Word word, Le
      *
      * @param textExtractionState text extraction state
      * @param word                the current word
+     * @param similarTypes        the model types that are similar to the current word
      * @param modelState          the current model state
      * @param recommendationState the current recommendation state
      */
-    private void checkForNameAfterType(TextState textExtractionState, Word word, LegacyModelExtractionState modelState,
-            RecommendationState recommendationState) {
+    private void checkForNameAfterType(TextState textExtractionState, Word word, ImmutableList<String> similarTypes,
+            LegacyModelExtractionState modelState, RecommendationState recommendationState) {
         if (textExtractionState == null || word == null) {
             return;
         }
 
         var after = word.getNextWord();
 
-        var sameLemmaTypes = CommonUtilities.getSimilarTypes(getMetaData().getSimilarityUtils(), word, modelState);
-        if (!sameLemmaTypes.isEmpty()) {
+        if (!similarTypes.isEmpty()) {
             textExtractionState.addNounMapping(word, MappingKind.TYPE, this, probability);
 
             var typeMappings = textExtractionState.getMappingsThatCouldBeOfKind(word, MappingKind.TYPE);
             var nameMappings = textExtractionState.getMappingsThatCouldBeOfKind(after, MappingKind.NAME);
 
-            var instance = tryToIdentify(textExtractionState, sameLemmaTypes, after, modelState);
+            var instance = tryToIdentify(textExtractionState, similarTypes, after, modelState);
             addRecommendedInstanceIfNodeNotNull(word, textExtractionState, instance, nameMappings, typeMappings, recommendationState);
         }
     }
@@ -116,23 +115,21 @@ private void checkForNameAfterType(TextState textExtractionState, Word word, Leg
      * Checks if the current node is a type in the text extraction state. If the name_or_types of the text extraction
      * state contain the previous node. If that's the case a recommendation for the combination of both is created.
      */
-    private void checkForNortBeforeType(TextState textExtractionState, Word word, LegacyModelExtractionState modelState,
-            RecommendationState recommendationState) {
+    private void checkForNortBeforeType(TextState textExtractionState, Word word, ImmutableList<String> similarTypes,
+            LegacyModelExtractionState modelState, RecommendationState recommendationState) {
         if (textExtractionState == null || word == null) {
             return;
         }
 
         var preWord = word.getPreWord();
 
-        var sameLemmaTypes = CommonUtilities.getSimilarTypes(getMetaData().getSimilarityUtils(), word, modelState);
-
-        if (!sameLemmaTypes.isEmpty()) {
+        if (!similarTypes.isEmpty()) {
             textExtractionState.addNounMapping(word, MappingKind.TYPE, this, probability);
 
             var typeMappings = textExtractionState.getMappingsThatCouldBeOfKind(word, MappingKind.TYPE);
             var nortMappings = textExtractionState.getMappingsThatCouldBeMultipleKinds(preWord, MappingKind.NAME, MappingKind.TYPE);
 
-            var instance = tryToIdentify(textExtractionState, sameLemmaTypes, preWord, modelState);
+            var instance = tryToIdentify(textExtractionState, similarTypes, preWord, modelState);
             addRecommendedInstanceIfNodeNotNull(word, textExtractionState, instance, nortMappings, typeMappings, recommendationState);
         }
     }
@@ -141,22 +138,21 @@ private void checkForNortBeforeType(TextState textExtractionState, Word word, Le
      * Checks if the current node is a type in the text extraction state. If the name_or_types of the text extraction
      * state contain the afterwards node. If that's the case a recommendation for the combination of both is created.
      */
-    private void checkForNortAfterType(TextState textExtractionState, Word word, LegacyModelExtractionState modelState,
-            RecommendationState recommendationState) {
+    private void checkForNortAfterType(TextState textExtractionState, Word word, ImmutableList<String> similarTypes,
+            LegacyModelExtractionState modelState, RecommendationState recommendationState) {
         if (textExtractionState == null || word == null) {
             return;
         }
 
         var after = word.getNextWord();
 
-        var sameLemmaTypes = CommonUtilities.getSimilarTypes(getMetaData().getSimilarityUtils(), word, modelState);
-        if (!sameLemmaTypes.isEmpty()) {
+        if (!similarTypes.isEmpty()) {
             textExtractionState.addNounMapping(word, MappingKind.TYPE, this, probability);
 
             var typeMappings = textExtractionState.getMappingsThatCouldBeOfKind(word, MappingKind.TYPE);
             var nortMappings = textExtractionState.getMappingsThatCouldBeMultipleKinds(after, MappingKind.NAME, MappingKind.TYPE);
 
-            var instance = tryToIdentify(textExtractionState, sameLemmaTypes, after, modelState);
+            var instance = tryToIdentify(textExtractionState, similarTypes, after, modelState);
             addRecommendedInstanceIfNodeNotNull(word, textExtractionState, instance, nortMappings, typeMappings, recommendationState);
         }
     }
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2022-2024. */
+/* Licensed under MIT 2022-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.connectiongenerator.informants;
 
 import java.util.Objects;
@@ -18,6 +18,7 @@
 import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.WordSimilarityCache;
 
 /**
  * This informant looks for (parts of) the project's name within RecommendedInstances and if it finds the project's name, influences the
@@ -73,7 +74,7 @@ private void checkWordsInNounMapping(String projectName, RecommendedInstance rec
             if (projectName.contains(wordText)) {
                 var words = expandWordForName(projectName, word);
                 var expandedWord = concatenateWords(words);
-                if (getMetaData().getSimilarityUtils().areWordsSimilar(projectName, expandedWord)) {
+                if (WordSimilarityCache.of(getDataRepository()).areWordsSimilar(getMetaData(), projectName, expandedWord)) {
                     recommendedInstance.addProbability(this, penalty);
                 }
             }
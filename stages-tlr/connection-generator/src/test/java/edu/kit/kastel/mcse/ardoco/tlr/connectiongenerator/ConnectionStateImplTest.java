@@ -0,0 +1,254 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.connectiongenerator;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+import edu.kit.kastel.mcse.ardoco.core.api.models.ModelInstance;
+import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.InstanceLink;
+import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendedInstance;
+import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.execution.runner.AnonymousRunner;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractPipelineStep;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+import edu.kit.kastel.mcse.ardoco.core.tests.eval.Project;
+import edu.kit.kastel.mcse.ardoco.tlr.models.agents.ArCoTLModelProviderAgent;
+import edu.kit.kastel.mcse.ardoco.tlr.models.agents.ArchitectureConfiguration;
+import edu.kit.kastel.mcse.ardoco.tlr.recommendationgenerator.RecommendedInstanceImpl;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.CreationOrder;
+
+/**
+ * Compares the indexed {@link ConnectionStateImpl} with the previous list-based state (scanning all instance links for every addition, removal, and query)
+ * on thousands of links between synthetic recommended instances and the model instances of the project, and compares the time of both.
+ */
+class ConnectionStateImplTest implements Claimant {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionStateImplTest.class);
+
+    private static final int RECOMMENDED_INSTANCES = 2_000;
+    private static final int OPERATIONS = 20_000;
+    private static final int QUERIES = 2_000;
+
+    @DisplayName("Indexed connection state matches list-based connection state")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(Project.class)
+    void equivalenceTest(Project project) {
+        var modelInstances = getModelInstances(project);
+        var recommendedInstances = createRecommendedInstances();
+        var state = new ConnectionStateImpl();
+        var reference = new ListConnectionState();
+
+        long stateTime = 0;
+        long referenceTime = 0;
+        var random = new Random(42);
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+            var recommendedInstance = recommendedInstances.get(random.nextInt(recommendedInstances.size()));
+            var modelInstance = modelInstances.get(random.nextInt(modelInstances.size()));
+            int kind = random.nextInt(100);
+            double probability = random.nextDouble();
+
+            long start = System.nanoTime();
+            apply(state, kind, recommendedInstance, modelInstance, probability);
+            stateTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            apply(reference, kind, recommendedInstance, modelInstance, probability);
+            referenceTime += System.nanoTime() - start;
+
+            if (operation % 5_000 == 0) {
+                assertEquivalent(state, reference, modelInstances, recommendedInstances, random);
+            }
+        }
+        assertEquivalent(state, reference, modelInstances, recommendedInstances, random);
+
+        var queryRandom = new Random(7);
+        long start = System.nanoTime();
+        query(state, modelInstances, recommendedInstances, queryRandom);
+        long stateQueryTime = System.nanoTime() - start;
+        queryRandom = new Random(7);
+        start = System.nanoTime();
+        query(reference, modelInstances, recommendedInstances, queryRandom);
+        long referenceQueryTime = System.nanoTime() - start;
+
+        logger.info("{}: {} model instances, {} instance links, list-based {} ms + {} ms queries, indexed {} ms + {} ms queries", project.getProjectName(),
+                modelInstances.size(), state.getInstanceLinks().size(), referenceTime / 1_000_000, referenceQueryTime / 1_000_000, stateTime / 1_000_000,
+                stateQueryTime / 1_000_000);
+    }
+
+    private void apply(ConnectionStateImpl state, int kind, RecommendedInstance recommendedInstance, ModelInstance modelInstance, double probability) {
+        if (kind < 85) {
+            state.addToLinks(recommendedInstance, modelInstance, this, probability);
+        } else if (kind < 97) {
+            state.removeFromMappings(new InstanceLink(recommendedInstance, modelInstance, this, probability));
+        } else if (kind < 99) {
+            state.removeAllInstanceLinksWith(recommendedInstance);
+        } else {
+            state.removeAllInstanceLinksWith(modelInstance);
+        }
+    }
+
+    private void apply(ListConnectionState state, int kind, RecommendedInstance recommendedInstance, ModelInstance modelInstance, double probability) {
+        if (kind < 85) {
+            state.addToLinks(recommendedInstance, modelInstance, this, probability);
+        } else if (kind < 97) {
+            state.removeFromMappings(new InstanceLink(recommendedInstance, modelInstance, this, probability));
+        } else if (kind < 99) {
+            state.removeAllInstanceLinksWith(recommendedInstance);
+        } else {
+            state.removeAllInstanceLinksWith(modelInstance);
+        }
+    }
+
+    private void assertEquivalent(ConnectionStateImpl state, ListConnectionState reference, ImmutableList<ModelInstance> modelInstances,
+            ImmutableList<RecommendedInstance> recommendedInstances, Random random) {
+        Assertions.assertEquals(reference.getInstanceLinks(), state.getInstanceLinks());
+        Assertions.assertEquals(reference.getInstanceLinks(), state.getInstanceLinkSnapshot().toImmutableList());
+        for (var modelInstance : modelInstances) {
+            Assertions.assertEquals(reference.getInstanceLinksByModelInstance(modelInstance), state.getInstanceLinksByModelInstance(modelInstance));
+            for (var name : modelInstance.getNameParts()) {
+                Assertions.assertEquals(reference.getInstanceLinksByName(name), state.getInstanceLinksByName(name));
+                for (var type : modelInstance.getTypeParts()) {
+                    Assertions.assertEquals(reference.getInstanceLinks(name, type), state.getInstanceLinks(name, type));
+                }
+            }
+            for (var type : modelInstance.getTypeParts()) {
+                Assertions.assertEquals(reference.getInstanceLinksByType(type), state.getInstanceLinksByType(type));
+            }
+        }
+        for (int i = 0; i < 200; i++) {
+            var recommendedInstance = recommendedInstances.get(random.nextInt(recommendedInstances.size()));
+            var modelInstance = modelInstances.get(random.nextInt(modelInstances.size()));
+            var instanceLink = new InstanceLink(recommendedInstance, modelInstance, this, 0.5);
+            Assertions.assertEquals(reference.getInstanceLinksByRecommendedInstance(recommendedInstance), state.getInstanceLinksByRecommendedInstance(
+                    recommendedInstance));
+            Assertions.assertEquals(reference.isContainedByInstanceLinks(instanceLink), state.isContainedByInstanceLinks(instanceLink));
+        }
+    }
+
+    private static void query(ConnectionStateImpl state, ImmutableList<ModelInstance> modelInstances, ImmutableList<RecommendedInstance> recommendedInstances,
+            Random random) {
+        for (int i = 0; i < QUERIES; i++) {
+            var modelInstance = modelInstances.get(random.nextInt(modelInstances.size()));
+            var name = modelInstance.getNameParts().getFirst();
+            var type = modelInstance.getTypeParts().getFirst();
+            state.getInstanceLinksByName(name);
+            state.getInstanceLinksByType(type);
+            state.getInstanceLinks(name, type);
+            state.getInstanceLinksByRecommendedInstance(recommendedInstances.get(random.nextInt(recommendedInstances.size())));
+        }
+    }
+
+    private static void query(ListConnectionState state, ImmutableList<ModelInstance> modelInstances, ImmutableList<RecommendedInstance> recommendedInstances,
+            Random random) {
+        for (int i = 0; i < QUERIES; i++) {
+            var modelInstance = modelInstances.get(random.nextInt(modelInstances.size()));
+            var name = modelInstance.getNameParts().getFirst();
+            var type = modelInstance.getTypeParts().getFirst();
+            state.getInstanceLinksByName(name);
+            state.getInstanceLinksByType(type);
+            state.getInstanceLinks(name, type);
+            state.getInstanceLinksByRecommendedInstance(recommendedInstances.get(random.nextInt(recommendedInstances.size())));
+        }
+    }
+
+    private ImmutableList<RecommendedInstance> createRecommendedInstances() {
+        MutableList<RecommendedInstance> recommendedInstances = Lists.mutable.empty();
+        var creationOrder = new CreationOrder();
+        for (int i = 0; i < RECOMMENDED_INSTANCES; i++) {
+            recommendedInstances.add(new RecommendedInstanceImpl(creationOrder, "instance" + i, "component", this, 0.5, Lists.immutable.empty(), Lists.immutable
+                    .empty()));
+        }
+        return recommendedInstances.toImmutable();
+    }
+
+    private static ImmutableList<ModelInstance> getModelInstances(Project project) {
+        var dataRepository = new AnonymousRunner(project.getProjectName()) {
+            @Override
+            public List<AbstractPipelineStep> initializePipelineSteps(DataRepository dataRepository) throws IOException {
+                var architectureConfiguration = new ArchitectureConfiguration(project.getModelFile(), ArchitectureModelType.PCM);
+                return List.of(ArCoTLModelProviderAgent.getArCoTLModelProviderAgent(dataRepository, project.getAdditionalConfigurations(),
+                        architectureConfiguration, null));
+            }
+        }.runWithoutSaving();
+
+        var modelStates = DataRepositoryHelper.getModelStatesData(dataRepository);
+        MutableList<ModelInstance> modelInstances = Lists.mutable.empty();
+        for (var modelId : modelStates.modelIds()) {
+            modelInstances.addAllIterable(modelStates.getModelExtractionState(modelId).getInstances());
+        }
+        Assertions.assertFalse(modelInstances.isEmpty());
+        return modelInstances.toImmutable();
+    }
+
+    /**
+     * The previous connection state: a list that is scanned for every addition, removal, and query.
+     */
+    private static final class ListConnectionState {
+        private final MutableList<InstanceLink> instanceLinks = Lists.mutable.empty();
+
+        ImmutableList<InstanceLink> getInstanceLinks() {
+            return instanceLinks.toImmutable();
+        }
+
+        ImmutableList<InstanceLink> getInstanceLinksByName(String name) {
+            return instanceLinks.select(link -> link.getModelInstance().getNameParts().contains(name)).toImmutable();
+        }
+
+        ImmutableList<InstanceLink> getInstanceLinksByType(String type) {
+            return instanceLinks.select(link -> link.getModelInstance().getTypeParts().contains(type)).toImmutable();
+        }
+
+        ImmutableList<InstanceLink> getInstanceLinksByRecommendedInstance(RecommendedInstance recommendedInstance) {
+            return instanceLinks.select(link -> link.getTextualInstance().equals(recommendedInstance)).toImmutable();
+        }
+
+        ImmutableList<InstanceLink> getInstanceLinksByModelInstance(ModelInstance modelInstance) {
+            return instanceLinks.select(link -> link.getModelInstance().equals(modelInstance)).toImmutable();
+        }
+
+        ImmutableList<InstanceLink> getInstanceLinks(String name, String type) {
+            return instanceLinks.select(link -> link.getModelInstance().getNameParts().contains(name))
+                    .select(link -> link.getModelInstance().getTypeParts().contains(type))
+                    .toImmutable();
+        }
+
+        void addToLinks(RecommendedInstance recommendedInstance, ModelInstance modelInstance, Claimant claimant, double probability) {
+            var newInstanceLink = new InstanceLink(recommendedInstance, modelInstance, claimant, probability);
+            var existingInstanceLink = instanceLinks.detect(link -> link.equals(newInstanceLink));
+            if (existingInstanceLink == null) {
+                instanceLinks.add(newInstanceLink);
+            } else {
+                existingInstanceLink.getTextualInstance()
+                        .addMappings(newInstanceLink.getTextualInstance().getNameMappings(), newInstanceLink.getTextualInstance().getTypeMappings());
+            }
+        }
+
+        boolean isContainedByInstanceLinks(InstanceLink instanceLink) {
+            return instanceLinks.contains(instanceLink);
+        }
+
+        void removeFromMappings(InstanceLink instanceLink) {
+            instanceLinks.remove(instanceLink);
+        }
+
+        void removeAllInstanceLinksWith(ModelInstance modelInstance) {
+            instanceLinks.removeIf(link -> link.getModelInstance().equals(modelInstance));
+        }
+
+        void removeAllInstanceLinksWith(RecommendedInstance recommendedInstance) {
+            instanceLinks.removeIf(link -> link.getTextualInstance().equals(recommendedInstance));
+        }
+    }
+}
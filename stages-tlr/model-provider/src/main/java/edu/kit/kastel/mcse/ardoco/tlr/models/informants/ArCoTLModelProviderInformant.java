@@ -1,4 +1,4 @@
-/* Licensed under MIT 2021-2024. */
+/* Licensed under MIT 2021-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.models.informants;
 
 import java.io.File;
@@ -20,6 +20,12 @@
  */
 public final class ArCoTLModelProviderInformant extends Informant {
     private static final String MODEL_STATES_DATA = "ModelStatesData";
+    /**
+     * Guards the global sequence of the {@link IdentifierProvider} while a code model is extracted or read from a file. Both create code items whose
+     * constructors can draw from the sequence, so extractions and reads of runs in the same JVM take turns. Every one of them starts from a reset sequence,
+     * so the identifiers of the model are the same in every run and a read does not shift the sequence of a concurrent extraction.
+     */
+    private static final Object IDENTIFIER_LOCK = new Object();
     private final Extractor extractor;
     private final File fromFile;
 
@@ -60,14 +66,19 @@ public void process() {
         Model extractedModel;
 
         if (fromFile != null) {
-            extractedModel = CodeExtractor.readInCodeModel(this.fromFile);
+            synchronized (IDENTIFIER_LOCK) {
+                IdentifierProvider.reset();
+                extractedModel = CodeExtractor.readInCodeModel(this.fromFile);
+            }
             addModelStateToDataRepository(CodeModelType.CODE_MODEL.getModelId(), extractedModel);
             return;
         }
 
-        IdentifierProvider.reset();
-        logger.info("Extracting code model.");
-        extractedModel = extractor.extractModel();
+        synchronized (IDENTIFIER_LOCK) {
+            IdentifierProvider.reset();
+            logger.info("Extracting code model.");
+            extractedModel = extractor.extractModel();
+        }
         if (extractor instanceof CodeExtractor codeExtractor && extractedModel instanceof CodeModel codeModel) {
             logger.info("Writing out code model to file in directory.");
             codeExtractor.writeOutCodeModel(codeModel);
@@ -1,23 +1,34 @@
-/* Licensed under MIT 2024. */
+/* Licensed under MIT 2024-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.recommendationgenerator;
 
 import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendationStateStrategy;
 import edu.kit.kastel.mcse.ardoco.core.data.GlobalConfiguration;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.WordSimilarityCache;
 
 public class DefaultRecommendationStateStrategy implements RecommendationStateStrategy {
     private final GlobalConfiguration globalConfiguration;
+    private final WordSimilarityCache similarityCache;
 
     public DefaultRecommendationStateStrategy(GlobalConfiguration globalConfiguration) {
+        this(globalConfiguration, new WordSimilarityCache(WordSimilarityCache.DEFAULT_MAXIMUM_SIZE));
+    }
+
+    public DefaultRecommendationStateStrategy(GlobalConfiguration globalConfiguration, WordSimilarityCache similarityCache) {
         this.globalConfiguration = globalConfiguration;
+        this.similarityCache = similarityCache;
     }
 
     @Override
     public boolean areRITypesSimilar(String typeA, String typeB) {
-        return globalConfiguration.getSimilarityUtils().areWordsSimilar(typeA, typeB);
+        return similarityCache.areWordsSimilar(globalConfiguration, typeA, typeB);
     }
 
     @Override
     public boolean areRINamesSimilar(String nameA, String nameB) {
-        return globalConfiguration.getSimilarityUtils().areWordsSimilar(nameA, nameB);
+        return similarityCache.areWordsSimilar(globalConfiguration, nameA, nameB);
+    }
+
+    GlobalConfiguration getGlobalConfiguration() {
+        return globalConfiguration;
     }
 }
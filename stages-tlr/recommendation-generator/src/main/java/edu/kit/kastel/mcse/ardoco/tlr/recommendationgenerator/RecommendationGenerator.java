@@ -1,4 +1,4 @@
-/* Licensed under MIT 2021-2024. */
+/* Licensed under MIT 2021-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.recommendationgenerator;
 
 import java.util.SortedMap;
@@ -10,6 +10,8 @@
 import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractExecutionStage;
 import edu.kit.kastel.mcse.ardoco.tlr.recommendationgenerator.agents.InitialRecommendationAgent;
 import edu.kit.kastel.mcse.ardoco.tlr.recommendationgenerator.agents.PhraseRecommendationAgent;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.CreationOrder;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.WordSimilarityCache;
 
 /**
  * The Class RecommendationGenerator defines the recommendation stage.
@@ -42,7 +44,8 @@ public static RecommendationGenerator get(SortedMap<String, String> additionalCo
 
     @Override
     protected void initializeState() {
-        var recommendationStates = RecommendationStatesImpl.build(dataRepository.getGlobalConfiguration());
+        var recommendationStates = RecommendationStatesImpl.build(dataRepository.getGlobalConfiguration(), WordSimilarityCache.of(dataRepository),
+                CreationOrder.of(dataRepository));
         getDataRepository().addData(RecommendationStates.ID, recommendationStates);
     }
 }
@@ -1,34 +1,73 @@
-/* Licensed under MIT 2021-2024. */
+/* Licensed under MIT 2021-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.recommendationgenerator;
 
+import java.io.Serializable;
+import java.util.Comparator;
+
 import org.eclipse.collections.api.factory.Lists;
-import org.eclipse.collections.api.factory.SortedSets;
+import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.api.list.MutableList;
-import org.eclipse.collections.api.set.sorted.MutableSortedSet;
+import org.eclipse.collections.api.map.MutableMap;
 
 import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendationState;
 import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendationStateStrategy;
 import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendedInstance;
 import edu.kit.kastel.mcse.ardoco.core.api.textextraction.NounMapping;
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
 import edu.kit.kastel.mcse.ardoco.core.data.AbstractState;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+import edu.kit.kastel.mcse.ardoco.tlr.common.ApproximateMatchingIndex;
+import edu.kit.kastel.mcse.ardoco.tlr.common.PersistentList;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.CreationOrder;
 
 /**
  * The recommendation state encapsulates all recommended instances and relations. These recommendations should be contained by the model by their probability.
+ * <p>
+ * The recommended instances are indexed by their case-folded name and type and by their name and type mappings. The state listens to changes of its
+ * instances, so the indexes stay up to date if an instance is renamed or its mappings are merged or replaced. The indexes for similar names and types are not
+ * serialized; they are rebuilt from the recommended instances when they are used for the first time after deserialization. They are only used to narrow down
+ * the compared instances if they cover the similarity measures of the strategy (see {@link ApproximateMatchingIndex#coversSimilarityOf}). Every index keeps the
+ * instances it stores under a key in their natural order, so queries do not have to sort them.
  */
+@Deterministic
 public class RecommendationStateImpl extends AbstractState implements RecommendationState {
 
     private final RecommendationStateStrategy recommendationStateStrategy;
-    private MutableSortedSet<RecommendedInstance> recommendedInstances;
+    private PersistentList<RecommendedInstance> recommendedInstances;
+    private final CreationOrder creationOrder;
+    /**
+     * Built lazily because the recommended instances may not be completely deserialized yet when this state is. Written after {@link #typeIndex}, so a
+     * thread that sees the name index also sees the type index.
+     */
+    private transient volatile ApproximateMatchingIndex<RecommendedInstance> nameIndex;
+    private transient ApproximateMatchingIndex<RecommendedInstance> typeIndex;
+    private final MutableMap<String, MutableList<RecommendedInstance>> instancesByFoldedName = Maps.mutable.empty();
+    private final MutableMap<String, MutableList<RecommendedInstance>> instancesByFoldedType = Maps.mutable.empty();
+    private final MutableMap<NounMapping, MutableList<RecommendedInstance>> instancesByNameMapping = Maps.mutable.empty();
+    private final MutableMap<NounMapping, MutableList<RecommendedInstance>> instancesByTypeMapping = Maps.mutable.empty();
+    private final MutableMap<RecommendedInstance, IndexedKeys> indexedKeys = Maps.mutable.empty();
+    private final IndexUpdater indexUpdater = new IndexUpdater();
 
     /**
-     * Creates a new recommendation state.
+     * Creates a new recommendation state with a creation order of its own. Use
+     * {@link #RecommendationStateImpl(RecommendationStateStrategy, CreationOrder)} with the creation order of the run in a pipeline.
      */
     public RecommendationStateImpl(RecommendationStateStrategy recommendationStateStrategy) {
+        this(recommendationStateStrategy, new CreationOrder());
+    }
+
+    /**
+     * Creates a new recommendation state whose recommended instances take their creation times from the given creation order.
+     *
+     * @param recommendationStateStrategy the strategy of the state
+     * @param creationOrder               the creation order of the run
+     */
+    public RecommendationStateImpl(RecommendationStateStrategy recommendationStateStrategy, CreationOrder creationOrder) {
         super();
         this.recommendationStateStrategy = recommendationStateStrategy;
-        recommendedInstances = SortedSets.mutable.empty();
+        this.creationOrder = creationOrder;
+        recommendedInstances = PersistentList.empty();
     }
 
     /**
@@ -38,7 +77,16 @@ public RecommendationStateImpl(RecommendationStateStrategy recommendationStateSt
      */
     @Override
     public ImmutableList<RecommendedInstance> getRecommendedInstances() {
-        return Lists.immutable.withAll(recommendedInstances);
+        return recommendedInstances.toImmutableList();
+    }
+
+    /**
+     * Returns the current version of the recommended instances without copying them. Later changes of the state do not affect the returned list.
+     *
+     * @return all recommended instances, ordered like {@link #getRecommendedInstances()}
+     */
+    public PersistentList<RecommendedInstance> getRecommendedInstanceSnapshot() {
+        return recommendedInstances;
     }
 
     /**
@@ -66,7 +114,7 @@ public void addRecommendedInstance(String name, Claimant claimant, double probab
     @Override
     public RecommendedInstance addRecommendedInstance(String name, String type, Claimant claimant, double probability, ImmutableList<NounMapping> nameMappings,
             ImmutableList<NounMapping> typeMappings) {
-        var recommendedInstance = new RecommendedInstanceImpl(name, type, claimant, probability, nameMappings, typeMappings);
+        var recommendedInstance = new RecommendedInstanceImpl(creationOrder, name, type, claimant, probability, nameMappings, typeMappings);
         this.addRecommendedInstance(recommendedInstance);
 
         return recommendedInstance;
@@ -77,11 +125,11 @@ public RecommendedInstance addRecommendedInstance(String name, String type, Clai
      * recommendedInstance with the same name can be found it is extended. Elsewhere a new recommended instance is created.
      */
     private void addRecommendedInstance(RecommendedInstance ri) {
-        if (recommendedInstances.contains(ri)) {
+        var risWithExactName = lookUp(instancesByFoldedName, foldCase(ri.getName()));
+        if (risWithExactName.anySatisfy(r -> r.getName().equals(ri.getName()) && r.getType().equals(ri.getType()))) {
             return;
         }
 
-        var risWithExactName = recommendedInstances.select(r -> r.getName().equalsIgnoreCase(ri.getName())).toImmutable().toImmutableList();
         var risWithExactNameAndType = risWithExactName.select(r -> r.getType().equalsIgnoreCase(ri.getType()));
 
         if (risWithExactNameAndType.isEmpty()) {
@@ -93,7 +141,7 @@ private void addRecommendedInstance(RecommendedInstance ri) {
 
     private void processRecommendedInstancesWithNoExactNameAndType(RecommendedInstance ri, ImmutableList<RecommendedInstance> risWithExactName) {
         if (risWithExactName.isEmpty()) {
-            recommendedInstances.add(ri);
+            addToState(ri);
         } else {
             var added = false;
 
@@ -107,11 +155,113 @@ private void processRecommendedInstancesWithNoExactNameAndType(RecommendedInstan
             }
 
             if (!added && !ri.getType().isBlank()) {
-                recommendedInstances.add(ri);
+                addToState(ri);
+            }
+        }
+    }
+
+    private void addToState(RecommendedInstance ri) {
+        int index = recommendedInstances.binarySearch(ri, Comparator.naturalOrder());
+        if (index < 0) {
+            recommendedInstances = recommendedInstances.withAt(-index - 1, ri);
+            index(ri);
+            if (ri instanceof RecommendedInstanceImpl recommendedInstanceImpl) {
+                recommendedInstanceImpl.registerChangeListener(indexUpdater);
+            }
+        }
+    }
+
+    private void index(RecommendedInstance ri) {
+        ensureSimilarityIndexes();
+        var keys = new IndexedKeys(ri.getName(), ri.getType(), ri.getNameMappings(), ri.getTypeMappings());
+        indexedKeys.put(ri, keys);
+        nameIndex.add(ri);
+        typeIndex.add(ri);
+        addToBucket(instancesByFoldedName, foldCase(keys.name()), ri);
+        addToBucket(instancesByFoldedType, foldCase(keys.type()), ri);
+        keys.nameMappings().distinct().forEach(mapping -> addToBucket(instancesByNameMapping, mapping, ri));
+        keys.typeMappings().distinct().forEach(mapping -> addToBucket(instancesByTypeMapping, mapping, ri));
+    }
+
+    private void unindex(RecommendedInstance ri, IndexedKeys keys) {
+        ensureSimilarityIndexes();
+        indexedKeys.remove(ri);
+        nameIndex.remove(ri);
+        typeIndex.remove(ri);
+        removeFromBucket(instancesByFoldedName, foldCase(keys.name()), ri);
+        removeFromBucket(instancesByFoldedType, foldCase(keys.type()), ri);
+        keys.nameMappings().distinct().forEach(mapping -> removeFromBucket(instancesByNameMapping, mapping, ri));
+        keys.typeMappings().distinct().forEach(mapping -> removeFromBucket(instancesByTypeMapping, mapping, ri));
+    }
+
+    private void reindex(RecommendedInstance ri) {
+        var keys = indexedKeys.get(ri);
+        if (keys == null) {
+            return;
+        }
+        unindex(ri, keys);
+        if (!keys.name().equals(ri.getName()) || !keys.type().equals(ri.getType())) {
+            // The position in the sorted list depends on name and type
+            recommendedInstances = recommendedInstances.withoutAt(recommendedInstances.indexOf(ri));
+            int index = recommendedInstances.binarySearch(ri, Comparator.naturalOrder());
+            recommendedInstances = recommendedInstances.withAt(index < 0 ? -index - 1 : index, ri);
+        }
+        index(ri);
+    }
+
+    private void ensureSimilarityIndexes() {
+        if (nameIndex != null) {
+            return;
+        }
+        synchronized (this) {
+            if (nameIndex != null) {
+                return;
             }
+            var names = new ApproximateMatchingIndex<RecommendedInstance>(RecommendedInstance::getName);
+            var types = new ApproximateMatchingIndex<RecommendedInstance>(RecommendedInstance::getType);
+            for (RecommendedInstance ri : recommendedInstances) {
+                names.add(ri);
+                types.add(ri);
+            }
+            typeIndex = types;
+            nameIndex = names;
+        }
+    }
+
+    private static <K> void addToBucket(MutableMap<K, MutableList<RecommendedInstance>> instancesByKey, K key, RecommendedInstance ri) {
+        var bucket = instancesByKey.getIfAbsentPut(key, Lists.mutable::empty);
+        int index = bucket.binarySearch(ri, Comparator.naturalOrder());
+        bucket.add(index < 0 ? -index - 1 : index, ri);
+    }
+
+    private static <K> void removeFromBucket(MutableMap<K, MutableList<RecommendedInstance>> instancesByKey, K key, RecommendedInstance ri) {
+        var bucket = instancesByKey.get(key);
+        bucket.removeIf(r -> r == ri);
+        if (bucket.isEmpty()) {
+            instancesByKey.remove(key);
         }
     }
 
+    /**
+     * Returns the instances stored under the key in the order of {@link #getRecommendedInstances()}.
+     */
+    private static <K> ImmutableList<RecommendedInstance> lookUp(MutableMap<K, MutableList<RecommendedInstance>> instancesByKey, K key) {
+        var bucket = instancesByKey.get(key);
+        return bucket == null ? Lists.immutable.empty() : bucket.toImmutable();
+    }
+
+    /**
+     * Folds the case of the string, so that two strings have the same folded form iff they are {@link String#equalsIgnoreCase(String) equal ignoring case}.
+     *
+     * @param string the string
+     * @return the case-folded string
+     */
+    static String foldCase(String string) {
+        var folded = new StringBuilder(string.length());
+        string.codePoints().forEach(codePoint -> folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint))));
+        return folded.toString();
+    }
+
     private static boolean recommendedInstancesHasEmptyType(RecommendedInstance ri, RecommendedInstance riWithExactName) {
         return riWithExactName.getType().isBlank() && !ri.getType().isBlank();
     }
@@ -124,7 +274,7 @@ private static boolean recommendedInstancesHasEmptyType(RecommendedInstance ri,
      */
     @Override
     public ImmutableList<RecommendedInstance> getRecommendedInstancesByTypeMapping(NounMapping mapping) {
-        return recommendedInstances.select(sinstance -> sinstance.getTypeMappings().contains(mapping)).toImmutableList();
+        return lookUp(instancesByTypeMapping, mapping);
     }
 
     /**
@@ -135,20 +285,23 @@ public ImmutableList<RecommendedInstance> getRecommendedInstancesByTypeMapping(N
      */
     @Override
     public ImmutableList<RecommendedInstance> getAnyRecommendedInstancesByMapping(NounMapping mapping) {
-        return recommendedInstances //
-                .select(sinstance -> sinstance.getTypeMappings().contains(mapping) || sinstance.getNameMappings().contains(mapping))
-                .toImmutableList();
+        var byTypeMapping = lookUp(instancesByTypeMapping, mapping);
+        var byNameMapping = lookUp(instancesByNameMapping, mapping);
+        if (byTypeMapping.isEmpty() || byNameMapping.isEmpty()) {
+            return byTypeMapping.isEmpty() ? byNameMapping : byTypeMapping;
+        }
+        return byTypeMapping.newWithAll(byNameMapping).distinct().toSortedList().toImmutable();
     }
 
     /**
-     * Returns all recommended instances that contain a given name.
+     * Returns all recommended instances that contain a given name. Names are compared ignoring case.
      *
      * @param name given name to search for in names
      * @return the list of recommended instances with that name.
      */
     @Override
     public ImmutableList<RecommendedInstance> getRecommendedInstancesByName(String name) {
-        return recommendedInstances.select(ri -> ri.getName().toLowerCase().contentEquals(name.toLowerCase())).toImmutableList();
+        return lookUp(instancesByFoldedName, foldCase(name));
     }
 
     /**
@@ -160,7 +313,7 @@ public ImmutableList<RecommendedInstance> getRecommendedInstancesByName(String n
     @Override
     public ImmutableList<RecommendedInstance> getRecommendedInstancesBySimilarName(String name) {
         MutableList<RecommendedInstance> ris = Lists.mutable.empty();
-        for (RecommendedInstance ri : recommendedInstances) {
+        for (RecommendedInstance ri : getSimilarityCandidates(true, name)) {
             if (recommendationStateStrategy.areRINamesSimilar(ri.getName(), name)) {
                 ris.add(ri);
             }
@@ -170,14 +323,14 @@ public ImmutableList<RecommendedInstance> getRecommendedInstancesBySimilarName(S
     }
 
     /**
-     * Returns all recommended instances that contain a given name and type.
+     * Returns all recommended instances that contain a given name and type. Types are compared ignoring case.
      *
      * @param type given type to search for in types
      * @return the list of recommended instances with that name and type
      */
     @Override
     public ImmutableList<RecommendedInstance> getRecommendedInstancesByType(String type) {
-        return recommendedInstances.select(ri -> ri.getType().toLowerCase().contentEquals(type.toLowerCase())).toImmutableList();
+        return lookUp(instancesByFoldedType, foldCase(type));
     }
 
     /**
@@ -188,6 +341,34 @@ public ImmutableList<RecommendedInstance> getRecommendedInstancesByType(String t
      */
     @Override
     public ImmutableList<RecommendedInstance> getRecommendedInstancesBySimilarType(String type) {
-        return recommendedInstances.select(ri -> recommendationStateStrategy.areRITypesSimilar(ri.getType(), type)).toImmutableList();
+        return getSimilarityCandidates(false, type).select(ri -> recommendationStateStrategy.areRITypesSimilar(ri.getType(), type));
+    }
+
+    /**
+     * Returns the recommended instances in their natural order whose name or type could be similar to the given string. All recommended instances are
+     * returned if the similarity indexes do not cover the similarity measures of the strategy.
+     */
+    private ImmutableList<RecommendedInstance> getSimilarityCandidates(boolean byName, String nameOrType) {
+        if (!(recommendationStateStrategy instanceof DefaultRecommendationStateStrategy defaultStrategy) || !ApproximateMatchingIndex.coversSimilarityOf(
+                defaultStrategy.getGlobalConfiguration())) {
+            return recommendedInstances.toImmutableList();
+        }
+        ensureSimilarityIndexes();
+        var index = byName ? nameIndex : typeIndex;
+        return index.getCandidates(nameOrType).toSortedList().toImmutable();
+    }
+
+    /**
+     * The keys under which an instance is indexed, so that it can be removed from the indexes after the instance changed.
+     */
+    private record IndexedKeys(String name, String type, ImmutableList<NounMapping> nameMappings, ImmutableList<NounMapping> typeMappings)
+            implements Serializable {
+    }
+
+    private final class IndexUpdater implements RecommendedInstanceChangeListener, Serializable {
+        @Override
+        public void onChange(RecommendedInstanceImpl recommendedInstance) {
+            reindex(recommendedInstance);
+        }
     }
 }
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2022-2024. */
+/* Licensed under MIT 2022-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.recommendationgenerator;
 
 import java.util.EnumMap;
@@ -7,6 +7,8 @@
 import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendationStateStrategy;
 import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendationStates;
 import edu.kit.kastel.mcse.ardoco.core.data.GlobalConfiguration;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.CreationOrder;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.WordSimilarityCache;
 
 public class RecommendationStatesImpl implements RecommendationStates {
     private final EnumMap<Metamodel, RecommendationStateImpl> recommendationStates;
@@ -16,10 +18,14 @@ private RecommendationStatesImpl() {
     }
 
     public static RecommendationStates build(GlobalConfiguration globalConfiguration) {
+        return build(globalConfiguration, new WordSimilarityCache(WordSimilarityCache.DEFAULT_MAXIMUM_SIZE), new CreationOrder());
+    }
+
+    public static RecommendationStates build(GlobalConfiguration globalConfiguration, WordSimilarityCache similarityCache, CreationOrder creationOrder) {
         var recStates = new RecommendationStatesImpl();
         for (Metamodel mm : Metamodel.values()) {
-            RecommendationStateStrategy rss = new DefaultRecommendationStateStrategy(globalConfiguration);
-            recStates.recommendationStates.put(mm, new RecommendationStateImpl(rss));
+            RecommendationStateStrategy rss = new DefaultRecommendationStateStrategy(globalConfiguration, similarityCache);
+            recStates.recommendationStates.put(mm, new RecommendationStateImpl(rss, creationOrder));
         }
         return recStates;
     }
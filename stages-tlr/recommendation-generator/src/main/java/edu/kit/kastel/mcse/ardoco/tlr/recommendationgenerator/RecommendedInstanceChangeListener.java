@@ -0,0 +1,15 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.recommendationgenerator;
+
+/**
+ * Listener that is notified after the name, the type, or the mappings of a {@link RecommendedInstanceImpl} changed.
+ */
+interface RecommendedInstanceChangeListener {
+
+    /**
+     * Called after the recommended instance changed.
+     *
+     * @param recommendedInstance the changed recommended instance
+     */
+    void onChange(RecommendedInstanceImpl recommendedInstance);
+}
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2021-2024. */
+/* Licensed under MIT 2021-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.recommendationgenerator;
 
 import java.util.ArrayList;
@@ -23,10 +23,21 @@
 import edu.kit.kastel.mcse.ardoco.core.common.util.CommonUtilities;
 import edu.kit.kastel.mcse.ardoco.core.data.Confidence;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.CreationOrder;
 
 /**
  * This class represents recommended instances. These instances should be contained by the model. The likelihood is measured by the probability. Every
  * recommended instance has a unique name.
+ * <p>
+ * Two recommended instances are equal if they are the same instance or copies of it, i.e., if they have the same id. Two instances that were created
+ * separately are not equal even if they have the same name and type, so {@code distinct()} and {@code contains} do not merge them. A recommendation state
+ * does not add an instance with the name and type of a stored one, it extends the stored instance instead (see {@link RecommendationStateImpl}). The hash
+ * code is calculated from the name and type the instance was created with, so it neither changes if the instance is renamed nor depends on the identity of
+ * the object.
+ * <p>
+ * Recommended instances are ordered by name and type. Instances with the same name and type are ordered by their creation time, which is taken from the
+ * {@link CreationOrder} of the run, so they keep the order in which they were created. Only instances of different runs can have the same creation time; they
+ * are ordered by their ids.
  */
 public final class RecommendedInstanceImpl extends RecommendedInstance implements Claimant, NounMappingChangeListener {
 
@@ -37,14 +48,25 @@ public final class RecommendedInstanceImpl extends RecommendedInstance implement
      */
     private int weightInternalConfidence = 0;
 
+    private final String id;
+    private final long creationTime;
+    private final int hashCode;
     private String type;
     private String name;
     private Confidence internalConfidence;
     private final MutableList<NounMapping> typeMappings;
     private final MutableList<NounMapping> nameMappings;
+    private final MutableList<RecommendedInstanceChangeListener> changeListeners = Lists.mutable.empty();
 
-    private RecommendedInstanceImpl(String name, String type) {
-        super(name, UUID.randomUUID().toString());
+    private RecommendedInstanceImpl(String name, String type, long creationTime) {
+        this(name, type, UUID.randomUUID().toString(), creationTime);
+    }
+
+    private RecommendedInstanceImpl(String name, String type, String id, long creationTime) {
+        super(name, id);
+        this.id = id;
+        this.creationTime = creationTime;
+        this.hashCode = Objects.hash(name, type);
         this.type = type;
         this.name = name;
         this.internalConfidence = new Confidence(AggregationFunctions.AVERAGE);
@@ -66,20 +88,37 @@ public void onDelete(NounMapping deletedNounMapping, NounMapping replacement) {
         } else {
             throw new IllegalArgumentException("Try to delete an unknown noun mapping: " + deletedNounMapping);
         }
+        notifyChangeListeners();
+    }
+
+    /**
+     * Registers a listener that is notified after the name, the type, or the mappings of this instance changed.
+     *
+     * @param listener the listener
+     */
+    void registerChangeListener(RecommendedInstanceChangeListener listener) {
+        if (!changeListeners.anySatisfy(l -> l == listener)) {
+            changeListeners.add(listener);
+        }
+    }
+
+    private void notifyChangeListeners() {
+        changeListeners.forEach(l -> l.onChange(this));
     }
 
     /**
      * Creates a new recommended instance.
      *
-     * @param name        the name of the instance
-     * @param type        the type of the instance
-     * @param probability the probability that this instance should be found in the model
-     * @param nameNodes   the involved name mappings
-     * @param typeNodes   the involved type mappings
+     * @param creationOrder the creation order of the run, which provides the creation time of the instance
+     * @param name          the name of the instance
+     * @param type          the type of the instance
+     * @param probability   the probability that this instance should be found in the model
+     * @param nameNodes     the involved name mappings
+     * @param typeNodes     the involved type mappings
      */
-    public RecommendedInstanceImpl(String name, String type, Claimant claimant, double probability, ImmutableList<NounMapping> nameNodes,
-            ImmutableList<NounMapping> typeNodes) {
-        this(name, type);
+    public RecommendedInstanceImpl(CreationOrder creationOrder, String name, String type, Claimant claimant, double probability,
+            ImmutableList<NounMapping> nameNodes, ImmutableList<NounMapping> typeNodes) {
+        this(name, type, creationOrder.next());
         this.internalConfidence.addAgentConfidence(claimant, probability);
 
         nameMappings.addAll(nameNodes.castToCollection());
@@ -174,6 +213,7 @@ public void addName(NounMapping nameMapping) {
             return;
         nameMappings.add(nameMapping);
         nameMapping.registerChangeListener(this);
+        notifyChangeListeners();
     }
 
     /**
@@ -187,6 +227,7 @@ public void addType(NounMapping typeMapping) {
             return;
         typeMappings.add(typeMapping);
         typeMapping.registerChangeListener(this);
+        notifyChangeListeners();
     }
 
     /**
@@ -217,6 +258,7 @@ public String getName() {
     @Override
     public void setType(String type) {
         this.type = type;
+        notifyChangeListeners();
     }
 
     /**
@@ -227,6 +269,7 @@ public void setType(String type) {
     @Override
     public void setName(String name) {
         this.name = name;
+        notifyChangeListeners();
     }
 
     @Override
@@ -256,13 +299,11 @@ public String toString() {
                 ", mappings:]= " + separator + String.join(separator, nameNodeVals) + separator + String.join(separator, typeNodeVals) + "\n";
     }
 
-    //FIXME Uses mutable properties
     @Override
     public int hashCode() {
-        return Objects.hash(name, type);
+        return hashCode;
     }
 
-    //FIXME Uses mutable properties
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -271,13 +312,20 @@ public boolean equals(Object obj) {
         if (!(obj instanceof RecommendedInstanceImpl other)) {
             return false;
         }
-        return Objects.equals(name, other.name) && Objects.equals(type, other.type);
+        return id.equals(other.id);
     }
 
     @Override
     public int compareTo(ModelElement o) {
         if (this == o)
             return 0;
+        if (o instanceof RecommendedInstanceImpl other) {
+            int result = Comparator.comparing(RecommendedInstanceImpl::getName)
+                    .thenComparing(RecommendedInstanceImpl::getType)
+                    .thenComparingLong(ri -> ri.creationTime)
+                    .compare(this, other);
+            return result != 0 ? result : id.compareTo(other.id);
+        }
         if (o instanceof RecommendedInstance ri) {
             return Comparator.comparing(RecommendedInstance::getName).thenComparing(RecommendedInstance::getType).compare(this, ri);
         }
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2022-2024. */
+/* Licensed under MIT 2022-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.recommendationgenerator.informants;
 
 import java.util.SortedMap;
@@ -9,7 +9,6 @@
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.set.sorted.MutableSortedSet;
 
-import edu.kit.kastel.mcse.ardoco.core.api.models.LegacyModelExtractionState;
 import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendationState;
 import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
 import edu.kit.kastel.mcse.ardoco.core.api.textextraction.MappingKind;
@@ -20,6 +19,7 @@
 import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.ModelTypeSimilarityTable;
 
 public class CompoundRecommendationInformant extends Informant {
 
@@ -40,9 +40,10 @@ public void process() {
         for (var model : modelStatesData.modelIds()) {
             var modelState = modelStatesData.getModelExtractionState(model);
             var recommendationState = recommendationStates.getRecommendationState(modelState.getMetamodel());
+            var typeSimilarities = ModelTypeSimilarityTable.of(dataRepository, model);
 
-            createRecommendationInstancesFromCompoundNounMappings(textState, recommendationState, modelState);
-            findMoreCompoundsForRecommendationInstances(textState, recommendationState, modelState);
+            createRecommendationInstancesFromCompoundNounMappings(textState, recommendationState, typeSimilarities);
+            findMoreCompoundsForRecommendationInstances(textState, recommendationState, typeSimilarities);
             findSpecialNamedEntitities(textState, recommendationState);
         }
     }
@@ -51,11 +52,11 @@ public void process() {
      * Look at NounMappings and add RecommendedInstances, if a NounMapping was created because of a compound (in text-extraction)
      */
     private void createRecommendationInstancesFromCompoundNounMappings(TextState textState, RecommendationState recommendationState,
-            LegacyModelExtractionState modelState) {
+            ModelTypeSimilarityTable typeSimilarities) {
         for (var nounMapping : textState.getNounMappings()) {
             if (nounMapping.isCompound()) {
                 var typeMappings = getRelatedTypeMappings(nounMapping, textState);
-                addRecommendedInstance(nounMapping, typeMappings, recommendationState, modelState);
+                addRecommendedInstance(nounMapping, typeMappings, recommendationState, typeSimilarities);
             }
         }
     }
@@ -65,14 +66,14 @@ private void createRecommendationInstancesFromCompoundNounMappings(TextState tex
      * afterwards and that compounds is a TypeMapping
      */
     private void findMoreCompoundsForRecommendationInstances(TextState textState, RecommendationState recommendationState,
-            LegacyModelExtractionState modelState) {
+            ModelTypeSimilarityTable typeSimilarities) {
         for (var nounMapping : textState.getNounMappings()) {
             for (var word : nounMapping.getWords()) {
                 var prevWord = word.getPreWord();
-                addRecommendedInstanceIfCompoundWithOtherWord(nounMapping, prevWord, textState, recommendationState, modelState);
+                addRecommendedInstanceIfCompoundWithOtherWord(nounMapping, prevWord, textState, recommendationState, typeSimilarities);
 
                 var nextWord = word.getNextWord();
-                addRecommendedInstanceIfCompoundWithOtherWord(nounMapping, nextWord, textState, recommendationState, modelState);
+                addRecommendedInstanceIfCompoundWithOtherWord(nounMapping, nextWord, textState, recommendationState, typeSimilarities);
             }
         }
     }
@@ -97,9 +98,9 @@ private void findSpecialNamedEntitiesInNounMappings(ImmutableList<NounMapping> n
     }
 
     private void addRecommendedInstance(NounMapping nounMapping, ImmutableList<NounMapping> typeMappings, RecommendationState recommendationState,
-            LegacyModelExtractionState modelState) {
+            ModelTypeSimilarityTable typeSimilarities) {
         var nounMappings = Lists.immutable.of(nounMapping);
-        var types = getSimilarModelTypes(typeMappings, modelState);
+        var types = getSimilarModelTypes(typeMappings, typeSimilarities);
         if (types.isEmpty()) {
             recommendationState.addRecommendedInstance(nounMapping.getReference(), "", this, confidence, nounMappings, typeMappings);
         } else {
@@ -109,17 +110,12 @@ private void addRecommendedInstance(NounMapping nounMapping, ImmutableList<NounM
         }
     }
 
-    private ImmutableList<String> getSimilarModelTypes(ImmutableList<NounMapping> typeMappings, LegacyModelExtractionState modelState) {
+    private ImmutableList<String> getSimilarModelTypes(ImmutableList<NounMapping> typeMappings, ModelTypeSimilarityTable typeSimilarities) {
         MutableSortedSet<String> similarModelTypes = SortedSets.mutable.empty();
-        var typeIdentifiers = CommonUtilities.getTypeIdentifiers(modelState);
         for (var typeMapping : typeMappings) {
-            var currSimilarTypes = Lists.immutable.fromStream(typeIdentifiers.stream()
-                    .filter(typeId -> getMetaData().getSimilarityUtils().areWordsSimilar(typeId, typeMapping.getReference())));
-            similarModelTypes.addAll(currSimilarTypes.toList());
+            similarModelTypes.addAllIterable(typeSimilarities.getTypesSimilarTo(typeMapping.getReference()));
             for (var word : typeMapping.getWords()) {
-                currSimilarTypes = Lists.immutable.fromStream(typeIdentifiers.stream()
-                        .filter(typeId -> getMetaData().getSimilarityUtils().areWordsSimilar(typeId, word.getLemma())));
-                similarModelTypes.addAll(currSimilarTypes.toList());
+                similarModelTypes.addAllIterable(typeSimilarities.getTypesSimilarTo(word.getLemma()));
             }
         }
         return similarModelTypes.toList().toImmutable();
@@ -136,7 +132,7 @@ private ImmutableList<NounMapping> getRelatedTypeMappings(NounMapping nounMappin
     }
 
     private void addRecommendedInstanceIfCompoundWithOtherWord(NounMapping nounMapping, Word word, TextState textState, RecommendationState recommendationState,
-            LegacyModelExtractionState modelState) {
+            ModelTypeSimilarityTable typeSimilarities) {
         if (word == null) {
             return;
         }
@@ -144,7 +140,7 @@ private void addRecommendedInstanceIfCompoundWithOtherWord(NounMapping nounMappi
         if (word.getPosTag().isNoun()) {
             var typeMappings = textState.getMappingsThatCouldBeOfKind(word, MappingKind.TYPE);
             if (!typeMappings.isEmpty()) {
-                addRecommendedInstance(nounMapping, typeMappings, recommendationState, modelState);
+                addRecommendedInstance(nounMapping, typeMappings, recommendationState, typeSimilarities);
             }
         }
     }
@@ -1,9 +1,10 @@
-/* Licensed under MIT 2022-2024. */
+/* Licensed under MIT 2022-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.recommendationgenerator.informants;
 
 import java.util.SortedMap;
 
-import edu.kit.kastel.mcse.ardoco.core.api.models.LegacyModelExtractionState;
+import org.eclipse.collections.api.list.ImmutableList;
+
 import edu.kit.kastel.mcse.ardoco.core.api.models.ModelStates;
 import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendationState;
 import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendationStates;
@@ -15,6 +16,7 @@
 import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.ModelTypeSimilarityTable;
 
 /**
  * This analyzer searches for name type patterns. If these patterns occur recommendations are created.
@@ -50,11 +52,12 @@ private void exec(TextState textState, ModelStates modelStates, RecommendationSt
         for (var model : modelStates.modelIds()) {
             var modelState = modelStates.getModelExtractionState(model);
             var recommendationState = recommendationStates.getRecommendationState(modelState.getMetamodel());
+            var similarTypes = ModelTypeSimilarityTable.of(getDataRepository(), model).getSimilarTypes(word);
 
-            addRecommendedInstanceIfNameAfterType(textState, word, modelState, recommendationState);
-            addRecommendedInstanceIfNameBeforeType(textState, word, modelState, recommendationState);
-            addRecommendedInstanceIfNameOrTypeBeforeType(textState, word, modelState, recommendationState);
-            addRecommendedInstanceIfNameOrTypeAfterType(textState, word, modelState, recommendationState);
+            addRecommendedInstanceIfNameAfterType(textState, word, similarTypes, recommendationState);
+            addRecommendedInstanceIfNameBeforeType(textState, word, similarTypes, recommendationState);
+            addRecommendedInstanceIfNameOrTypeBeforeType(textState, word, similarTypes, recommendationState);
+            addRecommendedInstanceIfNameOrTypeAfterType(textState, word, similarTypes, recommendationState);
         }
     }
 
@@ -64,15 +67,14 @@ private void exec(TextState textState, ModelStates modelStates, RecommendationSt
      *
      * @param textExtractionState text extraction state
      * @param word                the current word
+     * @param similarTypes        the model types that are similar to the current word
      */
-    private void addRecommendedInstanceIfNameBeforeType(TextState textExtractionState, Word word, LegacyModelExtractionState modelState,
+    private void addRecommendedInstanceIfNameBeforeType(TextState textExtractionState, Word word, ImmutableList<String> similarTypes,
             RecommendationState recommendationState) {
         if (textExtractionState == null || word == null) {
             return;
         }
 
-        var similarTypes = CommonUtilities.getSimilarTypes(getMetaData().getSimilarityUtils(), word, modelState);
-
         if (!similarTypes.isEmpty()) {
             textExtractionState.addNounMapping(word, MappingKind.TYPE, this, probability);
 
@@ -89,21 +91,21 @@ private void addRecommendedInstanceIfNameBeforeType(TextState textExtractionStat
      *
      * @param textExtractionState text extraction state
      * @param word                the current word
+     * @param similarTypes        the model types that are similar to the current word
      */
-    private void addRecommendedInstanceIfNameAfterType(TextState textExtractionState, Word word, LegacyModelExtractionState modelState,
+    private void addRecommendedInstanceIfNameAfterType(TextState textExtractionState, Word word, ImmutableList<String> similarTypes,
             RecommendationState recommendationState) {
         if (textExtractionState == null || word == null) {
             return;
         }
 
-        var sameLemmaTypes = CommonUtilities.getSimilarTypes(getMetaData().getSimilarityUtils(), word, modelState);
-        if (!sameLemmaTypes.isEmpty()) {
+        if (!similarTypes.isEmpty()) {
             textExtractionState.addNounMapping(word, MappingKind.TYPE, this, probability);
 
             var typeMappings = textExtractionState.getMappingsThatCouldBeOfKind(word, MappingKind.TYPE);
             var nameMappings = textExtractionState.getMappingsThatCouldBeOfKind(word.getNextWord(), MappingKind.NAME);
 
-            CommonUtilities.addRecommendedInstancesFromNounMappings(sameLemmaTypes, nameMappings, typeMappings, recommendationState, this, probability);
+            CommonUtilities.addRecommendedInstancesFromNounMappings(similarTypes, nameMappings, typeMappings, recommendationState, this, probability);
         }
     }
 
@@ -113,22 +115,21 @@ private void addRecommendedInstanceIfNameAfterType(TextState textExtractionState
      *
      * @param textExtractionState text extraction state
      * @param word                the current word
+     * @param similarTypes        the model types that are similar to the current word
      */
-    private void addRecommendedInstanceIfNameOrTypeBeforeType(TextState textExtractionState, Word word, LegacyModelExtractionState modelState,
+    private void addRecommendedInstanceIfNameOrTypeBeforeType(TextState textExtractionState, Word word, ImmutableList<String> similarTypes,
             RecommendationState recommendationState) {
         if (textExtractionState == null || word == null) {
             return;
         }
 
-        var sameLemmaTypes = CommonUtilities.getSimilarTypes(getMetaData().getSimilarityUtils(), word, modelState);
-
-        if (!sameLemmaTypes.isEmpty()) {
+        if (!similarTypes.isEmpty()) {
             textExtractionState.addNounMapping(word, MappingKind.TYPE, this, probability);
 
             var typeMappings = textExtractionState.getMappingsThatCouldBeOfKind(word, MappingKind.TYPE);
             var nortMappings = textExtractionState.getMappingsThatCouldBeMultipleKinds(word.getPreWord(), MappingKind.NAME, MappingKind.TYPE);
 
-            CommonUtilities.addRecommendedInstancesFromNounMappings(sameLemmaTypes, nortMappings, typeMappings, recommendationState, this, probability);
+            CommonUtilities.addRecommendedInstancesFromNounMappings(similarTypes, nortMappings, typeMappings, recommendationState, this, probability);
         }
     }
 
@@ -138,21 +139,21 @@ private void addRecommendedInstanceIfNameOrTypeBeforeType(TextState textExtracti
      *
      * @param textExtractionState text extraction state
      * @param word                the current word
+     * @param similarTypes        the model types that are similar to the current word
      */
-    private void addRecommendedInstanceIfNameOrTypeAfterType(TextState textExtractionState, Word word, LegacyModelExtractionState modelState,
+    private void addRecommendedInstanceIfNameOrTypeAfterType(TextState textExtractionState, Word word, ImmutableList<String> similarTypes,
             RecommendationState recommendationState) {
         if (textExtractionState == null || word == null) {
             return;
         }
 
-        var sameLemmaTypes = CommonUtilities.getSimilarTypes(getMetaData().getSimilarityUtils(), word, modelState);
-        if (!sameLemmaTypes.isEmpty()) {
+        if (!similarTypes.isEmpty()) {
             textExtractionState.addNounMapping(word, MappingKind.TYPE, this, probability);
 
             var typeMappings = textExtractionState.getMappingsThatCouldBeOfKind(word, MappingKind.TYPE);
             var nortMappings = textExtractionState.getMappingsThatCouldBeMultipleKinds(word.getNextWord(), MappingKind.NAME, MappingKind.TYPE);
 
-            CommonUtilities.addRecommendedInstancesFromNounMappings(sameLemmaTypes, nortMappings, typeMappings, recommendationState, this, probability);
+            CommonUtilities.addRecommendedInstancesFromNounMappings(similarTypes, nortMappings, typeMappings, recommendationState, this, probability);
         }
     }
 
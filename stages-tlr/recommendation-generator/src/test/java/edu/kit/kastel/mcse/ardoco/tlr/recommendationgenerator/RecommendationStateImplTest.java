@@ -0,0 +1,409 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.recommendationgenerator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.SortedSets;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendationStateStrategy;
+import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendedInstance;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.MappingKind;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.NounMapping;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.ComparisonContext;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.WordSimMeasure;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.measures.equality.EqualityMeasure;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.measures.jarowinkler.JaroWinklerMeasure;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.measures.levenshtein.LevenshteinMeasure;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+import edu.kit.kastel.mcse.ardoco.tlr.common.ApproximateMatchingIndex;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.CreationOrder;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.NounMappingImpl;
+
+/**
+ * Compares the indexed {@link RecommendationStateImpl} with the previous list-based state (scanning all instances for every addition and query) on thousands
+ * of recommended instances that are merged, renamed, and whose mappings are replaced, and compares the time of both.
+ */
+class RecommendationStateImplTest implements Claimant {
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationStateImplTest.class);
+
+    private static final String[] NAMES = { "Logic", "Database", "Cache", "Gateway", "Store", "Registry", "Scheduler", "Client" };
+    private static final String[] TYPES = { "", "component", "service", "interface", "module" };
+    private static final int OPERATIONS = 6_000;
+    private static final int MAPPINGS = 500;
+
+    private final CreationOrder creationOrder = new CreationOrder();
+    private final RecommendationStateStrategy strategy = new FirstLetterStrategy();
+    private int renamed = 0;
+
+    @Test
+    void equivalenceTest() {
+        var state = new RecommendationStateImpl(strategy);
+        var reference = new ListRecommendationState(strategy, creationOrder);
+        var random = new Random(42);
+        MutableList<NounMapping> mappings = createMappings();
+
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+            applyRandomOperation(random, mappings, state, reference);
+            if (operation % 500 == 0) {
+                assertEquivalent(state, reference, mappings, random);
+            }
+        }
+        assertEquivalent(state, reference, mappings, random);
+        Assertions.assertTrue(state.getRecommendedInstances().size() > 1_000);
+    }
+
+    @Test
+    void stableIdentityTest() {
+        var state = new RecommendationStateImpl(strategy);
+        var mapping = createMapping("logic");
+        var recommendedInstance = state.addRecommendedInstance("Logic", "component", this, 0.5, Lists.immutable.with(mapping), Lists.immutable.empty());
+        int hashCode = recommendedInstance.hashCode();
+        var sameNameAndType = new RecommendedInstanceImpl(creationOrder, "Logic", "component", this, 0.5, Lists.immutable.empty(), Lists.immutable.empty());
+
+        recommendedInstance.setName("Renamed");
+        recommendedInstance.setType("service");
+
+        Assertions.assertAll(//
+                () -> Assertions.assertEquals(hashCode, recommendedInstance.hashCode()), //
+                () -> Assertions.assertNotEquals(recommendedInstance, sameNameAndType), //
+                () -> Assertions.assertEquals(Lists.immutable.with(recommendedInstance), state.getRecommendedInstancesByName("RENAMED")), //
+                () -> Assertions.assertEquals(Lists.immutable.with(recommendedInstance), state.getRecommendedInstancesByType("Service")), //
+                () -> Assertions.assertTrue(state.getRecommendedInstancesByName("Logic").isEmpty()), //
+                () -> Assertions.assertTrue(state.getRecommendedInstancesByType("component").isEmpty()), //
+                () -> Assertions.assertEquals(Lists.immutable.with(recommendedInstance), state.getAnyRecommendedInstancesByMapping(mapping)));
+    }
+
+    @Test
+    void sameNameAndTypeKeepCreationOrderTest() {
+        var state = new RecommendationStateImpl(strategy);
+        var mapping = createMapping("logic");
+        var first = state.addRecommendedInstance("Logic", "component", this, 0.5, Lists.immutable.with(mapping), Lists.immutable.empty());
+        var second = state.addRecommendedInstance("Storage", "component", this, 0.5, Lists.immutable.with(mapping), Lists.immutable.empty());
+        var third = state.addRecommendedInstance("Cache", "component", this, 0.5, Lists.immutable.with(mapping), Lists.immutable.empty());
+
+        third.setName("Logic");
+        second.setName("Logic");
+        var earlier = new RecommendedInstanceImpl(creationOrder, "Logic", "component", this, 0.5, Lists.immutable.empty(), Lists.immutable.empty());
+        var later = new RecommendedInstanceImpl(creationOrder, "Logic", "component", this, 0.5, Lists.immutable.empty(), Lists.immutable.empty());
+
+        var expected = Lists.immutable.with(first, second, third);
+        Assertions.assertAll(//
+                () -> Assertions.assertTrue(first.compareTo(second) < 0), //
+                () -> Assertions.assertTrue(third.compareTo(second) > 0), //
+                () -> Assertions.assertTrue(earlier.compareTo(later) < 0), //
+                () -> Assertions.assertTrue(later.compareTo(earlier) > 0), //
+                () -> Assertions.assertEquals(expected, state.getRecommendedInstances()), //
+                () -> Assertions.assertEquals(expected, state.getRecommendedInstancesByName("logic")), //
+                () -> Assertions.assertEquals(expected, state.getAnyRecommendedInstancesByMapping(mapping)));
+    }
+
+    @Test
+    void serializationTest() throws IOException, ClassNotFoundException {
+        var claimant = new SerializableClaimant();
+        // The default strategy uses the similarity indexes, so the test covers that they are rebuilt
+        var state = new RecommendationStateImpl(new DefaultRecommendationStateStrategy(new DataRepository().getGlobalConfiguration()));
+        var random = new Random(11);
+        for (int i = 0; i < 200; i++) {
+            var mapping = new NounMappingImpl(creationOrder, SortedSets.immutable.empty(), MappingKind.NAME, claimant, 0.5, Lists.immutable.empty(), Lists
+                    .immutable.with("mapping" + i));
+            state.addRecommendedInstance(randomName(random), randomType(random), claimant, 0.5, Lists.immutable.with(mapping), Lists.immutable.empty());
+        }
+
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(state);
+        }
+        RecommendationStateImpl copy;
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (RecommendationStateImpl) in.readObject();
+        }
+
+        Assertions.assertEquals(describe(state.getRecommendedInstances()), describe(copy.getRecommendedInstances()));
+        for (int i = 0; i < 100; i++) {
+            String name = randomName(random);
+            String type = randomType(random);
+            Assertions.assertEquals(describe(state.getRecommendedInstancesBySimilarName(name)), describe(copy.getRecommendedInstancesBySimilarName(name)));
+            Assertions.assertEquals(describe(state.getRecommendedInstancesBySimilarType(type)), describe(copy.getRecommendedInstancesBySimilarType(type)));
+        }
+        // The rebuilt indexes of the copy follow changes of its instances
+        var renamedInstance = (RecommendedInstanceImpl) copy.getRecommendedInstances().getFirst();
+        renamedInstance.setName("Renamed");
+        Assertions.assertEquals(Lists.immutable.with(renamedInstance), copy.getRecommendedInstancesBySimilarName("Renamed"));
+    }
+
+    @Test
+    void semanticMeasureTest() {
+        var lexicalConfiguration = new DataRepository().getGlobalConfiguration();
+        lexicalConfiguration.getWordSimUtils().setMeasures(List.of(new EqualityMeasure(), new LevenshteinMeasure(2, 1, 0.9), new JaroWinklerMeasure(0.96)));
+        var semanticConfiguration = new DataRepository().getGlobalConfiguration();
+        semanticConfiguration.getWordSimUtils().setMeasures(List.of(new EqualityMeasure(), new SynonymMeasure()));
+        Assertions.assertAll(//
+                () -> Assertions.assertTrue(ApproximateMatchingIndex.coversSimilarityOf(lexicalConfiguration)), //
+                () -> Assertions.assertFalse(ApproximateMatchingIndex.coversSimilarityOf(semanticConfiguration)));
+
+        var state = new RecommendationStateImpl(new DefaultRecommendationStateStrategy(semanticConfiguration));
+        var database = state.addRecommendedInstance("Database", "component", this, 0.5, Lists.immutable.with(createMapping("database")), Lists.immutable
+                .empty());
+        var storage = state.addRecommendedInstance("Storage", "repository", this, 0.5, Lists.immutable.with(createMapping("storage")), Lists.immutable
+                .empty());
+        state.addRecommendedInstance("Logic", "service", this, 0.5, Lists.immutable.with(createMapping("logic")), Lists.immutable.empty());
+
+        // "Database" and "Storage" share no pair of adjacent characters, so the index would not return them as candidates for each other
+        Assertions.assertAll(//
+                () -> Assertions.assertEquals(describe(Lists.immutable.with(database, storage).toSortedList().toImmutable()), describe(state
+                        .getRecommendedInstancesBySimilarName("Database"))), //
+                () -> Assertions.assertEquals(describe(Lists.immutable.with(database, storage).toSortedList().toImmutable()), describe(state
+                        .getRecommendedInstancesBySimilarType("component"))));
+    }
+
+    @Test
+    void benchmarkTest() {
+        var state = new RecommendationStateImpl(strategy);
+        var reference = new ListRecommendationState(strategy, creationOrder);
+        MutableList<NounMapping> mappings = createMappings();
+
+        long indexedTime = runBenchmark(new Random(7), mappings, state::addRecommendedInstance, state::getRecommendedInstancesByName,
+                state::getAnyRecommendedInstancesByMapping);
+        long scanTime = runBenchmark(new Random(7), mappings, reference::addRecommendedInstance, reference::getRecommendedInstancesByName,
+                reference::getAnyRecommendedInstancesByMapping);
+
+        logger.info("{} recommended instances: indexed state {} ms, list state {} ms", state.getRecommendedInstances().size(), indexedTime / 1_000_000,
+                scanTime / 1_000_000);
+        Assertions.assertEquals(describe(reference.getRecommendedInstances()), describe(state.getRecommendedInstances()));
+    }
+
+    private long runBenchmark(Random random, MutableList<NounMapping> mappings, Adder add, Function<String, ImmutableList<RecommendedInstance>> byName,
+            Function<NounMapping, ImmutableList<RecommendedInstance>> byMapping) {
+        long start = System.nanoTime();
+        long found = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            String name = randomName(random);
+            add.add(name, randomType(random), this, 0.5, Lists.immutable.with(mappings.get(random.nextInt(mappings.size()))), Lists.immutable.empty());
+            found += byName.apply(name).size();
+        }
+        for (NounMapping mapping : mappings) {
+            found += byMapping.apply(mapping).size();
+        }
+        Assertions.assertTrue(found > 0);
+        return System.nanoTime() - start;
+    }
+
+    private void applyRandomOperation(Random random, MutableList<NounMapping> mappings, RecommendationStateImpl state, ListRecommendationState reference) {
+        var stored = reference.getRecommendedInstances();
+        int choice = random.nextInt(20);
+        if (!stored.isEmpty() && choice < 1) {
+            // Rename an instance to a new name, so that the order of the instances stays unambiguous
+            int index = random.nextInt(stored.size());
+            String name = changeCase(random, "Renamed" + renamed++);
+            ((RecommendedInstanceImpl) stored.get(index)).setName(name);
+            ((RecommendedInstanceImpl) state.getRecommendedInstances().get(index)).setName(name);
+            reference.sort();
+        } else if (choice < 2) {
+            // Replace a mapping like the text state does when it merges noun mappings
+            int index = random.nextInt(mappings.size());
+            var replacement = createMapping("replacement" + index);
+            mappings.get(index).onDelete(replacement);
+            mappings.set(index, replacement);
+        } else {
+            String name = randomName(random);
+            String type = randomType(random);
+            var nameMappings = Lists.immutable.with(mappings.get(random.nextInt(mappings.size())));
+            ImmutableList<NounMapping> typeMappings = type.isEmpty() ? Lists.immutable.empty() : Lists.immutable.with(mappings.get(random.nextInt(mappings
+                    .size())));
+            reference.addRecommendedInstance(name, type, this, 0.5, nameMappings, typeMappings);
+            state.addRecommendedInstance(name, type, this, 0.5, nameMappings, typeMappings);
+        }
+    }
+
+    private void assertEquivalent(RecommendationStateImpl state, ListRecommendationState reference, MutableList<NounMapping> mappings, Random random) {
+        Assertions.assertEquals(describe(reference.getRecommendedInstances()), describe(state.getRecommendedInstances()));
+        for (int i = 0; i < 100; i++) {
+            String name = randomName(random);
+            String type = randomType(random);
+            Assertions.assertEquals(describe(reference.getRecommendedInstancesByName(name)), describe(state.getRecommendedInstancesByName(name)));
+            Assertions.assertEquals(describe(reference.getRecommendedInstancesByType(type)), describe(state.getRecommendedInstancesByType(type)));
+        }
+        for (NounMapping mapping : mappings) {
+            Assertions.assertEquals(describe(reference.getRecommendedInstancesByTypeMapping(mapping)), describe(state.getRecommendedInstancesByTypeMapping(
+                    mapping)));
+            Assertions.assertEquals(describe(reference.getAnyRecommendedInstancesByMapping(mapping)), describe(state.getAnyRecommendedInstancesByMapping(
+                    mapping)));
+        }
+    }
+
+    private static ImmutableList<String> describe(ImmutableList<RecommendedInstance> recommendedInstances) {
+        return recommendedInstances.collect(ri -> ri.getName() + ":" + ri.getType() + " " + ri.getNameMappings()
+                .collect(NounMapping::getSurfaceForms) + " " + ri.getTypeMappings().collect(NounMapping::getSurfaceForms));
+    }
+
+    private static String randomName(Random random) {
+        return changeCase(random, NAMES[random.nextInt(NAMES.length)] + random.nextInt(400));
+    }
+
+    private static String randomType(Random random) {
+        return changeCase(random, TYPES[random.nextInt(TYPES.length)]);
+    }
+
+    private static String changeCase(Random random, String string) {
+        return switch (random.nextInt(3)) {
+        case 0 -> string.toLowerCase(Locale.ROOT);
+        case 1 -> string.toUpperCase(Locale.ROOT);
+        default -> string;
+        };
+    }
+
+    private MutableList<NounMapping> createMappings() {
+        MutableList<NounMapping> mappings = Lists.mutable.empty();
+        for (int i = 0; i < MAPPINGS; i++) {
+            mappings.add(createMapping("mapping" + i));
+        }
+        return mappings;
+    }
+
+    private NounMapping createMapping(String surfaceForm) {
+        return new NounMappingImpl(creationOrder, SortedSets.immutable.empty(), MappingKind.NAME, this, 0.5, Lists.immutable.empty(), Lists.immutable.with(
+                surfaceForm));
+    }
+
+    @FunctionalInterface
+    private interface Adder {
+        void add(String name, String type, Claimant claimant, double probability, ImmutableList<NounMapping> nameMappings,
+                ImmutableList<NounMapping> typeMappings);
+    }
+
+    private static final class SerializableClaimant implements Claimant, Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * A stand-in for a semantic measure (e.g., WordNet) that considers some words similar that have nothing in common lexically.
+     */
+    private static final class SynonymMeasure implements WordSimMeasure {
+        private static final List<List<String>> SYNONYMS = List.of(List.of("database", "storage"), List.of("component", "repository"));
+
+        @Override
+        public boolean areWordsSimilar(ComparisonContext ctx) {
+            String first = ctx.firstTerm().toLowerCase(Locale.ROOT);
+            String second = ctx.secondTerm().toLowerCase(Locale.ROOT);
+            return SYNONYMS.stream().anyMatch(synonyms -> synonyms.contains(first) && synonyms.contains(second));
+        }
+
+        @Override
+        public double getSimilarity(ComparisonContext ctx) {
+            return areWordsSimilar(ctx) ? 1.0 : 0.0;
+        }
+    }
+
+    /**
+     * Considers types similar if they start with the same letter.
+     */
+    private static final class FirstLetterStrategy implements RecommendationStateStrategy, Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public boolean areRITypesSimilar(String typeA, String typeB) {
+            return !typeA.isEmpty() && !typeB.isEmpty() && Character.toLowerCase(typeA.charAt(0)) == Character.toLowerCase(typeB.charAt(0));
+        }
+
+        @Override
+        public boolean areRINamesSimilar(String nameA, String nameB) {
+            return nameA.equalsIgnoreCase(nameB);
+        }
+    }
+
+    /**
+     * The previous recommendation state: a list that is sorted after every insertion and scanned for every addition and query.
+     */
+    private static final class ListRecommendationState {
+        private final RecommendationStateStrategy strategy;
+        private final CreationOrder creationOrder;
+        private final MutableList<RecommendedInstance> recommendedInstances = Lists.mutable.empty();
+
+        ListRecommendationState(RecommendationStateStrategy strategy, CreationOrder creationOrder) {
+            this.strategy = strategy;
+            this.creationOrder = creationOrder;
+        }
+
+        void addRecommendedInstance(String name, String type, Claimant claimant, double probability, ImmutableList<NounMapping> nameMappings,
+                ImmutableList<NounMapping> typeMappings) {
+            var ri = new RecommendedInstanceImpl(creationOrder, name, type, claimant, probability, nameMappings, typeMappings);
+            if (containsSameNameAndType(ri)) {
+                return;
+            }
+            var risWithExactName = recommendedInstances.select(r -> r.getName().equalsIgnoreCase(ri.getName()));
+            var risWithExactNameAndType = risWithExactName.select(r -> r.getType().equalsIgnoreCase(ri.getType()));
+            if (!risWithExactNameAndType.isEmpty()) {
+                risWithExactNameAndType.get(0).addMappings(ri.getNameMappings(), ri.getTypeMappings());
+            } else if (risWithExactName.isEmpty()) {
+                add(ri);
+            } else {
+                for (RecommendedInstance riWithExactName : risWithExactName) {
+                    if (strategy.areRITypesSimilar(riWithExactName.getType(), ri.getType()) || riWithExactName.getType().isBlank() && !ri.getType()
+                            .isBlank()) {
+                        riWithExactName.addMappings(ri.getNameMappings(), ri.getTypeMappings());
+                        return;
+                    }
+                }
+                if (!ri.getType().isBlank()) {
+                    add(ri);
+                }
+            }
+        }
+
+        private boolean containsSameNameAndType(RecommendedInstance ri) {
+            return recommendedInstances.anySatisfy(r -> r.getName().equals(ri.getName()) && r.getType().equals(ri.getType()));
+        }
+
+        private void add(RecommendedInstance ri) {
+            if (!containsSameNameAndType(ri)) {
+                recommendedInstances.add(ri);
+                sort();
+            }
+        }
+
+        void sort() {
+            recommendedInstances.sortThis(Comparator.naturalOrder());
+        }
+
+        ImmutableList<RecommendedInstance> getRecommendedInstances() {
+            return recommendedInstances.toImmutable();
+        }
+
+        ImmutableList<RecommendedInstance> getRecommendedInstancesByName(String name) {
+            return recommendedInstances.select(ri -> ri.getName().toLowerCase().contentEquals(name.toLowerCase())).toImmutable();
+        }
+
+        ImmutableList<RecommendedInstance> getRecommendedInstancesByType(String type) {
+            return recommendedInstances.select(ri -> ri.getType().toLowerCase().contentEquals(type.toLowerCase())).toImmutable();
+        }
+
+        ImmutableList<RecommendedInstance> getRecommendedInstancesByTypeMapping(NounMapping mapping) {
+            return recommendedInstances.select(ri -> ri.getTypeMappings().contains(mapping)).toImmutable();
+        }
+
+        ImmutableList<RecommendedInstance> getAnyRecommendedInstancesByMapping(NounMapping mapping) {
+            return recommendedInstances.select(ri -> ri.getTypeMappings().contains(mapping) || ri.getNameMappings().contains(mapping)).toImmutable();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
+
+import java.io.Serial;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.data.PipelineStepData;
+
+/**
+ * The creation order of the noun mappings of one pipeline run. Noun mappings are ordered by their creation time (see
+ * {@link NounMappingImpl#earliestCreationTime()}), which is taken from the creation order of the run. As the order is stored in the {@link DataRepository}
+ * of the run (see {@link #of(DataRepository)}), runs in the same JVM do not share a sequence and each run produces the same creation times every time.
+ */
+public final class CreationOrder implements PipelineStepData {
+    /**
+     * The id of the creation order in the {@link DataRepository}.
+     */
+    public static final String ID = "CreationOrder";
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final Object REPOSITORY_LOCK = new Object();
+
+    private final AtomicLong counter = new AtomicLong(0);
+
+    /**
+     * Returns the creation order of the run that uses the given data repository. The order is created and added to the repository on first use.
+     *
+     * @param dataRepository the data repository of the run
+     * @return the creation order of the run
+     */
+    public static CreationOrder of(DataRepository dataRepository) {
+        synchronized (REPOSITORY_LOCK) {
+            var creationOrder = dataRepository.getData(ID, CreationOrder.class);
+            if (creationOrder.isPresent()) {
+                return creationOrder.get();
+            }
+            var newCreationOrder = new CreationOrder();
+            dataRepository.addData(ID, newCreationOrder);
+            return newCreationOrder;
+        }
+    }
+
+    /**
+     * {@return the next creation time of this run}
+     */
+    public long next() {
+        return counter.incrementAndGet();
+    }
+}
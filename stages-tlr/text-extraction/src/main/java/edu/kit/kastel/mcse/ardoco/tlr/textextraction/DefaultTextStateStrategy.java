@@ -1,4 +1,4 @@
-/* Licensed under MIT 2022-2024. */
+/* Licensed under MIT 2022-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
 
 import java.util.LinkedHashSet;
@@ -28,10 +28,35 @@
 @Deterministic
 public abstract class DefaultTextStateStrategy implements TextStateStrategy {
     protected final GlobalConfiguration globalConfiguration;
+    protected final WordSimilarityCache similarityCache;
+    protected final CreationOrder creationOrder;
     protected TextStateImpl textState;
 
+    /**
+     * Creates a strategy with a creation order of its own. Use {@link #DefaultTextStateStrategy(GlobalConfiguration, CreationOrder)} with the creation order
+     * of the run if other parts of the run create noun mappings as well.
+     *
+     * @param globalConfiguration the configuration of the run
+     */
     protected DefaultTextStateStrategy(GlobalConfiguration globalConfiguration) {
+        this(globalConfiguration, new CreationOrder());
+    }
+
+    /**
+     * Creates a strategy with a word similarity cache of its own. Use
+     * {@link #DefaultTextStateStrategy(GlobalConfiguration, CreationOrder, WordSimilarityCache)} with the cache of the run to share the memoized results.
+     *
+     * @param globalConfiguration the configuration of the run
+     * @param creationOrder       the creation order of the run
+     */
+    protected DefaultTextStateStrategy(GlobalConfiguration globalConfiguration, CreationOrder creationOrder) {
+        this(globalConfiguration, creationOrder, new WordSimilarityCache(WordSimilarityCache.DEFAULT_MAXIMUM_SIZE));
+    }
+
+    protected DefaultTextStateStrategy(GlobalConfiguration globalConfiguration, CreationOrder creationOrder, WordSimilarityCache similarityCache) {
         this.globalConfiguration = globalConfiguration;
+        this.creationOrder = creationOrder;
+        this.similarityCache = similarityCache;
     }
 
     @Override
@@ -65,13 +90,13 @@ public NounMapping createNounMappingStateless(ImmutableSortedSet<Word> words, Im
             reference = calculateNounMappingReference(referenceWords);
         }
 
-        return new NounMappingImpl(words, distribution.toImmutable(), referenceWords, surfaceForms, reference);
+        return new NounMappingImpl(creationOrder, words, distribution.toImmutable(), referenceWords, surfaceForms, reference);
     }
 
     @Override
     public ImmutableList<NounMapping> getNounMappingsWithSimilarReference(String reference) {
-        return this.textState.getNounMappings()
-                .select(nm -> globalConfiguration.getSimilarityUtils().areWordsSimilar(reference, nm.getReference()))
+        return this.textState.getNounMappingCandidatesForReference(reference)
+                .select(nm -> similarityCache.areWordsSimilar(globalConfiguration, reference, nm.getReference()))
                 .toImmutable();
     }
 
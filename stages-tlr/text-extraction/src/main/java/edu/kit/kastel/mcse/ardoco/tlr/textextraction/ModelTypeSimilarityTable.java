@@ -0,0 +1,142 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.map.MutableMap;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.LegacyModelExtractionState;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+import edu.kit.kastel.mcse.ardoco.core.common.util.CommonUtilities;
+import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.common.util.SimilarityUtils;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.data.GlobalConfiguration;
+import edu.kit.kastel.mcse.ardoco.core.data.PipelineStepData;
+
+/**
+ * The model types that are similar to the words of the text, computed once per model state. For every word of the text, the table holds the result of
+ * {@link CommonUtilities#getSimilarTypes(SimilarityUtils, Word, LegacyModelExtractionState)}, so informants that match the words against the types of the
+ * model read the table instead of comparing every word with every type identifier again. Other strings (e.g., references and lemmas) are matched against the
+ * type identifiers on first use and memoized.
+ * <p>
+ * The tables of a run are held by a holder in the {@link DataRepository} of the run (see {@link #of(DataRepository, String)}). The tables are derived data and
+ * are not serialized: a copy of the repository starts without tables and builds them again on first use. A table is rebuilt if the similarity utils of the
+ * configuration were replaced after it was built.
+ */
+@Deterministic
+public final class ModelTypeSimilarityTable {
+    private static final Object REPOSITORY_LOCK = new Object();
+
+    private final GlobalConfiguration globalConfiguration;
+    private final WordSimilarityCache similarityCache;
+    private final SimilarityUtils similarityUtils;
+    private final LegacyModelExtractionState modelState;
+    private final ImmutableList<Word> words;
+    private final ImmutableList<ImmutableList<String>> similarTypesByPosition;
+    private final ImmutableList<String> typeIdentifiers;
+    private final MutableMap<String, ImmutableList<String>> similarTypesByString = Maps.mutable.empty();
+
+    private ModelTypeSimilarityTable(GlobalConfiguration globalConfiguration, WordSimilarityCache similarityCache, Text text,
+            LegacyModelExtractionState modelState) {
+        this.globalConfiguration = globalConfiguration;
+        this.similarityCache = similarityCache;
+        this.similarityUtils = globalConfiguration.getSimilarityUtils();
+        this.modelState = modelState;
+        this.words = text.words();
+        this.similarTypesByPosition = words.collect(word -> CommonUtilities.getSimilarTypes(similarityUtils, word, modelState));
+        this.typeIdentifiers = Lists.immutable.withAll(CommonUtilities.getTypeIdentifiers(modelState));
+    }
+
+    /**
+     * Returns the table of the model with the given id in the run that uses the given data repository. The table is built on first use from the annotated
+     * text and the model state in the repository.
+     *
+     * @param dataRepository the data repository of the run
+     * @param modelId        the id of the model
+     * @return the table of the model
+     */
+    public static ModelTypeSimilarityTable of(DataRepository dataRepository, String modelId) {
+        return Tables.of(dataRepository).get(dataRepository, modelId);
+    }
+
+    /**
+     * Returns the model types that are similar to the word.
+     *
+     * @param word the word
+     * @return the similar types, in the same order as {@link CommonUtilities#getSimilarTypes(SimilarityUtils, Word, LegacyModelExtractionState)}
+     */
+    public ImmutableList<String> getSimilarTypes(Word word) {
+        int position = word.getPosition();
+        if (position >= 0 && position < words.size() && words.get(position) == word) {
+            return similarTypesByPosition.get(position);
+        }
+        return CommonUtilities.getSimilarTypes(similarityUtils, word, modelState);
+    }
+
+    /**
+     * Returns the type identifiers of the model (see {@link CommonUtilities#getTypeIdentifiers(LegacyModelExtractionState)}) that are similar to the given
+     * string according to the {@link WordSimilarityCache} of the run.
+     *
+     * @param string the string, e.g., the reference of a noun mapping or the lemma of a word
+     * @return the similar type identifiers
+     */
+    public synchronized ImmutableList<String> getTypesSimilarTo(String string) {
+        var similarTypes = similarTypesByString.get(string);
+        if (similarTypes == null) {
+            similarTypes = typeIdentifiers.select(typeId -> similarityCache.areWordsSimilar(globalConfiguration, typeId, string));
+            similarTypesByString.put(string, similarTypes);
+        }
+        return similarTypes;
+    }
+
+    /**
+     * The holder of the tables of a run. Only the holder is stored in the {@link DataRepository}; it guards its tables with its own lock.
+     */
+    private static final class Tables implements PipelineStepData {
+        private static final String ID = ModelTypeSimilarityTable.class.getSimpleName();
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private transient MutableMap<String, ModelTypeSimilarityTable> tablesByModelId = Maps.mutable.empty();
+
+        private static Tables of(DataRepository dataRepository) {
+            synchronized (REPOSITORY_LOCK) {
+                var tables = dataRepository.getData(ID, Tables.class);
+                if (tables.isPresent()) {
+                    return tables.get();
+                }
+                var newTables = new Tables();
+                dataRepository.addData(ID, newTables);
+                return newTables;
+            }
+        }
+
+        private synchronized ModelTypeSimilarityTable get(DataRepository dataRepository, String modelId) {
+            var globalConfiguration = dataRepository.getGlobalConfiguration();
+            var table = tablesByModelId.get(modelId);
+            if (table != null && table.similarityUtils == globalConfiguration.getSimilarityUtils()) {
+                return table;
+            }
+            var text = DataRepositoryHelper.getAnnotatedText(dataRepository);
+            var modelState = DataRepositoryHelper.getModelStatesData(dataRepository).getModelExtractionState(modelId);
+            var newTable = new ModelTypeSimilarityTable(globalConfiguration, WordSimilarityCache.of(dataRepository), text, modelState);
+            tablesByModelId.put(modelId, newTable);
+            return newTable;
+        }
+
+        @Serial
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            tablesByModelId = Maps.mutable.empty();
+        }
+    }
+}
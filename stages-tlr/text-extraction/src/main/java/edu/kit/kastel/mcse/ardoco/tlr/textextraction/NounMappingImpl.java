@@ -1,4 +1,4 @@
-/* Licensed under MIT 2021-2024. */
+/* Licensed under MIT 2021-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
 
 import static edu.kit.kastel.mcse.ardoco.core.common.AggregationFunctions.AVERAGE;
@@ -8,7 +8,6 @@
 import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.factory.SortedMaps;
@@ -38,11 +37,10 @@
 @NoHashCodeEquals
 public class NounMappingImpl implements NounMapping {
 
-    protected static final AtomicLong CREATION_TIME_COUNTER = new AtomicLong(0);
     private static final AggregationFunctions DEFAULT_AGGREGATOR = AVERAGE;
     private final Long earliestCreationTime;
     private final MutableSortedSet<Word> words;
-    private MutableSortedSet<Phrase> phrases;
+    private volatile MutableSortedSet<Phrase> phrases;
     private final MutableSortedMap<MappingKind, Confidence> distribution;
     private final MutableList<Word> referenceWords;
     private final MutableList<String> surfaceForms;
@@ -51,8 +49,9 @@ public class NounMappingImpl implements NounMapping {
     private final Set<NounMappingChangeListener> changeListeners;
 
     /**
-     * Instantiates a new noun mapping. A new creation time will be generated.
+     * Instantiates a new noun mapping. A new creation time will be taken from the creation order.
      *
+     * @param creationOrder  the creation order of the run
      * @param words          the list of words for this nounmapping
      * @param kind           the kind of mapping
      * @param claimant       the claimant that created this mapping
@@ -60,14 +59,15 @@ public class NounMappingImpl implements NounMapping {
      * @param referenceWords the reference words
      * @param surfaceForms   the surface forms
      */
-    public NounMappingImpl(ImmutableSortedSet<Word> words, MappingKind kind, Claimant claimant, double probability, ImmutableList<Word> referenceWords,
-            ImmutableList<String> surfaceForms) {
-        this(CREATION_TIME_COUNTER.incrementAndGet(), words, kind, claimant, probability, referenceWords, surfaceForms);
+    public NounMappingImpl(CreationOrder creationOrder, ImmutableSortedSet<Word> words, MappingKind kind, Claimant claimant, double probability,
+            ImmutableList<Word> referenceWords, ImmutableList<String> surfaceForms) {
+        this(creationOrder.next(), words, kind, claimant, probability, referenceWords, surfaceForms);
     }
 
     /**
-     * Constructor. A new creation time will be generated.
+     * Constructor. A new creation time will be taken from the creation order.
      *
+     * @param creationOrder  the creation order of the run
      * @param words          the words
      * @param distribution   the distribution map (kind to confidence)
      * @param referenceWords the reference words
@@ -75,9 +75,9 @@ public NounMappingImpl(ImmutableSortedSet<Word> words, MappingKind kind, Claiman
      * @param reference      the String reference
      */
 
-    public NounMappingImpl(ImmutableSortedSet<Word> words, ImmutableSortedMap<MappingKind, Confidence> distribution, ImmutableList<Word> referenceWords,
-            ImmutableList<String> surfaceForms, String reference) {
-        this(CREATION_TIME_COUNTER.incrementAndGet(), words, distribution, referenceWords, surfaceForms, reference);
+    public NounMappingImpl(CreationOrder creationOrder, ImmutableSortedSet<Word> words, ImmutableSortedMap<MappingKind, Confidence> distribution,
+            ImmutableList<Word> referenceWords, ImmutableList<String> surfaceForms, String reference) {
+        this(creationOrder.next(), words, distribution, referenceWords, surfaceForms, reference);
     }
 
     /**
@@ -165,15 +165,16 @@ public final ImmutableList<Integer> getMappingSentenceNo() {
 
     @Override
     public ImmutableSortedSet<Phrase> getPhrases() {
-        if (phrases == null) {
-            this.phrases = SortedSets.mutable.empty();
+        var currentPhrases = this.phrases;
+        if (currentPhrases == null) {
+            // Filled before it is published through the volatile field, so that concurrent readers never see a partially filled set
+            currentPhrases = SortedSets.mutable.empty();
             for (Word word : words) {
-                if (phrases.contains(word.getPhrase()))
-                    continue;
-                phrases.add(word.getPhrase());
+                currentPhrases.add(word.getPhrase());
             }
+            this.phrases = currentPhrases;
         }
-        return this.phrases.toImmutable();
+        return currentPhrases.toImmutable();
     }
 
     @Override
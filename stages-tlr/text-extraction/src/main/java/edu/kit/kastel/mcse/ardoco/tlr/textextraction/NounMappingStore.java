@@ -0,0 +1,251 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.set.sorted.ImmutableSortedSet;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.MappingKind;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.NounMapping;
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+import edu.kit.kastel.mcse.ardoco.core.common.util.Comparators;
+import edu.kit.kastel.mcse.ardoco.tlr.common.ApproximateMatchingIndex;
+import edu.kit.kastel.mcse.ardoco.tlr.common.PersistentList;
+
+/**
+ * Stores the noun mappings of a {@link TextStateImpl} in the order of their (earliest) creation time. Besides the ordered mappings, the store maintains
+ * indexes by word, by phrase and by reference, which keep the same order, and an {@link ApproximateMatchingIndex} of the references. Words, phrases and
+ * reference of a noun mapping do not change after its creation, so these indexes stay valid until the mapping is removed. The phrases of the words are only
+ * determined when the phrase index is queried for the first time after a noun mapping was added. The kind of a noun mapping depends on its confidences that
+ * can change at any time, so it is evaluated when queried.
+ * <p>
+ * The {@link ApproximateMatchingIndex} is not serialized; it is rebuilt from the noun mappings when the store is deserialized.
+ */
+@Deterministic
+final class NounMappingStore implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final Comparator<NounMapping> BY_CREATION_TIME = Comparator.comparingLong(NounMappingStore::creationTime);
+
+    private final MutableMap<Word, MutableList<NounMapping>> nounMappingsByWord = Maps.mutable.empty();
+    private final MutableMap<String, MutableList<NounMapping>> nounMappingsByReference = Maps.mutable.empty();
+    private transient ApproximateMatchingIndex<NounMapping> referenceIndex = newReferenceIndex();
+    private final MutableMap<Phrase, MutableList<NounMapping>> nounMappingsByPhrase = Maps.mutable.empty();
+    /**
+     * Noun mappings that are not in the phrase index yet. Guards the phrase index, which is also queried concurrently.
+     */
+    private final Set<NounMapping> nounMappingsWithoutPhraseIndex = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * The noun mappings ordered by creation time. Replaced by a new version on every change, so concurrent readers always see a complete version.
+     */
+    private PersistentList<NounMapping> nounMappings = PersistentList.empty();
+
+    /**
+     * Adds the noun mapping to the store.
+     *
+     * @param nounMapping the noun mapping
+     * @throws IllegalArgumentException if the noun mapping is already stored
+     * @throws IllegalStateException    if another noun mapping with the same creation time is stored
+     */
+    void add(NounMapping nounMapping) {
+        int index = nounMappings.binarySearch(nounMapping, BY_CREATION_TIME);
+        if (index >= 0 && nounMappings.get(index) == nounMapping) {
+            throw new IllegalArgumentException("Nounmapping was already in state");
+        }
+        if (index >= 0) {
+            throw new IllegalStateException("NounMappings are not equal but have same creation time");
+        }
+
+        nounMappings = nounMappings.withAt(-index - 1, nounMapping);
+        for (Word word : nounMapping.getWords()) {
+            insertOrdered(nounMappingsByWord.getIfAbsentPut(word, Lists.mutable::empty), nounMapping);
+        }
+        insertOrdered(nounMappingsByReference.getIfAbsentPut(nounMapping.getReference(), Lists.mutable::empty), nounMapping);
+        referenceIndex.add(nounMapping);
+        synchronized (nounMappingsWithoutPhraseIndex) {
+            nounMappingsWithoutPhraseIndex.add(nounMapping);
+        }
+    }
+
+    /**
+     * Removes the noun mapping from the store.
+     *
+     * @param nounMapping the noun mapping
+     * @return true if the noun mapping was stored
+     */
+    boolean remove(NounMapping nounMapping) {
+        if (!(nounMapping instanceof NounMappingImpl)) {
+            return false;
+        }
+        int index = nounMappings.binarySearch(nounMapping, BY_CREATION_TIME);
+        if (index < 0 || nounMappings.get(index) != nounMapping) {
+            return false;
+        }
+
+        nounMappings = nounMappings.withoutAt(index);
+        for (Word word : nounMapping.getWords()) {
+            removeFromIndex(nounMappingsByWord, word, nounMapping);
+        }
+        removeFromIndex(nounMappingsByReference, nounMapping.getReference(), nounMapping);
+        referenceIndex.remove(nounMapping);
+        synchronized (nounMappingsWithoutPhraseIndex) {
+            if (!nounMappingsWithoutPhraseIndex.remove(nounMapping)) {
+                for (Phrase phrase : nounMapping.getPhrases()) {
+                    removeFromIndex(nounMappingsByPhrase, phrase, nounMapping);
+                }
+            }
+        }
+        return true;
+    }
+
+    boolean contains(NounMapping nounMapping) {
+        if (!(nounMapping instanceof NounMappingImpl)) {
+            return false;
+        }
+        var current = nounMappings;
+        int index = current.binarySearch(nounMapping, BY_CREATION_TIME);
+        return index >= 0 && current.get(index) == nounMapping;
+    }
+
+    /**
+     * Returns all noun mappings ordered by their creation time. The returned list is shared until the store changes.
+     *
+     * @return the noun mappings
+     */
+    ImmutableList<NounMapping> getNounMappings() {
+        return nounMappings.toImmutableList();
+    }
+
+    /**
+     * {@return the current version of the noun mappings ordered by their creation time} Later changes of the store do not affect the returned version.
+     */
+    PersistentList<NounMapping> snapshot() {
+        return nounMappings;
+    }
+
+    ImmutableList<NounMapping> getNounMappingsByWord(Word word) {
+        var nounMappingsOfWord = nounMappingsByWord.get(word);
+        return nounMappingsOfWord == null ? Lists.immutable.empty() : nounMappingsOfWord.toImmutable();
+    }
+
+    ImmutableList<NounMapping> getNounMappingsByWordAndKind(Word word, MappingKind kind) {
+        var nounMappingsOfWord = nounMappingsByWord.get(word);
+        return nounMappingsOfWord == null ? Lists.immutable.empty() : nounMappingsOfWord.select(nm -> nm.getKind() == kind).toImmutable();
+    }
+
+    boolean isWordContainedByMappingKind(Word word, MappingKind kind) {
+        var nounMappingsOfWord = nounMappingsByWord.get(word);
+        return nounMappingsOfWord != null && nounMappingsOfWord.anySatisfy(nm -> nm.getKind() == kind);
+    }
+
+    ImmutableList<NounMapping> getNounMappingsOfKind(MappingKind kind) {
+        return getNounMappings().select(nm -> nm.getKind() == kind);
+    }
+
+    /**
+     * Returns the noun mappings that consist of the given phrases (in any order), ordered by their creation time.
+     *
+     * @param phrases the phrases
+     * @return the noun mappings with the phrases
+     */
+    ImmutableList<NounMapping> getNounMappingsByPhrases(ImmutableSortedSet<Phrase> phrases) {
+        if (phrases.isEmpty()) {
+            return getNounMappings().select(nm -> nm.getPhrases().isEmpty());
+        }
+        synchronized (nounMappingsWithoutPhraseIndex) {
+            var iterator = nounMappingsWithoutPhraseIndex.iterator();
+            while (iterator.hasNext()) {
+                var nounMapping = iterator.next();
+                for (Phrase phrase : nounMapping.getPhrases()) {
+                    insertOrdered(nounMappingsByPhrase.getIfAbsentPut(phrase, Lists.mutable::empty), nounMapping);
+                }
+                iterator.remove();
+            }
+        }
+        var nounMappingsWithPhrase = nounMappingsByPhrase.get(phrases.getFirst());
+        if (nounMappingsWithPhrase == null) {
+            return Lists.immutable.empty();
+        }
+        return nounMappingsWithPhrase.select(nm -> Comparators.collectionsEqualsAnyOrder(phrases.castToCollection(), nm.getPhrases().castToCollection()))
+                .toImmutable();
+    }
+
+    /**
+     * Returns the noun mappings with exactly the given reference, ordered by their creation time.
+     *
+     * @param reference the reference
+     * @return the noun mappings with the reference
+     */
+    ImmutableList<NounMapping> getNounMappingsByReference(String reference) {
+        var nounMappingsWithReference = nounMappingsByReference.get(reference);
+        return nounMappingsWithReference == null ? Lists.immutable.empty() : nounMappingsWithReference.toImmutable();
+    }
+
+    /**
+     * Returns the noun mappings whose reference could be similar to the given reference, ordered by their creation time.
+     *
+     * @param reference the reference
+     * @return the candidates for a similar reference
+     * @see ApproximateMatchingIndex
+     */
+    ImmutableList<NounMapping> getNounMappingCandidatesForReference(String reference) {
+        return referenceIndex.getCandidates(reference).toSortedListBy(NounMappingStore::creationTime).toImmutable();
+    }
+
+    private static ApproximateMatchingIndex<NounMapping> newReferenceIndex() {
+        return new ApproximateMatchingIndex<>(NounMapping::getReference);
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        referenceIndex = newReferenceIndex();
+        nounMappings.forEach(referenceIndex::add);
+    }
+
+    private static <K> void removeFromIndex(MutableMap<K, MutableList<NounMapping>> index, K key, NounMapping nounMapping) {
+        var indexedNounMappings = index.get(key);
+        if (indexedNounMappings == null) {
+            return;
+        }
+        indexedNounMappings.removeIf(nm -> nm == nounMapping);
+        if (indexedNounMappings.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static void insertOrdered(MutableList<NounMapping> nounMappings, NounMapping nounMapping) {
+        long creationTime = creationTime(nounMapping);
+        int low = 0;
+        int high = nounMappings.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (creationTime(nounMappings.get(middle)) < creationTime) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        nounMappings.add(low, nounMapping);
+    }
+
+    private static long creationTime(NounMapping nounMapping) {
+        return ((NounMappingImpl) nounMapping).earliestCreationTime();
+    }
+}
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2022-2024. */
+/* Licensed under MIT 2022-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
 
 import java.io.Serializable;
@@ -26,14 +26,22 @@ protected OriginalTextStateStrategy(GlobalConfiguration globalConfiguration) {
         super(globalConfiguration);
     }
 
+    protected OriginalTextStateStrategy(GlobalConfiguration globalConfiguration, CreationOrder creationOrder) {
+        super(globalConfiguration, creationOrder);
+    }
+
+    protected OriginalTextStateStrategy(GlobalConfiguration globalConfiguration, CreationOrder creationOrder, WordSimilarityCache similarityCache) {
+        super(globalConfiguration, creationOrder, similarityCache);
+    }
+
     @Override
     public NounMapping addOrExtendNounMapping(Word word, MappingKind kind, Claimant claimant, double probability, ImmutableList<String> surfaceForms) {
 
-        NounMapping disposableNounMapping = new NounMappingImpl(SortedSets.immutable.with(word), kind, claimant, probability, Lists.immutable.with(word),
-                surfaceForms);
+        NounMapping disposableNounMapping = new NounMappingImpl(creationOrder, SortedSets.immutable.with(word), kind, claimant, probability, Lists.immutable
+                .with(word), surfaceForms);
 
         for (var existingNounMapping : super.getTextState().getNounMappings()) {
-            if (globalConfiguration.getSimilarityUtils().areNounMappingsSimilar(disposableNounMapping, existingNounMapping)) {
+            if (similarityCache.areNounMappingsSimilar(globalConfiguration, disposableNounMapping, existingNounMapping)) {
 
                 return mergeNounMappings(existingNounMapping, disposableNounMapping, disposableNounMapping.getReferenceWords(), disposableNounMapping
                         .getReference(), disposableNounMapping.getKind(), claimant, disposableNounMapping.getProbability());
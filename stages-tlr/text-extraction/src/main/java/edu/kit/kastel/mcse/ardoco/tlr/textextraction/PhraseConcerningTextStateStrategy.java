@@ -1,4 +1,4 @@
-/* Licensed under MIT 2022-2024. */
+/* Licensed under MIT 2022-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
 
 import java.util.Arrays;
@@ -26,9 +26,17 @@ public PhraseConcerningTextStateStrategy(GlobalConfiguration globalConfiguration
         super(globalConfiguration);
     }
 
+    public PhraseConcerningTextStateStrategy(GlobalConfiguration globalConfiguration, CreationOrder creationOrder) {
+        super(globalConfiguration, creationOrder);
+    }
+
+    public PhraseConcerningTextStateStrategy(GlobalConfiguration globalConfiguration, CreationOrder creationOrder, WordSimilarityCache similarityCache) {
+        super(globalConfiguration, creationOrder, similarityCache);
+    }
+
     @Override
     public NounMapping addOrExtendNounMapping(Word word, MappingKind kind, Claimant claimant, double probability, ImmutableList<String> surfaceForms) {
-        var nounMappingsWithWord = super.getTextState().getNounMappings().select(nm -> nm.getWords().contains(word));
+        var nounMappingsWithWord = super.getTextState().getNounMappingsByWord(word);
 
         if (!nounMappingsWithWord.isEmpty()) {
             NounMapping nounMapping = nounMappingsWithWord.get(0);
@@ -43,7 +51,7 @@ public NounMapping addOrExtendNounMapping(Word word, MappingKind kind, Claimant
         if (surfaceForms == null) {
             surfaceForms = Lists.immutable.with(word.getText());
         }
-        NounMapping nounMapping = new NounMappingImpl(words, kind, claimant, probability, words.toImmutableList(), surfaceForms);
+        NounMapping nounMapping = new NounMappingImpl(creationOrder, words, kind, claimant, probability, words.toImmutableList(), surfaceForms);
         super.getTextState().addNounMappingAddPhraseMapping(nounMapping);
         return nounMapping;
     }
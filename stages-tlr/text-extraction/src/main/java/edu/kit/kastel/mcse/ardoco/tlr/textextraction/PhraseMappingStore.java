@@ -0,0 +1,138 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.set.sorted.ImmutableSortedSet;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.PhraseMapping;
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+import edu.kit.kastel.mcse.ardoco.core.common.util.Comparators;
+import edu.kit.kastel.mcse.ardoco.tlr.common.PersistentList;
+
+/**
+ * Stores the phrase mappings of a {@link TextStateImpl} in the order they were added, together with an index from phrases to the phrase mappings that
+ * contain them. Phrase mappings never gain phrases; phrases that are removed through {@link #removePhrase(PhraseMapping, Phrase)} are removed from the
+ * index as well. Lookups check the current phrases, so a phrase that was removed from a phrase mapping directly is never reported. The index is not
+ * serialized; it is rebuilt from the phrase mappings after deserialization.
+ */
+@Deterministic
+final class PhraseMappingStore implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private transient MutableMap<Phrase, MutableList<PhraseMapping>> phraseMappingsByPhrase = Maps.mutable.empty();
+
+    /**
+     * The phrase mappings in the order they were added. Replaced by a new version on every change.
+     */
+    private PersistentList<PhraseMapping> phraseMappings = PersistentList.empty();
+
+    void add(PhraseMapping phraseMapping) {
+        phraseMappings = phraseMappings.with(phraseMapping);
+        addToIndex(phraseMapping);
+    }
+
+    private void addToIndex(PhraseMapping phraseMapping) {
+        for (Phrase phrase : phraseMapping.getPhrases()) {
+            phraseMappingsByPhrase.getIfAbsentPut(phrase, Lists.mutable::empty).add(phraseMapping);
+        }
+    }
+
+    /**
+     * Removes the phrase mapping from the store.
+     *
+     * @param phraseMapping the phrase mapping
+     * @return true if the phrase mapping was stored
+     */
+    boolean remove(PhraseMapping phraseMapping) {
+        int index = phraseMappings.indexOf(phraseMapping);
+        if (index < 0) {
+            return false;
+        }
+        phraseMappings = phraseMappings.withoutAt(index);
+        for (Phrase phrase : phraseMapping.getPhrases()) {
+            removeFromIndex(phrase, phraseMapping);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the phrase from the phrase mapping and from the index.
+     *
+     * @param phraseMapping the phrase mapping
+     * @param phrase        the phrase
+     */
+    void removePhrase(PhraseMapping phraseMapping, Phrase phrase) {
+        phraseMapping.removePhrase(phrase);
+        removeFromIndex(phrase, phraseMapping);
+    }
+
+    /**
+     * {@return all phrase mappings in the order they were added} The returned list is shared until the store changes.
+     */
+    ImmutableList<PhraseMapping> getPhraseMappings() {
+        return phraseMappings.toImmutableList();
+    }
+
+    /**
+     * {@return the current version of the phrase mappings in the order they were added} Later changes of the store do not affect the returned version.
+     */
+    PersistentList<PhraseMapping> snapshot() {
+        return phraseMappings;
+    }
+
+    /**
+     * Returns the phrase mappings that contain the phrase, in the order they were added.
+     *
+     * @param phrase the phrase
+     * @return the phrase mappings that contain the phrase
+     */
+    ImmutableList<PhraseMapping> getPhraseMappingsByPhrase(Phrase phrase) {
+        var phraseMappingsWithPhrase = phraseMappingsByPhrase.get(phrase);
+        if (phraseMappingsWithPhrase == null) {
+            return Lists.immutable.empty();
+        }
+        return phraseMappingsWithPhrase.select(pm -> pm.getPhrases().contains(phrase)).toImmutable();
+    }
+
+    /**
+     * Returns whether a stored phrase mapping consists of exactly the given phrase instances.
+     *
+     * @param phrases the phrases
+     * @return true if there is such a phrase mapping
+     */
+    boolean containsPhraseMappingWithIdenticalPhrases(ImmutableSortedSet<Phrase> phrases) {
+        if (phrases.isEmpty()) {
+            return phraseMappings.stream().anyMatch(pm -> pm.getPhrases().isEmpty());
+        }
+        return getPhraseMappingsByPhrase(phrases.getFirst()).anySatisfy(pm -> Comparators.collectionsIdentityAnyOrder(pm.getPhrases(), phrases));
+    }
+
+    private void removeFromIndex(Phrase phrase, PhraseMapping phraseMapping) {
+        var phraseMappingsWithPhrase = phraseMappingsByPhrase.get(phrase);
+        if (phraseMappingsWithPhrase == null) {
+            return;
+        }
+        phraseMappingsWithPhrase.removeIf(pm -> pm == phraseMapping);
+        if (phraseMappingsWithPhrase.isEmpty()) {
+            phraseMappingsByPhrase.remove(phrase);
+        }
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        phraseMappingsByPhrase = Maps.mutable.empty();
+        phraseMappings.forEach(this::addToIndex);
+    }
+}
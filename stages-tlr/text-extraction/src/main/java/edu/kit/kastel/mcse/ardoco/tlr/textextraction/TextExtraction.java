@@ -1,4 +1,4 @@
-/* Licensed under MIT 2021-2024. */
+/* Licensed under MIT 2021-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
 
 import java.util.List;
@@ -45,7 +45,8 @@ protected void initializeState() {
         var dataRepository = getDataRepository();
         var optionalTextState = dataRepository.getData(TextState.ID, TextStateImpl.class);
         if (optionalTextState.isEmpty()) {
-            TextStateStrategy tts = new OriginalTextStateStrategy(dataRepository.getGlobalConfiguration());
+            TextStateStrategy tts = new OriginalTextStateStrategy(dataRepository.getGlobalConfiguration(), CreationOrder.of(dataRepository),
+                    WordSimilarityCache.of(dataRepository));
             var textState = new TextStateImpl(tts);
             dataRepository.addData(TextState.ID, textState);
         }
@@ -0,0 +1,104 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.MappingKind;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.TextState;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+
+/**
+ * Collects the noun mappings that a writer adds to a {@link TextStateImpl} instead of adding them directly, so that several writers can run concurrently and
+ * their changes can be applied afterward in a fixed order. While a writer runs in {@link #record(TextState, Runnable)},
+ * {@link #addNounMapping(TextState, Word, MappingKind, Claimant, double)} on the recording thread only records the addition. Every change of the text state
+ * itself, including {@link TextStateImpl#addNounMapping(Word, MappingKind, Claimant, double)}, throws an {@link IllegalStateException} on the recording
+ * thread, so no caller receives a noun mapping that does not exist yet. Applying the buffer repeats the additions in their original order, so the state ends
+ * up exactly as if the writer had run alone at that point.
+ * <p>
+ * A writer must therefore only add noun mappings via {@link #addNounMapping(TextState, Word, MappingKind, Claimant, double)} and must not depend on anything
+ * else in the text state.
+ */
+public final class TextStateChangeBuffer {
+    private static final ThreadLocal<TextStateChangeBuffer> RECORDING = new ThreadLocal<>();
+
+    private final TextState textState;
+    private final MutableList<NounMappingAddition> additions = Lists.mutable.empty();
+
+    private TextStateChangeBuffer(TextState textState) {
+        this.textState = textState;
+    }
+
+    /**
+     * Runs the writer on the current thread and records its changes of the text state.
+     *
+     * @param textState the text state
+     * @param writer    the writer
+     * @return the recorded changes, not yet applied to the text state
+     */
+    public static TextStateChangeBuffer record(TextState textState, Runnable writer) {
+        if (RECORDING.get() != null) {
+            throw new IllegalStateException("Already recording changes of a text state");
+        }
+        var buffer = new TextStateChangeBuffer(textState);
+        RECORDING.set(buffer);
+        try {
+            writer.run();
+        } finally {
+            RECORDING.remove();
+        }
+        return buffer;
+    }
+
+    /**
+     * Returns the buffer that currently records the changes of the given text state on this thread.
+     *
+     * @param textState the text state
+     * @return the buffer or null if the changes are applied directly
+     */
+    static TextStateChangeBuffer recording(TextState textState) {
+        var buffer = RECORDING.get();
+        return buffer != null && buffer.textState == textState ? buffer : null;
+    }
+
+    /**
+     * Adds the word as noun mapping of the given kind to the text state. If a buffer records the changes of the text state on the current thread, the addition
+     * is only recorded and applied with the buffer. Writers that can be recorded use this method instead of
+     * {@link TextState#addNounMapping(Word, MappingKind, Claimant, double)}, as they must not use the added noun mapping.
+     *
+     * @param textState   the text state
+     * @param word        the word
+     * @param kind        the kind of the noun mapping
+     * @param claimant    the claimant of the addition
+     * @param probability the probability of the kind
+     */
+    public static void addNounMapping(TextState textState, Word word, MappingKind kind, Claimant claimant, double probability) {
+        var buffer = recording(textState);
+        if (buffer != null) {
+            buffer.additions.add(new NounMappingAddition(word, kind, claimant, probability));
+        } else {
+            textState.addNounMapping(word, kind, claimant, probability);
+        }
+    }
+
+    /**
+     * Applies the recorded changes to the text state in the order they were made.
+     */
+    public void apply() {
+        for (var addition : additions) {
+            textState.addNounMapping(addition.word(), addition.kind(), addition.claimant(), addition.probability());
+        }
+        additions.clear();
+    }
+
+    /**
+     * {@return the number of recorded changes that were not applied yet}
+     */
+    public int size() {
+        return additions.size();
+    }
+
+    private record NounMappingAddition(Word word, MappingKind kind, Claimant claimant, double probability) {
+    }
+}
@@ -1,15 +1,13 @@
-/* Licensed under MIT 2021-2024. */
+/* Licensed under MIT 2021-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
 
-import java.util.Comparator;
 import java.util.SortedMap;
 
-import org.eclipse.collections.api.block.predicate.Predicate;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.factory.SortedSets;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.api.list.MutableList;
-import org.eclipse.collections.api.ordered.SortedIterable;
+import org.eclipse.collections.api.map.sorted.ImmutableSortedMap;
 import org.eclipse.collections.api.set.sorted.ImmutableSortedSet;
 import org.eclipse.collections.api.set.sorted.MutableSortedSet;
 
@@ -23,34 +21,29 @@
 import edu.kit.kastel.mcse.ardoco.core.api.textextraction.TextStateStrategy;
 import edu.kit.kastel.mcse.ardoco.core.api.textextraction.WordAbbreviation;
 import edu.kit.kastel.mcse.ardoco.core.common.tuple.Pair;
-import edu.kit.kastel.mcse.ardoco.core.common.util.Comparators;
 import edu.kit.kastel.mcse.ardoco.core.data.AbstractState;
+import edu.kit.kastel.mcse.ardoco.core.data.Confidence;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+import edu.kit.kastel.mcse.ardoco.tlr.common.ApproximateMatchingIndex;
+import edu.kit.kastel.mcse.ardoco.tlr.common.PersistentList;
 
 /**
  * The Class TextState defines the basic implementation of a {@link TextState}.
+ * <p>
+ * While a {@link TextStateChangeBuffer} records the changes of the state on the current thread, every change of the state throws an
+ * {@link IllegalStateException}. Noun mappings are then added via {@link TextStateChangeBuffer#addNounMapping(TextState, Word, MappingKind, Claimant, double)},
+ * which records the additions.
  */
 public class TextStateImpl extends AbstractState implements TextState {
 
-    private static final Comparator<NounMapping> ORDER_NOUNMAPPING = (n1, n2) -> {
-        if (n1.equals(n2))
-            return 0;
-        var nm1 = (NounMappingImpl) n1;
-        var nm2 = (NounMappingImpl) n2;
-        int compare = Long.compare(nm1.earliestCreationTime(), nm2.earliestCreationTime());
-        if (compare != 0)
-            return compare;
-        throw new IllegalStateException("NounMappings are not equal but have same creation time");
-    };
-
     /**
      * Minimum difference that need to shall not be reached to identify a NounMapping as NameOrType.
      *
      * @see #getMappingsThatCouldBeOfKind(Word, MappingKind)
      */
     private static final double MAPPING_KIND_MAX_DIFF = 0.1;
-    private MutableList<NounMapping> nounMappings;
-    private MutableList<PhraseMapping> phraseMappings;
+    private NounMappingStore nounMappings;
+    private PhraseMappingStore phraseMappings;
     private MutableSortedSet<WordAbbreviation> wordAbbreviations;
     private MutableSortedSet<PhraseAbbreviation> phraseAbbreviations;
     private final TextStateStrategy strategy;
@@ -65,8 +58,8 @@ private TextStateImpl() {
     public TextStateImpl(TextStateStrategy strategy) {
         super();
         this.strategy = strategy;
-        nounMappings = Lists.mutable.empty();
-        phraseMappings = Lists.mutable.empty();
+        nounMappings = new NounMappingStore();
+        phraseMappings = new PhraseMappingStore();
         wordAbbreviations = SortedSets.mutable.empty();
         phraseAbbreviations = SortedSets.mutable.empty();
         this.strategy.setState(this);
@@ -77,14 +70,103 @@ public TextStateStrategy getTextStateStrategy() {
         return this.strategy;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if a {@link TextStateChangeBuffer} records the changes of this state on the current thread, use
+     *                               {@link TextStateChangeBuffer#addNounMapping(TextState, Word, MappingKind, Claimant, double)} instead
+     */
+    @Override
+    public NounMapping addNounMapping(Word word, MappingKind kind, Claimant claimant, double probability) {
+        checkNotRecording();
+        return TextState.super.addNounMapping(word, kind, claimant, probability);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if a {@link TextStateChangeBuffer} records the changes of this state on the current thread
+     */
+    @Override
+    public NounMapping addNounMapping(Word word, MappingKind kind, Claimant claimant, double probability, ImmutableList<String> surfaceForms) {
+        checkNotRecording();
+        return TextState.super.addNounMapping(word, kind, claimant, probability, surfaceForms);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if a {@link TextStateChangeBuffer} records the changes of this state on the current thread
+     */
+    @Override
+    public NounMapping addNounMapping(ImmutableSortedSet<Word> words, ImmutableSortedMap<MappingKind, Confidence> distribution,
+            ImmutableList<Word> referenceWords, ImmutableList<String> surfaceForms, String reference) {
+        checkNotRecording();
+        return TextState.super.addNounMapping(words, distribution, referenceWords, surfaceForms, reference);
+    }
+
+    /**
+     * Throws if the changes of this state are recorded on the current thread, because changes can only be recorded via
+     * {@link TextStateChangeBuffer#addNounMapping(TextState, Word, MappingKind, Claimant, double)}.
+     */
+    private void checkNotRecording() {
+        if (TextStateChangeBuffer.recording(this) != null) {
+            throw new IllegalStateException("The text state must only be changed via TextStateChangeBuffer.addNounMapping while its changes are recorded");
+        }
+    }
+
     @Override
     public ImmutableList<NounMapping> getNounMappings() {
-        return this.nounMappings.toImmutableList();
+        return this.nounMappings.getNounMappings();
+    }
+
+    /**
+     * Returns the current version of the noun mappings without copying them. Later changes of the state do not affect the returned list.
+     *
+     * @return the noun mappings, ordered like {@link #getNounMappings()}
+     */
+    public PersistentList<NounMapping> getNounMappingSnapshot() {
+        return this.nounMappings.snapshot();
+    }
+
+    /**
+     * Returns the noun mappings with exactly the given reference.
+     *
+     * @param reference the reference
+     * @return the noun mappings with the reference, ordered by their creation time
+     */
+    public ImmutableList<NounMapping> getNounMappingsByReference(String reference) {
+        return this.nounMappings.getNounMappingsByReference(reference);
+    }
+
+    /**
+     * Returns the noun mappings whose reference could be similar to the given reference. The returned noun mappings still have to be checked for
+     * similarity. All noun mappings are returned if the {@link ApproximateMatchingIndex} does not cover the similarity measures of the strategy.
+     *
+     * @param reference the reference
+     * @return a superset of the noun mappings with a similar reference, ordered like {@link #getNounMappings()}
+     * @see ApproximateMatchingIndex
+     */
+    public ImmutableList<NounMapping> getNounMappingCandidatesForReference(String reference) {
+        if (!(strategy instanceof DefaultTextStateStrategy defaultStrategy) || !ApproximateMatchingIndex.coversSimilarityOf(
+                defaultStrategy.globalConfiguration)) {
+            return getNounMappings();
+        }
+        return this.nounMappings.getNounMappingCandidatesForReference(reference);
     }
 
     @Override
     public ImmutableList<PhraseMapping> getPhraseMappings() {
-        return phraseMappings.toImmutableList();
+        return phraseMappings.getPhraseMappings();
+    }
+
+    /**
+     * Returns the current version of the phrase mappings without copying them. Later changes of the state do not affect the returned list.
+     *
+     * @return the phrase mappings, ordered like {@link #getPhraseMappings()}
+     */
+    public PersistentList<PhraseMapping> getPhraseMappingSnapshot() {
+        return phraseMappings.snapshot();
     }
 
     public ImmutableList<PhraseMapping> getPhraseMappingsByNounMapping(NounMapping nounMapping) {
@@ -92,7 +174,7 @@ public ImmutableList<PhraseMapping> getPhraseMappingsByNounMapping(NounMapping n
         MutableList<PhraseMapping> result = Lists.mutable.empty();
 
         for (Phrase phrase : nounMapping.getPhrases()) {
-            result.addAll(phraseMappings.select(pm -> pm.getPhrases().contains(phrase)));
+            result.addAllIterable(phraseMappings.getPhraseMappingsByPhrase(phrase));
         }
 
         return result.toImmutable();
@@ -107,8 +189,7 @@ public PhraseMapping getPhraseMappingByNounMapping(NounMapping nounMapping) {
 
     @Override
     public ImmutableList<NounMapping> getNounMappingsByPhraseMapping(PhraseMapping phraseMapping) {
-        return getNounMappings().select(nm -> Comparators.collectionsEqualsAnyOrder(phraseMapping.getPhrases().castToCollection(), nm.getPhrases()
-                .castToCollection()));
+        return nounMappings.getNounMappingsByPhrases(phraseMapping.getPhrases());
     }
 
     /**
@@ -119,7 +200,7 @@ public ImmutableList<NounMapping> getNounMappingsByPhraseMapping(PhraseMapping p
      */
     @Override
     public ImmutableList<NounMapping> getNounMappingsOfKind(MappingKind kind) {
-        return getNounMappings().select(nounMappingIsOfKind(kind)).toImmutable();
+        return nounMappings.getNounMappingsOfKind(kind);
     }
 
     @Override
@@ -130,12 +211,14 @@ public ImmutableList<NounMapping> getNounMappingsThatBelongToTheSamePhraseMappin
 
     @Override
     public void mergeNounMappings(NounMapping nounMapping, NounMapping otherNounMapping, Claimant claimant, ImmutableList<Word> referenceWords) {
+        checkNotRecording();
         strategy.mergeNounMappings(nounMapping, otherNounMapping, referenceWords, null, nounMapping.getKind(), claimant, nounMapping.getProbabilityForKind(
                 nounMapping.getKind()));
     }
 
     @Override
     public NounMapping setReferenceOfNounMapping(NounMapping nounMapping, ImmutableList<Word> referenceWords, String reference) {
+        checkNotRecording();
 
         return this.addNounMapping(nounMapping.getWords().toImmutableSortedSet(), nounMapping.getDistribution(), referenceWords, nounMapping.getSurfaceForms(),
                 reference);
@@ -178,17 +261,17 @@ public ImmutableList<NounMapping> getMappingsThatCouldBeMultipleKinds(Word word,
 
     @Override
     public ImmutableList<NounMapping> getNounMappingsByWord(Word word) {
-        return getNounMappings().select(nm -> nm.getWords().contains(word));
+        return nounMappings.getNounMappingsByWord(word);
     }
 
     @Override
     public ImmutableList<NounMapping> getNounMappingsByWordAndKind(Word word, MappingKind kind) {
-        return getNounMappings().select(n -> n.getWords().contains(word)).select(nounMappingIsOfKind(kind)).toImmutable();
+        return nounMappings.getNounMappingsByWordAndKind(word, kind);
     }
 
     @Override
     public boolean isWordContainedByMappingKind(Word word, MappingKind kind) {
-        return getNounMappings().select(n -> n.getWords().contains(word)).anySatisfy(nounMappingIsOfKind(kind));
+        return nounMappings.isWordContainedByMappingKind(word, kind);
     }
 
     @Override
@@ -207,15 +290,18 @@ public ImmutableSortedSet<PhraseAbbreviation> getPhraseAbbreviations() {
     }
 
     protected boolean addWordAbbreviation(WordAbbreviation wordAbbreviation) {
+        checkNotRecording();
         return this.wordAbbreviations.add(wordAbbreviation);
     }
 
     protected boolean addPhraseAbbreviation(PhraseAbbreviation phraseAbbreviation) {
+        checkNotRecording();
         return this.phraseAbbreviations.add(phraseAbbreviation);
     }
 
     @Override
     public NounMapping mergeNounMappings(NounMapping nounMapping, NounMapping textuallyEqualNounMapping, Claimant claimant) {
+        checkNotRecording();
         return strategy.mergeNounMappings(nounMapping, textuallyEqualNounMapping, null, null, nounMapping.getKind(), claimant, nounMapping
                 .getProbabilityForKind(nounMapping.getKind()));
 
@@ -224,6 +310,7 @@ public NounMapping mergeNounMappings(NounMapping nounMapping, NounMapping textua
     @Override
     public void mergePhraseMappingsAndNounMappings(PhraseMapping phraseMapping, PhraseMapping similarPhraseMapping,
             MutableList<Pair<NounMapping, NounMapping>> similarNounMappings, Claimant claimant) {
+        checkNotRecording();
         mergePhraseMappings(phraseMapping, similarPhraseMapping);
         for (Pair<NounMapping, NounMapping> nounMappingPair : similarNounMappings) {
             this.mergeNounMappings(nounMappingPair.first(), nounMappingPair.second(), claimant);
@@ -232,6 +319,7 @@ public void mergePhraseMappingsAndNounMappings(PhraseMapping phraseMapping, Phra
 
     @Override
     public PhraseMapping mergePhraseMappings(PhraseMapping phraseMapping, PhraseMapping similarPhraseMapping) {
+        checkNotRecording();
 
         MutableSortedSet<Phrase> mergedPhrases = phraseMapping.getPhrases().toSortedSet();
         mergedPhrases.addAll(similarPhraseMapping.getPhrases().toList());
@@ -247,7 +335,7 @@ public PhraseMapping mergePhraseMappings(PhraseMapping phraseMapping, PhraseMapp
 
     @Override
     public NounMapping getNounMappingByWord(Word word) {
-        var result = getNounMappings().select(nMapping -> nMapping.getWords().contains(word)).toImmutable();
+        var result = getNounMappingsByWord(word);
 
         assert (result.size() <= 1) : "A word should only contained by one noun mapping";
         if (result.isEmpty()) {
@@ -271,16 +359,10 @@ public ImmutableList<String> getListOfReferences(MappingKind kind) {
         return Lists.immutable.withAll(referencesOfKind);
     }
 
-    private Predicate<? super NounMapping> nounMappingIsOfKind(MappingKind mappingKind) {
-        return n -> n.getKind() == mappingKind;
-    }
-
     void addNounMappingAddPhraseMapping(NounMapping nounMapping) {
+        checkNotRecording();
         addNounMappingToState(nounMapping);
-        if (phraseMappings.anySatisfy(it -> {
-            var sortedIt = (SortedIterable<Phrase>) it.getPhrases();
-            return Comparators.collectionsIdentityAnyOrder(sortedIt, nounMapping.getPhrases());
-        }))
+        if (phraseMappings.containsPhraseMappingWithIdenticalPhrases(nounMapping.getPhrases()))
             return;
         PhraseMapping phraseMappingImpl = new PhraseMappingImpl(nounMapping.getPhrases());
         phraseMappings.add(phraseMappingImpl);
@@ -288,22 +370,19 @@ void addNounMappingAddPhraseMapping(NounMapping nounMapping) {
 
     @Override
     public void removeNounMapping(NounMapping nounMapping, NounMapping replacement) {
+        checkNotRecording();
         PhraseMapping phraseMapping = getPhraseMappingByNounMapping(nounMapping);
 
         var otherNounMappings = getNounMappingsThatBelongToTheSamePhraseMapping(nounMapping);
         if (!otherNounMappings.isEmpty()) {
             var phrases = nounMapping.getPhrases().select(p -> !otherNounMappings.flatCollect(NounMapping::getPhrases).contains(p));
-            phrases.forEach(phraseMapping::removePhrase);
+            phrases.forEach(phrase -> phraseMappings.removePhrase(phraseMapping, phrase));
         }
         removeNounMappingFromState(nounMapping, replacement);
     }
 
     private void addNounMappingToState(NounMapping nounMapping) {
-        if (this.nounMappings.contains(nounMapping)) {
-            throw new IllegalArgumentException("Nounmapping was already in state");
-        }
         this.nounMappings.add(nounMapping);
-        this.nounMappings.sortThis(ORDER_NOUNMAPPING);
     }
 
     /**
@@ -314,6 +393,7 @@ private void addNounMappingToState(NounMapping nounMapping) {
      * @return true if removed, false otherwise
      */
     boolean removePhraseMappingFromState(PhraseMapping phraseMapping, PhraseMapping replacement) {
+        checkNotRecording();
         var success = this.phraseMappings.remove(phraseMapping);
         phraseMapping.onDelete(replacement);
         return success;
@@ -327,6 +407,7 @@ boolean removePhraseMappingFromState(PhraseMapping phraseMapping, PhraseMapping
      * @return true if removed, false otherwise
      */
     boolean removeNounMappingFromState(NounMapping nounMapping, NounMapping replacement) {
+        checkNotRecording();
         var success = this.nounMappings.remove(nounMapping);
         nounMapping.onDelete(replacement);
         return success;
@@ -0,0 +1,368 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.POSTag;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.NounMapping;
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+import edu.kit.kastel.mcse.ardoco.core.common.util.SimilarityUtils;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.WordSimMeasure;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.data.GlobalConfiguration;
+import edu.kit.kastel.mcse.ardoco.core.data.PipelineStepData;
+
+/**
+ * Bounded and thread-safe memoization of {@link SimilarityUtils#areWordsSimilar(String, String)} and
+ * {@link SimilarityUtils#areNounMappingsSimilar(NounMapping, NounMapping)}. The cache of a pipeline run is stored in the {@link DataRepository} of the run
+ * (see {@link #of(DataRepository)}), so runs in the same JVM do not share results. The memoized results are not serialized: a copy of the repository starts
+ * with an empty cache.
+ * <p>
+ * Results are keyed by the compared words and a snapshot of the similarity configuration that computed them: the configuration, its similarity utils, its word
+ * similarity measures and the values of the primitive fields of the measures. Replacing any of them, also in place on the same configuration (e.g., changing
+ * the threshold of a measure), drops the results of the previous one. Changes inside objects that a measure refers to are not detected. The words are used as
+ * they are (case and order are kept), as the configured measures do not have to be case-insensitive or symmetric. Noun mappings are keyed by their reference
+ * and the text, lemma and POS tag of their reference words, as their similarity does not depend on the position of the words.
+ * <p>
+ * The text state strategies (similar references and the noun mapping comparisons of {@link OriginalTextStateStrategy}), the recommendation state strategy,
+ * and the informants that compare single words use the cache. The comparisons of words and recommended instances with model instances in the connection
+ * generator are not memoized here: they depend on more attributes of the instances than their names, and the connection generator narrows them down with
+ * dictionaries and candidate blocking instead.
+ * <p>
+ * The cache is split into segments that are evicted independently in least-recently-used order.
+ */
+@Deterministic
+public final class WordSimilarityCache implements PipelineStepData {
+    /**
+     * The id of the cache in the {@link DataRepository}.
+     */
+    public static final String ID = "WordSimilarityCache";
+
+    /**
+     * The maximum number of memoized word pairs of the caches returned by {@link #of(DataRepository)}.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1 << 16;
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final int SEGMENTS = 16;
+    private static final Object REPOSITORY_LOCK = new Object();
+
+    private final int maximumSize;
+    private transient Segment[] segments;
+    private transient LongAdder hits;
+    private transient LongAdder misses;
+    private transient LongAdder evictions;
+    private transient volatile Configuration configuration;
+
+    /**
+     * Creates a new cache that memoizes at most the given number of word pairs.
+     *
+     * @param maximumSize the maximum number of memoized word pairs
+     */
+    public WordSimilarityCache(int maximumSize) {
+        if (maximumSize < SEGMENTS) {
+            throw new IllegalArgumentException("The maximum size has to be at least " + SEGMENTS);
+        }
+        this.maximumSize = maximumSize;
+        initialize();
+    }
+
+    private void initialize() {
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(maximumSize / SEGMENTS);
+        }
+        hits = new LongAdder();
+        misses = new LongAdder();
+        evictions = new LongAdder();
+    }
+
+    /**
+     * Returns the cache of the run that uses the given data repository. The cache is created and added to the repository on first use.
+     *
+     * @param dataRepository the data repository of the run
+     * @return the cache of the run
+     */
+    public static WordSimilarityCache of(DataRepository dataRepository) {
+        synchronized (REPOSITORY_LOCK) {
+            var cache = dataRepository.getData(ID, WordSimilarityCache.class);
+            if (cache.isPresent()) {
+                return cache.get();
+            }
+            var newCache = new WordSimilarityCache(DEFAULT_MAXIMUM_SIZE);
+            dataRepository.addData(ID, newCache);
+            return newCache;
+        }
+    }
+
+    /**
+     * Returns whether the words are similar according to the similarity utils of the given configuration.
+     *
+     * @param globalConfiguration the configuration that provides the similarity utils
+     * @param first               the first word
+     * @param second              the second word
+     * @return true if the words are similar
+     * @see SimilarityUtils#areWordsSimilar(String, String)
+     */
+    public boolean areWordsSimilar(GlobalConfiguration globalConfiguration, String first, String second) {
+        return isSimilar(globalConfiguration, first, second, similarityUtils -> similarityUtils.areWordsSimilar(first, second));
+    }
+
+    /**
+     * Returns whether the noun mappings are similar according to the similarity utils of the given configuration.
+     *
+     * @param globalConfiguration the configuration that provides the similarity utils
+     * @param first               the first noun mapping
+     * @param second              the second noun mapping
+     * @return true if the noun mappings are similar
+     * @see SimilarityUtils#areNounMappingsSimilar(NounMapping, NounMapping)
+     */
+    public boolean areNounMappingsSimilar(GlobalConfiguration globalConfiguration, NounMapping first, NounMapping second) {
+        return isSimilar(globalConfiguration, NounMappingForm.of(first), NounMappingForm.of(second), similarityUtils -> similarityUtils.areNounMappingsSimilar(
+                first, second));
+    }
+
+    private boolean isSimilar(GlobalConfiguration globalConfiguration, Object first, Object second, Predicate<SimilarityUtils> similarity) {
+        var currentConfiguration = getConfiguration(globalConfiguration);
+        var key = new Key(currentConfiguration, first, second);
+        var segment = segments[Math.floorMod(key.hashCode(), SEGMENTS)];
+        var cached = segment.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        // Computed outside the lock, concurrent misses of the same pair compute the same result
+        boolean similar = similarity.test(currentConfiguration.similarityUtils);
+        segment.put(key, similar);
+        return similar;
+    }
+
+    /**
+     * Returns the snapshot of the given configuration. If the configuration differs from the snapshot of the previous lookup, the results of the previous
+     * snapshot are dropped.
+     */
+    private Configuration getConfiguration(GlobalConfiguration globalConfiguration) {
+        var current = configuration;
+        if (current != null && current.isSnapshotOf(globalConfiguration)) {
+            return current;
+        }
+        synchronized (this) {
+            if (configuration == null || !configuration.isSnapshotOf(globalConfiguration)) {
+                clear();
+                configuration = new Configuration(globalConfiguration);
+            }
+            return configuration;
+        }
+    }
+
+    /**
+     * Removes all memoized results. The statistics are kept.
+     */
+    public void clear() {
+        for (var segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * {@return the current hit, miss and eviction counts and the number of memoized word pairs}
+     */
+    public Statistics getStatistics() {
+        int size = 0;
+        for (var segment : segments) {
+            size += segment.size();
+        }
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    /**
+     * Statistics of a {@link WordSimilarityCache}.
+     *
+     * @param hits      the number of lookups answered from the cache
+     * @param misses    the number of lookups that had to be computed
+     * @param evictions the number of memoized results that were evicted
+     * @param size      the number of memoized word pairs
+     */
+    public record Statistics(long hits, long misses, long evictions, int size) {
+        /**
+         * {@return the fraction of lookups answered from the cache, 0 if there were no lookups}
+         */
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initialize();
+    }
+
+    private final class Segment {
+        private final LinkedHashMap<Key, Boolean> results;
+
+        private Segment(int maximumSize) {
+            this.results = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+                    if (size() > maximumSize) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private synchronized Boolean get(Key key) {
+            return results.get(key);
+        }
+
+        private synchronized void put(Key key, boolean similar) {
+            results.put(key, similar);
+        }
+
+        private synchronized void clear() {
+            results.clear();
+        }
+
+        private synchronized int size() {
+            return results.size();
+        }
+    }
+
+    /**
+     * Snapshot of the similarity configuration. The configuration, its similarity utils and its measures are compared by identity, the fields of the measures
+     * by value.
+     */
+    private static final class Configuration {
+        private final GlobalConfiguration globalConfiguration;
+        private final SimilarityUtils similarityUtils;
+        private final List<MeasureSnapshot> measures = new ArrayList<>();
+
+        private Configuration(GlobalConfiguration globalConfiguration) {
+            this.globalConfiguration = globalConfiguration;
+            this.similarityUtils = globalConfiguration.getSimilarityUtils();
+            for (var measure : globalConfiguration.getWordSimUtils().getMeasures()) {
+                measures.add(MeasureSnapshot.of(measure));
+            }
+        }
+
+        private boolean isSnapshotOf(GlobalConfiguration otherConfiguration) {
+            if (globalConfiguration != otherConfiguration || similarityUtils != otherConfiguration.getSimilarityUtils()) {
+                return false;
+            }
+            Iterator<MeasureSnapshot> snapshotMeasures = measures.iterator();
+            for (var measure : otherConfiguration.getWordSimUtils().getMeasures()) {
+                if (!snapshotMeasures.hasNext() || !snapshotMeasures.next().isSnapshotOf(measure)) {
+                    return false;
+                }
+            }
+            return !snapshotMeasures.hasNext();
+        }
+    }
+
+    /**
+     * Snapshot of a measure and the values of its instance fields, e.g., its thresholds. Primitive fields are compared by value, all others by identity, so
+     * that internal state such as a cache of the measure does not invalidate the snapshot. Fields that cannot be made accessible are not compared.
+     */
+    private record MeasureSnapshot(WordSimMeasure measure, Field[] fields, Object[] values) {
+        private static MeasureSnapshot of(WordSimMeasure measure) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> type = measure.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+                for (var field : type.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && field.trySetAccessible()) {
+                        fields.add(field);
+                    }
+                }
+            }
+            var fieldArray = fields.toArray(Field[]::new);
+            var values = new Object[fieldArray.length];
+            for (int i = 0; i < fieldArray.length; i++) {
+                values[i] = valueOf(fieldArray[i], measure);
+            }
+            return new MeasureSnapshot(measure, fieldArray, values);
+        }
+
+        private boolean isSnapshotOf(WordSimMeasure otherMeasure) {
+            if (measure != otherMeasure) {
+                return false;
+            }
+            for (int i = 0; i < fields.length; i++) {
+                var value = valueOf(fields[i], otherMeasure);
+                if (fields[i].getType().isPrimitive() ? !values[i].equals(value) : values[i] != value) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Object valueOf(Field field, WordSimMeasure measure) {
+            try {
+                return field.get(measure);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Could not read the setting " + field.getName() + " of " + measure, e);
+            }
+        }
+    }
+
+    /**
+     * The attributes of a noun mapping that its similarity depends on.
+     */
+    private record NounMappingForm(String reference, List<WordForm> referenceWords) {
+        private static NounMappingForm of(NounMapping nounMapping) {
+            List<WordForm> referenceWords = new ArrayList<>();
+            for (var word : nounMapping.getReferenceWords()) {
+                referenceWords.add(new WordForm(word.getText(), word.getLemma(), word.getPosTag()));
+            }
+            return new NounMappingForm(nounMapping.getReference(), referenceWords);
+        }
+    }
+
+    private record WordForm(String text, String lemma, POSTag posTag) {
+    }
+
+    /**
+     * Key of a memoized result. The configuration snapshots are compared by identity, the compared words or noun mappings by value.
+     */
+    private static final class Key {
+        private final Configuration configuration;
+        private final Object first;
+        private final Object second;
+        private final int hash;
+
+        private Key(Configuration configuration, Object first, Object second) {
+            this.configuration = configuration;
+            this.first = first;
+            this.second = second;
+            this.hash = 31 * (31 * System.identityHashCode(configuration) + Objects.hashCode(first)) + Objects.hashCode(second);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key other && configuration == other.configuration && Objects.equals(first, other.first) && Objects.equals(second,
+                    other.second);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.textextraction.agents;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.MappingKind;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.TextState;
+import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.PipelineAgent;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.TextStateChangeBuffer;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.TextStateImpl;
+
+/**
+ * Agent whose informants only add noun mappings to the text state and do not read anything another of its informants writes. If
+ * {@link #concurrentInformants} is enabled, the informants run concurrently and each one records its additions in a private {@link TextStateChangeBuffer}.
+ * The buffers are applied to the text state in the declared order of the informants, so the text state is the same as after running them one after another.
+ * <p>
+ * An informant is eligible if it only changes the text state via {@link TextStateChangeBuffer#addNounMapping(TextState, Word, MappingKind, Claimant, double)}
+ * and does not read noun mappings or anything else another informant of the agent writes. The {@code NounInformant}, {@code InDepArcsInformant},
+ * {@code OutDepArcsInformant} and {@code SeparatedNamesInformant} of the {@link InitialTextAgent} are eligible. The {@code CompoundAgentInformant} is not, as
+ * it reads, merges and removes noun mappings. Any direct change of the {@link TextStateImpl} throws an {@link IllegalStateException} while the informants run
+ * concurrently, and {@code DeterministicArDoCoTest} checks that informants that use the buffer do not change the text state directly.
+ */
+public abstract class ConcurrentInformantAgent extends PipelineAgent {
+
+    @Configurable
+    private boolean concurrentInformants = false;
+
+    /**
+     * Creates a new agent.
+     *
+     * @param informants     the informants, none of them may depend on the changes of another or change the text state directly
+     * @param id             the id of the agent
+     * @param dataRepository the {@link DataRepository}
+     */
+    protected ConcurrentInformantAgent(List<? extends Informant> informants, String id, DataRepository dataRepository) {
+        super(informants, id, dataRepository);
+    }
+
+    @Override
+    public void process() {
+        var informants = getEnabledPipelineSteps();
+        var textState = DataRepositoryHelper.getTextState(getDataRepository());
+        if (!concurrentInformants || informants.size() < 2 || !(textState instanceof TextStateImpl)) {
+            super.process();
+            return;
+        }
+
+        // One thread per informant, so that no thread records the changes of two informants
+        ExecutorService executor = Executors.newFixedThreadPool(informants.size());
+        try {
+            List<Future<TextStateChangeBuffer>> futures = new ArrayList<>();
+            for (var informant : informants) {
+                futures.add(executor.submit(() -> TextStateChangeBuffer.record(textState, informant::execute)));
+            }
+            for (var future : futures) {
+                future.get().apply();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the informants of " + getId(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Could not execute the informants of " + getId(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,19 +1,19 @@
-/* Licensed under MIT 2021-2023. */
+/* Licensed under MIT 2021-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.textextraction.agents;
 
 import java.util.List;
 
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
-import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.PipelineAgent;
 import edu.kit.kastel.mcse.ardoco.tlr.textextraction.informants.InDepArcsInformant;
 import edu.kit.kastel.mcse.ardoco.tlr.textextraction.informants.NounInformant;
 import edu.kit.kastel.mcse.ardoco.tlr.textextraction.informants.OutDepArcsInformant;
 import edu.kit.kastel.mcse.ardoco.tlr.textextraction.informants.SeparatedNamesInformant;
 
 /**
- * The Class InitialTextAgent defines the agent that executes the extractors for the text stage.
+ * The Class InitialTextAgent defines the agent that executes the extractors for the text stage. The informants only add noun mappings and can run
+ * concurrently, see {@link ConcurrentInformantAgent}.
  */
-public class InitialTextAgent extends PipelineAgent {
+public class InitialTextAgent extends ConcurrentInformantAgent {
 
     /**
      * Instantiates a new initial text agent.
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2021-2024. */
+/* Licensed under MIT 2021-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.textextraction.informants;
 
 import java.util.SortedMap;
@@ -12,6 +12,7 @@
 import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.TextStateChangeBuffer;
 
 /**
  * The analyzer examines the incoming dependency arcs of the current node.
@@ -58,15 +59,15 @@ private void examineIncomingDepArcs(TextState textState, Word word) {
 
         for (DependencyTag depTag : incomingDepArcs) {
             if (hasNameOrTypeDependencies(depTag)) {
-                textState.addNounMapping(word, MappingKind.NAME, this, probability * nameOrTypeWeight);
-                textState.addNounMapping(word, MappingKind.TYPE, this, probability * nameOrTypeWeight);
+                TextStateChangeBuffer.addNounMapping(textState, word, MappingKind.NAME, this, probability * nameOrTypeWeight);
+                TextStateChangeBuffer.addNounMapping(textState, word, MappingKind.TYPE, this, probability * nameOrTypeWeight);
             } else if (hasTypeOrNameOrTypeDependencies(depTag)) {
                 if (WordHelper.hasIndirectDeterminerAsPreWord(word)) {
-                    textState.addNounMapping(word, MappingKind.TYPE, this, probability);
+                    TextStateChangeBuffer.addNounMapping(textState, word, MappingKind.TYPE, this, probability);
                 }
 
-                textState.addNounMapping(word, MappingKind.NAME, this, probability * nameOrTypeWeight);
-                textState.addNounMapping(word, MappingKind.TYPE, this, probability * nameOrTypeWeight);
+                TextStateChangeBuffer.addNounMapping(textState, word, MappingKind.NAME, this, probability * nameOrTypeWeight);
+                TextStateChangeBuffer.addNounMapping(textState, word, MappingKind.TYPE, this, probability * nameOrTypeWeight);
             }
         }
     }
@@ -1,7 +1,8 @@
-/* Licensed under MIT 2022-2024. */
+/* Licensed under MIT 2022-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.textextraction.informants;
 
 import java.util.SortedMap;
+import java.util.function.Predicate;
 
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.ImmutableList;
@@ -18,12 +19,24 @@
 import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.TextStateImpl;
 
 public class MappingCombinerInformant extends Informant {
 
+    /**
+     * Phrase mappings are scored in parallel if at least this many have to be scored.
+     */
+    private static final int MIN_PARALLEL_SCORINGS = 64;
+
     @Configurable
     private double minCosineSimilarity = 0.4;
 
+    /**
+     * Whether only the phrase mappings that can be similar are scored (see {@link PhraseMappingCandidates}) instead of all pairs.
+     */
+    @Configurable
+    private boolean pruneCandidates = true;
+
     public MappingCombinerInformant(DataRepository dataRepository) {
         super(MappingCombinerInformant.class.getSimpleName(), dataRepository);
     }
@@ -37,24 +50,48 @@ public void process() {
     private void combineSimilarPhraseMappings(TextState textState) {
 
         ImmutableList<PhraseMapping> phraseMappings = textState.getPhraseMappings();
+        PhraseMappingCandidates candidates = pruneCandidates && textState instanceof TextStateImpl textStateImpl ?
+                new PhraseMappingCandidates(phraseMappings, textStateImpl) :
+                null;
+
+        for (int i = 0; i < phraseMappings.size(); i++) {
+            PhraseMapping phraseMapping = phraseMappings.get(i);
+            ImmutableList<NounMapping> nounMappingsOfPhraseMapping = textState.getNounMappingsByPhraseMapping(phraseMapping);
+            if (candidates != null && nounMappingsOfPhraseMapping.isEmpty()) {
+                // Nothing can be merged into a phrase mapping without noun mappings
+                continue;
+            }
 
-        for (PhraseMapping phraseMapping : phraseMappings) {
-            ImmutableList<PhraseMapping> similarPhraseMappings = phraseMappings.select(p -> getMetaData().getSimilarityUtils()
-                    .getPhraseMappingSimilarity(textState, phraseMapping, p, PhraseMappingAggregatorStrategy.MAX_SIMILARITY) > minCosineSimilarity);
+            ImmutableList<PhraseMapping> similarPhraseMappings = selectSimilarPhraseMappings(textState, phraseMapping, candidates == null ?
+                    phraseMappings :
+                    candidates.getCandidates(i, nounMappingsOfPhraseMapping));
 
             // Remove the phrase mapping from the list of similar phrase mappings
             // Comment: This would break the logic but seems to be logical ..
             // similarPhraseMappings = similarPhraseMappings.newWithout(phraseMapping);
 
-            processPhraseMappingForSimilarPhraseMappings(textState, similarPhraseMappings, phraseMapping);
+            processPhraseMappingForSimilarPhraseMappings(textState, similarPhraseMappings, phraseMapping, nounMappingsOfPhraseMapping);
         }
 
     }
 
-    private void processPhraseMappingForSimilarPhraseMappings(TextState textState, ImmutableList<PhraseMapping> similarPhraseMappings,
-            PhraseMapping phraseMapping) {
-        ImmutableList<NounMapping> nounMappingsOfPhraseMapping = textState.getNounMappingsByPhraseMapping(phraseMapping);
+    /**
+     * Scores the phrase mappings against the given one. Scoring only reads the text state, so it is done in parallel for many phrase mappings. The order of
+     * the given phrase mappings is kept, so merging afterward is deterministic.
+     */
+    private ImmutableList<PhraseMapping> selectSimilarPhraseMappings(TextState textState, PhraseMapping phraseMapping,
+            ImmutableList<PhraseMapping> phraseMappings) {
+        var similarityUtils = getMetaData().getSimilarityUtils();
+        Predicate<PhraseMapping> isSimilar = p -> similarityUtils.getPhraseMappingSimilarity(textState, phraseMapping, p,
+                PhraseMappingAggregatorStrategy.MAX_SIMILARITY) > minCosineSimilarity;
+        if (phraseMappings.size() < MIN_PARALLEL_SCORINGS) {
+            return phraseMappings.select(isSimilar::test);
+        }
+        return Lists.immutable.withAll(phraseMappings.castToList().parallelStream().filter(isSimilar).toList());
+    }
 
+    private void processPhraseMappingForSimilarPhraseMappings(TextState textState, ImmutableList<PhraseMapping> similarPhraseMappings,
+            PhraseMapping phraseMapping, ImmutableList<NounMapping> nounMappingsOfPhraseMapping) {
         for (PhraseMapping similarPhraseMapping : similarPhraseMappings) {
 
             ImmutableList<NounMapping> nounMappingsOfSimilarPhraseMapping = textState.getNounMappingsByPhraseMapping(similarPhraseMapping);
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2021-2024. */
+/* Licensed under MIT 2021-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.textextraction.informants;
 
 import java.util.SortedMap;
@@ -13,6 +13,7 @@
 import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.TextStateChangeBuffer;
 
 /**
  * The analyzer classifies nouns.
@@ -51,11 +52,11 @@ public void process() {
     private void findSingleNouns(TextState textState, Word word) {
         var pos = word.getPosTag();
         if (POSTag.NOUN_PROPER_SINGULAR == pos || POSTag.NOUN == pos || POSTag.NOUN_PROPER_PLURAL == pos) {
-            textState.addNounMapping(word, MappingKind.NAME, this, probability * nameOrTypeWeight);
-            textState.addNounMapping(word, MappingKind.TYPE, this, probability * nameOrTypeWeight);
+            TextStateChangeBuffer.addNounMapping(textState, word, MappingKind.NAME, this, probability * nameOrTypeWeight);
+            TextStateChangeBuffer.addNounMapping(textState, word, MappingKind.TYPE, this, probability * nameOrTypeWeight);
         }
         if (POSTag.NOUN_PLURAL == pos) {
-            textState.addNounMapping(word, MappingKind.TYPE, this, probability);
+            TextStateChangeBuffer.addNounMapping(textState, word, MappingKind.TYPE, this, probability);
         }
 
     }
@@ -0,0 +1,97 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.textextraction.informants;
+
+import java.util.BitSet;
+import java.util.Locale;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.factory.primitive.IntLists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.api.set.MutableSet;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.NounMapping;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.PhraseMapping;
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.TextStateImpl;
+
+/**
+ * Inverted index over a snapshot of phrase mappings that narrows down the phrase mappings that have to be scored against a phrase mapping in the
+ * {@link MappingCombinerInformant}. A phrase mapping is a candidate if
+ * <ul>
+ * <li>its phrases share a word (text or lemma, ignoring case) with the phrases of the queried phrase mapping, which is required for a positive cosine
+ * similarity of the phrase vectors, or</li>
+ * <li>it contains a phrase of a noun mapping whose reference could be similar to the reference of a noun mapping of the queried phrase mapping (see
+ * {@link TextStateImpl#getNounMappingCandidatesForReference(String)}), which is required for mutually similar noun mappings.</li>
+ * </ul>
+ * Phrase mappings only lose phrases while the combiner runs (merged phrase mappings are new and not part of the snapshot), so the words and phrases indexed
+ * for the snapshot stay a superset of the current ones.
+ */
+@Deterministic
+final class PhraseMappingCandidates {
+
+    private final ImmutableList<PhraseMapping> phraseMappings;
+    private final TextStateImpl textState;
+    private final MutableList<ImmutableSet<String>> wordsOfPhraseMappings = Lists.mutable.empty();
+    private final MutableMap<String, MutableIntList> indicesByWord = Maps.mutable.empty();
+    private final MutableMap<Phrase, MutableIntList> indicesByPhrase = Maps.mutable.empty();
+
+    PhraseMappingCandidates(ImmutableList<PhraseMapping> phraseMappings, TextStateImpl textState) {
+        this.phraseMappings = phraseMappings;
+        this.textState = textState;
+        for (int i = 0; i < phraseMappings.size(); i++) {
+            int index = i;
+            var phrases = phraseMappings.get(i).getPhrases();
+            var words = indexedWords(phrases);
+            wordsOfPhraseMappings.add(words);
+            words.forEach(word -> indicesByWord.getIfAbsentPut(word, IntLists.mutable::empty).add(index));
+            phrases.forEach(phrase -> indicesByPhrase.getIfAbsentPut(phrase, IntLists.mutable::empty).add(index));
+        }
+    }
+
+    /**
+     * Returns the phrase mappings that have to be scored against the phrase mapping at the given position of the snapshot.
+     *
+     * @param index        the position of the phrase mapping in the snapshot
+     * @param nounMappings the current noun mappings of the phrase mapping
+     * @return the candidates, ordered like the snapshot
+     */
+    ImmutableList<PhraseMapping> getCandidates(int index, ImmutableList<NounMapping> nounMappings) {
+        var selected = new BitSet(phraseMappings.size());
+        for (String word : wordsOfPhraseMappings.get(index)) {
+            indicesByWord.get(word).each(selected::set);
+        }
+        for (NounMapping nounMapping : nounMappings) {
+            for (NounMapping candidate : textState.getNounMappingCandidatesForReference(nounMapping.getReference())) {
+                // The phrases of a phrase mapping equal the phrases of its noun mappings, one shared phrase is enough to find it
+                var indices = indicesByPhrase.get(candidate.getPhrases().getFirst());
+                if (indices != null) {
+                    indices.each(selected::set);
+                }
+            }
+        }
+        MutableList<PhraseMapping> candidates = Lists.mutable.withInitialCapacity(selected.cardinality());
+        selected.stream().forEach(i -> candidates.add(phraseMappings.get(i)));
+        return candidates.toImmutable();
+    }
+
+    private static ImmutableSet<String> indexedWords(Iterable<Phrase> phrases) {
+        MutableSet<String> words = Sets.mutable.empty();
+        for (Phrase phrase : phrases) {
+            for (Word word : phrase.getContainedWords()) {
+                words.add(word.getText().toLowerCase(Locale.ROOT));
+                if (word.getLemma() != null) {
+                    words.add(word.getLemma().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return words.toImmutable();
+    }
+}
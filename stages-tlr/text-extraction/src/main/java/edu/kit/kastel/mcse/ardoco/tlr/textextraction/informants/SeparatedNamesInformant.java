@@ -1,4 +1,4 @@
-/* Licensed under MIT 2021-2024. */
+/* Licensed under MIT 2021-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.textextraction.informants;
 
 import java.util.SortedMap;
@@ -12,6 +12,7 @@
 import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.TextStateChangeBuffer;
 
 /**
  * This analyzer classifies all nodes, containing separators, as names and adds them as mappings to the current text
@@ -54,7 +55,7 @@ private void exec(TextState textState, Word word) {
      */
     private void checkForSeparatedNode(TextState textState, Word word) {
         if (word.getPosTag() != POSTag.FOREIGN_WORD && CommonUtilities.containsSeparator(word.getText())) {
-            textState.addNounMapping(word, MappingKind.NAME, this, probability);
+            TextStateChangeBuffer.addNounMapping(textState, word, MappingKind.NAME, this, probability);
         }
     }
 
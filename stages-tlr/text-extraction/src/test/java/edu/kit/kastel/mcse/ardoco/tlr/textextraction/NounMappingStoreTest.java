@@ -0,0 +1,296 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.SortedSets;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.MappingKind;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.NounMapping;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.TextImpl;
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.pipeline.CoreDocument;
+import edu.stanford.nlp.util.ArrayCoreMap;
+import edu.stanford.nlp.util.CoreMap;
+
+/**
+ * Compares the {@link NounMappingStore} with the previous list-based store (a list that is sorted by creation time after every insertion and scanned for
+ * every query) on a large synthetic document, and compares the time of both.
+ */
+class NounMappingStoreTest implements Claimant {
+    private static final Logger logger = LoggerFactory.getLogger(NounMappingStoreTest.class);
+
+    private static final int SENTENCES = 2_000;
+    private static final String[] TOKENS = { "The", "logic", "component", "calls", "the", "database", "component", "and", "the", "cache", "." };
+    private static final int OPERATIONS = 8_000;
+    private static final int SERIALIZED_SENTENCES = 20;
+
+    private static Text text;
+
+    private final CreationOrder creationOrder = new CreationOrder();
+
+    @BeforeAll
+    static void beforeAll() {
+        text = new TextImpl(createDocument(SENTENCES));
+    }
+
+    @Test
+    void equivalenceTest() {
+        var store = new NounMappingStore();
+        var reference = new ListNounMappingStore();
+        var random = new Random(42);
+
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+            applyRandomOperation(random, store, reference);
+            if (operation % 500 == 0) {
+                assertEquivalent(store, reference, random);
+            }
+        }
+        assertEquivalent(store, reference, random);
+    }
+
+    @Test
+    void duplicateTest() {
+        var store = new NounMappingStore();
+        var nounMapping = createNounMapping(0, 1, MappingKind.NAME);
+        store.add(nounMapping);
+        var sameCreationTime = new NounMappingImpl(((NounMappingImpl) nounMapping).earliestCreationTime(), nounMapping.getWords(), nounMapping
+                .getDistribution(), nounMapping.getReferenceWords(), nounMapping.getSurfaceForms(), nounMapping.getReference());
+
+        Assertions.assertAll(//
+                () -> Assertions.assertThrows(IllegalArgumentException.class, () -> store.add(nounMapping)), //
+                () -> Assertions.assertThrows(IllegalStateException.class, () -> store.add(sameCreationTime)), //
+                () -> Assertions.assertFalse(store.remove(sameCreationTime)), //
+                () -> Assertions.assertTrue(store.remove(nounMapping)), //
+                () -> Assertions.assertTrue(store.getNounMappings().isEmpty()));
+    }
+
+    @Test
+    void serializationTest() throws IOException, ClassNotFoundException {
+        var smallText = new TextImpl(createDocument(SERIALIZED_SENTENCES));
+        var store = new NounMappingStore();
+        var random = new Random(3);
+        for (int i = 0; i < 100; i++) {
+            store.add(createNounMapping(smallText, random.nextInt(smallText.words().size() - 3), 1 + random.nextInt(3), MappingKind.NAME));
+        }
+
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(store);
+        }
+        NounMappingStore copy;
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (NounMappingStore) in.readObject();
+        }
+
+        Assertions.assertEquals(describe(store.getNounMappings()), describe(copy.getNounMappings()));
+        for (NounMapping nounMapping : store.getNounMappings()) {
+            var reference = nounMapping.getReference();
+            Assertions.assertEquals(describe(store.getNounMappingsByReference(reference)), describe(copy.getNounMappingsByReference(reference)));
+            // The reference index is not serialized, but rebuilt
+            Assertions.assertEquals(describe(store.getNounMappingCandidatesForReference(reference)), describe(copy.getNounMappingCandidatesForReference(
+                    reference)));
+        }
+        // The copied and rebuilt indexes stay up to date
+        var added = createNounMapping(smallText, 0, 2, MappingKind.TYPE);
+        copy.add(added);
+        Assertions.assertTrue(copy.getNounMappingsByReference(added.getReference()).contains(added));
+        Assertions.assertTrue(copy.getNounMappingCandidatesForReference(added.getReference()).contains(added));
+    }
+
+    @Test
+    void benchmarkTest() {
+        var store = new NounMappingStore();
+        var reference = new ListNounMappingStore();
+        MutableList<NounMapping> nounMappings = Lists.mutable.empty();
+        var random = new Random(7);
+        for (int i = 0; i < OPERATIONS; i++) {
+            nounMappings.add(createRandomNounMapping(random));
+        }
+
+        long indexedTime = runBenchmark(nounMappings, store::add, store::getNounMappingsByWord, store::getNounMappings);
+        long scanTime = runBenchmark(nounMappings, reference::add, reference::getNounMappingsByWord, reference::getNounMappings);
+
+        logger.info("{} noun mappings on {} words: indexed store {} ms, list store {} ms", OPERATIONS, text.words().size(), indexedTime / 1_000_000,
+                scanTime / 1_000_000);
+        Assertions.assertEquals(reference.getNounMappings(), store.getNounMappings());
+    }
+
+    private long runBenchmark(MutableList<NounMapping> nounMappings, Consumer<NounMapping> add, Function<Word, ImmutableList<NounMapping>> byWord,
+            Supplier<ImmutableList<NounMapping>> all) {
+        long start = System.nanoTime();
+        long found = 0;
+        for (NounMapping nounMapping : nounMappings) {
+            add.accept(nounMapping);
+            found += all.get().size();
+        }
+        for (Word word : text.words()) {
+            found += byWord.apply(word).size();
+        }
+        Assertions.assertTrue(found > 0);
+        return System.nanoTime() - start;
+    }
+
+    private void applyRandomOperation(Random random, NounMappingStore store, ListNounMappingStore reference) {
+        var stored = reference.getNounMappings();
+        int choice = random.nextInt(10);
+        if (stored.size() >= 2 && choice < 2) {
+            // Merge two noun mappings like the text state strategies: remove both, then add the merged mapping with the earlier creation time
+            var first = stored.get(random.nextInt(stored.size()));
+            var second = stored.get(random.nextInt(stored.size()));
+            if (first == second) {
+                return;
+            }
+            var words = first.getWords().toSortedSet();
+            words.addAllIterable(second.getWords());
+            var merged = new NounMappingImpl(NounMappingImpl.earliestCreationTime(first, second), words.toImmutable(), first.getDistribution(), first
+                    .getReferenceWords(), first.getSurfaceForms(), first.getReference());
+            Assertions.assertEquals(reference.remove(first), store.remove(first));
+            Assertions.assertEquals(reference.remove(second), store.remove(second));
+            reference.add(merged);
+            store.add(merged);
+        } else if (!stored.isEmpty() && choice < 3) {
+            var removed = stored.get(random.nextInt(stored.size()));
+            Assertions.assertEquals(reference.remove(removed), store.remove(removed));
+        } else if (!stored.isEmpty() && choice < 4) {
+            // Change the kind of a stored noun mapping
+            var changed = stored.get(random.nextInt(stored.size()));
+            changed.addKindWithProbability(random.nextBoolean() ? MappingKind.NAME : MappingKind.TYPE, this, 1.0);
+        } else {
+            var nounMapping = createRandomNounMapping(random);
+            reference.add(nounMapping);
+            store.add(nounMapping);
+        }
+    }
+
+    private void assertEquivalent(NounMappingStore store, ListNounMappingStore reference, Random random) {
+        Assertions.assertEquals(reference.getNounMappings(), store.getNounMappings());
+        for (MappingKind kind : MappingKind.values()) {
+            Assertions.assertEquals(reference.getNounMappingsOfKind(kind), store.getNounMappingsOfKind(kind));
+        }
+        for (int i = 0; i < 200; i++) {
+            Word word = text.getWord(random.nextInt(text.words().size()));
+            Assertions.assertEquals(reference.getNounMappingsByWord(word), store.getNounMappingsByWord(word));
+            for (MappingKind kind : MappingKind.values()) {
+                Assertions.assertEquals(reference.getNounMappingsByWord(word).select(nm -> nm.getKind() == kind), store.getNounMappingsByWordAndKind(word,
+                        kind));
+                Assertions.assertEquals(reference.getNounMappingsByWord(word).anySatisfy(nm -> nm.getKind() == kind), store.isWordContainedByMappingKind(word,
+                        kind));
+            }
+        }
+        for (NounMapping nounMapping : reference.getNounMappings().take(50)) {
+            Assertions.assertTrue(store.contains(nounMapping));
+            Assertions.assertEquals(reference.getNounMappings().select(nm -> nm.getReference().equals(nounMapping.getReference())), store
+                    .getNounMappingsByReference(nounMapping.getReference()));
+        }
+    }
+
+    private NounMapping createRandomNounMapping(Random random) {
+        int position = random.nextInt(text.words().size() - 3);
+        return createNounMapping(position, 1 + random.nextInt(3), random.nextBoolean() ? MappingKind.NAME : MappingKind.TYPE);
+    }
+
+    private NounMapping createNounMapping(int position, int length, MappingKind kind) {
+        return createNounMapping(text, position, length, kind);
+    }
+
+    private NounMapping createNounMapping(Text wordsText, int position, int length, MappingKind kind) {
+        MutableList<Word> words = Lists.mutable.empty();
+        for (int i = position; i < position + length; i++) {
+            words.add(wordsText.getWord(i));
+        }
+        return new NounMappingImpl(creationOrder, SortedSets.immutable.withAll(words), kind, this, 0.5, words.toImmutable(), words.collect(Word::getText)
+                .toImmutable());
+    }
+
+    private static ImmutableList<String> describe(ImmutableList<NounMapping> nounMappings) {
+        return nounMappings.collect(nm -> ((NounMappingImpl) nm).earliestCreationTime() + ":" + nm.getReference());
+    }
+
+    /**
+     * The previous store of the text state: a list that is sorted after every insertion and scanned by every query.
+     */
+    private static final class ListNounMappingStore {
+        private final MutableList<NounMapping> nounMappings = Lists.mutable.empty();
+
+        void add(NounMapping nounMapping) {
+            nounMappings.add(nounMapping);
+            nounMappings.sortThis((n1, n2) -> Long.compare(((NounMappingImpl) n1).earliestCreationTime(), ((NounMappingImpl) n2).earliestCreationTime()));
+        }
+
+        boolean remove(NounMapping nounMapping) {
+            return nounMappings.remove(nounMapping);
+        }
+
+        ImmutableList<NounMapping> getNounMappings() {
+            return nounMappings.toImmutableList();
+        }
+
+        ImmutableList<NounMapping> getNounMappingsOfKind(MappingKind kind) {
+            return getNounMappings().select(nm -> nm.getKind() == kind);
+        }
+
+        ImmutableList<NounMapping> getNounMappingsByWord(Word word) {
+            return getNounMappings().select(nm -> nm.getWords().contains(word));
+        }
+    }
+
+    private static CoreDocument createDocument(int numberOfSentences) {
+        StringBuilder documentText = new StringBuilder();
+        List<CoreLabel> documentTokens = new ArrayList<>();
+        List<CoreMap> sentences = new ArrayList<>();
+        for (int sentenceIndex = 0; sentenceIndex < numberOfSentences; sentenceIndex++) {
+            int sentenceBegin = documentText.length();
+            List<CoreLabel> tokens = new ArrayList<>();
+            for (int i = 0; i < TOKENS.length; i++) {
+                if (i > 0) {
+                    documentText.append(' ');
+                }
+                CoreLabel token = new CoreLabel();
+                token.setWord(TOKENS[i]);
+                token.setValue(TOKENS[i]);
+                token.setTag(i == TOKENS.length - 1 ? "." : "NN");
+                token.setBeginPosition(documentText.length());
+                documentText.append(TOKENS[i]);
+                token.setEndPosition(documentText.length());
+                token.setSentIndex(sentenceIndex);
+                token.setIndex(i + 1);
+                tokens.add(token);
+            }
+            CoreMap sentence = new ArrayCoreMap();
+            sentence.set(CoreAnnotations.TextAnnotation.class, documentText.substring(sentenceBegin));
+            sentence.set(CoreAnnotations.TokensAnnotation.class, tokens);
+            sentence.set(CoreAnnotations.SentenceIndexAnnotation.class, sentenceIndex);
+            sentences.add(sentence);
+            documentTokens.addAll(tokens);
+            documentText.append(' ');
+        }
+        Annotation annotation = new Annotation(documentText.toString());
+        annotation.set(CoreAnnotations.TokensAnnotation.class, documentTokens);
+        annotation.set(CoreAnnotations.SentencesAnnotation.class, sentences);
+        return new CoreDocument(annotation);
+    }
+}
@@ -0,0 +1,214 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.MappingKind;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.NounMapping;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.PhraseMapping;
+import edu.kit.kastel.mcse.ardoco.core.common.util.Comparators;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.TextImpl;
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.pipeline.CoreDocument;
+import edu.stanford.nlp.trees.LabeledScoredTreeFactory;
+import edu.stanford.nlp.trees.Tree;
+import edu.stanford.nlp.trees.TreeCoreAnnotations;
+import edu.stanford.nlp.trees.TreeFactory;
+import edu.stanford.nlp.util.ArrayCoreMap;
+import edu.stanford.nlp.util.CoreMap;
+
+/**
+ * Applies random sequences of noun mapping additions, merges and removals and phrase mapping merges to a text state and checks after every step that the
+ * indexed lookups between noun mappings, phrases and phrase mappings match a scan of all mappings.
+ */
+class PhraseMappingStoreTest {
+    private static final int SENTENCES = 20;
+    private static final String[] TOKENS = { "The", "logic", "component", "calls", "the", "database", "component", "and", "the", "cache", "." };
+    private static final String[] TAGS = { "DT", "NN", "NN", "VBZ", "DT", "NN", "NN", "CC", "DT", "NN", "." };
+    private static final int OPERATIONS = 1_500;
+
+    private static Text text;
+
+    /**
+     * Serializable, so that the text state can be serialized together with the confidences of its noun mappings.
+     */
+    private final Claimant claimant = new SerializableClaimant();
+
+    @BeforeAll
+    static void beforeAll() {
+        text = new TextImpl(createDocument());
+    }
+
+    @ParameterizedTest(name = "seed {0}")
+    @ValueSource(longs = { 1, 2, 3, 4, 5 })
+    void randomMergeSequenceTest(long seed) {
+        var strategy = new PhraseConcerningTextStateStrategy(new DataRepository().getGlobalConfiguration());
+        var textState = new TextStateImpl(strategy);
+        var random = new Random(seed);
+
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+            applyRandomOperation(random, strategy, textState);
+            assertIndexesMatchScan(textState);
+        }
+    }
+
+    @Test
+    void serializationTest() throws IOException, ClassNotFoundException {
+        var textState = new TextStateImpl(new OriginalTextStateStrategy(new DataRepository().getGlobalConfiguration()));
+        var random = new Random(6);
+        for (int operation = 0; operation < OPERATIONS / 5; operation++) {
+            applyRandomOperation(random, (DefaultTextStateStrategy) textState.getTextStateStrategy(), textState);
+        }
+
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(textState);
+        }
+        TextStateImpl copy;
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (TextStateImpl) in.readObject();
+        }
+
+        Assertions.assertEquals(textState.getPhraseMappings().size(), copy.getPhraseMappings().size());
+        assertIndexesMatchScan(copy);
+        // The rebuilt indexes stay up to date
+        for (int operation = 0; operation < OPERATIONS / 5; operation++) {
+            applyRandomOperation(random, (DefaultTextStateStrategy) copy.getTextStateStrategy(), copy);
+            assertIndexesMatchScan(copy);
+        }
+    }
+
+    private void applyRandomOperation(Random random, DefaultTextStateStrategy strategy, TextStateImpl textState) {
+        var nounMappings = textState.getNounMappings();
+        var phraseMappings = textState.getPhraseMappings();
+        int choice = random.nextInt(10);
+        if (nounMappings.size() >= 2 && choice < 2) {
+            var first = nounMappings.get(random.nextInt(nounMappings.size()));
+            var second = nounMappings.get(random.nextInt(nounMappings.size()));
+            if (first != second) {
+                textState.mergeNounMappings(first, second, claimant);
+            }
+        } else if (!nounMappings.isEmpty() && choice < 3) {
+            textState.removeNounMapping(nounMappings.get(random.nextInt(nounMappings.size())), null);
+        } else if (phraseMappings.size() >= 2 && choice < 5) {
+            var first = phraseMappings.get(random.nextInt(phraseMappings.size()));
+            var second = phraseMappings.get(random.nextInt(phraseMappings.size()));
+            if (first != second) {
+                textState.mergePhraseMappings(first, second);
+            }
+        } else {
+            var word = text.getWord(random.nextInt(text.words().size()));
+            strategy.addOrExtendNounMapping(word, random.nextBoolean() ? MappingKind.NAME : MappingKind.TYPE, claimant, 0.5, null);
+        }
+    }
+
+    private static void assertIndexesMatchScan(TextStateImpl textState) {
+        var nounMappings = textState.getNounMappings();
+        var phraseMappings = textState.getPhraseMappings();
+        for (PhraseMapping phraseMapping : phraseMappings) {
+            var scanned = nounMappings.select(nm -> Comparators.collectionsEqualsAnyOrder(phraseMapping.getPhrases().castToCollection(), nm.getPhrases()
+                    .castToCollection()));
+            Assertions.assertEquals(scanned, textState.getNounMappingsByPhraseMapping(phraseMapping));
+        }
+        for (NounMapping nounMapping : nounMappings) {
+            Assertions.assertEquals(scanPhraseMappings(phraseMappings, nounMapping), textState.getPhraseMappingsByNounMapping(nounMapping));
+        }
+    }
+
+    private static ImmutableList<PhraseMapping> scanPhraseMappings(ImmutableList<PhraseMapping> phraseMappings, NounMapping nounMapping) {
+        MutableList<PhraseMapping> result = Lists.mutable.empty();
+        for (Phrase phrase : nounMapping.getPhrases()) {
+            result.addAll(phraseMappings.select(pm -> pm.getPhrases().contains(phrase)).castToList());
+        }
+        return result.toImmutable();
+    }
+
+    /**
+     * Creates a document where every sentence is {@code (ROOT (S (NP The logic component) (VP calls (NP (NP the database component) and (NP the cache)))
+     * .))}.
+     */
+    private static CoreDocument createDocument() {
+        TreeFactory treeFactory = new LabeledScoredTreeFactory(CoreLabel.factory());
+        StringBuilder documentText = new StringBuilder();
+        List<CoreLabel> documentTokens = new ArrayList<>();
+        List<CoreMap> sentences = new ArrayList<>();
+
+        for (int sentenceIndex = 0; sentenceIndex < SENTENCES; sentenceIndex++) {
+            int sentenceBegin = documentText.length();
+            List<CoreLabel> tokens = new ArrayList<>();
+            List<Tree> preTerminals = new ArrayList<>();
+            for (int i = 0; i < TOKENS.length; i++) {
+                if (i > 0) {
+                    documentText.append(' ');
+                }
+                CoreLabel token = new CoreLabel();
+                token.setWord(TOKENS[i]);
+                token.setValue(TOKENS[i]);
+                token.setOriginalText(TOKENS[i]);
+                token.setTag(TAGS[i]);
+                token.setLemma(TOKENS[i].toLowerCase());
+                token.setBeginPosition(documentText.length());
+                documentText.append(TOKENS[i]);
+                token.setEndPosition(documentText.length());
+                token.setSentIndex(sentenceIndex);
+                token.setIndex(i + 1);
+                tokens.add(token);
+                preTerminals.add(treeFactory.newTreeNode(TAGS[i], List.of(treeFactory.newLeaf(token))));
+            }
+            String sentenceText = documentText.substring(sentenceBegin);
+            documentText.append(' ');
+
+            Tree subject = treeFactory.newTreeNode("NP", preTerminals.subList(0, 3));
+            Tree firstObject = treeFactory.newTreeNode("NP", preTerminals.subList(4, 7));
+            Tree secondObject = treeFactory.newTreeNode("NP", preTerminals.subList(8, 10));
+            Tree object = treeFactory.newTreeNode("NP", List.of(firstObject, preTerminals.get(7), secondObject));
+            Tree verbPhrase = treeFactory.newTreeNode("VP", List.of(preTerminals.get(3), object));
+            Tree clause = treeFactory.newTreeNode("S", List.of(subject, verbPhrase, preTerminals.get(10)));
+            Tree root = treeFactory.newTreeNode("ROOT", List.of(clause));
+
+            CoreMap sentence = new ArrayCoreMap();
+            sentence.set(CoreAnnotations.TextAnnotation.class, sentenceText);
+            sentence.set(CoreAnnotations.TokensAnnotation.class, tokens);
+            sentence.set(CoreAnnotations.SentenceIndexAnnotation.class, sentenceIndex);
+            sentence.set(CoreAnnotations.CharacterOffsetBeginAnnotation.class, sentenceBegin);
+            sentence.set(CoreAnnotations.CharacterOffsetEndAnnotation.class, sentenceBegin + sentenceText.length());
+            sentence.set(TreeCoreAnnotations.TreeAnnotation.class, root);
+            sentences.add(sentence);
+            documentTokens.addAll(tokens);
+        }
+
+        Annotation annotation = new Annotation(documentText.toString());
+        annotation.set(CoreAnnotations.TokensAnnotation.class, documentTokens);
+        annotation.set(CoreAnnotations.SentencesAnnotation.class, sentences);
+        return new CoreDocument(annotation);
+    }
+
+    private static final class SerializableClaimant implements Claimant, Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,41 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.SortedMaps;
+import org.eclipse.collections.api.factory.SortedSets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.MappingKind;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+
+/**
+ * Checks that a {@link TextStateChangeBuffer} only records noun mapping additions and that every direct change of the recorded text state is rejected.
+ */
+class TextStateChangeBufferTest implements Claimant {
+
+    @Test
+    void rejectsOtherChangesWhileRecordingTest() {
+        var textState = new TextStateImpl(new OriginalTextStateStrategy(new DataRepository().getGlobalConfiguration()));
+
+        var buffer = TextStateChangeBuffer.record(textState, () -> Assertions.assertAll(//
+                () -> TextStateChangeBuffer.addNounMapping(textState, null, MappingKind.NAME, this, 1.0), //
+                () -> Assertions.assertThrows(IllegalStateException.class, () -> textState.addNounMapping(null, MappingKind.NAME, this, 1.0)), //
+                () -> Assertions.assertThrows(IllegalStateException.class, () -> textState.addNounMapping(null, MappingKind.NAME, this, 1.0, Lists.immutable
+                        .empty())), //
+                () -> Assertions.assertThrows(IllegalStateException.class, () -> textState.addNounMapping(SortedSets.immutable.empty(), SortedMaps.immutable
+                        .empty(), Lists.immutable.empty(), Lists.immutable.empty(), "reference")), //
+                () -> Assertions.assertThrows(IllegalStateException.class, () -> textState.setReferenceOfNounMapping(null, Lists.immutable.empty(),
+                        "reference")), //
+                () -> Assertions.assertThrows(IllegalStateException.class, () -> textState.mergeNounMappings(null, null, this, Lists.immutable.empty())), //
+                () -> Assertions.assertThrows(IllegalStateException.class, () -> textState.mergeNounMappings(null, null, this)), //
+                () -> Assertions.assertThrows(IllegalStateException.class, () -> textState.mergePhraseMappings(null, null)), //
+                () -> Assertions.assertThrows(IllegalStateException.class, () -> textState.removeNounMapping(null, null))));
+
+        Assertions.assertAll(//
+                () -> Assertions.assertEquals(1, buffer.size()), //
+                () -> Assertions.assertTrue(textState.getNounMappings().isEmpty()));
+    }
+}
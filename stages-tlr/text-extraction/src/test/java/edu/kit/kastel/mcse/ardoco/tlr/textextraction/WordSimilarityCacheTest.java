@@ -0,0 +1,234 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.textextraction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.SortedSets;
+import org.eclipse.collections.api.list.MutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.POSTag;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.MappingKind;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.NounMapping;
+import edu.kit.kastel.mcse.ardoco.core.common.util.SimilarityUtils;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.ComparisonContext;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.WordSimMeasure;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.measures.equality.EqualityMeasure;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.measures.levenshtein.LevenshteinMeasure;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.data.GlobalConfiguration;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+
+class WordSimilarityCacheTest implements Claimant {
+    private static final String[] WORDS = { "database", "Database", "databases", "logic", "logics", "component", "components", "cache", "server", "servers",
+            "client", "registry", "persistence", "recommender", "recommenders", "authentication", "image", "images", "provider", "web", "ui", "store",
+            "MediaStore", "FileStorage", "TeaStore", "WebUI", "DB", "API", "auth" };
+
+    private final GlobalConfiguration globalConfiguration = new DataRepository().getGlobalConfiguration();
+    private final SimilarityUtils similarityUtils = globalConfiguration.getSimilarityUtils();
+
+    @Test
+    void sameResultsWithFewerComputationsTest() {
+        var cache = new WordSimilarityCache(WordSimilarityCache.DEFAULT_MAXIMUM_SIZE);
+        var random = new Random(42);
+        int lookups = 20_000;
+        for (int i = 0; i < lookups; i++) {
+            var first = WORDS[random.nextInt(WORDS.length)];
+            var second = WORDS[random.nextInt(WORDS.length)];
+            Assertions.assertEquals(similarityUtils.areWordsSimilar(first, second), cache.areWordsSimilar(globalConfiguration, first, second),
+                    () -> first + " / " + second);
+        }
+
+        var statistics = cache.getStatistics();
+        Assertions.assertAll(//
+                () -> Assertions.assertEquals(lookups, statistics.hits() + statistics.misses()), //
+                // Only distinct (ordered) pairs are computed
+                () -> Assertions.assertTrue(statistics.misses() <= (long) WORDS.length * WORDS.length), //
+                () -> Assertions.assertEquals(statistics.misses(), statistics.size()), //
+                () -> Assertions.assertEquals(0, statistics.evictions()), //
+                () -> Assertions.assertTrue(statistics.hitRate() > 0.9, () -> "Hit rate " + statistics.hitRate()));
+    }
+
+    @Test
+    void boundedSizeTest() {
+        int maximumSize = 64;
+        var cache = new WordSimilarityCache(maximumSize);
+        for (var first : WORDS) {
+            for (var second : WORDS) {
+                Assertions.assertEquals(similarityUtils.areWordsSimilar(first, second), cache.areWordsSimilar(globalConfiguration, first, second));
+            }
+        }
+
+        var statistics = cache.getStatistics();
+        Assertions.assertAll(//
+                () -> Assertions.assertTrue(statistics.size() <= maximumSize), //
+                () -> Assertions.assertEquals(statistics.misses(), statistics.size() + statistics.evictions()));
+
+        cache.clear();
+        Assertions.assertEquals(0, cache.getStatistics().size());
+    }
+
+    @Test
+    void separatesSimilarityConfigurationsTest() {
+        var cache = new WordSimilarityCache(WordSimilarityCache.DEFAULT_MAXIMUM_SIZE);
+        var otherGlobalConfiguration = new DataRepository().getGlobalConfiguration();
+        cache.areWordsSimilar(globalConfiguration, "database", "databases");
+        cache.areWordsSimilar(otherGlobalConfiguration, "database", "databases");
+        cache.areWordsSimilar(globalConfiguration, "databases", "database");
+
+        Assertions.assertEquals(3, cache.getStatistics().misses());
+    }
+
+    @Test
+    void reconfiguredMeasuresTest() {
+        var reconfiguredGlobalConfiguration = new DataRepository().getGlobalConfiguration();
+        var cache = new WordSimilarityCache(WordSimilarityCache.DEFAULT_MAXIMUM_SIZE);
+        Assertions.assertTrue(cache.areWordsSimilar(reconfiguredGlobalConfiguration, "database", "databases"));
+
+        // The same configuration object, reconfigured in place
+        reconfiguredGlobalConfiguration.getWordSimUtils().setMeasures(List.of(new EqualityMeasure()));
+        Assertions.assertFalse(cache.areWordsSimilar(reconfiguredGlobalConfiguration, "database", "databases"));
+
+        reconfiguredGlobalConfiguration.getWordSimUtils().setMeasures(List.of(new EqualityMeasure(), new LevenshteinMeasure(2, 1, 0.9)));
+        Assertions.assertTrue(cache.areWordsSimilar(reconfiguredGlobalConfiguration, "database", "databases"));
+        Assertions.assertEquals(new WordSimilarityCache.Statistics(0, 3, 0, 1), cache.getStatistics());
+    }
+
+    @Test
+    void inPlaceChangedThresholdTest() {
+        var reconfiguredGlobalConfiguration = new DataRepository().getGlobalConfiguration();
+        var measure = new LengthDifferenceMeasure(1);
+        reconfiguredGlobalConfiguration.getWordSimUtils().setMeasures(List.of(measure));
+        var cache = new WordSimilarityCache(WordSimilarityCache.DEFAULT_MAXIMUM_SIZE);
+        Assertions.assertTrue(cache.areWordsSimilar(reconfiguredGlobalConfiguration, "database", "databases"));
+        Assertions.assertTrue(cache.areWordsSimilar(reconfiguredGlobalConfiguration, "database", "databases"));
+
+        // The same measure object, with a stricter threshold
+        measure.maximumDifference = 0;
+        Assertions.assertFalse(cache.areWordsSimilar(reconfiguredGlobalConfiguration, "database", "databases"));
+        Assertions.assertEquals(new WordSimilarityCache.Statistics(1, 2, 0, 1), cache.getStatistics());
+    }
+
+    @Test
+    void sameNounMappingResultsWithFewerComputationsTest() {
+        var creationOrder = new CreationOrder();
+        MutableList<NounMapping> nounMappings = Lists.mutable.empty();
+        int occurrences = 3;
+        for (int occurrence = 0; occurrence < occurrences; occurrence++) {
+            for (int i = 0; i < WORDS.length; i++) {
+                var word = createWord(WORDS[i], occurrence * WORDS.length + i);
+                nounMappings.add(new NounMappingImpl(creationOrder, SortedSets.immutable.with(word), MappingKind.NAME, this, 1.0, Lists.immutable.with(word),
+                        Lists.immutable.with(word.getText())));
+            }
+        }
+
+        var cache = new WordSimilarityCache(WordSimilarityCache.DEFAULT_MAXIMUM_SIZE);
+        for (var first : nounMappings) {
+            for (var second : nounMappings) {
+                Assertions.assertEquals(similarityUtils.areNounMappingsSimilar(first, second), cache.areNounMappingsSimilar(globalConfiguration, first, second),
+                        () -> first.getReference() + " / " + second.getReference());
+            }
+        }
+
+        var statistics = cache.getStatistics();
+        Assertions.assertAll(//
+                () -> Assertions.assertEquals((long) nounMappings.size() * nounMappings.size(), statistics.hits() + statistics.misses()), //
+                // Occurrences of the same word at other positions are not computed again
+                () -> Assertions.assertEquals((long) WORDS.length * WORDS.length, statistics.misses()), //
+                () -> Assertions.assertTrue(statistics.hitRate() > 0.85, () -> "Hit rate " + statistics.hitRate()));
+    }
+
+    private static Word createWord(String text, int position) {
+        Word word = Mockito.mock(Word.class);
+        Mockito.when(word.getText()).thenReturn(text);
+        Mockito.when(word.getLemma()).thenReturn(text.toLowerCase(Locale.ROOT));
+        Mockito.when(word.getPosTag()).thenReturn(POSTag.NOUN);
+        Mockito.when(word.getPosition()).thenReturn(position);
+        return word;
+    }
+
+    @Test
+    void oneCachePerPipelineRunTest() throws IOException, ClassNotFoundException {
+        var dataRepository = new DataRepository();
+        var cache = WordSimilarityCache.of(dataRepository);
+        cache.areWordsSimilar(dataRepository.getGlobalConfiguration(), "database", "databases");
+        Assertions.assertAll(//
+                () -> Assertions.assertSame(cache, WordSimilarityCache.of(dataRepository)), //
+                () -> Assertions.assertSame(cache, dataRepository.getData(WordSimilarityCache.ID, WordSimilarityCache.class).orElseThrow()), //
+                () -> Assertions.assertNotSame(cache, WordSimilarityCache.of(new DataRepository())));
+
+        // Memoized results are not serialized
+        var output = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(output)) {
+            out.writeObject(cache);
+        }
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            var copy = (WordSimilarityCache) in.readObject();
+            Assertions.assertEquals(new WordSimilarityCache.Statistics(0, 0, 0, 0), copy.getStatistics());
+            Assertions.assertTrue(copy.areWordsSimilar(globalConfiguration, "database", "databases"));
+        }
+    }
+
+    @Test
+    void concurrentLookupsTest() throws InterruptedException, ExecutionException {
+        var cache = new WordSimilarityCache(WordSimilarityCache.DEFAULT_MAXIMUM_SIZE);
+        int threads = 8;
+        int lookupsPerThread = 5_000;
+        List<Future<?>> futures = new ArrayList<>();
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                var random = new Random(t);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < lookupsPerThread; i++) {
+                        var first = WORDS[random.nextInt(WORDS.length)];
+                        var second = WORDS[random.nextInt(WORDS.length)];
+                        Assertions.assertEquals(similarityUtils.areWordsSimilar(first, second), cache.areWordsSimilar(globalConfiguration, first, second));
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        }
+
+        var statistics = cache.getStatistics();
+        Assertions.assertEquals((long) threads * lookupsPerThread, statistics.hits() + statistics.misses());
+        Assertions.assertTrue(statistics.size() <= WORDS.length * WORDS.length);
+    }
+
+    /**
+     * Considers words similar if their lengths differ by at most the maximum difference, which can be changed in place.
+     */
+    private static final class LengthDifferenceMeasure implements WordSimMeasure {
+        private int maximumDifference;
+
+        private LengthDifferenceMeasure(int maximumDifference) {
+            this.maximumDifference = maximumDifference;
+        }
+
+        @Override
+        public boolean areWordsSimilar(ComparisonContext ctx) {
+            return Math.abs(ctx.firstTerm().length() - ctx.secondTerm().length()) <= maximumDifference;
+        }
+
+        @Override
+        public double getSimilarity(ComparisonContext ctx) {
+            return areWordsSimilar(ctx) ? 1.0 : 0.0;
+        }
+    }
+}
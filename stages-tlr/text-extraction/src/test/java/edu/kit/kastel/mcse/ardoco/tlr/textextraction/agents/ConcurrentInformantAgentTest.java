@@ -0,0 +1,71 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.textextraction.agents;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.MappingKind;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.NounMapping;
+import edu.kit.kastel.mcse.ardoco.core.common.util.CommonUtilities;
+import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.execution.runner.AnonymousRunner;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractPipelineStep;
+import edu.kit.kastel.mcse.ardoco.core.tests.eval.Project;
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.TextPreprocessingAgent;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.TextExtraction;
+
+/**
+ * Checks that running the informants of the {@link InitialTextAgent} concurrently produces the same text state as running them one after another.
+ */
+class ConcurrentInformantAgentTest {
+
+    private static final String CONCURRENT_INFORMANTS = InitialTextAgent.class.getSimpleName() + "::concurrentInformants";
+
+    @DisplayName("Concurrent informants produce the sequential text state")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(Project.class)
+    void concurrentMatchesSequentialTest(Project project) {
+        var sequential = run(project, false);
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(sequential, run(project, true));
+        }
+    }
+
+    private static ImmutableList<String> run(Project project, boolean concurrentInformants) {
+        var dataRepository = new AnonymousRunner(project.getProjectName()) {
+            @Override
+            public List<AbstractPipelineStep> initializePipelineSteps(DataRepository dataRepository) throws IOException {
+                var text = CommonUtilities.readInputText(project.getTextFile());
+                DataRepositoryHelper.putInputText(dataRepository, text);
+
+                var configurations = new TreeMap<>(project.getAdditionalConfigurations());
+                configurations.put(CONCURRENT_INFORMANTS, String.valueOf(concurrentInformants));
+                return List.of(//
+                        TextPreprocessingAgent.get(project.getAdditionalConfigurations(), dataRepository), //
+                        TextExtraction.get(configurations, dataRepository));
+            }
+        }.runWithoutSaving();
+
+        return DataRepositoryHelper.getTextState(dataRepository).getNounMappings().collect(ConcurrentInformantAgentTest::describeNounMapping);
+    }
+
+    private static String describeNounMapping(NounMapping nounMapping) {
+        var probabilities = Arrays.stream(MappingKind.values()).map(kind -> kind + "=" + nounMapping.getProbabilityForKind(kind)).toList();
+        return nounMapping.getReference() + " " + nounMapping.getKind() + " " + probabilities + " " + nounMapping.getWords()
+                .collect(ConcurrentInformantAgentTest::describeWord);
+    }
+
+    private static String describeWord(Word word) {
+        return word.getSentenceNo() + ":" + word.getPosition();
+    }
+}
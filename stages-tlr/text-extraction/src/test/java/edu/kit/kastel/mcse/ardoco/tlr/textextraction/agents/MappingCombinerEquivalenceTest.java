@@ -0,0 +1,89 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.textextraction.agents;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.NounMapping;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.PhraseMapping;
+import edu.kit.kastel.mcse.ardoco.core.common.util.CommonUtilities;
+import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.execution.runner.AnonymousRunner;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractPipelineStep;
+import edu.kit.kastel.mcse.ardoco.core.tests.eval.Project;
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.TextPreprocessingAgent;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.TextExtraction;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.informants.MappingCombinerInformant;
+
+/**
+ * Checks that scoring only the candidate phrase mappings combines the same mappings as scoring all pairs.
+ */
+class MappingCombinerEquivalenceTest {
+
+    private static final String PRUNE_CANDIDATES = MappingCombinerInformant.class.getSimpleName() + "::pruneCandidates";
+
+    @DisplayName("Pruned mapping combiner matches all pairs")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(Project.class)
+    void prunedMatchesAllPairsTest(Project project) {
+        var allPairs = run(project, false);
+        var pruned = run(project, true);
+
+        Assertions.assertAll(//
+                () -> Assertions.assertEquals(allPairs.nounMappings(), pruned.nounMappings()), //
+                () -> Assertions.assertEquals(allPairs.phraseMappings(), pruned.phraseMappings()));
+    }
+
+    private static CombinedMappings run(Project project, boolean pruneCandidates) {
+        var dataRepository = new AnonymousRunner(project.getProjectName()) {
+            @Override
+            public List<AbstractPipelineStep> initializePipelineSteps(DataRepository dataRepository) throws IOException {
+                var text = CommonUtilities.readInputText(project.getTextFile());
+                DataRepositoryHelper.putInputText(dataRepository, text);
+
+                var combinerConfigurations = new TreeMap<>(project.getAdditionalConfigurations());
+                combinerConfigurations.put(PRUNE_CANDIDATES, String.valueOf(pruneCandidates));
+                var mappingCombiner = new MappingCombiner(dataRepository);
+                mappingCombiner.applyConfiguration(combinerConfigurations);
+
+                return List.of(//
+                        TextPreprocessingAgent.get(project.getAdditionalConfigurations(), dataRepository), //
+                        TextExtraction.get(project.getAdditionalConfigurations(), dataRepository), //
+                        mappingCombiner);
+            }
+        }.runWithoutSaving();
+
+        var textState = DataRepositoryHelper.getTextState(dataRepository);
+        return new CombinedMappings(textState.getNounMappings().collect(MappingCombinerEquivalenceTest::describeNounMapping), textState.getPhraseMappings()
+                .collect(MappingCombinerEquivalenceTest::describePhraseMapping));
+    }
+
+    private static String describeNounMapping(NounMapping nounMapping) {
+        return nounMapping.getReference() + " " + nounMapping.getKind() + " " + nounMapping.getWords().collect(MappingCombinerEquivalenceTest::describeWord);
+    }
+
+    private static String describePhraseMapping(PhraseMapping phraseMapping) {
+        return phraseMapping.getPhrases().collect(MappingCombinerEquivalenceTest::describePhrase).toString();
+    }
+
+    private static String describePhrase(Phrase phrase) {
+        return phrase.getSentenceNo() + ":" + phrase.getText();
+    }
+
+    private static String describeWord(Word word) {
+        return word.getSentenceNo() + ":" + word.getPosition();
+    }
+
+    private record CombinedMappings(ImmutableList<String> nounMappings, ImmutableList<String> phraseMappings) {
+    }
+}
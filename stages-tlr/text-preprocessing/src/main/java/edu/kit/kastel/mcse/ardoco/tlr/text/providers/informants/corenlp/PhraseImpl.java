@@ -1,4 +1,4 @@
-/* Licensed under MIT 2022-2024. */
+/* Licensed under MIT 2022-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp;
 
 import java.util.Comparator;
@@ -23,16 +23,33 @@
 public class PhraseImpl implements Phrase {
 
     private final Tree tree;
-    private final MutableList<Word> words;
+    private final ImmutableList<Word> words;
+    /**
+     * The direct sub-phrases, or null if the phrase was not created while indexing the phrases of its sentence.
+     */
+    private final ImmutableList<PhraseImpl> childPhrases;
 
     private final SentenceImpl parent;
 
     private String text = null;
-
+    private ImmutableList<Phrase> subPhrases = null;
+
+    /**
+     * Creates a phrase for the given subtree of the constituency tree of the sentence. Its sub-phrases are looked up among the phrases of the sentence.
+     *
+     * @param tree   the subtree
+     * @param words  the words of the phrase
+     * @param parent the sentence
+     */
     public PhraseImpl(Tree tree, ImmutableList<Word> words, SentenceImpl parent) {
+        this(tree, words, parent, null);
+    }
+
+    PhraseImpl(Tree tree, ImmutableList<Word> words, SentenceImpl parent, ImmutableList<PhraseImpl> childPhrases) {
         this.tree = tree;
-        this.words = words.toList();
+        this.words = words;
         this.parent = parent;
+        this.childPhrases = childPhrases;
     }
 
     @Override
@@ -56,20 +73,31 @@ public PhraseType getPhraseType() {
 
     @Override
     public ImmutableList<Word> getContainedWords() {
-        return words.toImmutable();
+        return words;
     }
 
+    /**
+     * Returns all phrases dominated by this phrase in pre-order, i.e., the direct sub-phrases each followed by their own sub-phrases.
+     */
     @Override
     public ImmutableList<Phrase> getSubPhrases() {
-        MutableList<Phrase> subPhrases = Lists.mutable.empty();
-        for (var subTree : tree) {
-            if (subTree.isPhrasal() && tree.dominates(subTree)) {
-                ImmutableList<Word> wordsForPhrase = Lists.immutable.withAll(parent.getWordsForPhrase(subTree));
-                PhraseImpl currPhrase = new PhraseImpl(subTree, wordsForPhrase, parent);
-                subPhrases.add(currPhrase);
+        if (subPhrases == null) {
+            if (childPhrases == null) {
+                subPhrases = parent.getPhrasesOfTree().select(phrase -> tree.dominates(phrase.tree)).collect(Phrase.class::cast);
+            } else {
+                MutableList<Phrase> dominatedPhrases = Lists.mutable.empty();
+                addSubPhrases(dominatedPhrases);
+                subPhrases = dominatedPhrases.toImmutable();
             }
         }
-        return subPhrases.toImmutable();
+        return subPhrases;
+    }
+
+    private void addSubPhrases(MutableList<Phrase> dominatedPhrases) {
+        for (PhraseImpl childPhrase : childPhrases) {
+            dominatedPhrases.add(childPhrase);
+            childPhrase.addSubPhrases(dominatedPhrases);
+        }
     }
 
     @Override
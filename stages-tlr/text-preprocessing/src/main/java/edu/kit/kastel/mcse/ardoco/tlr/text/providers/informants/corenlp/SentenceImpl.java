@@ -1,38 +1,62 @@
-/* Licensed under MIT 2022-2024. */
+/* Licensed under MIT 2022-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serial;
-import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 
 import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.map.MutableMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import edu.kit.kastel.mcse.ardoco.core.api.text.DependencyTag;
 import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
 import edu.kit.kastel.mcse.ardoco.core.api.text.Sentence;
 import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
 import edu.stanford.nlp.ling.CoreLabel;
 import edu.stanford.nlp.pipeline.CoreSentence;
 import edu.stanford.nlp.semgraph.SemanticGraph;
 import edu.stanford.nlp.trees.Tree;
+import edu.stanford.nlp.trees.TypedDependency;
 
+@Deterministic
 class SentenceImpl implements Sentence {
     private static final Logger logger = LoggerFactory.getLogger(SentenceImpl.class);
+    private static final ImmutableMap<String, DependencyTag> DEPENDENCY_TAGS = Lists.immutable.with(DependencyTag.values())
+            .groupByUniqueKey(tag -> tag.name().toLowerCase(Locale.ROOT));
 
-    private MutableList<Word> words = Lists.mutable.empty();
+    private ImmutableList<Word> words = Lists.immutable.empty();
     private MutableList<Phrase> phrases = Lists.mutable.empty();
+    /**
+     * The phrases of the constituency tree in pre-order. Unlike {@link #phrases}, they do not contain the phrases added by {@link #addPhrase(Phrase)}.
+     */
+    private ImmutableList<PhraseImpl> phrasesOfTree;
+    /**
+     * The deepest phrase enclosing each word of this sentence (by the index of the word within the sentence). Built together with the phrases of the tree.
+     */
+    private Phrase[] deepestPhrases;
 
     private TextImpl parent;
     private transient CoreSentence coreSentence;
     private SemanticGraph semanticGraph;
     private int sentenceNumber;
 
+    /**
+     * Outgoing and incoming dependencies of the words of this sentence (by their index within the sentence), grouped by dependency tag. They are built once
+     * from the dependency parse when the dependencies of a word are requested for the first time.
+     */
+    private transient ImmutableList<ImmutableMap<DependencyTag, ImmutableList<Word>>> outgoingDependencies;
+    private transient ImmutableList<ImmutableMap<DependencyTag, ImmutableList<Word>>> incomingDependencies;
+
     private final String text;
 
     public SentenceImpl(CoreSentence coreSentence, int sentenceNumber, TextImpl parent) {
@@ -50,9 +74,9 @@ public int getSentenceNumber() {
     @Override
     public ImmutableList<Word> getWords() {
         if (words.isEmpty()) {
-            this.words = Lists.mutable.ofAll(parent.words().select(w -> w.getSentenceNo() == sentenceNumber));
+            this.words = parent.getWordsOfSentence(sentenceNumber);
         }
-        return words.toImmutable();
+        return words;
     }
 
     @Override
@@ -60,52 +84,195 @@ public String getText() {
         return text;
     }
 
+    /**
+     * Returns the phrases of this sentence. As long as no phrase was added, these are the phrases of the constituency tree. Added phrases are appended;
+     * phrases that are added before the phrases are requested for the first time replace the phrases of the tree.
+     */
     @Override
-    public ImmutableList<Phrase> getPhrases() {
+    public synchronized ImmutableList<Phrase> getPhrases() {
         if (phrases.isEmpty()) {
-            MutableList<Phrase> newPhrases = Lists.mutable.empty();
-            var constituencyParse = this.coreSentence.constituencyParse();
-            for (var phrase : constituencyParse) {
-                if (phrase.isPhrasal()) {
-                    ImmutableList<Word> wordsForPhrase = Lists.immutable.withAll(getWordsForPhrase(phrase));
-                    Phrase currPhrase = new PhraseImpl(phrase, wordsForPhrase, this);
-                    newPhrases.add(currPhrase);
-                }
-            }
-            phrases = newPhrases;
+            phrases = Lists.mutable.withAll(getPhrasesOfTree());
         }
-
         return phrases.toImmutable();
     }
 
     @Override
-    public void addPhrase(Phrase phrase) {
+    public synchronized void addPhrase(Phrase phrase) {
         phrases.add(phrase);
     }
 
-    protected List<Word> getWordsForPhrase(Tree phrase) {
-        List<Word> phraseWords = Lists.mutable.empty();
-        var coreLabels = phrase.taggedLabeledYield();
-        var index = findIndexOfFirstWordInPhrase(coreLabels.get(0), this);
-        logger.debug("phrase starting position: {}", index);
-        for (int wordIndexInSentence = 0; wordIndexInSentence < coreLabels.size(); wordIndexInSentence++) {
-            var phraseWord = parent.words().get(index++);
-            phraseWords.add(phraseWord);
+    /**
+     * Returns the phrases of the constituency tree in pre-order.
+     *
+     * @return the phrases of the tree
+     */
+    ImmutableList<PhraseImpl> getPhrasesOfTree() {
+        indexPhrases();
+        return phrasesOfTree;
+    }
+
+    /**
+     * Returns the deepest phrase of the constituency tree that contains the given word of this sentence.
+     *
+     * @param word the word
+     * @return the deepest phrase containing the word
+     */
+    Phrase getDeepestPhrase(Word word) {
+        indexPhrases();
+        return deepestPhrases[getIndexInSentence(word)];
+    }
+
+    /**
+     * Creates the phrases of this sentence in a single traversal of the constituency tree. Each phrase gets its word span and its direct sub-phrases, and
+     * each word its deepest enclosing phrase.
+     */
+    private synchronized void indexPhrases() {
+        if (deepestPhrases != null) {
+            return;
         }
-        return phraseWords;
+        var constituencyParse = this.coreSentence.constituencyParse();
+        var firstPosition = parent.getPositionOfWordBeginningAt(constituencyParse.taggedLabeledYield().get(0).beginPosition());
+        logger.debug("sentence starting position: {}", firstPosition);
+
+        var indexBuilder = new PhraseIndexBuilder(firstPosition, getWords().size());
+        indexBuilder.visit(constituencyParse, -1);
+        phrasesOfTree = indexBuilder.phrases.toImmutable();
+        deepestPhrases = indexBuilder.getDeepestPhrases();
     }
 
-    private static int findIndexOfFirstWordInPhrase(CoreLabel firstWordLabel, SentenceImpl sentence) {
-        for (var word : sentence.getWords()) {
-            if (word instanceof WordImpl sentenceWord) {
-                var wordBegin = sentenceWord.getBeginCharPosition();
-                int firstWordLabelBegin = firstWordLabel.beginPosition();
-                if (wordBegin == firstWordLabelBegin) {
-                    return sentenceWord.getPosition();
+    private final class PhraseIndexBuilder {
+        private final MutableList<PhraseImpl> phrases = Lists.mutable.empty();
+        private final int[] deepestPhraseIndices;
+        private final int firstPosition;
+        private int nextLeaf = 0;
+
+        private PhraseIndexBuilder(int firstPosition, int numberOfWords) {
+            this.firstPosition = firstPosition;
+            this.deepestPhraseIndices = new int[numberOfWords];
+        }
+
+        /**
+         * Visits the given tree in pre-order and returns the outermost phrases within it, i.e., the tree itself if it is phrasal.
+         *
+         * @param tree                 the tree
+         * @param enclosingPhraseIndex the index of the deepest phrase enclosing the tree or -1
+         * @return the outermost phrases within the tree
+         */
+        private ImmutableList<PhraseImpl> visit(Tree tree, int enclosingPhraseIndex) {
+            if (tree.isLeaf()) {
+                if (nextLeaf < deepestPhraseIndices.length) {
+                    deepestPhraseIndices[nextLeaf] = enclosingPhraseIndex;
                 }
+                nextLeaf++;
+                return Lists.immutable.empty();
+            }
+
+            boolean phrasal = tree.isPhrasal();
+            int phraseIndex = enclosingPhraseIndex;
+            if (phrasal) {
+                // reserve the slot, so that the phrases stay in pre-order
+                phraseIndex = phrases.size();
+                phrases.add(null);
+            }
+            int firstLeaf = nextLeaf;
+            MutableList<PhraseImpl> subPhrases = Lists.mutable.empty();
+            for (Tree child : tree.children()) {
+                subPhrases.addAllIterable(visit(child, phraseIndex));
+            }
+            if (!phrasal) {
+                return subPhrases.toImmutable();
             }
+
+            int endLeaf = Math.min(nextLeaf, deepestPhraseIndices.length);
+            var phrase = new PhraseImpl(tree, parent.getWords(firstPosition + firstLeaf, firstPosition + endLeaf), SentenceImpl.this, subPhrases.toImmutable());
+            phrases.set(phraseIndex, phrase);
+            return Lists.immutable.with(phrase);
         }
-        return -1;
+
+        private Phrase[] getDeepestPhrases() {
+            Phrase[] deepestPhrases = new Phrase[deepestPhraseIndices.length];
+            for (int i = 0; i < deepestPhraseIndices.length; i++) {
+                deepestPhrases[i] = deepestPhraseIndices[i] < 0 ? null : phrases.get(deepestPhraseIndices[i]);
+            }
+            return deepestPhrases;
+        }
+    }
+
+    /**
+     * Returns the words the given word of this sentence has outgoing dependencies of the given type to.
+     *
+     * @param word          the source word
+     * @param dependencyTag the type of dependency
+     * @return the target words
+     */
+    ImmutableList<Word> getOutgoingDependencyWords(Word word, DependencyTag dependencyTag) {
+        indexDependencies();
+        return outgoingDependencies.get(getIndexInSentence(word)).getIfAbsentValue(dependencyTag, Lists.immutable.empty());
+    }
+
+    /**
+     * Returns the words the given word of this sentence has incoming dependencies of the given type from.
+     *
+     * @param word          the target word
+     * @param dependencyTag the type of dependency
+     * @return the source words
+     */
+    ImmutableList<Word> getIncomingDependencyWords(Word word, DependencyTag dependencyTag) {
+        indexDependencies();
+        return incomingDependencies.get(getIndexInSentence(word)).getIfAbsentValue(dependencyTag, Lists.immutable.empty());
+    }
+
+    private int getIndexInSentence(Word word) {
+        return word.getPosition() - getWords().get(0).getPosition();
+    }
+
+    private synchronized void indexDependencies() {
+        if (outgoingDependencies != null) {
+            return;
+        }
+        var sentenceWords = getWords();
+        int firstPosition = sentenceWords.isEmpty() ? 0 : sentenceWords.get(0).getPosition();
+        MutableList<MutableMap<DependencyTag, MutableList<Word>>> outgoing = Lists.mutable.empty();
+        MutableList<MutableMap<DependencyTag, MutableList<Word>>> incoming = Lists.mutable.empty();
+        for (int i = 0; i < sentenceWords.size(); i++) {
+            outgoing.add(Maps.mutable.empty());
+            incoming.add(Maps.mutable.empty());
+        }
+
+        for (TypedDependency typedDependency : dependencyParse().typedDependencies()) {
+            DependencyTag dependencyTag = DEPENDENCY_TAGS.get(typedDependency.reln().getShortName().toLowerCase(Locale.ROOT));
+            if (dependencyTag == null) {
+                continue;
+            }
+            CoreLabel source = typedDependency.gov().backingLabel();
+            CoreLabel target = typedDependency.dep().backingLabel();
+
+            int sourceIndex = getIndexInSentence(source, firstPosition, sentenceWords.size());
+            if (sourceIndex >= 0) {
+                var targetWord = parent.getWord(target.index() - source.index() + firstPosition + sourceIndex);
+                outgoing.get(sourceIndex).getIfAbsentPut(dependencyTag, Lists.mutable::empty).add(targetWord);
+            }
+            int targetIndex = getIndexInSentence(target, firstPosition, sentenceWords.size());
+            if (targetIndex >= 0) {
+                var sourceWord = parent.getWord(source.index() - target.index() + firstPosition + targetIndex);
+                incoming.get(targetIndex).getIfAbsentPut(dependencyTag, Lists.mutable::empty).add(sourceWord);
+            }
+        }
+
+        incomingDependencies = incoming.collect(SentenceImpl::toImmutableDependencies).toImmutable();
+        outgoingDependencies = outgoing.collect(SentenceImpl::toImmutableDependencies).toImmutable();
+    }
+
+    private int getIndexInSentence(CoreLabel token, int firstPosition, int numberOfWords) {
+        int position = parent.getPositionOfWordBeginningAt(token.beginPosition());
+        if (position < firstPosition || position >= firstPosition + numberOfWords) {
+            return -1;
+        }
+        return position - firstPosition;
+    }
+
+    private static ImmutableMap<DependencyTag, ImmutableList<Word>> toImmutableDependencies(MutableMap<DependencyTag, MutableList<Word>> dependencies) {
+        return dependencies.collectValues((tag, words) -> words.toImmutable()).toImmutable();
     }
 
     @Override
@@ -1,16 +1,18 @@
-/* Licensed under MIT 2022-2024. */
+/* Licensed under MIT 2022-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serial;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.io.Serializable;
+import java.util.Arrays;
 
 import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.primitive.IntIntMaps;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
 
 import edu.kit.kastel.mcse.ardoco.core.api.text.Sentence;
 import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
@@ -20,9 +22,12 @@
 public class TextImpl implements Text {
 
     private transient CoreDocument coreDocument;
-    private ImmutableList<Sentence> sentences = Lists.immutable.empty();
-    private ImmutableList<Word> words = Lists.immutable.empty();
-    private final SortedMap<Integer, Word> wordsIndex = new TreeMap<>();
+
+    /**
+     * The words and sentences with their flat indexes. The index is built once on first access and published through this volatile field, so concurrent
+     * readers either build or wait for it, but never see a partly built index.
+     */
+    private volatile Index index;
 
     public TextImpl(CoreDocument coreDocument) {
         this.coreDocument = coreDocument;
@@ -30,59 +35,93 @@ public TextImpl(CoreDocument coreDocument) {
 
     @Override
     public ImmutableList<Word> words() {
-        if (words.isEmpty()) {
-            iterateDocumentForWordsAndSentences();
-        }
-        return words;
+        return index().words();
     }
 
     @Override
-    public synchronized Word getWord(int index) {
-        if (wordsIndex.isEmpty()) {
-            words();
+    public Word getWord(int index) {
+        var wordsByPosition = index().wordsByPosition();
+        if (index < 0 || index >= wordsByPosition.length) {
+            return null;
         }
-        return wordsIndex.get(index);
+        return wordsByPosition[index];
     }
 
     @Override
     public ImmutableList<Sentence> getSentences() {
-        if (sentences.isEmpty()) {
-            iterateDocumentForWordsAndSentences();
-        }
-        return sentences;
+        return index().sentences();
+    }
+
+    /**
+     * Returns the words of the sentence with the given number.
+     *
+     * @param sentenceNumber the sentence number
+     * @return the words of the sentence in text order
+     */
+    ImmutableList<Word> getWordsOfSentence(int sentenceNumber) {
+        var sentenceOffsets = index().sentenceOffsets();
+        return getWords(sentenceOffsets[sentenceNumber], sentenceOffsets[sentenceNumber + 1]);
+    }
+
+    /**
+     * Returns the words within the given range of positions.
+     *
+     * @param beginPosition the position of the first word (inclusive)
+     * @param endPosition   the position after the last word (exclusive)
+     * @return the words in text order
+     */
+    ImmutableList<Word> getWords(int beginPosition, int endPosition) {
+        return Lists.immutable.with(Arrays.copyOfRange(index().wordsByPosition(), beginPosition, endPosition));
     }
 
-    private void iterateDocumentForWordsAndSentences() {
+    /**
+     * Returns the position of the word that begins at the given character position of the document.
+     *
+     * @param beginCharPosition the character position
+     * @return the position of the word or -1 if no word begins at the character position
+     */
+    int getPositionOfWordBeginningAt(int beginCharPosition) {
+        return index().positionsByBeginCharPosition().getIfAbsent(beginCharPosition, -1);
+    }
+
+    private Index index() {
+        var current = index;
+        return current != null ? current : iterateDocumentForWordsAndSentences();
+    }
+
+    private synchronized Index iterateDocumentForWordsAndSentences() {
+        if (index != null) {
+            return index;
+        }
         MutableList<Sentence> sentenceList = Lists.mutable.empty();
         MutableList<Word> wordList = Lists.mutable.empty();
+        MutableIntIntMap positions = IntIntMaps.mutable.empty();
 
         var coreSentences = coreDocument.sentences();
+        int[] offsets = new int[coreSentences.size() + 1];
         int wordIndex = 0;
         for (int i = 0; i < coreSentences.size(); i++) {
             var coreSentence = coreSentences.get(i);
             var sentence = new SentenceImpl(coreSentence, i, this);
             sentenceList.add(sentence);
+            offsets[i] = wordIndex;
 
             for (var token : coreSentence.tokens()) {
                 var word = new WordImpl(token, wordIndex, this);
                 wordList.add(word);
+                positions.put(token.beginPosition(), wordIndex);
                 wordIndex++;
             }
         }
+        offsets[coreSentences.size()] = wordIndex;
 
-        sentences = sentenceList.toImmutable();
-        words = wordList.toImmutable();
-        int index = 0;
-        for (Word word : words) {
-            wordsIndex.put(index, word);
-            index++;
-        }
+        index = new Index(sentenceList.toImmutable(), wordList.toImmutable(), wordList.toArray(new Word[0]), offsets, positions);
+        return index;
     }
 
     @Serial
     private void writeObject(ObjectOutputStream out) throws IOException {
-        words(); //Initialize words
-        getSentences(); //Initialize sentences
+        index(); //Initialize words and sentences
         out.defaultWriteObject();
         /* It is a lot cheaper to serialize the phrases (up to 70x less storage space and much
         faster), if the coreDocument is ever made accessible, this should be uncommented
@@ -100,4 +139,13 @@ private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundE
         coreDocument = serializer.readCoreDocument(in).first;
          */
     }
+
+    /**
+     * The words and sentences with flat indexes: the words by their position, the position of the first word of each sentence (with an additional end
+     * marker, so the words of sentence {@code i} are at {@code [sentenceOffsets[i], sentenceOffsets[i + 1])}), and the position of a word by the
+     * (document-wide) character position it begins at. None of them is changed after construction.
+     */
+    private record Index(ImmutableList<Sentence> sentences, ImmutableList<Word> words, Word[] wordsByPosition, int[] sentenceOffsets,
+            MutableIntIntMap positionsByBeginCharPosition) implements Serializable {
+    }
 }
@@ -1,8 +1,9 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.config;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
 import java.util.Properties;
 
 import org.slf4j.Logger;
@@ -23,6 +24,14 @@ public final class ConfigManager {
     private static final String PROPERTY_NLP_PROVIDER_SOURCE = "nlpProviderSource";
     private static final String PROPERTY_CORENLP_SERVICE = "corenlpService";
     private static final String PROPERTY_HEALTH_SERVICE = "healthService";
+    private static final String PROPERTY_HEALTH_STATUS_TTL = "healthStatusTtlSeconds";
+    private static final String PROPERTY_REQUEST_COMPRESSION = "requestCompression";
+    private static final String PROPERTY_MAX_CHUNK_LENGTH = "maxChunkLength";
+    private static final String PROPERTY_MAX_PARALLEL_REQUESTS = "maxParallelRequests";
+    private static final String DEFAULT_HEALTH_STATUS_TTL = "30";
+    private static final String DEFAULT_REQUEST_COMPRESSION = "false";
+    private static final String DEFAULT_MAX_CHUNK_LENGTH = "10000";
+    private static final String DEFAULT_MAX_PARALLEL_REQUESTS = "4";
 
     private ConfigManager() {
         properties = new Properties();
@@ -59,4 +68,41 @@ public String getHealthService() {
         return properties.getProperty(PROPERTY_HEALTH_SERVICE);
     }
 
+    /**
+     * Returns for how long a health status of the microservice may be reused before the microservice is asked again.
+     *
+     * @return the time to live of a health status
+     */
+    public Duration getHealthStatusTtl() {
+        return Duration.ofSeconds(Long.parseLong(properties.getProperty(PROPERTY_HEALTH_STATUS_TTL, DEFAULT_HEALTH_STATUS_TTL)));
+    }
+
+    /**
+     * Returns whether request bodies sent to the microservice should be gzip-compressed. The microservice has to support gzip-encoded requests for this.
+     *
+     * @return whether request bodies should be compressed
+     */
+    public boolean isRequestCompressionEnabled() {
+        return Boolean.parseBoolean(properties.getProperty(PROPERTY_REQUEST_COMPRESSION, DEFAULT_REQUEST_COMPRESSION));
+    }
+
+    /**
+     * Returns the maximum number of characters of a text chunk that is sent to the microservice in one request. Texts are only split at sentence boundaries,
+     * so a single long sentence can exceed this length.
+     *
+     * @return the maximum chunk length
+     */
+    public int getMaxChunkLength() {
+        return Integer.parseInt(properties.getProperty(PROPERTY_MAX_CHUNK_LENGTH, DEFAULT_MAX_CHUNK_LENGTH));
+    }
+
+    /**
+     * Returns the maximum number of chunk requests that are sent to the microservice concurrently.
+     *
+     * @return the maximum number of parallel requests
+     */
+    public int getMaxParallelRequests() {
+        return Integer.parseInt(properties.getProperty(PROPERTY_MAX_PARALLEL_REQUESTS, DEFAULT_MAX_PARALLEL_REQUESTS));
+    }
+
 }
@@ -1,55 +1,119 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 
-import org.apache.hc.client5.http.auth.AuthScope;
-import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
-import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.entity.GzipCompressingEntity;
 import org.apache.hc.client5.http.impl.classic.BasicHttpClientResponseHandler;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
 
-public class HttpCommunicator {
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.config.ConfigManager;
+
+/**
+ * Sends authenticated requests to the CoreNLP microservice. All requests of one communicator share a pooled connection manager, so connections are kept
+ * alive and reused between requests. Responses are transparently decompressed (gzip/deflate) and request bodies can optionally be sent gzip-compressed.
+ * <p>
+ * Use {@link #getSharedInstance()} to obtain the communicator that is configured via {@link ConfigManager} and the environment.
+ */
+public class HttpCommunicator implements Closeable {
 
     public static final String ENV_USERNAME = "SCNLP_SERVICE_USER";
     public static final String ENV_PASSWORD = "SCNLP_SERVICE_PASSWORD";
 
-    public String sendAuthenticatedGetRequest(String requestUrl) throws IOException {
-        String username = System.getenv(ENV_USERNAME);
-        String password = System.getenv(ENV_PASSWORD);
-        if (username == null || password == null) {
-            throw new IOException("Environment variables " + ENV_USERNAME + " and " + ENV_PASSWORD + " must be set.");
-        }
+    private static final int MAX_CONNECTIONS = 16;
+    private static final TimeValue KEEP_ALIVE = TimeValue.ofMinutes(1);
+    private static final TimeValue MAX_IDLE_TIME = TimeValue.ofSeconds(30);
+
+    private final String username;
+    private final String password;
+    private final boolean compressRequests;
+    private final CloseableHttpClient httpClient;
 
+    /**
+     * Creates a new communicator with its own connection pool.
+     *
+     * @param username         the user for the basic authentication, nullable
+     * @param password         the password for the basic authentication, nullable
+     * @param compressRequests whether request bodies should be sent gzip-compressed
+     */
+    public HttpCommunicator(String username, String password, boolean compressRequests) {
+        this.username = username;
+        this.password = password;
+        this.compressRequests = compressRequests;
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(MAX_CONNECTIONS)
+                .setMaxConnPerRoute(MAX_CONNECTIONS)
+                .build();
+        // Content compression (Accept-Encoding + transparent decompression of responses) is enabled by default
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom().setConnectionKeepAlive(KEEP_ALIVE).build())
+                .evictIdleConnections(MAX_IDLE_TIME)
+                .build();
+    }
+
+    /**
+     * Returns the communicator that is shared by all text processors. It uses the credentials of the environment variables {@value #ENV_USERNAME} and
+     * {@value #ENV_PASSWORD}.
+     *
+     * @return the shared communicator
+     */
+    public static HttpCommunicator getSharedInstance() {
+        return SharedInstanceHolder.INSTANCE;
+    }
+
+    public String sendAuthenticatedGetRequest(String requestUrl) throws IOException {
         HttpGet request = new HttpGet(requestUrl);
-        BasicCredentialsProvider provider = new BasicCredentialsProvider();
-        provider.setCredentials(new AuthScope(null, -1), new UsernamePasswordCredentials(username, password.toCharArray()));
-        try (CloseableHttpClient httpClient = HttpClients.custom().setDefaultCredentialsProvider(provider).build()) {
-            return httpClient.execute(request, new BasicHttpClientResponseHandler());
-        }
+        return execute(request);
     }
 
     public String sendAuthenticatedPostRequest(String requestUrl, String body) throws IOException {
-        String username = System.getenv(ENV_USERNAME);
-        String password = System.getenv(ENV_PASSWORD);
+        HttpPost request = new HttpPost(requestUrl);
+        HttpEntity requestEntity = new StringEntity(body, ContentType.APPLICATION_JSON, StandardCharsets.UTF_8.toString(), false);
+        if (compressRequests) {
+            requestEntity = new GzipCompressingEntity(requestEntity);
+        }
+        request.setEntity(requestEntity);
+        return execute(request);
+    }
+
+    private String execute(HttpUriRequestBase request) throws IOException {
         if (username == null || password == null) {
             throw new IOException("Environment variables " + ENV_USERNAME + " and " + ENV_PASSWORD + " must be set.");
         }
+        // Authenticate preemptively to save the additional round trip of the authentication challenge
+        String credentials = Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        request.setHeader(HttpHeaders.AUTHORIZATION, "Basic " + credentials);
+        return httpClient.execute(request, new BasicHttpClientResponseHandler());
+    }
 
-        HttpPost request = new HttpPost(requestUrl);
-        StringEntity requestEntity = new StringEntity(body, ContentType.APPLICATION_JSON, StandardCharsets.UTF_8.toString(), false);
-        request.setEntity(requestEntity);
+    @Override
+    public void close() {
+        // Also shuts down the connection pool
+        httpClient.close(CloseMode.GRACEFUL);
+    }
+
+    private static final class SharedInstanceHolder {
+        private static final HttpCommunicator INSTANCE = new HttpCommunicator(System.getenv(ENV_USERNAME), System.getenv(ENV_PASSWORD),
+                ConfigManager.INSTANCE.isRequestCompressionEnabled());
 
-        BasicCredentialsProvider provider = new BasicCredentialsProvider();
-        provider.setCredentials(new AuthScope(null, -1), new UsernamePasswordCredentials(username, password.toCharArray()));
-        try (CloseableHttpClient httpClient = HttpClients.custom().setDefaultCredentialsProvider(provider).build()) {
-            return httpClient.execute(request, new BasicHttpClientResponseHandler());
+        private SharedInstanceHolder() {
         }
     }
 }
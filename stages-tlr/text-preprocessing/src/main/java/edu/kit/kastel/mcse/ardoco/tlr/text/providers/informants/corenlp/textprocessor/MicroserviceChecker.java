@@ -1,15 +1,21 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
 
 import java.io.IOException;
+import java.time.Duration;
 
 import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.config.ConfigManager;
 
 /**
- * This utility class provides methods to check whether the microservice is available.
+ * This utility class provides methods to check whether the microservice is available. The health status is cached for the time to live configured in the
+ * {@link ConfigManager}, so that consecutive text processing calls do not issue a health request each.
  */
 public final class MicroserviceChecker {
 
+    private static final String HEALTHY_RESPONSE = "Microservice is healthy";
+
+    private static HealthStatus cachedHealthStatus = null;
+
     private MicroserviceChecker() {
     }
 
@@ -18,14 +24,44 @@ private MicroserviceChecker() {
      *
      * @return whether the microservice is available
      */
-    public static boolean isMicroserviceAvailable() throws IOException {
+    public static boolean isMicroserviceAvailable() {
         String requestUrl = ConfigManager.INSTANCE.getMicroserviceUrl() + ConfigManager.INSTANCE.getHealthService();
+        return isMicroserviceAvailable(HttpCommunicator.getSharedInstance(), requestUrl, ConfigManager.INSTANCE.getHealthStatusTtl());
+    }
+
+    /**
+     * Checks if the microservice behind the given health url is available. A cached status for the same url is reused if it is younger than the given time
+     * to live.
+     *
+     * @param httpCommunicator the communicator used for the health request
+     * @param healthUrl        the url of the health service
+     * @param timeToLive       the maximum age of a reusable health status
+     * @return whether the microservice is available
+     */
+    static synchronized boolean isMicroserviceAvailable(HttpCommunicator httpCommunicator, String healthUrl, Duration timeToLive) {
+        long now = System.nanoTime();
+        if (cachedHealthStatus != null && cachedHealthStatus.healthUrl().equals(healthUrl) && now - cachedHealthStatus.checkedAt() < timeToLive.toNanos()) {
+            return cachedHealthStatus.available();
+        }
+
+        boolean available;
         try {
-            String response = new HttpCommunicator().sendAuthenticatedGetRequest(requestUrl);
-            return response.equals("Microservice is healthy");
+            String response = httpCommunicator.sendAuthenticatedGetRequest(healthUrl);
+            available = response.equals(HEALTHY_RESPONSE);
         } catch (IOException e) {
-            return false;
+            available = false;
         }
+        cachedHealthStatus = new HealthStatus(healthUrl, available, now);
+        return available;
     }
 
+    /**
+     * Discards the cached health status, e.g., after a request to the microservice failed.
+     */
+    public static synchronized void invalidateHealthStatus() {
+        cachedHealthStatus = null;
+    }
+
+    private record HealthStatus(String healthUrl, boolean available, long checkedAt) {
+    }
 }
@@ -0,0 +1,51 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * This utility class splits texts into chunks at sentence boundaries, so that the chunks can be annotated independently.
+ */
+public final class TextChunker {
+
+    private TextChunker() {
+    }
+
+    /**
+     * Splits the given text into consecutive chunks. Chunks only end at sentence boundaries and are at most the given length, unless a single sentence is
+     * longer. Concatenating the chunks results in the given text.
+     *
+     * @param text           the text
+     * @param maxChunkLength the maximum length of a chunk
+     * @return the chunks in text order
+     */
+    public static List<String> split(String text, int maxChunkLength) {
+        if (maxChunkLength <= 0) {
+            throw new IllegalArgumentException("The maximum chunk length has to be positive");
+        }
+        List<String> chunks = new ArrayList<>();
+        if (text.length() <= maxChunkLength) {
+            chunks.add(text);
+            return chunks;
+        }
+
+        BreakIterator sentenceIterator = BreakIterator.getSentenceInstance(Locale.ENGLISH);
+        sentenceIterator.setText(text);
+        int chunkStart = 0;
+        int lastBoundary = 0;
+        for (int boundary = sentenceIterator.next(); boundary != BreakIterator.DONE; boundary = sentenceIterator.next()) {
+            if (boundary - chunkStart > maxChunkLength && lastBoundary > chunkStart) {
+                chunks.add(text.substring(chunkStart, lastBoundary));
+                chunkStart = lastBoundary;
+            }
+            lastBoundary = boundary;
+        }
+        if (chunkStart < text.length()) {
+            chunks.add(text.substring(chunkStart));
+        }
+        return chunks;
+    }
+}
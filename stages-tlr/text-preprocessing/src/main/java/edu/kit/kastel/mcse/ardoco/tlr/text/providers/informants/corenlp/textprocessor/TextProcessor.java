@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
 
 import java.io.IOException;
@@ -16,7 +16,6 @@
  */
 public class TextProcessor {
 
-    private static final int MAX_FAILED_SERVICE_REQUESTS = 2;
     Logger logger = LoggerFactory.getLogger(TextProcessor.class);
 
     /**
@@ -26,28 +25,18 @@ public class TextProcessor {
      * @return the annotated text
      */
     public Text processText(String inputText) {
-        boolean microserviceAvailable;
-        try {
-            microserviceAvailable = MicroserviceChecker.isMicroserviceAvailable();
-        } catch (IOException e) {
-            microserviceAvailable = false;
-            logger.warn("Could not check if CoreNLP microservice is available. ", e);
-        }
-        if (ConfigManager.INSTANCE.getNlpProviderSource().equals("microservice") && microserviceAvailable) {
-            int numberOfTry = 0;
-            while (numberOfTry < MAX_FAILED_SERVICE_REQUESTS) {
-                try {
-                    logger.info("Processing text with CoreNLP microservice.");
-                    return processService(inputText);
-                } catch (IOException e) {
-                    numberOfTry++;
-                    logger.warn("Could not process text with CoreNLP microservice. Trying again. ", e);
-                } catch (NotConvertableException | InvalidJsonException e) {
-                    logger.warn("Could not process text with CoreNLP microservice. Text not convertable. ", e);
-                    return processLocally(inputText);
-                }
+        if (ConfigManager.INSTANCE.getNlpProviderSource().equals("microservice") && MicroserviceChecker.isMicroserviceAvailable()) {
+            try {
+                logger.info("Processing text with CoreNLP microservice.");
+                return processService(inputText);
+            } catch (IOException e) {
+                // Failed chunks are already retried by the service, so do not repeat the whole text
+                MicroserviceChecker.invalidateHealthStatus();
+                logger.warn("Could not process text with CoreNLP microservice. Processing locally instead. ", e);
+            } catch (NotConvertableException | InvalidJsonException e) {
+                logger.warn("Could not process text with CoreNLP microservice. Text not convertable. ", e);
+                return processLocally(inputText);
             }
-            logger.warn("Could not process text with CoreNLP microservice. Processing locally instead.");
         }
         logger.info("Processing text locally.");
         return processLocally(inputText);
@@ -58,7 +47,7 @@ private Text processLocally(String inputText) {
     }
 
     private Text processService(String inputText) throws IOException, NotConvertableException, InvalidJsonException {
-        return new TextProcessorService().processText(inputText);
+        return TextProcessorService.getSharedInstance().processText(inputText);
     }
 
 }
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
 
 import java.util.Properties;
@@ -9,7 +9,9 @@
 import edu.stanford.nlp.pipeline.StanfordCoreNLP;
 
 /**
- * This text processor processes texts locally using CoreNLP.
+ * This text processor processes texts locally using CoreNLP. Loading the models of the CoreNLP pipeline takes several seconds, so all text processors of a
+ * JVM share one pipeline (see {@link #getSharedPipeline()}) that is created on first use. The pipeline is thread-safe, so runs of several projects in one JVM
+ * can annotate their texts concurrently.
  */
 public class TextProcessorLocal {
     private static final String ANNOTATORS = "tokenize,ssplit,pos,parse,depparse,lemma"; // further: ",ner,coref"
@@ -22,13 +24,20 @@ public class TextProcessorLocal {
      * @return the annotated text
      */
     public Text processText(String inputText) {
-        Properties props = getStanfordProperties(new Properties());
-        StanfordCoreNLP pipeline = new StanfordCoreNLP(props);
         CoreDocument document = new CoreDocument(inputText);
-        pipeline.annotate(document);
+        getSharedPipeline().annotate(document);
         return new TextImpl(document);
     }
 
+    /**
+     * Returns the CoreNLP pipeline that is shared by all text processors. The models are loaded on the first call.
+     *
+     * @return the shared pipeline
+     */
+    public static StanfordCoreNLP getSharedPipeline() {
+        return SharedPipelineHolder.PIPELINE;
+    }
+
     private static Properties getStanfordProperties(Properties properties) {
         if (properties == null) {
             throw new IllegalArgumentException("Properties are null");
@@ -42,4 +51,8 @@ private static Properties getStanfordProperties(Properties properties) {
 
         return allStanfordProperties;
     }
+
+    private static final class SharedPipelineHolder {
+        private static final StanfordCoreNLP PIPELINE = new StanfordCoreNLP(getStanfordProperties(new Properties()));
+    }
 }
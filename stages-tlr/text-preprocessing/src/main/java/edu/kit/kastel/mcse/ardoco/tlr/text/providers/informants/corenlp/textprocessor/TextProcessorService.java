@@ -1,22 +1,94 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2026. */
 package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
-import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.config.ConfigManager;
 import edu.kit.kastel.mcse.ardoco.core.textproviderjson.converter.DtoToObjectConverter;
 import edu.kit.kastel.mcse.ardoco.core.textproviderjson.converter.JsonConverter;
 import edu.kit.kastel.mcse.ardoco.core.textproviderjson.dto.TextDto;
 import edu.kit.kastel.mcse.ardoco.core.textproviderjson.error.InvalidJsonException;
 import edu.kit.kastel.mcse.ardoco.core.textproviderjson.error.NotConvertableException;
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.config.ConfigManager;
 
 /**
  * This text processor processes texts by sending requests to a microservice, which provides text processing using CoreNLP.
+ * <p>
+ * Large texts are split at sentence boundaries into chunks (see {@link TextChunker}) that are annotated by concurrent requests. Each chunk is retried on
+ * its own if its request fails. The annotated chunks are reassembled into one annotated text by renumbering their sentences and words. The requests of all
+ * texts that a service processes are sent by one executor with at most the configured number of threads, so concurrent callers share the bound.
+ * <p>
+ * Use {@link #getSharedInstance()} to obtain the service that is configured via {@link ConfigManager}.
  */
-public class TextProcessorService {
+public class TextProcessorService implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TextProcessorService.class);
+
+    private static final int MAX_ATTEMPTS_PER_CHUNK = 2;
+    private static final String SENTENCES = "sentences";
+    private static final String WORDS = "words";
+    private static final String SENTENCE_NUMBER = "sentenceNo";
+    private static final String WORD_ID = "id";
+    private static final String REFERENCED_WORD_ID_SUFFIX = "WordId";
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 30;
+
+    private final String requestUrl;
+    private final HttpCommunicator httpCommunicator;
+    private final int maxChunkLength;
+    private final int maxAttemptsPerChunk;
+    private final ThreadPoolExecutor executor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Creates a text processor that uses the microservice configured in the {@link ConfigManager}. Prefer {@link #getSharedInstance()}, which does not
+     * need to be closed.
+     */
+    public TextProcessorService() {
+        this(ConfigManager.INSTANCE.getMicroserviceUrl() + ConfigManager.INSTANCE.getCorenlpService(), HttpCommunicator.getSharedInstance(),
+                ConfigManager.INSTANCE.getMaxChunkLength(), ConfigManager.INSTANCE.getMaxParallelRequests(), MAX_ATTEMPTS_PER_CHUNK);
+    }
+
+    TextProcessorService(String requestUrl, HttpCommunicator httpCommunicator, int maxChunkLength, int maxParallelRequests, int maxAttemptsPerChunk) {
+        this.requestUrl = requestUrl;
+        this.httpCommunicator = httpCommunicator;
+        this.maxChunkLength = maxChunkLength;
+        this.maxAttemptsPerChunk = maxAttemptsPerChunk;
+        int threads = Math.max(1, maxParallelRequests);
+        this.executor = new ThreadPoolExecutor(threads, threads, IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new RequestThreadFactory());
+        // Idle threads are released, so an unused service does not keep threads alive
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the service that is shared by all text processors. It uses the shared {@link HttpCommunicator}.
+     *
+     * @return the shared service
+     */
+    public static TextProcessorService getSharedInstance() {
+        return SharedInstanceHolder.INSTANCE;
+    }
 
     /**
      * processes and annotates a given text by sending requests to a microservice
@@ -26,29 +98,156 @@ public class TextProcessorService {
      */
     public Text processText(String inputText) throws IOException, InvalidJsonException, NotConvertableException {
         TextDto textDto;
-        String jsonText = sendCoreNlpRequest(inputText);
+        String jsonText = annotate(inputText);
         textDto = JsonConverter.fromJsonString(jsonText);
         return new DtoToObjectConverter().convertText(textDto);
     }
 
+    /**
+     * Annotates the given text chunk-wise and returns the reassembled JSON representation of the annotated text.
+     *
+     * @param inputText the input text
+     * @return the JSON of the annotated text
+     * @throws IOException if a chunk could not be annotated
+     */
+    String annotate(String inputText) throws IOException {
+        List<String> chunks = TextChunker.split(inputText, maxChunkLength);
+        if (chunks.size() == 1) {
+            return sendCoreNlpRequest(chunks.get(0));
+        }
+
+        logger.info("Processing text in {} chunks with CoreNLP microservice.", chunks.size());
+        List<String> annotatedChunks = annotateConcurrently(chunks);
+        return mergeAnnotatedChunks(annotatedChunks);
+    }
+
+    private List<String> annotateConcurrently(List<String> chunks) throws IOException {
+        List<Future<String>> futures = new ArrayList<>();
+        try {
+            for (String chunk : chunks) {
+                futures.add(executor.submit(() -> sendCoreNlpRequest(chunk)));
+            }
+            List<String> annotatedChunks = new ArrayList<>();
+            for (Future<String> future : futures) {
+                annotatedChunks.add(future.get());
+            }
+            return annotatedChunks;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the CoreNLP microservice", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Could not process chunk with CoreNLP microservice", e.getCause());
+        } finally {
+            // Only cancels the remaining requests of this text if another chunk failed
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
     private String sendCoreNlpRequest(String inputText) throws IOException {
-        String encodedText = encodeText(inputText);
-        ConfigManager configManager = ConfigManager.INSTANCE;
-        String requestUrl = configManager.getMicroserviceUrl() + configManager.getCorenlpService();
-        return sendAuthenticatedPostRequest(requestUrl, encodedText);
+        String body = getRequestBodyString(encodeText(inputText));
+        int attempt = 1;
+        while (true) {
+            try {
+                return httpCommunicator.sendAuthenticatedPostRequest(requestUrl, body);
+            } catch (IOException e) {
+                if (attempt >= maxAttemptsPerChunk) {
+                    throw e;
+                }
+                logger.warn("Could not process chunk with CoreNLP microservice (attempt {} of {}). Trying again. ", attempt, maxAttemptsPerChunk, e);
+                attempt++;
+            }
+        }
     }
 
-    private static String encodeText(String inputText) {
-        return URLEncoder.encode(inputText, StandardCharsets.UTF_8);
+    /**
+     * Concatenates the sentences of the annotated chunks. Sentence numbers and word ids (including the word ids that dependencies refer to) of each chunk
+     * are shifted by the number of sentences and words of the preceding chunks.
+     */
+    private String mergeAnnotatedChunks(List<String> annotatedChunks) throws IOException {
+        ObjectNode mergedText = null;
+        ArrayNode mergedSentences = objectMapper.createArrayNode();
+        long sentenceOffset = 0;
+        long wordOffset = 0;
+        for (String annotatedChunk : annotatedChunks) {
+            JsonNode chunkText = objectMapper.readTree(annotatedChunk);
+            if (!(chunkText instanceof ObjectNode chunkObject) || !chunkText.path(SENTENCES).isArray()) {
+                throw new IOException("Unexpected response of the CoreNLP microservice");
+            }
+            if (mergedText == null) {
+                mergedText = chunkObject;
+            }
+            long wordsOfChunk = 0;
+            for (JsonNode sentence : chunkText.get(SENTENCES)) {
+                shiftNumbers(sentence, sentenceOffset, wordOffset);
+                mergedSentences.add(sentence);
+                wordsOfChunk += sentence.path(WORDS).size();
+            }
+            sentenceOffset += chunkText.get(SENTENCES).size();
+            wordOffset += wordsOfChunk;
+        }
+        if (mergedText == null) {
+            throw new IOException("No chunks to merge");
+        }
+        mergedText.set(SENTENCES, mergedSentences);
+        return objectMapper.writeValueAsString(mergedText);
+    }
+
+    private static void shiftNumbers(JsonNode node, long sentenceOffset, long wordOffset) {
+        if (node instanceof ObjectNode objectNode) {
+            Iterator<String> names = objectNode.fieldNames();
+            while (names.hasNext()) {
+                String name = names.next();
+                JsonNode value = objectNode.get(name);
+                if (value.isIntegralNumber() && name.equals(SENTENCE_NUMBER)) {
+                    objectNode.put(name, value.asLong() + sentenceOffset);
+                } else if (value.isIntegralNumber() && (name.equals(WORD_ID) || name.endsWith(REFERENCED_WORD_ID_SUFFIX))) {
+                    objectNode.put(name, value.asLong() + wordOffset);
+                } else {
+                    shiftNumbers(value, sentenceOffset, wordOffset);
+                }
+            }
+        } else if (node instanceof ArrayNode arrayNode) {
+            arrayNode.forEach(element -> shiftNumbers(element, sentenceOffset, wordOffset));
+        }
     }
 
-    private String sendAuthenticatedPostRequest(String requestUrl, String encodedText) throws IOException {
-        HttpCommunicator httpCommunicator = new HttpCommunicator();
-        String body = getRequestBodyString(encodedText);
-        return httpCommunicator.sendAuthenticatedPostRequest(requestUrl, body);
+    private static String encodeText(String inputText) {
+        return URLEncoder.encode(inputText, StandardCharsets.UTF_8);
     }
 
     private static String getRequestBodyString(String encodedText) {
         return "{\"text\": \"" + encodedText + "\"}";
     }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Creates daemon threads, so that the threads of the shared service do not keep the JVM alive.
+     */
+    private static final class RequestThreadFactory implements ThreadFactory {
+        private static final AtomicInteger SERVICES = new AtomicInteger();
+
+        private final int service = SERVICES.incrementAndGet();
+        private final AtomicInteger threads = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "corenlp-service-" + service + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    private static final class SharedInstanceHolder {
+        private static final TextProcessorService INSTANCE = new TextProcessorService();
+
+        private SharedInstanceHolder() {
+        }
+    }
 }
@@ -0,0 +1,72 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp;
+
+import static edu.kit.kastel.mcse.ardoco.core.common.util.CommonUtilities.readInputText;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Sentence;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+
+/**
+ * Checks the phrase structure that is built in one traversal of the constituency trees against the dominance relation of the trees.
+ */
+class PhraseIndexTest {
+    private static final String INPUT_TEXT = "src/test/resources/teastore.txt";
+
+    private static Text text;
+
+    @BeforeAll
+    static void beforeAll() throws FileNotFoundException {
+        DataRepository dataRepository = new DataRepository();
+        DataRepositoryHelper.putInputText(dataRepository, readInputText(new FileInputStream(INPUT_TEXT)));
+        text = new CoreNLPProvider(dataRepository).getAnnotatedText();
+    }
+
+    @Test
+    void deepestPhraseTest() {
+        for (Word word : text.words()) {
+            Phrase phrase = word.getPhrase();
+            Assertions.assertAll(//
+                    () -> Assertions.assertTrue(phrase.getContainedWords().contains(word)), //
+                    () -> Assertions.assertTrue(phrase.getSubPhrases().noneSatisfy(subPhrase -> subPhrase.getContainedWords().contains(word))), //
+                    () -> Assertions.assertTrue(word.getSentence().getPhrases().contains(phrase)));
+        }
+    }
+
+    @Test
+    void subPhrasesTest() {
+        for (Sentence sentence : text.getSentences()) {
+            var phrases = sentence.getPhrases();
+            for (Phrase phrase : phrases) {
+                var subPhrases = phrase.getSubPhrases();
+                Assertions.assertEquals(phrases.select(phrase::isSuperPhraseOf), subPhrases);
+                for (Phrase subPhrase : subPhrases) {
+                    Assertions.assertTrue(phrase.getContainedWords().containsAllIterable(subPhrase.getContainedWords()));
+                }
+            }
+        }
+    }
+
+    @Test
+    void containedWordsTest() {
+        for (Sentence sentence : text.getSentences()) {
+            for (Phrase phrase : sentence.getPhrases()) {
+                var words = phrase.getContainedWords();
+                Assertions.assertAll(//
+                        () -> Assertions.assertTrue(words.allSatisfy(word -> word.getSentenceNo() == sentence.getSentenceNumber())), //
+                        () -> Assertions.assertEquals(words.getLast().getPosition() - words.getFirst().getPosition() + 1, words.size()), //
+                        () -> Assertions.assertTrue(phrase.getText().startsWith(words.getFirst().getText())));
+            }
+        }
+    }
+}
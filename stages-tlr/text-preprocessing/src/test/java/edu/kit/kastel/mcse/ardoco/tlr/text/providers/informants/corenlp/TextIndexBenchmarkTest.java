@@ -0,0 +1,162 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Sentence;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.pipeline.CoreDocument;
+import edu.stanford.nlp.trees.LabeledScoredTreeFactory;
+import edu.stanford.nlp.trees.Tree;
+import edu.stanford.nlp.trees.TreeCoreAnnotations;
+import edu.stanford.nlp.trees.TreeFactory;
+import edu.stanford.nlp.util.ArrayCoreMap;
+import edu.stanford.nlp.util.CoreMap;
+
+/**
+ * Benchmarks the word, sentence, and phrase accessors of the CoreNLP text model on a synthetic document with 10k sentences. The document is annotated by
+ * hand (tokens, sentences, and constituency trees), so no CoreNLP models have to be loaded.
+ */
+class TextIndexBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(TextIndexBenchmarkTest.class);
+
+    private static final int SENTENCES = 10_000;
+    private static final String[] TOKENS = { "The", "text", "processor", "sends", "the", "text", "to", "the", "microservice", "." };
+    private static final String[] TAGS = { "DT", "NN", "NN", "VBZ", "DT", "NN", "TO", "DT", "NN", "." };
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private static CoreDocument coreDocument;
+
+    @BeforeAll
+    static void beforeAll() {
+        coreDocument = createDocument();
+    }
+
+    @Test
+    void wordsOfSentencesTest() {
+        TextImpl text = new TextImpl(coreDocument);
+        Assertions.assertTimeoutPreemptively(TIMEOUT, () -> {
+            long start = System.nanoTime();
+            for (Sentence sentence : text.getSentences()) {
+                var words = sentence.getWords();
+                Assertions.assertEquals(TOKENS.length, words.size());
+                Assertions.assertEquals(sentence.getSentenceNumber() * TOKENS.length, words.get(0).getPosition());
+                Assertions.assertTrue(words.allSatisfy(word -> word.getSentenceNo() == sentence.getSentenceNumber()));
+            }
+            logger.info("Words of {} sentences: {} ms", SENTENCES, (System.nanoTime() - start) / 1_000_000);
+        });
+    }
+
+    @Test
+    void wordsByPositionTest() {
+        TextImpl text = new TextImpl(coreDocument);
+        Assertions.assertTimeoutPreemptively(TIMEOUT, () -> {
+            long start = System.nanoTime();
+            for (int position = 0; position < SENTENCES * TOKENS.length; position++) {
+                Word word = text.getWord(position);
+                Assertions.assertEquals(position, word.getPosition());
+                Assertions.assertEquals(TOKENS[position % TOKENS.length], word.getText());
+            }
+            logger.info("Words by position: {} ms", (System.nanoTime() - start) / 1_000_000);
+        });
+        Assertions.assertAll(//
+                () -> Assertions.assertNull(text.getWord(-1)), //
+                () -> Assertions.assertNull(text.getWord(SENTENCES * TOKENS.length)));
+    }
+
+    @Test
+    void wordsOfPhrasesTest() {
+        TextImpl text = new TextImpl(coreDocument);
+        Assertions.assertTimeoutPreemptively(TIMEOUT, () -> {
+            long start = System.nanoTime();
+            for (Sentence sentence : text.getSentences()) {
+                var phrases = sentence.getPhrases();
+                // ROOT, S, NP, VP, NP, PP, NP
+                Assertions.assertEquals(7, phrases.size());
+                int firstPosition = sentence.getSentenceNumber() * TOKENS.length;
+                for (Phrase phrase : phrases) {
+                    var words = phrase.getContainedWords();
+                    Assertions.assertTrue(words.get(0).getPosition() >= firstPosition);
+                    for (int i = 1; i < words.size(); i++) {
+                        Assertions.assertEquals(words.get(i - 1).getPosition() + 1, words.get(i).getPosition());
+                    }
+                }
+                Assertions.assertEquals(TOKENS.length, phrases.get(0).getContainedWords().size());
+                Assertions.assertEquals(firstPosition + 4, phrases.get(4).getContainedWords().get(0).getPosition());
+                Assertions.assertEquals(2, phrases.get(4).getContainedWords().size());
+            }
+            logger.info("Phrases of {} sentences: {} ms", SENTENCES, (System.nanoTime() - start) / 1_000_000);
+        });
+    }
+
+    /**
+     * Creates a document where every sentence is {@code (ROOT (S (NP The text processor) (VP sends (NP the text) (PP to (NP the microservice))) .))}.
+     */
+    private static CoreDocument createDocument() {
+        TreeFactory treeFactory = new LabeledScoredTreeFactory(CoreLabel.factory());
+        StringBuilder documentText = new StringBuilder();
+        List<CoreLabel> documentTokens = new ArrayList<>();
+        List<CoreMap> sentences = new ArrayList<>();
+
+        for (int sentenceIndex = 0; sentenceIndex < SENTENCES; sentenceIndex++) {
+            int sentenceBegin = documentText.length();
+            List<CoreLabel> tokens = new ArrayList<>();
+            List<Tree> preTerminals = new ArrayList<>();
+            for (int i = 0; i < TOKENS.length; i++) {
+                if (i > 0) {
+                    documentText.append(' ');
+                }
+                CoreLabel token = new CoreLabel();
+                token.setWord(TOKENS[i]);
+                token.setValue(TOKENS[i]);
+                token.setOriginalText(TOKENS[i]);
+                token.setTag(TAGS[i]);
+                token.setLemma(TOKENS[i].toLowerCase());
+                token.setBeginPosition(documentText.length());
+                documentText.append(TOKENS[i]);
+                token.setEndPosition(documentText.length());
+                token.setSentIndex(sentenceIndex);
+                token.setIndex(i + 1);
+                tokens.add(token);
+                preTerminals.add(treeFactory.newTreeNode(TAGS[i], List.of(treeFactory.newLeaf(token))));
+            }
+            String sentenceText = documentText.substring(sentenceBegin);
+            documentText.append(' ');
+
+            Tree subject = treeFactory.newTreeNode("NP", preTerminals.subList(0, 3));
+            Tree object = treeFactory.newTreeNode("NP", preTerminals.subList(4, 6));
+            Tree prepositionalObject = treeFactory.newTreeNode("NP", preTerminals.subList(7, 9));
+            Tree prepositionalPhrase = treeFactory.newTreeNode("PP", List.of(preTerminals.get(6), prepositionalObject));
+            Tree verbPhrase = treeFactory.newTreeNode("VP", List.of(preTerminals.get(3), object, prepositionalPhrase));
+            Tree clause = treeFactory.newTreeNode("S", List.of(subject, verbPhrase, preTerminals.get(9)));
+            Tree root = treeFactory.newTreeNode("ROOT", List.of(clause));
+
+            CoreMap sentence = new ArrayCoreMap();
+            sentence.set(CoreAnnotations.TextAnnotation.class, sentenceText);
+            sentence.set(CoreAnnotations.TokensAnnotation.class, tokens);
+            sentence.set(CoreAnnotations.SentenceIndexAnnotation.class, sentenceIndex);
+            sentence.set(CoreAnnotations.CharacterOffsetBeginAnnotation.class, sentenceBegin);
+            sentence.set(CoreAnnotations.CharacterOffsetEndAnnotation.class, sentenceBegin + sentenceText.length());
+            sentence.set(TreeCoreAnnotations.TreeAnnotation.class, root);
+            sentences.add(sentence);
+            documentTokens.addAll(tokens);
+        }
+
+        Annotation annotation = new Annotation(documentText.toString());
+        annotation.set(CoreAnnotations.TokensAnnotation.class, documentTokens);
+        annotation.set(CoreAnnotations.SentencesAnnotation.class, sentences);
+        return new CoreDocument(annotation);
+    }
+}
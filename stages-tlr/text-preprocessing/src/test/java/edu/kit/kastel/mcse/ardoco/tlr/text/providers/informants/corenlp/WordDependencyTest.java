@@ -0,0 +1,112 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp;
+
+import static edu.kit.kastel.mcse.ardoco.core.common.util.CommonUtilities.readInputText;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.DependencyTag;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+
+/**
+ * Checks that the precomputed dependencies of words are equivalent to scanning the typed dependencies of the sentence, and compares the time of both
+ * lookups.
+ */
+class WordDependencyTest {
+    private static final Logger logger = LoggerFactory.getLogger(WordDependencyTest.class);
+    private static final String INPUT_TEXT = "src/test/resources/teastore.txt";
+    private static final int BENCHMARK_ROUNDS = 10;
+
+    private static Text text;
+
+    @BeforeAll
+    static void beforeAll() throws FileNotFoundException {
+        DataRepository dataRepository = new DataRepository();
+        DataRepositoryHelper.putInputText(dataRepository, readInputText(new FileInputStream(INPUT_TEXT)));
+        text = new CoreNLPProvider(dataRepository).getAnnotatedText();
+    }
+
+    @Test
+    void outgoingDependenciesEquivalenceTest() {
+        for (Word word : text.words()) {
+            for (DependencyTag dependencyTag : DependencyTag.values()) {
+                Assertions.assertEquals(scanDependencyWords((WordImpl) word, dependencyTag, true), word.getOutgoingDependencyWordsWithType(dependencyTag),
+                        () -> "Outgoing " + dependencyTag + " of " + word);
+            }
+        }
+    }
+
+    @Test
+    void incomingDependenciesEquivalenceTest() {
+        for (Word word : text.words()) {
+            for (DependencyTag dependencyTag : DependencyTag.values()) {
+                Assertions.assertEquals(scanDependencyWords((WordImpl) word, dependencyTag, false), word.getIncomingDependencyWordsWithType(dependencyTag),
+                        () -> "Incoming " + dependencyTag + " of " + word);
+            }
+        }
+    }
+
+    @Test
+    void dependencyLookupBenchmarkTest() {
+        long start = System.nanoTime();
+        long scannedDependencies = 0;
+        for (int round = 0; round < BENCHMARK_ROUNDS; round++) {
+            for (Word word : text.words()) {
+                for (DependencyTag dependencyTag : DependencyTag.values()) {
+                    scannedDependencies += scanDependencyWords((WordImpl) word, dependencyTag, true).size();
+                    scannedDependencies += scanDependencyWords((WordImpl) word, dependencyTag, false).size();
+                }
+            }
+        }
+        long scanTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long indexedDependencies = 0;
+        for (int round = 0; round < BENCHMARK_ROUNDS; round++) {
+            for (Word word : text.words()) {
+                for (DependencyTag dependencyTag : DependencyTag.values()) {
+                    indexedDependencies += word.getOutgoingDependencyWordsWithType(dependencyTag).size();
+                    indexedDependencies += word.getIncomingDependencyWordsWithType(dependencyTag).size();
+                }
+            }
+        }
+        long indexTime = System.nanoTime() - start;
+
+        logger.info("Dependency lookups of {} words: scan {} ms, index {} ms", text.words().size(), scanTime / 1_000_000, indexTime / 1_000_000);
+        Assertions.assertEquals(scannedDependencies, indexedDependencies);
+    }
+
+    /**
+     * Reference implementation that scans all typed dependencies of the sentence of the word.
+     */
+    private static ImmutableList<Word> scanDependencyWords(WordImpl word, DependencyTag dependencyTag, boolean outgoing) {
+        MutableList<Word> dependencyWords = Lists.mutable.empty();
+        var sentence = (SentenceImpl) text.getSentences().get(word.getSentenceNo());
+        for (var typedDependency : sentence.dependencyParse().typedDependencies()) {
+            if (!dependencyTag.name().equalsIgnoreCase(typedDependency.reln().getShortName())) {
+                continue;
+            }
+            var target = typedDependency.dep().backingLabel();
+            var source = typedDependency.gov().backingLabel();
+            var own = outgoing ? source : target;
+            var other = outgoing ? target : source;
+            if (own.beginPosition() == word.getBeginCharPosition()) {
+                dependencyWords.add(text.getWord(other.index() - own.index() + word.getPosition()));
+            }
+        }
+        return dependencyWords.toImmutable();
+    }
+}
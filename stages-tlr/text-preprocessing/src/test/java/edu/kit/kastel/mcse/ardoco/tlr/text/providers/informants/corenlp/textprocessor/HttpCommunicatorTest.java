@@ -0,0 +1,106 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HttpCommunicatorTest {
+    private static final int REQUESTS = 20;
+
+    private MicroserviceStandIn standIn;
+    private HttpCommunicator communicator;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        standIn = new MicroserviceStandIn();
+        communicator = new HttpCommunicator(MicroserviceStandIn.USER, MicroserviceStandIn.PASSWORD, false);
+        MicroserviceChecker.invalidateHealthStatus();
+    }
+
+    @AfterEach
+    void afterEach() {
+        communicator.close();
+        standIn.close();
+        MicroserviceChecker.invalidateHealthStatus();
+    }
+
+    @Test
+    void reusesConnectionsTest() throws IOException {
+        String healthUrl = standIn.getUrl() + MicroserviceStandIn.HEALTH_PATH;
+        for (int i = 0; i < REQUESTS; i++) {
+            Assertions.assertEquals("Microservice is healthy", communicator.sendAuthenticatedGetRequest(healthUrl));
+            Assertions.assertEquals("text " + i, communicator.sendAuthenticatedPostRequest(standIn.getUrl() + MicroserviceStandIn.SERVICE_PATH, "text " + i));
+        }
+
+        Assertions.assertAll(//
+                () -> Assertions.assertEquals(REQUESTS, standIn.getHealthRequests()), //
+                () -> Assertions.assertEquals(REQUESTS, standIn.getServiceRequests()), //
+                () -> Assertions.assertEquals(1, standIn.getConnections()));
+    }
+
+    @Test
+    void decompressesResponsesTest() throws IOException {
+        String text = "The TeaStore is a test application. ".repeat(100);
+        String response = communicator.sendAuthenticatedPostRequest(standIn.getUrl() + MicroserviceStandIn.SERVICE_PATH, text);
+
+        Assertions.assertAll(//
+                () -> Assertions.assertEquals(text, response), //
+                () -> Assertions.assertTrue(standIn.getReceivedAcceptEncodings().get(0).contains("gzip")), //
+                () -> Assertions.assertEquals("identity", standIn.getReceivedContentEncodings().get(0)));
+    }
+
+    @Test
+    void compressesRequestsTest() throws IOException {
+        String text = "The TeaStore is a test application. ".repeat(100);
+        try (var compressingCommunicator = new HttpCommunicator(MicroserviceStandIn.USER, MicroserviceStandIn.PASSWORD, true)) {
+            String response = compressingCommunicator.sendAuthenticatedPostRequest(standIn.getUrl() + MicroserviceStandIn.SERVICE_PATH, text);
+
+            Assertions.assertAll(//
+                    () -> Assertions.assertEquals(text, response), //
+                    () -> Assertions.assertEquals("gzip", standIn.getReceivedContentEncodings().get(0)), //
+                    () -> Assertions.assertEquals(text, standIn.getReceivedBodies().get(0)));
+        }
+    }
+
+    @Test
+    void missingCredentialsTest() {
+        try (var anonymousCommunicator = new HttpCommunicator(null, null, false)) {
+            Assertions.assertThrows(IOException.class, () -> anonymousCommunicator.sendAuthenticatedGetRequest(standIn.getUrl()
+                    + MicroserviceStandIn.HEALTH_PATH));
+        }
+        Assertions.assertEquals(0, standIn.getHealthRequests());
+    }
+
+    @Test
+    void cachesHealthStatusTest() {
+        String healthUrl = standIn.getUrl() + MicroserviceStandIn.HEALTH_PATH;
+        for (int i = 0; i < REQUESTS; i++) {
+            Assertions.assertTrue(MicroserviceChecker.isMicroserviceAvailable(communicator, healthUrl, Duration.ofMinutes(1)));
+        }
+        Assertions.assertEquals(1, standIn.getHealthRequests());
+
+        MicroserviceChecker.invalidateHealthStatus();
+        Assertions.assertTrue(MicroserviceChecker.isMicroserviceAvailable(communicator, healthUrl, Duration.ofMinutes(1)));
+        Assertions.assertEquals(2, standIn.getHealthRequests());
+
+        for (int i = 0; i < REQUESTS; i++) {
+            Assertions.assertTrue(MicroserviceChecker.isMicroserviceAvailable(communicator, healthUrl, Duration.ZERO));
+        }
+        Assertions.assertEquals(2 + REQUESTS, standIn.getHealthRequests());
+    }
+
+    @Test
+    void cachesUnavailableHealthStatusTest() {
+        String healthUrl = standIn.getUrl() + MicroserviceStandIn.HEALTH_PATH;
+        try (var anonymousCommunicator = new HttpCommunicator(MicroserviceStandIn.USER, "wrong", false)) {
+            Assertions.assertFalse(MicroserviceChecker.isMicroserviceAvailable(anonymousCommunicator, healthUrl, Duration.ofMinutes(1)));
+            Assertions.assertFalse(MicroserviceChecker.isMicroserviceAvailable(anonymousCommunicator, healthUrl, Duration.ofMinutes(1)));
+        }
+        Assertions.assertEquals(1, standIn.getHealthRequests());
+    }
+}
@@ -0,0 +1,188 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process stand-in for the CoreNLP microservice. It serves the health endpoint and the processing endpoint under the same paths as the real service
+ * and records what it received, so that the HTTP transport can be tested offline.
+ */
+class MicroserviceStandIn implements AutoCloseable {
+    static final String SERVICE_PATH = "/stanfordnlp";
+    static final String HEALTH_PATH = "/stanfordnlp/health";
+    static final String USER = "user";
+    static final String PASSWORD = "password";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger healthRequests = new AtomicInteger();
+    private final AtomicInteger serviceRequests = new AtomicInteger();
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final AtomicInteger maxInFlightRequests = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final List<String> receivedBodies = new CopyOnWriteArrayList<>();
+    private final List<String> receivedContentEncodings = new CopyOnWriteArrayList<>();
+    private final List<String> receivedAcceptEncodings = new CopyOnWriteArrayList<>();
+    private volatile UnaryOperator<String> responder = body -> body;
+    private volatile Duration latency = Duration.ZERO;
+
+    MicroserviceStandIn() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(HEALTH_PATH, this::handleHealth);
+        server.createContext(SERVICE_PATH, this::handleService);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Sets the function that computes the response body of the processing endpoint from the (decompressed) request body.
+     */
+    void setResponder(UnaryOperator<String> responder) {
+        this.responder = responder;
+    }
+
+    /**
+     * Sets an artificial latency that is added to every request of the processing endpoint.
+     */
+    void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    int getHealthRequests() {
+        return healthRequests.get();
+    }
+
+    int getServiceRequests() {
+        return serviceRequests.get();
+    }
+
+    /**
+     * Returns the highest number of requests to the processing endpoint that were processed at the same time.
+     */
+    int getMaxInFlightRequests() {
+        return maxInFlightRequests.get();
+    }
+
+    /**
+     * Returns the number of distinct client connections the stand-in has seen.
+     */
+    int getConnections() {
+        return clientPorts.size();
+    }
+
+    List<String> getReceivedBodies() {
+        return receivedBodies;
+    }
+
+    List<String> getReceivedContentEncodings() {
+        return receivedContentEncodings;
+    }
+
+    List<String> getReceivedAcceptEncodings() {
+        return receivedAcceptEncodings;
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        healthRequests.incrementAndGet();
+        readBody(exchange);
+        if (!isAuthorized(exchange)) {
+            sendResponse(exchange, 401, "Unauthorized");
+            return;
+        }
+        sendResponse(exchange, 200, "Microservice is healthy");
+    }
+
+    private void handleService(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        serviceRequests.incrementAndGet();
+        maxInFlightRequests.accumulateAndGet(inFlightRequests.incrementAndGet(), Math::max);
+        try {
+            String body = readBody(exchange);
+            if (!isAuthorized(exchange)) {
+                sendResponse(exchange, 401, "Unauthorized");
+                return;
+            }
+            receivedBodies.add(body);
+            Thread.sleep(latency.toMillis());
+
+            String response;
+            try {
+                response = responder.apply(body);
+            } catch (RuntimeException e) {
+                sendResponse(exchange, 500, "Internal Server Error");
+                return;
+            }
+            sendResponse(exchange, 200, response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlightRequests.decrementAndGet();
+        }
+    }
+
+    private static boolean isAuthorized(HttpExchange exchange) {
+        String expected = "Basic " + Base64.getEncoder().encodeToString((USER + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+        return expected.equals(exchange.getRequestHeaders().getFirst("Authorization"));
+    }
+
+    private String readBody(HttpExchange exchange) throws IOException {
+        String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        receivedContentEncodings.add(contentEncoding == null ? "identity" : contentEncoding);
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            InputStream decodedBody = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(requestBody) : requestBody;
+            return new String(decodedBody.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void sendResponse(HttpExchange exchange, int status, String body) throws IOException {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        receivedAcceptEncodings.add(acceptEncoding == null ? "" : acceptEncoding);
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
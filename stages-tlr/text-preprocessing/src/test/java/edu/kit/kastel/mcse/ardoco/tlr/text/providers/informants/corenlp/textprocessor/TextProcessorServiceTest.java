@@ -0,0 +1,253 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.text.providers.informants.corenlp.textprocessor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.DependencyTag;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.textproviderjson.converter.DtoToObjectConverter;
+import edu.kit.kastel.mcse.ardoco.core.textproviderjson.converter.JsonConverter;
+
+class TextProcessorServiceTest {
+    private static final int SENTENCES = 40;
+    private static final int MAX_CHUNK_LENGTH = 200;
+    private static final String FAILING_SENTENCE = "This sentence fails once.";
+    /**
+     * Responses in the format of the CoreNLP microservice for the whole text and for each of its sentences on its own.
+     */
+    private static final String RESPONSES = "src/test/resources/corenlp-service/";
+    private static final String RECORDED_TEXT = "The client sends a request. The server answers it.";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Set<String> failedChunks = ConcurrentHashMap.newKeySet();
+    private final List<TextProcessorService> services = new ArrayList<>();
+
+    private MicroserviceStandIn standIn;
+    private HttpCommunicator communicator;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        standIn = new MicroserviceStandIn();
+        standIn.setResponder(this::annotate);
+        communicator = new HttpCommunicator(MicroserviceStandIn.USER, MicroserviceStandIn.PASSWORD, false);
+    }
+
+    @AfterEach
+    void afterEach() {
+        services.forEach(TextProcessorService::close);
+        communicator.close();
+        standIn.close();
+    }
+
+    @Test
+    void splitTest() {
+        String text = createText();
+        List<String> chunks = TextChunker.split(text, MAX_CHUNK_LENGTH);
+
+        Assertions.assertAll(//
+                () -> Assertions.assertTrue(chunks.size() > 1), //
+                () -> Assertions.assertEquals(text, String.join("", chunks)), //
+                () -> Assertions.assertTrue(chunks.stream().allMatch(chunk -> chunk.length() <= MAX_CHUNK_LENGTH)), //
+                () -> Assertions.assertTrue(chunks.stream().allMatch(chunk -> chunk.trim().endsWith("."))), //
+                () -> Assertions.assertEquals(List.of(text), TextChunker.split(text, text.length())));
+    }
+
+    @Test
+    void reassemblesChunksTest() throws IOException {
+        String text = createText();
+        var service = createService(MAX_CHUNK_LENGTH, 4);
+
+        JsonNode annotatedText = objectMapper.readTree(service.annotate(text));
+        JsonNode expected = objectMapper.readTree(annotate(requestBody(text)));
+
+        Assertions.assertAll(//
+                () -> Assertions.assertEquals(TextChunker.split(text, MAX_CHUNK_LENGTH).size(), standIn.getServiceRequests()), //
+                () -> Assertions.assertEquals(expected, annotatedText));
+    }
+
+    @Test
+    void sendsChunksConcurrentlyTest() throws IOException {
+        standIn.setLatency(Duration.ofMillis(200));
+        String text = createText();
+        var service = createService(MAX_CHUNK_LENGTH, 4);
+
+        service.annotate(text);
+
+        Assertions.assertAll(//
+                () -> Assertions.assertTrue(standIn.getMaxInFlightRequests() > 1), //
+                () -> Assertions.assertTrue(standIn.getMaxInFlightRequests() <= 4));
+    }
+
+    @Test
+    void sharesRequestBoundBetweenTextsTest() {
+        standIn.setLatency(Duration.ofMillis(200));
+        var service = createService(MAX_CHUNK_LENGTH, 4);
+
+        var first = CompletableFuture.runAsync(() -> annotateUnchecked(service, createText()));
+        var second = CompletableFuture.runAsync(() -> annotateUnchecked(service, createText()));
+        CompletableFuture.allOf(first, second).join();
+
+        Assertions.assertAll(//
+                () -> Assertions.assertEquals(2 * TextChunker.split(createText(), MAX_CHUNK_LENGTH).size(), standIn.getServiceRequests()), //
+                () -> Assertions.assertTrue(standIn.getMaxInFlightRequests() <= 4));
+    }
+
+    @Test
+    void mergesRecordedResponsesTest() throws Exception {
+        var chunks = TextChunker.split(RECORDED_TEXT, 30);
+        Assertions.assertEquals(List.of("The client sends a request. ", "The server answers it."), chunks);
+        var chunkResponses = Map.of(//
+                chunks.get(0), Files.readString(Path.of(RESPONSES + "response-chunk-1.json")), //
+                chunks.get(1), Files.readString(Path.of(RESPONSES + "response-chunk-2.json")));
+        standIn.setResponder(body -> {
+            String response = chunkResponses.get(decodeText(body));
+            if (response == null) {
+                throw new IllegalStateException("Unexpected chunk");
+            }
+            return response;
+        });
+        var service = createService(30, 2);
+
+        String merged = service.annotate(RECORDED_TEXT);
+        var text = new DtoToObjectConverter().convertText(JsonConverter.fromJsonString(merged));
+
+        Word sends = text.words().get(2);
+        Word answers = text.words().get(8);
+        Assertions.assertAll(//
+                () -> Assertions.assertEquals(objectMapper.readTree(Files.readString(Path.of(RESPONSES + "response.json"))), objectMapper.readTree(
+                        merged)), //
+                () -> Assertions.assertEquals(11, text.words().size()), //
+                () -> Assertions.assertEquals(2, text.getSentences().size()), //
+                () -> Assertions.assertEquals("answers", answers.getText()), //
+                () -> Assertions.assertEquals("The server answers it.", text.getSentences().get(1).getText()), //
+                () -> Assertions.assertEquals(List.of("server"), answers.getOutgoingDependencyWordsWithType(DependencyTag.NSUBJ)
+                        .collect(Word::getText)
+                        .castToList()), //
+                () -> Assertions.assertEquals(List.of("client"), sends.getOutgoingDependencyWordsWithType(DependencyTag.NSUBJ)
+                        .collect(Word::getText)
+                        .castToList()));
+    }
+
+    @Test
+    void retriesOnlyFailedChunksTest() throws IOException {
+        String text = createText() + FAILING_SENTENCE;
+        var service = createService(MAX_CHUNK_LENGTH, 4);
+        int chunks = TextChunker.split(text, MAX_CHUNK_LENGTH).size();
+
+        JsonNode annotatedText = objectMapper.readTree(service.annotate(text));
+
+        Assertions.assertAll(//
+                () -> Assertions.assertEquals(chunks + 1, standIn.getServiceRequests()), //
+                () -> Assertions.assertEquals(SENTENCES + 1, annotatedText.get("sentences").size()));
+    }
+
+    @Test
+    void failsIfChunkFailsRepeatedlyTest() {
+        standIn.setResponder(body -> {
+            throw new IllegalStateException("Service unavailable");
+        });
+        var service = createService(MAX_CHUNK_LENGTH, 4);
+
+        Assertions.assertThrows(IOException.class, () -> service.annotate(createText()));
+    }
+
+    private TextProcessorService createService(int maxChunkLength, int maxParallelRequests) {
+        var service = new TextProcessorService(standIn.getUrl() + MicroserviceStandIn.SERVICE_PATH, communicator, maxChunkLength, maxParallelRequests, 2);
+        services.add(service);
+        return service;
+    }
+
+    private static void annotateUnchecked(TextProcessorService service, String text) {
+        try {
+            service.annotate(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String createText() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < SENTENCES; i++) {
+            text.append("The component number ").append(i).append(" calls the next component. ");
+        }
+        return text.toString();
+    }
+
+    private String decodeText(String requestBody) {
+        try {
+            return URLDecoder.decode(objectMapper.readTree(requestBody).get("text").asText(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String requestBody(String text) {
+        return "{\"text\": \"" + URLEncoder.encode(text, StandardCharsets.UTF_8) + "\"}";
+    }
+
+    /**
+     * Creates a simplified annotated text: sentences and words are numbered starting with one, every word has an outgoing dependency to its successor.
+     */
+    private String annotate(String requestBody) {
+        String text = decodeText(requestBody);
+        if (text.contains(FAILING_SENTENCE) && failedChunks.add(text)) {
+            throw new IllegalStateException("Fail once");
+        }
+
+        ObjectNode annotatedText = objectMapper.createObjectNode();
+        ArrayNode sentences = annotatedText.putArray("sentences");
+        List<String> sentenceTexts = new ArrayList<>();
+        for (String sentence : text.split("(?<=\\.)\\s+")) {
+            if (!sentence.isBlank()) {
+                sentenceTexts.add(sentence.trim());
+            }
+        }
+        long wordId = 1;
+        for (int i = 0; i < sentenceTexts.size(); i++) {
+            ObjectNode sentence = sentences.addObject();
+            sentence.put("sentenceNo", i + 1);
+            sentence.put("text", sentenceTexts.get(i));
+            ArrayNode words = sentence.putArray("words");
+            String[] tokens = sentenceTexts.get(i).split(" ");
+            for (int j = 0; j < tokens.length; j++) {
+                ObjectNode word = words.addObject();
+                word.put("id", wordId);
+                word.put("text", tokens[j]);
+                word.put("sentenceNo", i + 1);
+                ArrayNode outgoingDependencies = word.putArray("outgoingDependencies");
+                if (j + 1 < tokens.length) {
+                    outgoingDependencies.addObject().put("dependencyType", "DEP").put("targetWordId", wordId + 1);
+                }
+                wordId++;
+            }
+        }
+        try {
+            return objectMapper.writeValueAsString(annotatedText);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
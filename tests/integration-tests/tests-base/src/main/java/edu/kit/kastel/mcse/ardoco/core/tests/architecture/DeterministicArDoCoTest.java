@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023-2024. */
+/* Licensed under MIT 2023-2026. */
 package edu.kit.kastel.mcse.ardoco.core.tests.architecture;
 
 import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
@@ -31,6 +31,7 @@
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaField;
 import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
 import com.tngtech.archunit.core.domain.JavaParameterizedType;
 import com.tngtech.archunit.core.domain.JavaWildcardType;
 import com.tngtech.archunit.junit.AnalyzeClasses;
@@ -96,6 +97,40 @@ public boolean test(JavaClass javaClass) {
             .dependOnClassesThat()
             .haveNameMatching(HashMap.class.getName() + "|" + HashSet.class.getName());
 
+    private static final String TEXT_STATE = "edu.kit.kastel.mcse.ardoco.core.api.textextraction.TextState";
+    private static final String TEXT_STATE_CHANGE_BUFFER = "edu.kit.kastel.mcse.ardoco.tlr.textextraction.TextStateChangeBuffer";
+
+    /**
+     * Informants that add noun mappings via the change buffer can run concurrently and still produce the sequential text state, but only if they do not change
+     * the text state directly.
+     */
+    @ArchTest
+    public static final ArchRule forbidDirectTextStateChangesInBufferedWriters = noClasses().that(addNounMappingsViaTheChangeBuffer())
+            .and()
+            .doNotHaveFullyQualifiedName(TEXT_STATE_CHANGE_BUFFER)
+            .should()
+            .callMethodWhere(changeTheTextState());
+
+    private static DescribedPredicate<JavaClass> addNounMappingsViaTheChangeBuffer() {
+        return new DescribedPredicate<>("add noun mappings via " + TEXT_STATE_CHANGE_BUFFER) {
+            @Override
+            public boolean test(JavaClass javaClass) {
+                return javaClass.getMethodCallsFromSelf()
+                        .stream()
+                        .anyMatch(call -> call.getTargetOwner().getFullName().equals(TEXT_STATE_CHANGE_BUFFER) && call.getName().equals("addNounMapping"));
+            }
+        };
+    }
+
+    private static DescribedPredicate<JavaMethodCall> changeTheTextState() {
+        return new DescribedPredicate<>("change the text state") {
+            @Override
+            public boolean test(JavaMethodCall call) {
+                return call.getTargetOwner().isAssignableTo(TEXT_STATE) && call.getName().matches("(add|merge|remove|set).*");
+            }
+        };
+    }
+
     @ArchTest
     public static final ArchRule forbidEqualsAndHashCodeInCertainClasses = noClasses().that()
             .areAnnotatedWith(NoHashCodeEquals.class)
@@ -0,0 +1,74 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.core.tests.eval.helper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.data.DeepCopy;
+
+/**
+ * A data repository that is serialized once and hands out independent copies of it. {@link DataRepository#deepCopy()} serializes the whole repository
+ * again for every copy. The copies of this class only deserialize the kept bytes, so the serialization is paid once per repository instead of once per copy.
+ * <p>
+ * The copies are still full copies: the stages that run on a copy change the elements of its states in place, so the copies cannot share states.
+ */
+public final class SerializedDataRepository {
+    private final DataRepository source;
+    private final byte[] bytes;
+
+    /**
+     * Serializes the given data repository. Later changes to the repository are not reflected in the copies.
+     *
+     * @param source the data repository
+     */
+    public SerializedDataRepository(DataRepository source) {
+        this.source = source;
+        var out = new ByteArrayOutputStream();
+        try (var objectOut = new ObjectOutputStream(out)) {
+            objectOut.writeObject(source);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize the data repository", e);
+        }
+        this.bytes = out.toByteArray();
+    }
+
+    /**
+     * Returns whether this was serialized from the given data repository.
+     *
+     * @param dataRepository the data repository
+     * @return whether the data repository is the serialized one
+     */
+    public boolean isSerializedFrom(DataRepository dataRepository) {
+        return source == dataRepository;
+    }
+
+    /**
+     * Returns the size of the serialized data repository.
+     *
+     * @return the number of bytes
+     */
+    public int size() {
+        return bytes.length;
+    }
+
+    /**
+     * Deserializes a new copy of the data repository.
+     *
+     * @return a deep copy of the data repository
+     */
+    @DeepCopy
+    public DataRepository copy() {
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (DataRepository) in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not deserialize the data repository", e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Could not deserialize the data repository", e);
+        }
+    }
+}
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023-2024. */
+/* Licensed under MIT 2023-2026. */
 package edu.kit.kastel.mcse.ardoco.core.tests.eval.helper;
 
 import java.util.HashMap;
@@ -24,6 +24,7 @@
 public class TestDataRepositoryCache<T extends GoldStandardProject> extends TestDataCache<HashMap<T, DataRepository>> {
     private static final Logger logger = LoggerFactory.getLogger(TestDataRepositoryCache.class);
     private final T project;
+    private SerializedDataRepository serialized;
 
     /**
      * Creates a new test data repository cache for the given stage and project.
@@ -46,6 +47,8 @@ public HashMap<T, DataRepository> getDefault() {
      * Gets a deep copy of the cached data repository. If no data repository is cached, the mapping function is used to compute it and the result is cached,
      * deep copied and returned. The cache is automatically invalidated and reset, if the source files of a project (such as the text, gold standards, etc.)
      * have changed.
+     * <p>
+     * The cached data repository is serialized once and every call deserializes a new copy of it, see {@link SerializedDataRepository}.
      *
      * @param mappingFunction a function to compute the data repository of a project
      * @return a deep copy of the data repository
@@ -60,7 +63,11 @@ public DataRepository get(Function<T, DataRepository> mappingFunction) {
             this.write(testData);
         }
 
-        return testData.get(project).deepCopy();
+        var dataRepository = testData.get(project);
+        if (serialized == null || !serialized.isSerializedFrom(dataRepository)) {
+            serialized = new SerializedDataRepository(dataRepository);
+        }
+        return serialized.copy();
     }
 
     /**
@@ -73,6 +80,7 @@ private void checkVersion() {
             Preferences.userNodeForPackage(project.getClass()).putLong(versionPref, versionProject);
             logger.warn("{}'s source files have changed, resetting {} file", project.getProjectName(), getIdentifier());
             resetFile();
+            serialized = null;
         }
     }
 }
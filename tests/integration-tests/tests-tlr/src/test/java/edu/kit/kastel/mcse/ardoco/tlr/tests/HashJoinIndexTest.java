@@ -0,0 +1,154 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.tests;
+
+import java.io.File;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.TransitiveTraceLink;
+import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.tests.eval.CodeProject;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.HashJoinIndex;
+import edu.kit.kastel.mcse.ardoco.tlr.codetraceability.informants.TraceLinkCombiner;
+import edu.kit.kastel.mcse.ardoco.tlr.execution.ArDoCoForSadSamCodeTraceabilityLinkRecovery;
+
+/**
+ * Compares the hash join of the {@link TraceLinkCombiner} with the previous nested loop over all pairs of links on synthetic links that share the id of an
+ * architecture element and on the trace links of the gold standards, and measures the streaming hash join on millions of links.
+ */
+class HashJoinIndexTest {
+    private static final Logger logger = LoggerFactory.getLogger(HashJoinIndexTest.class);
+
+    private static final int EQUIVALENCE_LINKS = 5_000;
+    private static final int BENCHMARK_LINKS = 2_000_000;
+    private static final String OUTPUT = "target/testout-hash-join-index";
+
+    @Test
+    void equivalenceTest() {
+        var random = new Random(42);
+        var sadSamLinks = createLinks(random, EQUIVALENCE_LINKS, EQUIVALENCE_LINKS / 4);
+        var samCodeLinks = createLinks(random, EQUIVALENCE_LINKS, EQUIVALENCE_LINKS / 4);
+
+        MutableList<String> expected = Lists.mutable.empty();
+        long start = System.nanoTime();
+        for (var sadSamLink : sadSamLinks) {
+            for (var samCodeLink : samCodeLinks) {
+                if (sadSamLink.elementId().equals(samCodeLink.elementId())) {
+                    combine(sadSamLink, samCodeLink).ifPresent(expected::add);
+                }
+            }
+        }
+        long nestedLoopTime = System.nanoTime() - start;
+
+        MutableList<String> joined = Lists.mutable.empty();
+        start = System.nanoTime();
+        new HashJoinIndex<>(samCodeLinks, Link::elementId).join(sadSamLinks, Link::elementId, HashJoinIndexTest::combine, joined::add);
+        long hashJoinTime = System.nanoTime() - start;
+
+        Assertions.assertFalse(expected.isEmpty());
+        Assertions.assertEquals(expected, joined);
+        logger.info("{} x {} links: nested loop {} ms, hash join {} ms", sadSamLinks.size(), samCodeLinks.size(), nestedLoopTime / 1_000_000, hashJoinTime
+                / 1_000_000);
+    }
+
+    @DisplayName("Trace link combiner matches the nested loop on the gold standards")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(CodeProject.class)
+    void traceLinkCombinerEquivalenceTest(CodeProject project) {
+        var runner = new ArDoCoForSadSamCodeTraceabilityLinkRecovery(project.name().toLowerCase());
+        runner.setUp(project.getTextFile(), project.getModelFile(), ArchitectureModelType.PCM, project.getCodeLocation(true), new TreeMap<>(), new File(
+                OUTPUT));
+        var dataRepository = runner.run().dataRepository();
+        var codeTraceabilityState = DataRepositoryHelper.getCodeTraceabilityState(dataRepository);
+        var modelStates = DataRepositoryHelper.getModelStatesData(dataRepository);
+        var connectionStates = DataRepositoryHelper.getConnectionStates(dataRepository);
+        var samCodeTraceLinks = Lists.immutable.withAll(codeTraceabilityState.getSamCodeTraceLinks());
+        var index = TraceLinkCombiner.indexByArchitectureElement(samCodeTraceLinks);
+
+        MutableList<TransitiveTraceLink> expected = Lists.mutable.empty();
+        MutableList<TransitiveTraceLink> joined = Lists.mutable.empty();
+        for (var modelId : modelStates.modelIds()) {
+            var sadSamTraceLinks = connectionStates.getConnectionState(modelStates.getModelExtractionState(modelId).getMetamodel()).getTraceLinks();
+            for (var sadSamTraceLink : sadSamTraceLinks) {
+                for (var samCodeTraceLink : samCodeTraceLinks) {
+                    if (sadSamTraceLink.getModelElementUid().equals(samCodeTraceLink.getEndpointTuple().firstEndpoint().getId())) {
+                        TransitiveTraceLink.createTransitiveTraceLink(sadSamTraceLink, samCodeTraceLink).ifPresent(expected::add);
+                    }
+                }
+            }
+            TraceLinkCombiner.combineToTransitiveTraceLinks(sadSamTraceLinks, index, joined::add);
+        }
+
+        Assertions.assertFalse(expected.isEmpty());
+        Assertions.assertEquals(expected, joined);
+        Assertions.assertTrue(codeTraceabilityState.getSadCodeTraceLinks().containsAll(expected));
+    }
+
+    @Test
+    void elementsWithoutKeyAreNotJoined() {
+        var index = new HashJoinIndex<>(Lists.immutable.with(new Link(null, 0), new Link("a", 1)), Link::elementId);
+        MutableList<String> joined = Lists.mutable.empty();
+        index.join(Lists.immutable.with(new Link(null, 2), new Link("a", 3)), Link::elementId, HashJoinIndexTest::combine, joined::add);
+
+        Assertions.assertEquals(1, index.size());
+        Assertions.assertEquals(Lists.mutable.with("3->1"), joined);
+    }
+
+    @Disabled("Disabled for faster builds. Enable to measure the streaming hash join on millions of links.")
+    @Test
+    void streamingBenchmark() {
+        var random = new Random(42);
+        var sadSamLinks = createLinks(random, BENCHMARK_LINKS, BENCHMARK_LINKS / 2);
+        var samCodeLinks = createLinks(random, BENCHMARK_LINKS, BENCHMARK_LINKS / 2);
+
+        long start = System.nanoTime();
+        var index = new HashJoinIndex<>(samCodeLinks, Link::elementId);
+        long buildTime = System.nanoTime() - start;
+
+        var count = new LongAdder();
+        start = System.nanoTime();
+        index.join(sadSamLinks, Link::elementId, (sadSamLink, samCodeLink) -> Optional.of(samCodeLink), link -> count.increment());
+        long probeTime = System.nanoTime() - start;
+
+        Assertions.assertTrue(count.sum() > BENCHMARK_LINKS / 2);
+        logger.info("{} x {} links: {} transitive links, build {} ms, streaming join {} ms", sadSamLinks.size(), samCodeLinks.size(), count.sum(), buildTime
+                / 1_000_000, probeTime / 1_000_000);
+    }
+
+    /**
+     * Like {@link edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.TransitiveTraceLink#createTransitiveTraceLink}, not every pair of links with the
+     * same element creates a transitive link.
+     */
+    private static Optional<String> combine(Link sadSamLink, Link samCodeLink) {
+        if ((sadSamLink.number() + samCodeLink.number()) % 7 == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(sadSamLink.number() + "->" + samCodeLink.number());
+    }
+
+    private static ImmutableList<Link> createLinks(Random random, int count, int elements) {
+        MutableList<Link> links = Lists.mutable.empty();
+        for (int i = 0; i < count; i++) {
+            links.add(new Link("element" + random.nextInt(elements), i));
+        }
+        return links.toImmutable();
+    }
+
+    private record Link(String elementId, int number) {
+    }
+}
@@ -0,0 +1,105 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.tests;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+import edu.kit.kastel.mcse.ardoco.core.common.util.CommonUtilities;
+import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.execution.runner.AnonymousRunner;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractPipelineStep;
+import edu.kit.kastel.mcse.ardoco.core.tests.eval.Project;
+import edu.kit.kastel.mcse.ardoco.tlr.connectiongenerator.ConnectionGenerator;
+import edu.kit.kastel.mcse.ardoco.tlr.connectiongenerator.informants.InstantConnectionInformant;
+import edu.kit.kastel.mcse.ardoco.tlr.models.agents.ArCoTLModelProviderAgent;
+import edu.kit.kastel.mcse.ardoco.tlr.models.agents.ArchitectureConfiguration;
+import edu.kit.kastel.mcse.ardoco.tlr.recommendationgenerator.RecommendationGenerator;
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.TextPreprocessingAgent;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.TextExtraction;
+
+/**
+ * Checks that the {@link InstantConnectionInformant} creates the same instance links with candidate blocking and concurrent matching as with comparing every
+ * recommended instance with every model instance sequentially.
+ */
+class InstantConnectionInformantTest {
+    private static final Logger logger = LoggerFactory.getLogger(InstantConnectionInformantTest.class);
+
+    private static final String CANDIDATE_BLOCKING = InstantConnectionInformant.class.getSimpleName() + "::candidateBlocking";
+    private static final String CONCURRENT_MATCHING = InstantConnectionInformant.class.getSimpleName() + "::concurrentMatching";
+    private static final String BLOCK_SIZE = InstantConnectionInformant.class.getSimpleName() + "::blockSize";
+
+    @DisplayName("Blocked and concurrent matching creates the same instance links")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(Project.class)
+    void equivalenceTest(Project project) {
+        long start = System.nanoTime();
+        var expected = describeInstanceLinks(run(project, false, false));
+        long exhaustiveTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        var blocked = describeInstanceLinks(run(project, true, false));
+        long blockedTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        var blockedAndConcurrent = describeInstanceLinks(run(project, true, true));
+        long concurrentTime = System.nanoTime() - start;
+
+        Assertions.assertFalse(expected.isEmpty());
+        Assertions.assertEquals(expected, blocked);
+        Assertions.assertEquals(expected, blockedAndConcurrent);
+        logger.info("{}: {} instance links, pipeline with exhaustive matching {} ms, blocked {} ms, blocked and concurrent {} ms", project.getProjectName(),
+                expected.size(), exhaustiveTime / 1_000_000, blockedTime / 1_000_000, concurrentTime / 1_000_000);
+    }
+
+    private static ImmutableList<String> describeInstanceLinks(DataRepository dataRepository) {
+        var modelStates = DataRepositoryHelper.getModelStatesData(dataRepository);
+        var connectionStates = DataRepositoryHelper.getConnectionStates(dataRepository);
+        MutableList<String> description = Lists.mutable.empty();
+        for (var modelId : modelStates.modelIds()) {
+            var connectionState = connectionStates.getConnectionState(modelStates.getModelExtractionState(modelId).getMetamodel());
+            for (var instanceLink : connectionState.getInstanceLinks()) {
+                var recommendedInstance = instanceLink.getTextualInstance();
+                description.add(modelId + ": " + recommendedInstance.getName() + ":" + recommendedInstance.getType() + " -> " + instanceLink.getModelInstance()
+                        .getFullName());
+            }
+        }
+        return description.toImmutable();
+    }
+
+    private static DataRepository run(Project project, boolean candidateBlocking, boolean concurrentMatching) {
+        SortedMap<String, String> additionalConfigs = new TreeMap<>(project.getAdditionalConfigurations());
+        additionalConfigs.put(CANDIDATE_BLOCKING, String.valueOf(candidateBlocking));
+        additionalConfigs.put(CONCURRENT_MATCHING, String.valueOf(concurrentMatching));
+        additionalConfigs.put(BLOCK_SIZE, "4");
+
+        return new AnonymousRunner(project.getProjectName()) {
+            @Override
+            public List<AbstractPipelineStep> initializePipelineSteps(DataRepository dataRepository) throws IOException {
+                var text = CommonUtilities.readInputText(project.getTextFile());
+                DataRepositoryHelper.putInputText(dataRepository, text);
+
+                var architectureConfiguration = new ArchitectureConfiguration(project.getModelFile(), ArchitectureModelType.PCM);
+                return List.of(//
+                        TextPreprocessingAgent.get(additionalConfigs, dataRepository), //
+                        ArCoTLModelProviderAgent.getArCoTLModelProviderAgent(dataRepository, additionalConfigs, architectureConfiguration, null), //
+                        TextExtraction.get(additionalConfigs, dataRepository), //
+                        RecommendationGenerator.get(additionalConfigs, dataRepository), //
+                        ConnectionGenerator.get(additionalConfigs, dataRepository));
+            }
+        }.runWithoutSaving();
+    }
+}
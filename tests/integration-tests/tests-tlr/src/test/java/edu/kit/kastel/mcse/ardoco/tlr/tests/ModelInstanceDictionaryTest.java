@@ -0,0 +1,153 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.tests;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+import edu.kit.kastel.mcse.ardoco.core.common.util.CommonUtilities;
+import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.ComparisonContext;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.WordSimMeasure;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.execution.runner.AnonymousRunner;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractPipelineStep;
+import edu.kit.kastel.mcse.ardoco.core.tests.eval.Project;
+import edu.kit.kastel.mcse.ardoco.tlr.connectiongenerator.ModelInstanceDictionary;
+import edu.kit.kastel.mcse.ardoco.tlr.models.agents.ArCoTLModelProviderAgent;
+import edu.kit.kastel.mcse.ardoco.tlr.models.agents.ArchitectureConfiguration;
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.TextPreprocessingAgent;
+
+/**
+ * Checks that the {@link ModelInstanceDictionary} finds the same words as comparing every word with every model instance and compares the time of both for
+ * texts of growing length (the text of the project repeated).
+ */
+class ModelInstanceDictionaryTest {
+    private static final Logger logger = LoggerFactory.getLogger(ModelInstanceDictionaryTest.class);
+
+    private static final int[] REPETITIONS = { 1, 2, 4, 8 };
+
+    @DisplayName("Model instance dictionary matches comparing every word with every instance")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(Project.class)
+    void equivalenceTest(Project project) {
+        assertEquivalent(run(project));
+    }
+
+    @DisplayName("Model instance dictionary matches comparing every word with every instance for a case-sensitive measure")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(Project.class)
+    void caseSensitiveEquivalenceTest(Project project) {
+        var dataRepository = run(project);
+        dataRepository.getGlobalConfiguration().getWordSimUtils().setMeasures(List.of(new CaseSensitiveEqualityMeasure()));
+        assertEquivalent(dataRepository);
+    }
+
+    private static void assertEquivalent(DataRepository dataRepository) {
+        var text = DataRepositoryHelper.getAnnotatedText(dataRepository);
+        var modelStates = DataRepositoryHelper.getModelStatesData(dataRepository);
+        var similarityUtils = dataRepository.getGlobalConfiguration().getSimilarityUtils();
+
+        for (var modelId : modelStates.modelIds()) {
+            var instances = modelStates.getModelExtractionState(modelId).getInstances();
+            var dictionary = new ModelInstanceDictionary(similarityUtils, instances);
+            for (var word : text.words()) {
+                Assertions.assertEquals(instances.anySatisfy(instance -> similarityUtils.isWordSimilarToModelInstance(word, instance)), dictionary
+                        .isSimilarToName(word), word::getText);
+                Assertions.assertEquals(instances.anySatisfy(instance -> similarityUtils.isWordSimilarToModelInstanceType(word, instance)), dictionary
+                        .isSimilarToType(word), word::getText);
+            }
+        }
+    }
+
+    @DisplayName("Model instance dictionary scales with the length of the text")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(Project.class)
+    void scalingBenchmark(Project project) {
+        var dataRepository = run(project);
+        var words = DataRepositoryHelper.getAnnotatedText(dataRepository).words();
+        var modelStates = DataRepositoryHelper.getModelStatesData(dataRepository);
+        var similarityUtils = dataRepository.getGlobalConfiguration().getSimilarityUtils();
+
+        for (int repetitions : REPETITIONS) {
+            long directTime = 0;
+            long dictionaryTime = 0;
+            long similarityChecks = 0;
+            int directMatches = 0;
+            int dictionaryMatches = 0;
+            for (var modelId : modelStates.modelIds()) {
+                var instances = modelStates.getModelExtractionState(modelId).getInstances();
+
+                long start = System.nanoTime();
+                for (int i = 0; i < repetitions; i++) {
+                    for (var word : words) {
+                        if (instances.anySatisfy(instance -> similarityUtils.isWordSimilarToModelInstance(word, instance))) {
+                            directMatches++;
+                        }
+                        if (instances.anySatisfy(instance -> similarityUtils.isWordSimilarToModelInstanceType(word, instance))) {
+                            directMatches++;
+                        }
+                    }
+                }
+                directTime += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                var dictionary = new ModelInstanceDictionary(similarityUtils, instances);
+                for (int i = 0; i < repetitions; i++) {
+                    for (var word : words) {
+                        if (dictionary.isSimilarToName(word)) {
+                            dictionaryMatches++;
+                        }
+                        if (dictionary.isSimilarToType(word)) {
+                            dictionaryMatches++;
+                        }
+                    }
+                }
+                dictionaryTime += System.nanoTime() - start;
+                similarityChecks += dictionary.getSimilarityChecks();
+            }
+
+            Assertions.assertEquals(directMatches, dictionaryMatches);
+            logger.info("{}: {} words, comparing every instance {} ms, dictionary {} ms ({} similarity checks)", project.getProjectName(), words.size()
+                    * repetitions, directTime / 1_000_000, dictionaryTime / 1_000_000, similarityChecks);
+        }
+    }
+
+    /**
+     * Considers words similar only if they are exactly equal.
+     */
+    private static final class CaseSensitiveEqualityMeasure implements WordSimMeasure {
+        @Override
+        public boolean areWordsSimilar(ComparisonContext ctx) {
+            return ctx.firstTerm().equals(ctx.secondTerm());
+        }
+
+        @Override
+        public double getSimilarity(ComparisonContext ctx) {
+            return areWordsSimilar(ctx) ? 1.0 : 0.0;
+        }
+    }
+
+    private static DataRepository run(Project project) {
+        return new AnonymousRunner(project.getProjectName()) {
+            @Override
+            public List<AbstractPipelineStep> initializePipelineSteps(DataRepository dataRepository) throws IOException {
+                var text = CommonUtilities.readInputText(project.getTextFile());
+                DataRepositoryHelper.putInputText(dataRepository, text);
+
+                var architectureConfiguration = new ArchitectureConfiguration(project.getModelFile(), ArchitectureModelType.PCM);
+                return List.of(//
+                        TextPreprocessingAgent.get(project.getAdditionalConfigurations(), dataRepository), //
+                        ArCoTLModelProviderAgent.getArCoTLModelProviderAgent(dataRepository, project.getAdditionalConfigurations(),
+                                architectureConfiguration, null));
+            }
+        }.runWithoutSaving();
+    }
+}
@@ -0,0 +1,107 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.tests;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+import edu.kit.kastel.mcse.ardoco.core.common.util.CommonUtilities;
+import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.execution.runner.AnonymousRunner;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractPipelineStep;
+import edu.kit.kastel.mcse.ardoco.core.tests.eval.Project;
+import edu.kit.kastel.mcse.ardoco.tlr.models.agents.ArCoTLModelProviderAgent;
+import edu.kit.kastel.mcse.ardoco.tlr.models.agents.ArchitectureConfiguration;
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.TextPreprocessingAgent;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.ModelTypeSimilarityTable;
+import edu.kit.kastel.mcse.ardoco.tlr.textextraction.WordSimilarityCache;
+
+/**
+ * Checks that the {@link ModelTypeSimilarityTable} returns the same types as matching every word against the model types directly and compares the time of
+ * both. The informants that read the table used to match every word four times per informant.
+ */
+class ModelTypeSimilarityTableTest {
+    private static final Logger logger = LoggerFactory.getLogger(ModelTypeSimilarityTableTest.class);
+
+    private static final int MATCHES_PER_WORD = 8;
+
+    @DisplayName("Model type similarity table matches direct type matching")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(Project.class)
+    void equivalenceTest(Project project) {
+        var dataRepository = run(project);
+        var text = DataRepositoryHelper.getAnnotatedText(dataRepository);
+        var modelStates = DataRepositoryHelper.getModelStatesData(dataRepository);
+        var globalConfiguration = dataRepository.getGlobalConfiguration();
+        var similarityUtils = globalConfiguration.getSimilarityUtils();
+        var similarityCache = WordSimilarityCache.of(dataRepository);
+
+        long directTime = 0;
+        long tableTime = 0;
+        for (var modelId : modelStates.modelIds()) {
+            var modelState = modelStates.getModelExtractionState(modelId);
+
+            long start = System.nanoTime();
+            for (var word : text.words()) {
+                for (int i = 0; i < MATCHES_PER_WORD; i++) {
+                    CommonUtilities.getSimilarTypes(similarityUtils, word, modelState);
+                }
+            }
+            directTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            var table = ModelTypeSimilarityTable.of(dataRepository, modelId);
+            for (var word : text.words()) {
+                for (int i = 0; i < MATCHES_PER_WORD; i++) {
+                    table.getSimilarTypes(word);
+                }
+            }
+            tableTime += System.nanoTime() - start;
+
+            var typeIdentifiers = Lists.immutable.withAll(CommonUtilities.getTypeIdentifiers(modelState));
+            for (var word : text.words()) {
+                Assertions.assertEquals(CommonUtilities.getSimilarTypes(similarityUtils, word, modelState), table.getSimilarTypes(word));
+                Assertions.assertEquals(typeIdentifiers.select(typeId -> similarityCache.areWordsSimilar(globalConfiguration, typeId, word.getLemma())), table
+                        .getTypesSimilarTo(word.getLemma()));
+            }
+            Assertions.assertSame(table, ModelTypeSimilarityTable.of(dataRepository, modelId));
+
+            // The tables are derived data, a copy of the repository builds its own tables
+            var copy = dataRepository.deepCopy();
+            var tableOfCopy = ModelTypeSimilarityTable.of(copy, modelId);
+            var wordsOfCopy = DataRepositoryHelper.getAnnotatedText(copy).words();
+            Assertions.assertNotSame(table, tableOfCopy);
+            for (int i = 0; i < wordsOfCopy.size(); i++) {
+                Assertions.assertEquals(table.getSimilarTypes(text.words().get(i)), tableOfCopy.getSimilarTypes(wordsOfCopy.get(i)));
+            }
+        }
+
+        logger.info("{}: {} words, direct matching {} ms, table {} ms", project.getProjectName(), text.words().size(), directTime / 1_000_000, tableTime
+                / 1_000_000);
+    }
+
+    private static DataRepository run(Project project) {
+        return new AnonymousRunner(project.getProjectName()) {
+            @Override
+            public List<AbstractPipelineStep> initializePipelineSteps(DataRepository dataRepository) throws IOException {
+                var text = CommonUtilities.readInputText(project.getTextFile());
+                DataRepositoryHelper.putInputText(dataRepository, text);
+
+                var architectureConfiguration = new ArchitectureConfiguration(project.getModelFile(), ArchitectureModelType.PCM);
+                return List.of(//
+                        TextPreprocessingAgent.get(project.getAdditionalConfigurations(), dataRepository), //
+                        ArCoTLModelProviderAgent.getArCoTLModelProviderAgent(dataRepository, project.getAdditionalConfigurations(),
+                                architectureConfiguration, null));
+            }
+        }.runWithoutSaving();
+    }
+}
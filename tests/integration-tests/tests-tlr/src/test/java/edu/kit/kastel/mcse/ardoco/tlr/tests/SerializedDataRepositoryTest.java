@@ -0,0 +1,86 @@
+/* Licensed under MIT 2026. */
+package edu.kit.kastel.mcse.ardoco.tlr.tests;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+import edu.kit.kastel.mcse.ardoco.core.common.util.CommonUtilities;
+import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.execution.runner.AnonymousRunner;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractPipelineStep;
+import edu.kit.kastel.mcse.ardoco.core.tests.eval.Project;
+import edu.kit.kastel.mcse.ardoco.core.tests.eval.helper.SerializedDataRepository;
+import edu.kit.kastel.mcse.ardoco.tlr.models.agents.ArCoTLModelProviderAgent;
+import edu.kit.kastel.mcse.ardoco.tlr.models.agents.ArchitectureConfiguration;
+import edu.kit.kastel.mcse.ardoco.tlr.text.providers.TextPreprocessingAgent;
+
+/**
+ * Checks that the copies of a {@link SerializedDataRepository} match the original repository and compares the time of handing out copies with
+ * {@link DataRepository#deepCopy()} on the repositories that the stage tests cache.
+ */
+class SerializedDataRepositoryTest {
+    private static final Logger logger = LoggerFactory.getLogger(SerializedDataRepositoryTest.class);
+
+    private static final int COPIES = 10;
+
+    @DisplayName("Serialized data repository hands out independent copies faster")
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(Project.class)
+    void copyTest(Project project) {
+        var dataRepository = run(project);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < COPIES; i++) {
+            dataRepository.deepCopy();
+        }
+        long deepCopyTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        var serialized = new SerializedDataRepository(dataRepository);
+        for (int i = 0; i < COPIES; i++) {
+            serialized.copy();
+        }
+        long serializedTime = System.nanoTime() - start;
+
+        var copy = serialized.copy();
+        var copyOfCopy = serialized.copy();
+        var words = DataRepositoryHelper.getAnnotatedText(dataRepository).words();
+        var wordsOfCopy = DataRepositoryHelper.getAnnotatedText(copy).words();
+        Assertions.assertAll(//
+                () -> Assertions.assertTrue(serialized.isSerializedFrom(dataRepository)), //
+                () -> Assertions.assertNotSame(dataRepository, copy), //
+                () -> Assertions.assertNotSame(DataRepositoryHelper.getAnnotatedText(copy), DataRepositoryHelper.getAnnotatedText(copyOfCopy)), //
+                () -> Assertions.assertEquals(words.collect(word -> word.getText() + "/" + word.getLemma() + "/" + word.getPosTag()), wordsOfCopy.collect(
+                        word -> word.getText() + "/" + word.getLemma() + "/" + word.getPosTag())), //
+                () -> Assertions.assertEquals(DataRepositoryHelper.getModelStatesData(dataRepository).modelIds(), DataRepositoryHelper.getModelStatesData(copy)
+                        .modelIds()));
+
+        logger.info("{}: {} KiB, {} copies, deep copies {} ms, serialized once and deserialized {} ms", project.getProjectName(), serialized.size() / 1024,
+                COPIES, deepCopyTime / 1_000_000, serializedTime / 1_000_000);
+    }
+
+    private static DataRepository run(Project project) {
+        return new AnonymousRunner(project.getProjectName()) {
+            @Override
+            public List<AbstractPipelineStep> initializePipelineSteps(DataRepository dataRepository) throws IOException {
+                var text = CommonUtilities.readInputText(project.getTextFile());
+                DataRepositoryHelper.putInputText(dataRepository, text);
+
+                var architectureConfiguration = new ArchitectureConfiguration(project.getModelFile(), ArchitectureModelType.PCM);
+                return List.of(//
+                        TextPreprocessingAgent.get(project.getAdditionalConfigurations(), dataRepository), //
+                        ArCoTLModelProviderAgent.getArCoTLModelProviderAgent(dataRepository, project.getAdditionalConfigurations(),
+                                architectureConfiguration, null));
+            }
+        }.runWithoutSaving();
+    }
+}